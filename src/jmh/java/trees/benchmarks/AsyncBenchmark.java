@@ -0,0 +1,149 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.concurrent.AsyncBTree;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Many request threads on one tree: batched AsyncBTree requests against BTManager calls under a
+ * read/write lock, with writeRatio of the requests being inserts. asyncPipelined keeps
+ * pipelineDepth lookups in flight per thread, which is where coalescing pays off most.
+ * The average batch size is printed at teardown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(16)
+@State(Scope.Benchmark)
+public class AsyncBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    @Param({"0.1"})
+    public double writeRatio;
+
+    @Param({"32"})
+    public int pipelineDepth;
+
+    private AsyncBTree async;
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private Random random;
+        private CompletableFuture<?>[] pending;
+
+        @Setup
+        public void setUp(AsyncBenchmark benchmark) {
+            random = new Random(BTreeBenchmark.SEED + THREADS.incrementAndGet());
+            pending = new CompletableFuture[benchmark.pipelineDepth];
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        async = new AsyncBTree(new BTManager(new BTInsertionManager<>(), minDegree), ForkJoinPool.commonPool(),
+                AsyncBTree.DEFAULT_MAX_BATCH);
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+        CompletableFuture<?>[] loaded = new CompletableFuture[keyCount];
+        int i = 0;
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, new Random(BTreeBenchmark.SEED))) {
+            loaded[i++] = async.insert(key, BTreeBenchmark.VALUE);
+            lockedInsert(key);
+        }
+
+        CompletableFuture.allOf(loaded).join();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printBatches() {
+        System.out.printf("%naverage batch size %.1f%n", async.averageBatchSize());
+    }
+
+    @Benchmark
+    public Object async(Keys keys) {
+        int key = keys.random.nextInt(2 * keyCount);
+
+        if (keys.random.nextDouble() < writeRatio) {
+            return async.insert(key, BTreeBenchmark.VALUE).join();
+        }
+
+        return async.find(key).join();
+    }
+
+    @Benchmark
+    public Object locked(Keys keys) {
+        int key = keys.random.nextInt(2 * keyCount);
+
+        if (keys.random.nextDouble() < writeRatio) {
+            return lockedInsert(key);
+        }
+
+        lock.readLock().lock();
+
+        try {
+            return manager.find(root, key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // one op is pipelineDepth lookups
+    @Benchmark
+    public Object asyncPipelined(Keys keys) {
+        for (int i = 0; i < keys.pending.length; i++) {
+            keys.pending[i] = async.find(keys.random.nextInt(2 * keyCount));
+        }
+
+        return CompletableFuture.allOf(keys.pending).join();
+    }
+
+    private BTNode lockedInsert(int key) {
+        lock.writeLock().lock();
+
+        try {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            return manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.concurrent.BLinkTree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Mixed read/write throughput of BLinkTree against BTManager behind one lock, the way
+ * the single-threaded trees are shared today.
+ * Run with a growing thread count to see the scaling, e.g. -t 1, -t 2, -t 4, -t 8.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BLinkTreeBenchmark {
+    private static final int PRELOADED_KEYS = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Trees {
+        @Param({"16"})
+        public int minDegree;
+
+        BLinkTree<Integer, String> blinkTree;
+        BTManager manager;
+        BTNode<Integer, String> root;
+
+        @Setup
+        public void setUp() {
+            blinkTree = new BLinkTree<>(minDegree);
+            manager = new BTManager(new BTInsertionManager<>(), minDegree);
+            root = manager.initTree();
+
+            for (int key : KeyDistribution.UNIFORM.loadOrder(PRELOADED_KEYS, new Random(BTreeBenchmark.SEED))) {
+                blinkTree.insert(key, BTreeBenchmark.VALUE);
+                root = lockedInsert(key);
+            }
+        }
+
+        synchronized BTNode lockedFind(Integer key) {
+            return manager.find(root, key);
+        }
+
+        synchronized BTNode<Integer, String> lockedInsert(Integer key) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+            return root;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Operations {
+        @Param({"50", "90", "100"})
+        public int readPercent;
+
+        Random random;
+
+        @Setup
+        public void setUp() {
+            random = new Random(BTreeBenchmark.SEED + Thread.currentThread().getId());
+        }
+
+        boolean read() {
+            return random.nextInt(100) < readPercent;
+        }
+
+        Integer key() {
+            return random.nextInt(2 * PRELOADED_KEYS);
+        }
+    }
+
+    @Benchmark
+    public Object blinkTree(Trees trees, Operations operations) {
+        Integer key = operations.key();
+
+        if (operations.read()) {
+            return trees.blinkTree.find(key);
+        }
+
+        return trees.blinkTree.insert(key, BTreeBenchmark.VALUE);
+    }
+
+    @Benchmark
+    public Object lockedBTManager(Trees trees, Operations operations) {
+        Integer key = operations.key();
+
+        if (operations.read()) {
+            return trees.lockedFind(key);
+        }
+
+        // BTManager keeps duplicates, the tree keeps growing with the writes
+        return trees.lockedInsert(key);
+    }
+}
@@ -0,0 +1,236 @@
+package trees.benchmarks;
+
+import trees.btree.concurrent.BLinkNode;
+import trees.btree.concurrent.BLinkTree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Multi-threaded check of BLinkTree, run by hand through the concurrencyCheck task.
+ * For 1 to N threads:
+ * - stress: every thread inserts, replaces and removes its own keys while reading everybody's,
+ * then the final contents and the structure (ordering, high keys, right links) are verified
+ * - throughput: timed mixed read/write runs on a preloaded tree, printing ops/s per thread count
+ * Exits with an error on the first inconsistency.
+ */
+public class BLinkTreeStressCheck {
+    private static final int KEY_RANGE = 1 << 16;
+    private static final int STRESS_OPERATIONS = 200_000;
+    private static final int PRELOADED_KEYS = 1_000_000;
+    private static final long MEASURED_MILLIS = 1_000;
+    private static final int READ_PERCENT = 90;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        for (int minDegree : new int[]{2, 16}) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                stress(minDegree, threads);
+            }
+        }
+
+        System.out.printf("available processors: %d, %d%% reads%n", Runtime.getRuntime().availableProcessors(), READ_PERCENT);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            System.out.printf("%2d threads: %,12d ops/s%n", threads, throughput(threads));
+        }
+    }
+
+    private static void stress(int minDegree, int threads) throws Exception {
+        BLinkTree<Integer, Long> tree = new BLinkTree<>(minDegree);
+        List<Map<Integer, Long>> expected = run(threads, thread -> {
+            Random random = new Random(BTreeBenchmark.SEED + thread);
+            Map<Integer, Long> owned = new HashMap<>();
+
+            for (int i = 0; i < STRESS_OPERATIONS; i++) {
+                // thread t owns the keys equal to t modulo threads
+                int key = random.nextInt(KEY_RANGE / threads) * threads + thread;
+                int operation = random.nextInt(10);
+
+                if (operation < 5) {
+                    int read = random.nextInt(KEY_RANGE);
+                    Long value = tree.find(read);
+
+                    // values carry their key in the upper half
+                    if (value != null && (int) (value >>> 32) != read) {
+                        throw new IllegalStateException("Value " + value + " read for key " + read);
+                    }
+                } else if (operation < 8) {
+                    long value = ((long) key << 32) | i;
+                    check(tree.insert(key, value), owned.put(key, value), key);
+                } else {
+                    check(tree.remove(key), owned.remove(key), key);
+                }
+            }
+
+            return owned;
+        });
+
+        long size = 0;
+
+        for (Map<Integer, Long> owned : expected) {
+            for (Map.Entry<Integer, Long> entry : owned.entrySet()) {
+                check(tree.find(entry.getKey()), entry.getValue(), entry.getKey());
+            }
+
+            size += owned.size();
+        }
+
+        if (tree.size() != size) {
+            throw new IllegalStateException("Size " + tree.size() + ", expected " + size);
+        }
+
+        long leafEntries = checkStructure(tree.getRoot());
+
+        if (leafEntries != size) {
+            throw new IllegalStateException("Leaves hold " + leafEntries + " entries, expected " + size);
+        }
+
+        System.out.printf("minDegree %d, %d threads: %d entries, height %d, consistent%n",
+                minDegree, threads, size, tree.height());
+    }
+
+    private static long throughput(int threads) throws Exception {
+        BLinkTree<Integer, Long> tree = new BLinkTree<>(16);
+        Random random = new Random(BTreeBenchmark.SEED);
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(PRELOADED_KEYS, random)) {
+            tree.insert(key, (long) key << 32);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MEASURED_MILLIS);
+        List<Long> counts = run(threads, thread -> {
+            Random local = new Random(BTreeBenchmark.SEED + thread);
+            long operations = 0;
+
+            while ((operations & 1023) != 0 || System.nanoTime() < deadline) {
+                int key = local.nextInt(2 * PRELOADED_KEYS);
+
+                if (local.nextInt(100) < READ_PERCENT) {
+                    tree.find(key);
+                } else {
+                    tree.insert(key, (long) key << 32);
+                }
+
+                operations++;
+            }
+
+            return operations;
+        });
+
+        long total = 0;
+
+        for (long count : counts) {
+            total += count;
+        }
+
+        return total * 1000 / MEASURED_MILLIS;
+    }
+
+    /**
+     * Walks every level through the right links, checking that keys are ordered, below
+     * the node's high key and that each level covers the whole key space.
+     *
+     * @param root
+     * @return number of entries in the leaves
+     */
+    @SuppressWarnings("unchecked")
+    private static long checkStructure(BLinkNode<Integer, Long> root) {
+        BLinkNode<Integer, Long> first = root;
+        long entries = 0;
+
+        while (first != null) {
+            Integer previous = null;
+
+            for (BLinkNode<Integer, Long> node = first; node != null; node = node.getRight()) {
+                for (int i = 0; i < node.numKeys; i++) {
+                    Integer key = node.kvpairs[i].key;
+
+                    if (previous != null && previous >= key) {
+                        throw new IllegalStateException("Keys out of order on level " + node.level + ": " + previous + ", " + key);
+                    }
+
+                    if (node.getHighKey() != null && key >= node.getHighKey()) {
+                        throw new IllegalStateException("Key " + key + " above high key " + node.getHighKey());
+                    }
+
+                    previous = key;
+                }
+
+                if ((node.getRight() == null) != (node.getHighKey() == null)) {
+                    throw new IllegalStateException("Only the rightmost node may lack a high key");
+                }
+
+                if (node.level == 0) {
+                    entries += node.numKeys;
+                }
+            }
+
+            first = first.level > 0 ? (BLinkNode<Integer, Long>) first.children[0] : null;
+        }
+
+        return entries;
+    }
+
+    private static void check(Long actual, Long expected, int key) {
+        if (actual == null ? expected != null : !actual.equals(expected)) {
+            throw new IllegalStateException("Key " + key + ": " + actual + ", expected " + expected);
+        }
+    }
+
+    private interface Worker<T> {
+        T run(int thread) throws Exception;
+    }
+
+    /**
+     * Runs worker on the given number of threads, released together
+     *
+     * @param threads
+     * @param worker
+     * @return results by thread
+     * @throws Exception the first failure of any thread
+     */
+    private static <T> List<T> run(int threads, Worker<T> worker) throws Exception {
+        List<T> results = new ArrayList<>(Collections.nCopies(threads, (T) null));
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    results.set(thread, worker.run(thread));
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[i].start();
+        }
+
+        start.countDown();
+
+        for (Thread thread : workers) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,153 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import trees.bplustree.BPCursor;
+import trees.bplustree.BPManager;
+import trees.bplustree.BPNode;
+import trees.btree.BTCursor;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNavigation;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Range scans and lookups of the B+tree (BPManager) against BTManager and TreeMap.
+ * BPManager runs with the same leaf degree as BTManager and innerDegreeFactor times
+ * its degree in inner nodes, the tree heights are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BPlusTreeBenchmark {
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16", "64"})
+    public int minDegree;
+
+    @Param({"1", "2"})
+    public int innerDegreeFactor;
+
+    // keys per range scan
+    @Param({"100", "10000"})
+    public int rangeLength;
+
+    private BTManager btManager;
+    private BTNode<Integer, String> btRoot;
+    private BPManager<Integer, String> bpManager;
+    private BPNode<Integer, String> bpRoot;
+    private TreeMap<Integer, String> treeMap;
+
+    private Integer[] rangeStarts;
+    private Integer[] lookupKeys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        btManager = new BTManager(new BTInsertionManager<>(), minDegree);
+        btRoot = btManager.initTree();
+        bpManager = new BPManager<>(innerDegreeFactor * minDegree, minDegree);
+        bpRoot = bpManager.initTree();
+        treeMap = new TreeMap<>();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            if (btRoot.isFull()) {
+                btRoot = btManager.splitRoot(btRoot);
+            }
+
+            btManager.insert(btRoot, new KVPair<>(key, BTreeBenchmark.VALUE));
+
+            if (bpRoot.isFull()) {
+                bpRoot = bpManager.splitRoot(bpRoot);
+            }
+
+            bpManager.insert(bpRoot, new KVPair<>(key, BTreeBenchmark.VALUE));
+            treeMap.put(key, BTreeBenchmark.VALUE);
+        }
+
+        rangeStarts = new Integer[LOOKUPS];
+        lookupKeys = new Integer[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            rangeStarts[i] = random.nextInt(keyCount - rangeLength);
+            lookupKeys[i] = random.nextInt(keyCount);
+        }
+
+        System.out.printf("%nheight: BTManager %d, B+tree %d%n", BTNavigation.height(btRoot), BPManager.height(bpRoot));
+    }
+
+    private int nextIndex() {
+        return next++ & (LOOKUPS - 1);
+    }
+
+    @Benchmark
+    public void btManagerRangeScan(Blackhole blackhole) {
+        Integer from = rangeStarts[nextIndex()];
+        BTCursor<Integer, String> cursor = new BTCursor<>(btRoot, from, from + rangeLength);
+
+        while (cursor.hasNext()) {
+            blackhole.consume(cursor.next());
+        }
+    }
+
+    @Benchmark
+    public void bPlusTreeRangeCursor(Blackhole blackhole) {
+        Integer from = rangeStarts[nextIndex()];
+        BPCursor<Integer, String> cursor = bpManager.cursor(bpRoot, from, from + rangeLength);
+
+        while (cursor.hasNext()) {
+            blackhole.consume(cursor.next());
+        }
+    }
+
+    @Benchmark
+    public long bPlusTreeRangeScan(Blackhole blackhole) {
+        Integer from = rangeStarts[nextIndex()];
+        return bpManager.scan(bpRoot, from, from + rangeLength, (key, value) -> blackhole.consume(value));
+    }
+
+    @Benchmark
+    public void treeMapRangeScan(Blackhole blackhole) {
+        Integer from = rangeStarts[nextIndex()];
+
+        for (Map.Entry<Integer, String> entry : treeMap.subMap(from, from + rangeLength).entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public BTNode btManagerFind() {
+        return btManager.find(btRoot, lookupKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public String bPlusTreeGet() {
+        return bpManager.get(bpRoot, lookupKeys[nextIndex()]);
+    }
+}
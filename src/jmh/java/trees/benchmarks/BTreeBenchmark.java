@@ -0,0 +1,265 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.Btree;
+import trees.btree.BTDeletionManager;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.primitive.IntBTree;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Compares BTManager, the legacy Btree.Node, the int specialized IntBTree
+ * and java.util.TreeMap (baseline) on lookups, inserts and deletes.
+ * Run with: gradle jmh -PjmhInclude=BTreeBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BTreeBenchmark {
+    static final String VALUE = "value";
+    static final long SEED = 42;
+
+    // number of pre-generated operation keys, must be a power of 2
+    static final int OPERATIONS = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Workload {
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int keyCount;
+
+        @Param({"SEQUENTIAL", "UNIFORM", "ZIPFIAN"})
+        public KeyDistribution distribution;
+
+        @Param({"3", "16", "64"})
+        public int minDegree;
+
+        int[] loadKeys;
+        int[] lookupKeys;
+        int[] insertKeys;
+        Integer[] boxedLookupKeys;
+        Integer[] boxedInsertKeys;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(SEED);
+            loadKeys = distribution.loadOrder(keyCount, random);
+            lookupKeys = distribution.keys(keyCount, 0, OPERATIONS, random);
+
+            // inserted keys are not present in the loaded tree
+            insertKeys = distribution.keys(keyCount, keyCount, OPERATIONS, random);
+
+            boxedLookupKeys = box(lookupKeys);
+            boxedInsertKeys = box(insertKeys);
+        }
+
+        private static Integer[] box(int[] keys) {
+            Integer[] boxed = new Integer[keys.length];
+
+            for (int i = 0; i < keys.length; i++) {
+                boxed[i] = keys[i];
+            }
+
+            return boxed;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BTManagerTree {
+        BTManager manager;
+        BTNode<Integer, String> root;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            manager = newManager(workload.minDegree);
+            root = manager.initTree();
+
+            for (int key : workload.loadKeys) {
+                insert(new KVPair<>(key, VALUE));
+            }
+        }
+
+        BTManager newManager(int minDegree) {
+            return new BTManager(new BTInsertionManager<>(), minDegree);
+        }
+
+        void insert(KVPair<Integer, String> kvpair) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, kvpair);
+        }
+    }
+
+    // deletes only unlink entries, merging the underfull nodes (compact) is left out of the measurement
+    @State(Scope.Thread)
+    public static class LazyBTManagerTree extends BTManagerTree {
+        @Override
+        BTManager newManager(int minDegree) {
+            return new BTManager(new BTInsertionManager<>(), new BTDeletionManager<>(true), minDegree, new AdaptiveSearch<>());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LegacyTree {
+        Btree.Node root;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            root = Btree.BTreeManager.initTree(workload.minDegree);
+
+            for (int key : workload.loadKeys) {
+                insert(new Btree.Entry(key, VALUE));
+            }
+        }
+
+        void insert(Btree.Entry entry) {
+            if (root.isFull()) {
+                root = Btree.BTreeManager.splitRoot(root);
+            }
+
+            root.insert(entry);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IntTree {
+        IntBTree<String> tree;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            tree = new IntBTree<>(workload.minDegree);
+
+            for (int key : workload.loadKeys) {
+                tree.insert(key, VALUE);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Baseline {
+        TreeMap<Integer, String> map;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            map = new TreeMap<>();
+
+            for (int key : workload.loadKeys) {
+                map.put(key, VALUE);
+            }
+        }
+    }
+
+    @Benchmark
+    public BTNode btManagerFind(Workload workload, BTManagerTree tree) {
+        return tree.manager.find(tree.root, workload.boxedLookupKeys[tree.next++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> btManagerInsert(Workload workload, BTManagerTree tree) {
+        tree.insert(new KVPair<>(workload.boxedInsertKeys[tree.next++ & (OPERATIONS - 1)], VALUE));
+        return tree.root;
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> btManagerDelete(Workload workload, BTManagerTree tree) {
+        return deleteAndReinsert(workload, tree);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> btManagerLazyDelete(Workload workload, LazyBTManagerTree tree) {
+        return deleteAndReinsert(workload, tree);
+    }
+
+    // delete then re-insert so the tree size stays stable over the iteration
+    private static BTNode<Integer, String> deleteAndReinsert(Workload workload, BTManagerTree tree) {
+        Integer key = workload.boxedLookupKeys[tree.next++ & (OPERATIONS - 1)];
+
+        if (tree.manager.delete(tree.root, key)) {
+            tree.insert(new KVPair<>(key, VALUE));
+        }
+
+        return tree.root;
+    }
+
+    @Benchmark
+    public Btree.Node legacyFind(Workload workload, LegacyTree tree) {
+        return tree.root.find(workload.lookupKeys[tree.next++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Btree.Node legacyInsert(Workload workload, LegacyTree tree) {
+        tree.insert(new Btree.Entry(workload.insertKeys[tree.next++ & (OPERATIONS - 1)], VALUE));
+        return tree.root;
+    }
+
+    @Benchmark
+    public Btree.Node legacyDelete(Workload workload, LegacyTree tree) {
+        // delete then re-insert so the tree size stays stable over the iteration
+        int key = workload.lookupKeys[tree.next++ & (OPERATIONS - 1)];
+
+        if (Btree.BTreeManager.deleteKey(tree.root, key)) {
+            tree.insert(new Btree.Entry(key, VALUE));
+        }
+
+        return tree.root;
+    }
+
+    @Benchmark
+    public String intBTreeFind(Workload workload, IntTree tree) {
+        return tree.tree.find(workload.lookupKeys[tree.next++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public String intBTreeInsert(Workload workload, IntTree tree) {
+        return tree.tree.insert(workload.insertKeys[tree.next++ & (OPERATIONS - 1)], VALUE);
+    }
+
+    @Benchmark
+    public String treeMapGet(Workload workload, Baseline baseline) {
+        return baseline.map.get(workload.boxedLookupKeys[baseline.next++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public String treeMapPut(Workload workload, Baseline baseline) {
+        return baseline.map.put(workload.boxedInsertKeys[baseline.next++ & (OPERATIONS - 1)], VALUE);
+    }
+
+    @Benchmark
+    public String treeMapRemove(Workload workload, Baseline baseline) {
+        Integer key = workload.boxedLookupKeys[baseline.next++ & (OPERATIONS - 1)];
+        String removed = baseline.map.remove(key);
+
+        if (removed != null) {
+            baseline.map.put(key, removed);
+        }
+
+        return removed;
+    }
+}
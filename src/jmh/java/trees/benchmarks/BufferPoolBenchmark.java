@@ -0,0 +1,101 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import trees.btree.offheap.BufferPoolStorage;
+import trees.btree.offheap.MappedPageStorage;
+import trees.btree.offheap.OffHeapBTree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Lookups through a BufferPoolStorage holding a growing share of the page file.
+ * The hit ratio of each iteration is printed after it, to relate pool size and latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BufferPoolBenchmark {
+    private static final int LOOKUPS = 1 << 14;
+
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    // pool size in percent of the pages of the file
+    @Param({"1", "10", "50", "100"})
+    public int poolPercent;
+
+    private Path file;
+    private BufferPoolStorage storage;
+    private OffHeapBTree tree;
+    private int[] lookupKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("btree-pool", ".db");
+        Random random = new Random(BTreeBenchmark.SEED);
+        int pages;
+
+        try (MappedPageStorage pageFile = new MappedPageStorage(file, MappedPageStorage.DEFAULT_PAGE_BYTES, BTreeBenchmark.VALUE.length())) {
+            OffHeapBTree loader = new OffHeapBTree(pageFile);
+
+            for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+                loader.insert(key, BTreeBenchmark.VALUE);
+            }
+
+            pages = pageFile.pageCount();
+        }
+
+        int frames = Math.max(BufferPoolStorage.MIN_FRAMES, (int) ((long) pages * poolPercent / 100));
+        storage = new BufferPoolStorage(file, frames);
+        tree = new OffHeapBTree(storage);
+        lookupKeys = distribution.keys(keyCount, 0, LOOKUPS, random);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounters() {
+        long lookups = storage.hits() + storage.misses();
+        System.out.printf("%n%d frames: hit ratio %.3f, %d evictions%n",
+                storage.frameCount(), lookups == 0 ? 0.0 : (double) storage.hits() / lookups, storage.evictions());
+        storage.resetCounters();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void find(Blackhole blackhole) {
+        for (int key : lookupKeys) {
+            blackhole.consume(tree.contains(key));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.bplustree.BPManager;
+import trees.bplustree.BPNode;
+import trees.bplustree.BufferedBPTree;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Inserts and lookups of the buffered B+tree (BufferedBPTree) against the plain insert path of
+ * BPManager and BTManager. All trees are loaded with keyCount keys per iteration; the plain trees
+ * use leafDegree everywhere, the buffered tree innerDegree in inner nodes, since its buffers
+ * pay off with a lower fanout. Flushes per insert and pending messages are printed at teardown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BufferedInsertBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    @Param({"16"})
+    public int leafDegree;
+
+    @Param({"4", "16"})
+    public int innerDegree;
+
+    @Param({"128", "512"})
+    public int bufferCapacity;
+
+    private int[] loadKeys;
+    private Integer[] insertKeys;
+    private Integer[] lookupKeys;
+
+    private BTManager btManager;
+    private BTNode<Integer, String> btRoot;
+    private BPManager<Integer, String> bpManager;
+    private BPNode<Integer, String> bpRoot;
+    private BufferedBPTree<Integer, String> buffered;
+
+    private int next;
+    private long inserts;
+
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        loadKeys = distribution.loadOrder(keyCount, random);
+
+        // inserted keys are not present in the loaded trees
+        insertKeys = box(distribution.keys(keyCount, keyCount, BTreeBenchmark.OPERATIONS, random));
+        lookupKeys = box(distribution.keys(keyCount, 0, BTreeBenchmark.OPERATIONS, random));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTrees() {
+        btManager = new BTManager(new BTInsertionManager<>(), leafDegree);
+        btRoot = btManager.initTree();
+        bpManager = new BPManager<>(leafDegree);
+        bpRoot = bpManager.initTree();
+        buffered = new BufferedBPTree<>(innerDegree, leafDegree, bufferCapacity);
+
+        for (int key : loadKeys) {
+            btInsert(key);
+            bpInsert(key);
+            buffered.put(key, BTreeBenchmark.VALUE);
+        }
+
+        inserts = keyCount;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printFlushes() {
+        System.out.printf("%nflushes per insert %.3f, pending messages %d%n",
+                (double) buffered.flushes() / inserts, buffered.pendingMessages());
+    }
+
+    private Integer nextKey(Integer[] keys) {
+        return keys[next++ & (BTreeBenchmark.OPERATIONS - 1)];
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> btManagerInsert() {
+        return btInsert(nextKey(insertKeys));
+    }
+
+    @Benchmark
+    public BPNode<Integer, String> bPlusTreeInsert() {
+        return bpInsert(nextKey(insertKeys));
+    }
+
+    @Benchmark
+    public void bufferedInsert() {
+        buffered.put(nextKey(insertKeys), BTreeBenchmark.VALUE);
+        inserts++;
+    }
+
+    @Benchmark
+    public String bPlusTreeGet() {
+        return bpManager.get(bpRoot, nextKey(lookupKeys));
+    }
+
+    // lookups also search the buffers on the way down
+    @Benchmark
+    public String bufferedGet() {
+        return buffered.get(nextKey(lookupKeys));
+    }
+
+    private BTNode<Integer, String> btInsert(Integer key) {
+        if (btRoot.isFull()) {
+            btRoot = btManager.splitRoot(btRoot);
+        }
+
+        return btManager.insert(btRoot, new KVPair<>(key, BTreeBenchmark.VALUE));
+    }
+
+    private BPNode<Integer, String> bpInsert(Integer key) {
+        if (bpRoot.isFull()) {
+            bpRoot = bpManager.splitRoot(bpRoot);
+        }
+
+        return bpManager.insert(bpRoot, new KVPair<>(key, BTreeBenchmark.VALUE));
+    }
+
+    private static Integer[] box(int[] keys) {
+        Integer[] boxed = new Integer[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            boxed[i] = keys[i];
+        }
+
+        return boxed;
+    }
+}
@@ -0,0 +1,76 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.BTreeBulkLoader;
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Building a tree from sorted entries: BTreeBulkLoader against one by one BTManager.insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int keyCount;
+
+    @Param({"3", "16", "64"})
+    public int minDegree;
+
+    @Param({"0.7", "1.0"})
+    public double fillFactor;
+
+    private List<KVPair<Integer, String>> entries;
+
+    @Setup
+    public void setUp() {
+        entries = new ArrayList<>(keyCount);
+
+        for (int i = 0; i < keyCount; i++) {
+            entries.add(new KVPair<>(i, BTreeBenchmark.VALUE));
+        }
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> bulkLoad() {
+        return new BTreeBulkLoader<Integer, String>(minDegree, fillFactor).load(entries);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> sequentialInsert() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (KVPair<Integer, String> entry : entries) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, entry);
+        }
+
+        return root;
+    }
+}
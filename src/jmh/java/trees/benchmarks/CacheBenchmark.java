@@ -0,0 +1,103 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.cache.CachedBTree;
+import trees.btree.cache.ClockCache;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Lookups through CachedBTree against plain BTManager.find on skewed (ZIPFIAN) and uniform keys.
+ * The hit rate of each iteration is printed at its end. Run with -t to add concurrent readers,
+ * the cache hit path takes no lock.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"ZIPFIAN", "UNIFORM"})
+    public KeyDistribution distribution;
+
+    @Param({"16"})
+    public int minDegree;
+
+    @Param({"1024", "16384"})
+    public int capacity;
+
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private CachedBTree cached;
+    private int[] lookupKeys;
+    private Integer[] boxedLookupKeys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+        cached = new CachedBTree(minDegree, capacity);
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+            cached.insert(key, BTreeBenchmark.VALUE);
+        }
+
+        lookupKeys = distribution.keys(keyCount, 0, BTreeBenchmark.OPERATIONS, random);
+        boxedLookupKeys = new Integer[lookupKeys.length];
+
+        for (int i = 0; i < lookupKeys.length; i++) {
+            boxedLookupKeys[i] = lookupKeys[i];
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRate() {
+        ClockCache<Integer, Object> cache = cached.getCache();
+        System.out.printf("%nhit rate %.3f, evictions %d%n", cache.hitRate(), cache.evictions());
+        cache.resetCounters();
+    }
+
+    @Benchmark
+    public BTNode find(Cursor cursor) {
+        return manager.find(root, boxedLookupKeys[cursor.next++ & (BTreeBenchmark.OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public String cachedFind(Cursor cursor) {
+        return cached.find(lookupKeys[cursor.next++ & (BTreeBenchmark.OPERATIONS - 1)]);
+    }
+}
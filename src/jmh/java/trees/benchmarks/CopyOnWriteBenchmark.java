@@ -0,0 +1,98 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.concurrent.CopyOnWriteBTree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Cost of path copying on the write path against in place BTManager inserts, and full
+ * snapshot scans running next to a writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class CopyOnWriteBenchmark {
+    @Param({"100000", "1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    private CopyOnWriteBTree<Integer, String> cowTree;
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        cowTree = new CopyOnWriteBTree<>(minDegree);
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+        random = new Random(BTreeBenchmark.SEED);
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            KVPair<Integer, String> entry = new KVPair<>(key, BTreeBenchmark.VALUE);
+            cowTree.insert(entry);
+
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, entry);
+        }
+    }
+
+    @Benchmark
+    @Group("cowInsert")
+    public BTNode<Integer, String> cowInsert() {
+        return cowTree.insert(new KVPair<>(random.nextInt(2 * keyCount), BTreeBenchmark.VALUE));
+    }
+
+    @Benchmark
+    @Group("inPlaceInsert")
+    public BTNode inPlaceInsert() {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        return manager.insert(root, new KVPair<>(random.nextInt(2 * keyCount), BTreeBenchmark.VALUE));
+    }
+
+    @Benchmark
+    @Group("scanWhileWriting")
+    @GroupThreads(1)
+    public BTNode<Integer, String> writer() {
+        return cowTree.insert(new KVPair<>(random.nextInt(2 * keyCount), BTreeBenchmark.VALUE));
+    }
+
+    @Benchmark
+    @Group("scanWhileWriting")
+    @GroupThreads(1)
+    public long scanner() {
+        // every scan sees one consistent version, however many inserts land meanwhile
+        return cowTree.stream(cowTree.snapshot(), false).mapToLong(entry -> entry.key).sum();
+    }
+}
@@ -0,0 +1,86 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.durable.DurableBTree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Durable insert throughput of DurableBTree. Each insert waits for its log fsync, run with
+ * a growing thread count (-t 1, -t 4, -t 16) to see group commit share the fsyncs: the
+ * inserts per fsync of each iteration are printed after it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurableInsertBenchmark {
+    private static final int KEY_RANGE = 1 << 24;
+
+    @State(Scope.Benchmark)
+    public static class Tree {
+        Path directory;
+        DurableBTree tree;
+        final AtomicLong inserts = new AtomicLong();
+        long syncs;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("btree-wal");
+            tree = new DurableBTree(directory);
+        }
+
+        @TearDown(Level.Iteration)
+        public void printSyncs() {
+            long iterationSyncs = tree.syncs() - syncs;
+            syncs = tree.syncs();
+            System.out.printf("%n%.1f inserts per fsync%n", iterationSyncs == 0 ? 0.0 : (double) inserts.getAndSet(0) / iterationSyncs);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            tree.close();
+
+            for (String file : new String[]{"btree.wal", "btree.checkpoint"}) {
+                Files.deleteIfExists(directory.resolve(file));
+            }
+
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        Random random;
+
+        @Setup
+        public void setUp() {
+            random = new Random(BTreeBenchmark.SEED + Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public void insert(Tree tree, Keys keys) throws IOException {
+        tree.tree.insert(keys.random.nextInt(KEY_RANGE), BTreeBenchmark.VALUE);
+        tree.inserts.incrementAndGet();
+    }
+}
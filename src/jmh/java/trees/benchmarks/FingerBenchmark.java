@@ -0,0 +1,137 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Sorted batches through the finger searches of BTManager (insertAll, findAll) against one insert()
+ * or find() per key, time per batch. Dense batches are runs of consecutive keys, which share all but
+ * the last levels of their paths; spread batches are uniform over the key space and mostly hit
+ * different leaves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class FingerBenchmark {
+    private static final int BATCHES = 256;
+
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    @Param({"64", "4096"})
+    public int batchSize;
+
+    @Param({"true", "false"})
+    public boolean dense;
+
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private List<List<KVPair<Integer, String>>> entryBatches;
+    private List<List<Integer>> keyBatches;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpBatches() {
+        Random random = new Random(BTreeBenchmark.SEED + 1);
+        entryBatches = new ArrayList<>();
+        keyBatches = new ArrayList<>();
+
+        for (int b = 0; b < BATCHES; b++) {
+            List<Integer> keys = new ArrayList<>();
+            int base = random.nextInt(2 * keyCount);
+
+            for (int i = 0; i < batchSize; i++) {
+                keys.add(dense ? base + i : random.nextInt(2 * keyCount));
+            }
+
+            Collections.sort(keys);
+            List<KVPair<Integer, String>> entries = new ArrayList<>();
+
+            for (Integer key : keys) {
+                entries.add(new KVPair<>(key, BTreeBenchmark.VALUE));
+            }
+
+            keyBatches.add(keys);
+            entryBatches.add(entries);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTree() {
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, new Random(BTreeBenchmark.SEED))) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            // even keys only, half of the lookups miss
+            manager.insert(root, new KVPair<>(2 * key, BTreeBenchmark.VALUE));
+        }
+    }
+
+    private int nextBatch() {
+        return next++ & (BATCHES - 1);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> insertEach() {
+        for (KVPair<Integer, String> entry : entryBatches.get(nextBatch())) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, entry);
+        }
+
+        return root;
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> insertAll() {
+        root = manager.insertAll(root, entryBatches.get(nextBatch()));
+        return root;
+    }
+
+    @Benchmark
+    public void findEach(Blackhole blackhole) {
+        for (Integer key : keyBatches.get(nextBatch())) {
+            blackhole.consume(manager.find(root, key));
+        }
+    }
+
+    @Benchmark
+    public List<KVPair<Integer, String>> findAll() {
+        return manager.findAll(root, keyBatches.get(nextBatch()));
+    }
+}
@@ -0,0 +1,95 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.metrics.TreeMetrics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Cost of the TreeListener instrumentation: BTManager finds and inserts without a listener,
+ * the uninstrumented baseline, against the same operations reported to a TreeMetrics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private Integer[] lookupKeys;
+    private Integer[] insertKeys;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        manager = instrumented
+                ? new BTManager(minDegree, new TreeMetrics())
+                : new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            insert(key);
+        }
+
+        lookupKeys = box(KeyDistribution.UNIFORM.keys(keyCount, 0, BTreeBenchmark.OPERATIONS, random));
+        insertKeys = box(KeyDistribution.UNIFORM.keys(keyCount, keyCount, BTreeBenchmark.OPERATIONS, random));
+    }
+
+    @Benchmark
+    public BTNode find() {
+        return manager.find(root, lookupKeys[next++ & (BTreeBenchmark.OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public BTNode insert() {
+        return insert(insertKeys[next++ & (BTreeBenchmark.OPERATIONS - 1)]);
+    }
+
+    private BTNode insert(Integer key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        return manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+    }
+
+    private static Integer[] box(int[] keys) {
+        Integer[] boxed = new Integer[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            boxed[i] = keys[i];
+        }
+
+        return boxed;
+    }
+}
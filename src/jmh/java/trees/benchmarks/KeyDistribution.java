@@ -0,0 +1,96 @@
+package trees.benchmarks;
+
+import trees.workload.ZipfianGenerator;
+
+import java.util.Random;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Key distributions used to drive the tree benchmarks.
+ * Loaded keys are always 0..keyCount - 1, the distribution decides the load order
+ * and which of the keys are picked by the measured operations.
+ */
+public enum KeyDistribution {
+    SEQUENTIAL {
+        @Override
+        public int[] loadOrder(int keyCount, Random random) {
+            int[] keys = new int[keyCount];
+
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = i;
+            }
+
+            return keys;
+        }
+
+        @Override
+        public int[] keys(int keyCount, int offset, int length, Random random) {
+            int[] keys = new int[length];
+
+            for (int i = 0; i < length; i++) {
+                keys[i] = offset + i % keyCount;
+            }
+
+            return keys;
+        }
+    },
+    UNIFORM {
+        @Override
+        public int[] keys(int keyCount, int offset, int length, Random random) {
+            int[] keys = new int[length];
+
+            for (int i = 0; i < length; i++) {
+                keys[i] = offset + random.nextInt(keyCount);
+            }
+
+            return keys;
+        }
+    },
+    ZIPFIAN {
+        @Override
+        public int[] keys(int keyCount, int offset, int length, Random random) {
+            ZipfianGenerator generator = new ZipfianGenerator(keyCount);
+            int[] keys = new int[length];
+
+            // scramble the ranks so hot keys are spread over the whole key space
+            for (int i = 0; i < length; i++) {
+                keys[i] = offset + ZipfianGenerator.scramble(generator.next(random), keyCount);
+            }
+
+            return keys;
+        }
+    };
+
+    /**
+     * Order in which the keys 0..keyCount - 1 are loaded into the tree.
+     * Defaults to a random permutation.
+     *
+     * @param keyCount
+     * @param random
+     * @return
+     */
+    public int[] loadOrder(int keyCount, Random random) {
+        int[] keys = SEQUENTIAL.loadOrder(keyCount, random);
+
+        for (int i = keyCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+
+        return keys;
+    }
+
+    /**
+     * Generates length keys picked from offset..offset + keyCount - 1
+     *
+     * @param keyCount
+     * @param offset
+     * @param length
+     * @param random
+     * @return
+     */
+    public abstract int[] keys(int keyCount, int offset, int length, Random random);
+}
@@ -0,0 +1,121 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.search.AdaptiveSearch;
+import trees.btree.search.BinarySearch;
+import trees.btree.search.IntNodeSearch;
+import trees.btree.search.LinearSearch;
+import trees.btree.search.LongNodeSearch;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Cost of locating a key inside a single node, by node size and search strategy.
+ * Half of the searched keys are present in the node.
+ * Used to pick the linear/binary crossover of AdaptiveSearch, IntNodeSearch.ADAPTIVE and
+ * LongNodeSearch.ADAPTIVE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NodeSearchBenchmark {
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"4", "8", "16", "32", "64", "128", "256", "511"})
+    public int numKeys;
+
+    // shared by the int and long searches, so the long variant adds no parameter combinations
+    @Param({"LINEAR", "BINARY", "BRANCHLESS", "ADAPTIVE"})
+    public String primitiveSearch;
+
+    @Param({"LINEAR", "BINARY", "ADAPTIVE"})
+    public String nodeSearch;
+
+    private int[] keys;
+    private long[] longKeys;
+    private IntNodeSearch intSearch;
+    private LongNodeSearch longSearch;
+    private BTNode<Integer, String> node;
+    private NodeSearchStrategy<Integer> strategy;
+
+    private int[] lookups;
+    private long[] longLookups;
+    private Integer[] boxedLookups;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+
+        // even keys are present, odd keys are missing
+        keys = new int[numKeys];
+        longKeys = new long[numKeys];
+        node = new BTNode<>((numKeys + 1) / 2 + 1);
+
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = 2 * i;
+            longKeys[i] = 2L * i;
+            node.kvpairs[i] = new KVPair<>(2 * i, BTreeBenchmark.VALUE);
+        }
+
+        node.numKeys = numKeys;
+
+        lookups = new int[LOOKUPS];
+        longLookups = new long[LOOKUPS];
+        boxedLookups = new Integer[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * numKeys);
+            longLookups[i] = lookups[i];
+            boxedLookups[i] = lookups[i];
+        }
+
+        intSearch = IntNodeSearch.valueOf(primitiveSearch);
+        longSearch = LongNodeSearch.valueOf(primitiveSearch);
+
+        switch (nodeSearch) {
+            case "LINEAR":
+                strategy = new LinearSearch<>();
+                break;
+            case "BINARY":
+                strategy = new BinarySearch<>();
+                break;
+            default:
+                strategy = new AdaptiveSearch<>();
+        }
+    }
+
+    @Benchmark
+    public int primitiveKeys() {
+        return intSearch.search(keys, numKeys, lookups[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public int primitiveLongKeys() {
+        return longSearch.search(longKeys, numKeys, longLookups[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public int btNodeKeys() {
+        return strategy.search(node, boxedLookups[next++ & (LOOKUPS - 1)]);
+    }
+}
@@ -0,0 +1,110 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.offheap.NodeLayout;
+import trees.btree.offheap.OffHeapBTree;
+import trees.btree.offheap.SlabNodeStorage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Lookups in an OffHeapBTree against a heap BTManager tree with the same keys.
+ * With -prof gc the setup GC pauses show the difference in the heap working set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=8g"})
+@State(Scope.Benchmark)
+public class OffHeapBenchmark {
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int keyCount;
+
+    @Param({"16", "64"})
+    public int minDegree;
+
+    private OffHeapBTree offHeapTree;
+    private SlabNodeStorage storage;
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private int[] lookupKeys;
+    private Integer[] boxedLookupKeys;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        storage = new SlabNodeStorage(new NodeLayout(minDegree, BTreeBenchmark.VALUE.length()));
+        offHeapTree = new OffHeapBTree(storage);
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            offHeapTree.insert(key, BTreeBenchmark.VALUE);
+
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+        }
+
+        lookupKeys = KeyDistribution.UNIFORM.keys(keyCount, 0, LOOKUPS, random);
+        boxedLookupKeys = new Integer[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            boxedLookupKeys[i] = lookupKeys[i];
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        storage.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void offHeapContains(Blackhole blackhole) {
+        for (int key : lookupKeys) {
+            blackhole.consume(offHeapTree.contains(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void offHeapFind(Blackhole blackhole) {
+        for (int key : lookupKeys) {
+            blackhole.consume(offHeapTree.find(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void heapFind(Blackhole blackhole) {
+        for (Integer key : boxedLookupKeys) {
+            blackhole.consume(manager.find(root, key));
+        }
+    }
+}
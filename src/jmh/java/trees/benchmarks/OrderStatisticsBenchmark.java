@@ -0,0 +1,141 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTCursor;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.BTOrderStatistics;
+import trees.btree.KVPair;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Range counts, rank and select on a counted BTManager tree (BTOrderStatistics) against
+ * counting with a BTCursor, and the cost the subtree sizes add to inserts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class OrderStatisticsBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    // keys per counted range
+    @Param({"100", "10000"})
+    public int rangeLength;
+
+    private BTManager plainManager;
+    private BTNode<Integer, String> plainRoot;
+    private BTManager countedManager;
+    private BTNode<Integer, String> countedRoot;
+
+    private Integer[] rangeStarts;
+    private Integer[] insertKeys;
+    private long[] indexes;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        plainManager = new BTManager(new BTInsertionManager<>(), minDegree);
+        plainRoot = plainManager.initTree();
+        countedManager = new BTManager(minDegree, null, true);
+        countedRoot = countedManager.initTree();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            plainRoot = insert(plainManager, plainRoot, key);
+            countedRoot = insert(countedManager, countedRoot, key);
+        }
+
+        rangeStarts = new Integer[BTreeBenchmark.OPERATIONS];
+        indexes = new long[BTreeBenchmark.OPERATIONS];
+
+        for (int i = 0; i < BTreeBenchmark.OPERATIONS; i++) {
+            rangeStarts[i] = random.nextInt(keyCount - rangeLength);
+            indexes[i] = random.nextInt(keyCount);
+        }
+
+        int[] keys = KeyDistribution.UNIFORM.keys(keyCount, keyCount, BTreeBenchmark.OPERATIONS, random);
+        insertKeys = new Integer[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            insertKeys[i] = keys[i];
+        }
+    }
+
+    private int nextIndex() {
+        return next++ & (BTreeBenchmark.OPERATIONS - 1);
+    }
+
+    @Benchmark
+    public long cursorCount() {
+        Integer from = rangeStarts[nextIndex()];
+        BTCursor<Integer, String> cursor = new BTCursor<>(plainRoot, from, from + rangeLength);
+        long count = 0;
+
+        while (cursor.hasNext()) {
+            cursor.next();
+            count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public long countedCount() {
+        Integer from = rangeStarts[nextIndex()];
+        return BTOrderStatistics.count(countedRoot, from, from + rangeLength);
+    }
+
+    @Benchmark
+    public long rank() {
+        return BTOrderStatistics.rank(countedRoot, rangeStarts[nextIndex()]);
+    }
+
+    @Benchmark
+    public KVPair<Integer, String> select() {
+        return BTOrderStatistics.select(countedRoot, indexes[nextIndex()]);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> plainInsert() {
+        plainRoot = insert(plainManager, plainRoot, insertKeys[nextIndex()]);
+        return plainRoot;
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> countedInsert() {
+        countedRoot = insert(countedManager, countedRoot, insertKeys[nextIndex()]);
+        return countedRoot;
+    }
+
+    private static BTNode<Integer, String> insert(BTManager manager, BTNode<Integer, String> root, Integer key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        manager.insert(root, new KVPair<>(key, BTreeBenchmark.VALUE));
+        return root;
+    }
+}
@@ -0,0 +1,82 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.offheap.MappedPageStorage;
+import trees.btree.offheap.OffHeapBTree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Reopening a page file and serving lookups from it: the time should not grow with the
+ * size of the file, only the pages on the lookup paths are read.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageStoreBenchmark {
+    private static final int LOOKUPS = 1000;
+
+    @Param({"100000", "10000000"})
+    public int keyCount;
+
+    private Path file;
+    private int[] lookupKeys;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("btree-pages", ".db");
+        Random random = new Random(BTreeBenchmark.SEED);
+
+        try (MappedPageStorage storage = new MappedPageStorage(file, MappedPageStorage.DEFAULT_PAGE_BYTES, BTreeBenchmark.VALUE.length())) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+
+            for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+                tree.insert(key, BTreeBenchmark.VALUE);
+            }
+        }
+
+        lookupKeys = KeyDistribution.UNIFORM.keys(keyCount, 0, LOOKUPS, random);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int openAndFind() throws IOException {
+        int found = 0;
+
+        try (MappedPageStorage storage = new MappedPageStorage(file)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+
+            for (int key : lookupKeys) {
+                if (tree.contains(key)) {
+                    found++;
+                }
+            }
+        }
+
+        return found;
+    }
+}
@@ -0,0 +1,96 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.ParallelBTreeBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Building a tree from unsorted entries: ParallelBTreeBuilder with a growing number of
+ * workers against one by one BTManager.insert.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelBuildBenchmark {
+    @Param({"1000000", "10000000", "30000000"})
+    public int keyCount;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    @Param({"16"})
+    public int minDegree;
+
+    private KVPair<Integer, String>[] entries;
+    private KVPair<Integer, String>[] input;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = new Random(BTreeBenchmark.SEED);
+        entries = new KVPair[keyCount];
+
+        for (int i = 0; i < keyCount; i++) {
+            entries[i] = new KVPair<>(random.nextInt(), BTreeBenchmark.VALUE);
+        }
+
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        // the builder sorts its input in place
+        input = entries.clone();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> parallelBuild() {
+        return new ParallelBTreeBuilder<Integer, String>(minDegree, 1.0, pool).build(input);
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> sequentialInsert() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (KVPair<Integer, String> entry : input) {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, entry);
+        }
+
+        return root;
+    }
+}
@@ -0,0 +1,105 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.concurrent.CopyOnWriteBTree;
+import trees.btree.concurrent.ShardedBTree;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Insert and lookup throughput of the sharded forest (ShardedBTree) against a single CopyOnWriteBTree,
+ * whose one writer lock every thread queues on. Run with -t to vary the thread count; the forest
+ * only pulls ahead with as many cores as writer threads. Shard counts are printed at teardown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class ShardedBenchmark {
+    @Param({"1000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    @Param({"65536"})
+    public long maxShardSize;
+
+    private ShardedBTree<Integer, String> sharded;
+    private CopyOnWriteBTree<Integer, String> single;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private Random random;
+
+        @Setup
+        public void setUp() {
+            random = new Random(BTreeBenchmark.SEED + THREADS.incrementAndGet());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        sharded = new ShardedBTree<>(minDegree, maxShardSize, Runtime.getRuntime().availableProcessors(),
+                Collections.emptyList());
+        single = new CopyOnWriteBTree<>(minDegree);
+        Random random = new Random(BTreeBenchmark.SEED);
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, random)) {
+            KVPair<Integer, String> entry = new KVPair<>(key, BTreeBenchmark.VALUE);
+            sharded.insert(entry);
+            single.insert(entry);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printShards() {
+        System.out.printf("%nshards %d, splits %d, merges %d%n", sharded.shardCount(), sharded.splits(),
+                sharded.merges());
+    }
+
+    @Benchmark
+    public void shardedInsert(Keys keys) {
+        sharded.insert(new KVPair<>(keys.random.nextInt(2 * keyCount), BTreeBenchmark.VALUE));
+    }
+
+    @Benchmark
+    public BTNode<Integer, String> singleInsert(Keys keys) {
+        return single.insert(new KVPair<>(keys.random.nextInt(2 * keyCount), BTreeBenchmark.VALUE));
+    }
+
+    // one extra binary search over the shard bounds
+    @Benchmark
+    public BTNode shardedFind(Keys keys) {
+        return sharded.find(keys.random.nextInt(keyCount));
+    }
+
+    @Benchmark
+    public BTNode singleFind(Keys keys) {
+        return single.find(keys.random.nextInt(keyCount));
+    }
+}
@@ -0,0 +1,114 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.btree.BTCursor;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.snapshot.EntryCodec;
+import trees.btree.snapshot.Snapshot;
+import trees.btree.snapshot.SnapshotLoader;
+import trees.btree.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Saving a tree to a snapshot file and loading it back, against rebuilding it by replaying
+ * its entries through BTManager.insert. The file stays in the page cache, so this measures
+ * encoding and tree building rather than the disk.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    @Param({"1000000", "10000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int minDegree;
+
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        root = manager.initTree();
+
+        for (int key : KeyDistribution.UNIFORM.loadOrder(keyCount, new Random(BTreeBenchmark.SEED))) {
+            root = insert(root, key);
+        }
+
+        file = Files.createTempFile("btree", ".snapshot");
+        writer().write(file, root);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long save() throws IOException {
+        return writer().write(file, root);
+    }
+
+    @Benchmark
+    public Snapshot<Integer, String> load() throws IOException {
+        return new SnapshotLoader<>(EntryCodec.ints(), EntryCodec.strings()).load(file);
+    }
+
+    // what a restart costs without snapshots, entries come from the in-memory tree
+    @Benchmark
+    public BTNode<Integer, String> replayInserts() {
+        BTNode<Integer, String> copy = manager.initTree();
+        BTCursor<Integer, String> cursor = new BTCursor<>(root, null, null);
+
+        while (cursor.hasNext()) {
+            KVPair<Integer, String> entry = cursor.next();
+
+            if (copy.isFull()) {
+                copy = manager.splitRoot(copy);
+            }
+
+            manager.insert(copy, entry);
+        }
+
+        return copy;
+    }
+
+    private static SnapshotWriter<Integer, String> writer() {
+        return new SnapshotWriter<>(EntryCodec.ints(), EntryCodec.strings());
+    }
+
+    private BTNode<Integer, String> insert(BTNode<Integer, String> node, int key) {
+        if (node.isFull()) {
+            node = manager.splitRoot(node);
+        }
+
+        manager.insert(node, new KVPair<>(key, BTreeBenchmark.VALUE));
+        return node;
+    }
+}
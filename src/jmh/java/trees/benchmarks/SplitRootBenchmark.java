@@ -0,0 +1,68 @@
+package trees.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import trees.Btree;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Measures splitting a full root node. Split cost only depends on the node size,
+ * so this benchmark is parameterized by the min degree alone.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SplitRootBenchmark {
+    @Param({"3", "16", "64"})
+    public int minDegree;
+
+    private BTManager manager;
+    private BTNode<Integer, String> root;
+    private Btree.Node legacyRoot;
+
+    @Setup(Level.Trial)
+    public void setUpManager() {
+        manager = new BTManager(new BTInsertionManager<>(), minDegree);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        root = manager.initTree();
+        legacyRoot = Btree.BTreeManager.initTree(minDegree);
+
+        for (int i = 0; i < 2 * minDegree - 1; i++) {
+            manager.insert(root, new KVPair<>(i, BTreeBenchmark.VALUE));
+            legacyRoot.insert(new Btree.Entry(i, BTreeBenchmark.VALUE));
+        }
+    }
+
+    @Benchmark
+    public BTNode btManagerSplitRoot() {
+        return manager.splitRoot(root);
+    }
+
+    @Benchmark
+    public Btree.Node legacySplitRoot() {
+        return Btree.BTreeManager.splitRoot(legacyRoot);
+    }
+}
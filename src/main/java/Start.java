@@ -1,28 +1,21 @@
-import trees.btree.BTInsertionManager;
-import trees.btree.BTManager;
-import trees.btree.BTNode;
-import trees.btree.KVPair;
+import trees.workload.TreeAdapter;
+import trees.workload.TreeAdapters;
+import trees.workload.Workload;
+import trees.workload.WorkloadDriver;
 
 /**
  * Created on 4/3/2018.
+ * <p>
+ * Runs a workload against one of the trees, see Workload for the properties, e.g.
+ * Start tree=sharded threads=4 requestdistribution=latest insertproportion=0.5 readproportion=0.5
+ * Arguments without '=' are read as properties files.
  */
 public class Start {
-    public static void main(String[] args) {
-        BTManager treeManager = new BTManager(new BTInsertionManager());
+    public static void main(String[] args) throws Exception {
+        Workload workload = Workload.fromArgs(args);
 
-        BTNode<Integer, String> root = new BTNode<>(BTNode.MIN_DEGREE);
-
-        treeManager.insert(root, new KVPair<Integer, String>(0, "root"));
-
-        for (int i = 1; i < 10; i++) {
-            if (root.isFull()) {
-                root = treeManager.splitRoot(root);
-            }
-
-            treeManager.insert(root, new KVPair<Integer, String>(i, "node-" + i));
+        try (TreeAdapter tree = TreeAdapters.create(workload.tree, workload.minDegree)) {
+            new WorkloadDriver(workload, tree, System.out).run();
         }
-
-        // print
-        System.out.println(root);
     }
 }
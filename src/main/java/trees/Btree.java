@@ -9,7 +9,7 @@ package trees;
  * BTree visualization: http://www.cs.usfca.edu/~galles/visualization/BTree.html
  */
 public class Btree {
-    public static int MIN_DEGREE = 3; // min number of children
+    public static final int DEFAULT_MIN_DEGREE = 3; // min number of children
 
     public static class Entry {
         public int key;
@@ -29,15 +29,25 @@ public class Btree {
     public static class Node {
         private boolean leaf;
         private boolean root;
+        private final int minDegree; // min number of children
         private int numKeys;
         public Entry[] entries;
         public Node[] children;
 
         public Node(boolean leaf, boolean root) {
+            this(leaf, root, DEFAULT_MIN_DEGREE);
+        }
+
+        public Node(boolean leaf, boolean root, int minDegree) {
+            if (minDegree < 2) {
+                throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+            }
+
             this.leaf = leaf;
             this.root = root;
-            entries = new Entry[2 * MIN_DEGREE - 1];
-            children = new Node[2 * MIN_DEGREE];
+            this.minDegree = minDegree;
+            entries = new Entry[2 * minDegree - 1];
+            children = new Node[2 * minDegree];
         }
 
         /**
@@ -51,7 +61,7 @@ public class Btree {
                 addNewEntry(newEntry);
             } else {
                 int index = numKeys - 1;
-                while (entries[index].key > newEntry.key) {
+                while (index >= 0 && entries[index].key > newEntry.key) {
                     index--;
                 }
 
@@ -66,51 +76,39 @@ public class Btree {
             return this;
         }
 
+        /**
+         * Deletes one entry with key from the subtree of this node in a single pass down:
+         * every child the descent enters is given at least minDegree keys first.
+         * This node must be the root or hold at least minDegree keys.
+         *
+         * @param key
+         * @return
+         */
         public boolean delete(int key) {
             int keyIndex = getKeyIndex(key);
 
-            if (keyIndex > 0) {
+            if (keyIndex >= 0) {
                 if (isLeaf()) {
                     return deleteLeafKey(key);
                 } else {
                     return deleteInnerNodeKey(key);
                 }
-            } else {
-                // if this is a leaf node then the key is not in the tree
-                if (isLeaf()) {
-                    return false;
-                }
+            }
 
-                // if the child where the key is supposed to be has less than
-                // MIN_NUM_KEYS keys then merge it with a sibling
-                if (children[keyIndex].numKeys < MIN_DEGREE) {
-                    Node deleteRoot = balanceNode(keyIndex);
+            // if this is a leaf node then the key is not in the tree
+            if (isLeaf()) {
+                return false;
+            }
 
-                    // 1. if the current node is the right-most node then the
-                    // last child of this node was merged with it's previous node
-                    // start recursing on that previous node as the last one was
-                    // removed during the merge.
-                    // 2. if this node's children were merged then
-                    // the current node's number of keys has been decreased.
-                    int rootIndex = keyIndex == numKeys && keyIndex > numKeys? keyIndex - 1 : keyIndex;
+            int childIndex = lowerBound(key);
 
-                    deleteRoot.children[rootIndex].delete(key);
-                }
+            // if the child where the key is supposed to be has less than
+            // minDegree keys then borrow from or merge with a sibling
+            if (children[childIndex].numKeys < minDegree) {
+                childIndex = balanceNode(childIndex);
             }
-//            if (isLeaf()) {
-//
-//                // case 1: key in leaf node with enough keys aside from deleted key
-//                // make sure that this node still fulfills the BTree properties after deleting the key
-//                // min numKeys must be MIN_DEGREE - 1 at all times
-//                if (isRoot() || numKeys > MIN_DEGREE) {
-//                    return deleteLeafKey(key);
-//                } else {
-//                    // TODO implement other btree delete cases here
-//                    return false;
-//                }
-//            }
 
-            return true;
+            return children[childIndex].delete(key);
         }
 
         @Override
@@ -136,7 +134,6 @@ public class Btree {
             return sb.toString();
         }
 
-        // todo implement better search algo
         public Node find(int key) {
             // lookup key in current node
             if (hasKey(key)) {
@@ -150,12 +147,16 @@ public class Btree {
 
             // lookup key in children
             // find lookup branch
-            int index = 0;
-            while (index < numKeys && key > entries[index].key) {
-                index++;
-            }
+            return children[lowerBound(key)].find(key);
+        }
 
-            return children[index].find(key);
+        /**
+         * @param key
+         * @return entry with key in this node or null
+         */
+        public Entry getEntry(int key) {
+            int index = getKeyIndex(key);
+            return index == -1 ? null : entries[index];
         }
 
         private boolean hasKey(int key) {
@@ -169,17 +170,35 @@ public class Btree {
          * @return
          */
         private int getKeyIndex(int key) {
-            for (int i = 0; i < numKeys; i++) {
-                if (entries[i].key == key) {
-                    return i;
+            int index = lowerBound(key);
+            return index < numKeys && entries[index].key == key ? index : -1;
+        }
+
+        /**
+         * Binary search for the index of the first key greater than or equal to key
+         *
+         * @param key
+         * @return
+         */
+        private int lowerBound(int key) {
+            int low = 0;
+            int high = numKeys;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (entries[mid].key < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
                 }
             }
 
-            return -1;
+            return low;
         }
 
         public boolean isFull() {
-            return numKeys == 2 * MIN_DEGREE - 1;
+            return numKeys == 2 * minDegree - 1;
         }
 
         public boolean isLeaf() {
@@ -191,23 +210,23 @@ public class Btree {
         }
 
         private Node splitChild(int childIndex, Node child) {
-            Node newChild = new Node(child.isLeaf(), false);
+            Node newChild = new Node(child.isLeaf(), false, minDegree);
 
             // copy over upper half of the kvpairs
-            for (int i = 0; i < MIN_DEGREE - 1; i++) {
-                newChild.entries[i] = child.entries[MIN_DEGREE + i];
+            for (int i = 0; i < minDegree - 1; i++) {
+                newChild.entries[i] = child.entries[minDegree + i];
                 newChild.numKeys++;
             }
 
             // copy over children if not leaf
             if (!isLeaf()) {
-                for (int i = 0; i < MIN_DEGREE; i++) {
-                    newChild.children[i] = child.children[MIN_DEGREE + i];
+                for (int i = 0; i < minDegree; i++) {
+                    newChild.children[i] = child.children[minDegree + i];
                 }
             }
 
             // reduce kvpairs and children in old node
-            child.numKeys = MIN_DEGREE - 1;
+            child.numKeys = minDegree - 1;
 
             // link new child to the correct index position
             // shift all tailing children in the array to make room
@@ -218,7 +237,7 @@ public class Btree {
             this.children[childIndex + 1] = newChild;
 
             // move middle key of child to current node
-            addNewEntry(child.entries[MIN_DEGREE - 1]);
+            addNewEntry(child.entries[minDegree - 1]);
 
             // return current node to further use in search/insert
             // current node will be updated and will contain one extra key and one extra child
@@ -226,7 +245,8 @@ public class Btree {
         }
 
         /**
-         * Merge child at childIndex with child at childIndex + 1
+         * Merge child at childIndex with child at childIndex + 1,
+         * the key between them moves down into the merged child
          * NOTE: this method covers cases 2c, 3b
          * @return
          */
@@ -234,31 +254,24 @@ public class Btree {
             Node firstChild = children[childIndex];
             Node sibling = children[childIndex + 1];
 
-            // TODO verifica
             // pull a key from parent into first merge node
-            firstChild.entries[numKeys - 1] = entries[childIndex];
+            firstChild.entries[firstChild.numKeys] = entries[childIndex];
 
             // copy over other node's keys and children
-            for (int i = 0; i < firstChild.numKeys; i++) {
-                firstChild.entries[i + numKeys] = sibling.entries[i];
-            }
+            System.arraycopy(sibling.entries, 0, firstChild.entries, firstChild.numKeys + 1, sibling.numKeys);
 
-            if (!isLeaf()) {
-                for (int i = 0; i < firstChild.numKeys; i++) {
-                    firstChild.children[i + numKeys] = sibling.children[i];
-                }
+            if (!firstChild.isLeaf()) {
+                System.arraycopy(sibling.children, 0, firstChild.children, firstChild.numKeys + 1, sibling.numKeys + 1);
             }
 
             // compact keys in current node after moving one key to child
-            for (int i = childIndex + 1; i < numKeys; i++) {
-                entries[i - 1] = entries[i];
-            }
+            System.arraycopy(entries, childIndex + 1, entries, childIndex, numKeys - childIndex - 1);
+            entries[numKeys - 1] = null;
 
-            // compact child mappings after merging in child[firstMergeChildIndex + 1]
+            // compact child mappings after merging in child[childIndex + 1]
             // this removes the link to the sibling child
-            for (int i = childIndex + 2; i <= numKeys; i++) {
-                children[i - 1] = children[i];
-            }
+            System.arraycopy(children, childIndex + 2, children, childIndex + 1, numKeys - childIndex - 1);
+            children[numKeys] = null;
 
             // update child key count: 1 key from current node + sibling keys
             firstChild.numKeys += sibling.numKeys + 1;
@@ -269,136 +282,119 @@ public class Btree {
             return this;
         }
 
-        private Node getPredecessor(int key) {
-            int keyIndex = getKeyIndex(key);
-            int predIndex = keyIndex == 0 ? 0 : keyIndex - 1;
-            return children[predIndex];
-        }
+        /**
+         * Removes and returns the greatest entry of this subtree.
+         * This node must hold at least minDegree keys.
+         *
+         * @return
+         */
+        private Entry removeMax() {
+            Node node = this;
+
+            while (!node.isLeaf()) {
+                int childIndex = node.numKeys;
 
-        private int getPredecessorKeyIndex(int key) {
-            Node predecessorNode = getPredecessor(key);
-            int predecessorIndex = predecessorNode.numKeys - 1;
+                if (node.children[childIndex].numKeys < minDegree) {
+                    childIndex = node.balanceNode(childIndex);
+                }
 
-            while (key < predecessorNode.entries[predecessorIndex].key) {
-                predecessorIndex--;
+                node = node.children[childIndex];
             }
 
-            return predecessorIndex;
+            Entry max = node.entries[node.numKeys - 1];
+            node.removeEntry(node.numKeys - 1);
+            return max;
         }
 
-        private int getSuccessorKeyIndex(int key) {
-            Node successorNode = getPredecessor(key);
-            int successorIndex = 0;
+        /**
+         * Removes and returns the lowest entry of this subtree.
+         * This node must hold at least minDegree keys.
+         *
+         * @return
+         */
+        private Entry removeMin() {
+            Node node = this;
 
-            for (int i = 0; i < successorNode.numKeys; i++) {
-                if (successorNode.entries[i].key >= key) {
-                    return i;
+            while (!node.isLeaf()) {
+                if (node.children[0].numKeys < minDegree) {
+                    node.balanceNode(0);
                 }
+
+                node = node.children[0];
             }
 
-            return successorIndex;
+            Entry min = node.entries[0];
+            node.removeEntry(0);
+            return min;
         }
 
-        private Node getSuccessor(int key) {
+        // case 1: key in leaf node, the descent made sure the leaf can spare it
+        private boolean deleteLeafKey(int key) {
             int keyIndex = getKeyIndex(key);
-            int succIndex = keyIndex + 1;
-            return children[succIndex];
-        }
 
-        // case 1: key in leaf node with enough keys aside from deleted key
-        // make sure that this node still fulfills the BTree properties after deleting the key
-        // min numKeys must be MIN_DEGREE - 1 at all times
-        private boolean deleteLeafKey(int key) {
-            if (!hasKey(key)) {
+            if (keyIndex < 0) {
                 return false;
             }
 
-            // remove key
-            int index = numKeys - 1;
-            while (key != entries[index].key) {
-                index--;
-            }
-
-            entries[index] = null;
+            removeEntry(keyIndex);
+            return true;
+        }
 
+        private void removeEntry(int index) {
             // compact keys
-            for (int i = index; i < numKeys - 1; i++) {
-                entries[i] = entries[i + 1];
-            }
+            System.arraycopy(entries, index + 1, entries, index, numKeys - index - 1);
+            entries[numKeys - 1] = null;
 
             // decrement current number of keys
             numKeys--;
-
-            return true;
         }
 
-        // case 2: delete inner node key when there is no need
-        // to resize the tree height
+        // case 2: key in inner node
         private boolean deleteInnerNodeKey(int key) {
-            Node predecessor = getPredecessor(key);
-            Node successor = getSuccessor(key);
-
-            // if predecessor node has more than MIN_DEGREE - 1 keys then
-            // pull up the predecessor key to this node
-            if (predecessor.numKeys >= MIN_DEGREE) {
-                int keyIndex = getKeyIndex(key);
-                int predKeyIndex = getPredecessorKeyIndex(key);
-
-                entries[keyIndex] = predecessor.entries[predKeyIndex];
-
-                // null predecessor key reference
-                predecessor.entries[predKeyIndex] = null;
-
-                // reset predecessor key set size
-                predecessor.numKeys--;
+            int keyIndex = getKeyIndex(key);
+            Node predecessor = children[keyIndex];
+            Node successor = children[keyIndex + 1];
 
+            // 2a: if the predecessor child has more than minDegree - 1 keys then
+            // replace the key by the greatest entry below it
+            if (predecessor.numKeys >= minDegree) {
+                entries[keyIndex] = predecessor.removeMax();
                 return true;
             }
-            // if successor node has more than MIN_DEGREE - 1 keys then
-            // pull up the successor key to this node
-            else if (getSuccessor(key).numKeys >= MIN_DEGREE) {
-                int keyIndex = getKeyIndex(key);
-                int successorKeyIndex = getSuccessorKeyIndex(key);
-
-                entries[keyIndex] = successor.entries[successorKeyIndex];
-
-                successor.entries[successorKeyIndex] = null;
-                successor.numKeys--;
 
+            // 2b: same with the lowest entry of the successor child
+            if (successor.numKeys >= minDegree) {
+                entries[keyIndex] = successor.removeMin();
                 return true;
             }
-            // merge successor and predecessor nodes
-            else {
-                int keyIndex = getKeyIndex(key);
-                int predKeyIndex = getPredecessorKeyIndex(key);
-
-                // pulls key from current node into predecessor then
-                // merges predecessor with successor
-                mergeChildren(predKeyIndex);
 
-                // delete key from newly merged node
-                return children[predKeyIndex].delete(key);
-            }
+            // 2c: pull the key down into the merge of both children and delete it there
+            mergeChildren(keyIndex);
+            return children[keyIndex].delete(key);
         }
 
         /**
-         * case 3
+         * case 3: gives child at childIndex at least minDegree keys
          * @param childIndex
-         * @return
+         * @return index of the child covering the same keys afterwards
          */
-        private Node balanceNode(int childIndex) {
-            if (childIndex > 0 && children[childIndex - 1].numKeys >= MIN_DEGREE) {
-                return borrowFromPrev(childIndex);
-            } else if (childIndex <= numKeys && children[childIndex + 1].numKeys >= MIN_DEGREE) {
-                return borrowFromNext(childIndex);
+        private int balanceNode(int childIndex) {
+            if (childIndex > 0 && children[childIndex - 1].numKeys >= minDegree) {
+                borrowFromPrev(childIndex);
+                return childIndex;
+            } else if (childIndex < numKeys && children[childIndex + 1].numKeys >= minDegree) {
+                borrowFromNext(childIndex);
+                return childIndex;
             } else {
                 // both neighbouring siblings have the minimum number of keys
                 // need to merge them.
-                // merge child with right sibling
+                // merge child with right sibling, the last child with its left sibling
                 if (childIndex == numKeys) {
-                    return mergeChildren(childIndex - 1);
+                    mergeChildren(childIndex - 1);
+                    return childIndex - 1;
                 } else {
-                    return mergeChildren(childIndex);
+                    mergeChildren(childIndex);
+                    return childIndex;
                 }
             }
         }
@@ -408,25 +404,21 @@ public class Btree {
             Node sibling = children[childIndex - 1];
 
             // shift keys in child one step to the right to make room for borrowed key
-            for (int i = child.numKeys - 1; i >= 0; i--) {
-                child.entries[i + 1] = child.entries[i];
-            }
+            System.arraycopy(child.entries, 0, child.entries, 1, child.numKeys);
 
-            // shift children also
+            // shift children also and take over the last child of the sibling
             if (!child.isLeaf()) {
-                for (int i = child.numKeys; i >=0; i--) {
-                    child.children[i + 1] = child.children[i];
-                }
+                System.arraycopy(child.children, 0, child.children, 1, child.numKeys + 1);
+                child.children[0] = sibling.children[sibling.numKeys];
+                sibling.children[sibling.numKeys] = null;
             }
 
-            // add key from left sibling to first position
-            if (!isLeaf()) {
-                // pull one key from the current node into the child
-                child.entries[0] = entries[childIndex - 1];
-            }
+            // pull one key from the current node into the child
+            child.entries[0] = entries[childIndex - 1];
 
             // move rightmost key from left sibling to parent
             entries[childIndex - 1] = sibling.entries[sibling.numKeys - 1];
+            sibling.entries[sibling.numKeys - 1] = null;
 
             // update key counters
             child.numKeys += 1;
@@ -439,26 +431,22 @@ public class Btree {
             Node child = children[childIndex];
             Node sibling = children[childIndex + 1];
 
-            // add left-most key from right sibling to child
+            // add parent key to the end of the child
             child.entries[child.numKeys] = entries[childIndex];
 
-            // copy over children also
-            child.children[child.numKeys + 1] = sibling.children[0];
+            // copy over the first child of the sibling also
+            if (!child.isLeaf()) {
+                child.children[child.numKeys + 1] = sibling.children[0];
+                System.arraycopy(sibling.children, 1, sibling.children, 0, sibling.numKeys);
+                sibling.children[sibling.numKeys] = null;
+            }
 
             // move sibling's first key to parent
             entries[childIndex] = sibling.entries[0];
 
             // shift keys left in sibling node
-            for (int i = 0; i < sibling.numKeys - 1; i++) {
-                sibling.entries[i] = sibling.entries[i + 1];
-            }
-
-            // shift children in sibling
-            if (!isLeaf()) {
-                for (int i = 0; i < sibling.numKeys + 1; i++) {
-                    sibling.children[i] = sibling.children[i + 1];
-                }
-            }
+            System.arraycopy(sibling.entries, 1, sibling.entries, 0, sibling.numKeys - 1);
+            sibling.entries[sibling.numKeys - 1] = null;
 
             // reset key counters
             child.numKeys += 1;
@@ -467,21 +455,16 @@ public class Btree {
             return this;
         }
 
-        // todo implement better search/insert algo
         private boolean addNewEntry(Entry entry) {
-            if (numKeys == 0) {
-                entries[0] = entry;
-            } else {
-                int index = numKeys - 1;
-
-                while (entries[index].key > entry.key) {
-                    entries[index + 1] = entries[index];
-                    index--;
-                }
-
-                entries[index + 1] = entry;
+            // insert after keys lower than or equal to the new key
+            int index = lowerBound(entry.key);
+            while (index < numKeys && entries[index].key == entry.key) {
+                index++;
             }
 
+            System.arraycopy(entries, index, entries, index + 1, numKeys - index);
+            entries[index] = entry;
+
             // increment number of children
             numKeys++;
 
@@ -491,25 +474,41 @@ public class Btree {
 
     public static class BTreeManager {
         public static Node splitRoot(Node root) {
-            Node newRoot = new Node(false, true);
+            Node newRoot = new Node(false, true, root.minDegree);
             newRoot.children[0] = root;
             newRoot.splitChild(0, root);
 
             return newRoot;
         }
 
+        /**
+         * Deletes one entry with key, root stays the root of the tree
+         *
+         * @param root
+         * @param key
+         * @return
+         */
         public static boolean deleteKey(Node root, int key) {
-            Node containerNode = root.find(key);
+            boolean deleted = root.delete(key);
 
-            if (containerNode == null) {
-                return false;
+            // a merge took the last key of the root: the root takes over its only child
+            if (root.numKeys == 0 && !root.isLeaf()) {
+                Node child = root.children[0];
+                System.arraycopy(child.entries, 0, root.entries, 0, child.entries.length);
+                System.arraycopy(child.children, 0, root.children, 0, child.children.length);
+                root.numKeys = child.numKeys;
+                root.leaf = child.leaf;
             }
 
-            return containerNode.delete(key);
+            return deleted;
         }
 
         public static Node initTree() {
-            return new Node(true, true);
+            return initTree(DEFAULT_MIN_DEGREE);
+        }
+
+        public static Node initTree(int minDegree) {
+            return new Node(true, true, minDegree);
         }
     }
 
@@ -0,0 +1,75 @@
+package trees.bplustree;
+
+import trees.btree.KVPair;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * In-order cursor over a B+tree: one descent to the first leaf, then along the leaf chain.
+ * The tree must not be modified while a cursor is open.
+ */
+public class BPCursor<K extends Comparable, V> implements Iterator<KVPair<K, V>> {
+    // exclusive upper bound, null when unbounded
+    private final K to;
+    private BPNode<K, V> leaf;
+    private int position;
+
+    /**
+     * Cursor over the entries of the tree with from <= key < to.
+     * A null bound leaves that side open.
+     *
+     * @param root
+     * @param from
+     * @param to
+     */
+    public BPCursor(BPNode<K, V> root, K from, K to) {
+        this.to = to;
+
+        if (from == null) {
+            leaf = BPManager.firstLeaf(root);
+        } else {
+            leaf = BPManager.findLeaf(root, from);
+            position = BPManager.lowerBound(leaf, from);
+        }
+
+        skipExhausted();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        return leaf != null && (to == null || leaf.keys[position].compareTo(to) < 0);
+    }
+
+    @Override
+    public KVPair<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        KVPair<K, V> entry = new KVPair<>(leaf.key(position), leaf.value(position));
+        position++;
+        skipExhausted();
+        return entry;
+    }
+
+    /**
+     * Key of the next entry without moving the cursor, null at the end
+     *
+     * @return
+     */
+    public K peekKey() {
+        return hasNext() ? leaf.key(position) : null;
+    }
+
+    // moves to the next leaf holding entries, only an empty root leaf has none
+    private void skipExhausted() {
+        while (leaf != null && position == leaf.numKeys) {
+            leaf = leaf.next;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package trees.bplustree;
+
+import trees.bplustree.interfaces.BPManagerInterface;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * B+tree operations over BPNode, used like BTManager: the caller owns the root.
+ * - inserts split full nodes on the way down, a full root must be split by the caller first
+ * - deletes give every node they enter at least minDegree keys on the way down (borrowing
+ * from or merging with a sibling), the caller then drops a root left without keys
+ * - range scans descend once and then follow the leaf chain
+ * Keys are unique, inserting an existing key replaces its value.
+ * Inner nodes hold no values, so they can take a higher degree than leaves for the same
+ * node size, which lowers the tree.
+ */
+public class BPManager<K extends Comparable, V> implements BPManagerInterface<K, V> {
+    private final int innerDegree;
+    private final int leafDegree;
+
+    public BPManager() {
+        this(BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public BPManager(int minDegree) {
+        this(minDegree, minDegree);
+    }
+
+    /**
+     * @param innerDegree min degree of inner nodes
+     * @param leafDegree  min degree of leaves
+     */
+    public BPManager(int innerDegree, int leafDegree) {
+        if (innerDegree < 2 || leafDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + innerDegree + ", " + leafDegree);
+        }
+
+        this.innerDegree = innerDegree;
+        this.leafDegree = leafDegree;
+    }
+
+    public int getInnerDegree() {
+        return innerDegree;
+    }
+
+    public int getLeafDegree() {
+        return leafDegree;
+    }
+
+    @Override
+    public BPNode<K, V> initTree() {
+        return new BPNode<>(leafDegree, true);
+    }
+
+    /**
+     * Inserts kvpair, or replaces the value of its key.
+     *
+     * @param root must not be full
+     * @param kvpair
+     * @return leaf holding the entry
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public BPNode<K, V> insert(BPNode<K, V> root, KVPair<K, V> kvpair) {
+        K key = kvpair.key;
+        BPNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            int childIndex = upperBound(node, key);
+
+            if (node.children[childIndex].isFull()) {
+                splitChild(node, childIndex);
+
+                // keys equal to the new separator belong to the right half
+                if (key.compareTo(node.keys[childIndex]) >= 0) {
+                    childIndex++;
+                }
+            }
+
+            node = node.children[childIndex];
+        }
+
+        int index = lowerBound(node, key);
+
+        if (index < node.numKeys && key.compareTo(node.keys[index]) == 0) {
+            node.values[index] = kvpair.value;
+            return node;
+        }
+
+        // only a root can be a full leaf here, roots are split by the caller
+        if (node.isFull()) {
+            throw new IllegalStateException("Full root must be split before inserting");
+        }
+
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.numKeys - index);
+        System.arraycopy(node.values, index, node.values, index + 1, node.numKeys - index);
+        node.keys[index] = key;
+        node.values[index] = kvpair.value;
+        node.numKeys++;
+
+        return node;
+    }
+
+    /**
+     * Deletes the entry with key. Follow with shrinkRoot(), the root may be left without keys.
+     *
+     * @param root
+     * @param key
+     * @return true if the entry was deleted
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean delete(BPNode<K, V> root, K key) {
+        BPNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            int childIndex = upperBound(node, key);
+
+            BPNode<K, V> child = node.children[childIndex];
+
+            if (child.numKeys < child.minDegree) {
+                childIndex = fill(node, childIndex);
+            }
+
+            node = node.children[childIndex];
+        }
+
+        int index = lowerBound(node, key);
+
+        if (index == node.numKeys || key.compareTo(node.keys[index]) != 0) {
+            return false;
+        }
+
+        System.arraycopy(node.keys, index + 1, node.keys, index, node.numKeys - index - 1);
+        System.arraycopy(node.values, index + 1, node.values, index, node.numKeys - index - 1);
+        node.numKeys--;
+        node.keys[node.numKeys] = null;
+        node.values[node.numKeys] = null;
+
+        return true;
+    }
+
+    @Override
+    public BPNode<K, V> splitRoot(BPNode<K, V> root) {
+        BPNode<K, V> newRoot = new BPNode<>(innerDegree, false);
+        newRoot.children[0] = root;
+        splitChild(newRoot, 0);
+
+        return newRoot;
+    }
+
+    /**
+     * Root of the tree after a delete merged the last two children of root
+     *
+     * @param root
+     * @return
+     */
+    @Override
+    public BPNode<K, V> shrinkRoot(BPNode<K, V> root) {
+        while (!root.isLeaf() && root.numKeys == 0) {
+            root = root.children[0];
+        }
+
+        return root;
+    }
+
+    /**
+     * @param root
+     * @param key
+     * @return leaf holding key or null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public BPNode<K, V> find(BPNode<K, V> root, K key) {
+        BPNode<K, V> leaf = findLeaf(root, key);
+        int index = lowerBound(leaf, key);
+
+        return index < leaf.numKeys && key.compareTo(leaf.keys[index]) == 0 ? leaf : null;
+    }
+
+    /**
+     * @param root
+     * @param key
+     * @return value of key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(BPNode<K, V> root, K key) {
+        BPNode<K, V> leaf = findLeaf(root, key);
+        int index = lowerBound(leaf, key);
+
+        return index < leaf.numKeys && key.compareTo(leaf.keys[index]) == 0 ? leaf.value(index) : null;
+    }
+
+    /**
+     * Cursor over the entries with from <= key < to, a null bound leaves that side open
+     *
+     * @param root
+     * @param from
+     * @param to
+     * @return
+     */
+    public BPCursor<K, V> cursor(BPNode<K, V> root, K from, K to) {
+        return new BPCursor<>(root, from, to);
+    }
+
+    /**
+     * Hands the entries with from <= key < to to consumer in key order without allocating,
+     * a null bound leaves that side open.
+     *
+     * @param root
+     * @param from
+     * @param to
+     * @param consumer
+     * @return number of entries scanned
+     */
+    @SuppressWarnings("unchecked")
+    public long scan(BPNode<K, V> root, K from, K to, BiConsumer<? super K, ? super V> consumer) {
+        BPNode<K, V> leaf = from == null ? firstLeaf(root) : findLeaf(root, from);
+        int index = from == null ? 0 : lowerBound(leaf, from);
+        long count = 0;
+
+        for (; leaf != null; leaf = leaf.next, index = 0) {
+            for (; index < leaf.numKeys; index++) {
+                K key = leaf.key(index);
+
+                if (to != null && key.compareTo(to) >= 0) {
+                    return count;
+                }
+
+                consumer.accept(key, leaf.value(index));
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public static <K extends Comparable, V> BPNode<K, V> firstLeaf(BPNode<K, V> root) {
+        BPNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            node = node.children[0];
+        }
+
+        return node;
+    }
+
+    public static <K extends Comparable, V> BPNode<K, V> lastLeaf(BPNode<K, V> root) {
+        BPNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            node = node.children[node.numKeys];
+        }
+
+        return node;
+    }
+
+    /**
+     * Number of levels below node, 0 for a leaf
+     *
+     * @param node
+     * @return
+     */
+    public static int height(BPNode<?, ?> node) {
+        int height = 0;
+
+        while (!node.isLeaf()) {
+            node = node.children[0];
+            height++;
+        }
+
+        return height;
+    }
+
+    static <K extends Comparable, V> BPNode<K, V> findLeaf(BPNode<K, V> root, K key) {
+        BPNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            node = node.children[upperBound(node, key)];
+        }
+
+        return node;
+    }
+
+    /**
+     * Index of the first key greater than or equal to key
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable> int lowerBound(BPNode<K, ?> node, K key) {
+        int low = 0;
+        int high = node.numKeys;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (node.keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Index of the first key greater than key, which is also the child covering key
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable> int upperBound(BPNode<K, ?> node, K key) {
+        int low = 0;
+        int high = node.numKeys;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (node.keys[mid].compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private void splitChild(BPNode<K, V> parent, int childIndex) {
+        BPNode<K, V> child = parent.children[childIndex];
+        int half = child.minDegree;
+        BPNode<K, V> sibling = new BPNode<>(half, child.isLeaf());
+        Comparable separator;
+
+        if (child.isLeaf()) {
+            // the right leaf takes the upper minDegree entries, its first key is copied up
+            System.arraycopy(child.keys, half - 1, sibling.keys, 0, half);
+            System.arraycopy(child.values, half - 1, sibling.values, 0, half);
+            Arrays.fill(child.keys, half - 1, 2 * half - 1, null);
+            Arrays.fill(child.values, half - 1, 2 * half - 1, null);
+            sibling.numKeys = half;
+            separator = sibling.keys[0];
+
+            sibling.next = child.next;
+            sibling.previous = child;
+
+            if (child.next != null) {
+                child.next.previous = sibling;
+            }
+
+            child.next = sibling;
+        } else {
+            // the middle key moves up
+            separator = child.keys[half - 1];
+            System.arraycopy(child.keys, half, sibling.keys, 0, half - 1);
+            System.arraycopy(child.children, half, sibling.children, 0, half);
+            Arrays.fill(child.keys, half - 1, 2 * half - 1, null);
+            Arrays.fill(child.children, half, 2 * half, null);
+            sibling.numKeys = half - 1;
+        }
+
+        child.numKeys = half - 1;
+
+        System.arraycopy(parent.keys, childIndex, parent.keys, childIndex + 1, parent.numKeys - childIndex);
+        System.arraycopy(parent.children, childIndex + 1, parent.children, childIndex + 2, parent.numKeys - childIndex);
+        parent.keys[childIndex] = separator;
+        parent.children[childIndex + 1] = sibling;
+        parent.numKeys++;
+    }
+
+    /**
+     * Gives child childIndex of parent at least minDegree keys.
+     *
+     * @param parent
+     * @param childIndex
+     * @return index of the child covering the same keys afterwards
+     */
+    private int fill(BPNode<K, V> parent, int childIndex) {
+        // all children of a node have the same degree
+        int minDegree = parent.children[childIndex].minDegree;
+
+        if (childIndex > 0 && parent.children[childIndex - 1].numKeys >= minDegree) {
+            borrowFromPrevious(parent, childIndex);
+            return childIndex;
+        }
+
+        if (childIndex < parent.numKeys && parent.children[childIndex + 1].numKeys >= minDegree) {
+            borrowFromNext(parent, childIndex);
+            return childIndex;
+        }
+
+        if (childIndex < parent.numKeys) {
+            merge(parent, childIndex);
+            return childIndex;
+        }
+
+        merge(parent, childIndex - 1);
+        return childIndex - 1;
+    }
+
+    private void borrowFromPrevious(BPNode<K, V> parent, int childIndex) {
+        BPNode<K, V> node = parent.children[childIndex];
+        BPNode<K, V> sibling = parent.children[childIndex - 1];
+        int last = sibling.numKeys - 1;
+
+        System.arraycopy(node.keys, 0, node.keys, 1, node.numKeys);
+
+        if (node.isLeaf()) {
+            // move the last entry over, the separator becomes its key
+            System.arraycopy(node.values, 0, node.values, 1, node.numKeys);
+            node.keys[0] = sibling.keys[last];
+            node.values[0] = sibling.values[last];
+            sibling.values[last] = null;
+            parent.keys[childIndex - 1] = node.keys[0];
+        } else {
+            // rotate through the parent
+            System.arraycopy(node.children, 0, node.children, 1, node.numKeys + 1);
+            node.keys[0] = parent.keys[childIndex - 1];
+            node.children[0] = sibling.children[last + 1];
+            sibling.children[last + 1] = null;
+            parent.keys[childIndex - 1] = sibling.keys[last];
+        }
+
+        sibling.keys[last] = null;
+        node.numKeys++;
+        sibling.numKeys--;
+    }
+
+    private void borrowFromNext(BPNode<K, V> parent, int childIndex) {
+        BPNode<K, V> node = parent.children[childIndex];
+        BPNode<K, V> sibling = parent.children[childIndex + 1];
+        int count = sibling.numKeys;
+
+        if (node.isLeaf()) {
+            // move the first entry over, the separator becomes the next key of the sibling
+            node.keys[node.numKeys] = sibling.keys[0];
+            node.values[node.numKeys] = sibling.values[0];
+            System.arraycopy(sibling.values, 1, sibling.values, 0, count - 1);
+            sibling.values[count - 1] = null;
+            parent.keys[childIndex] = sibling.keys[1];
+        } else {
+            node.keys[node.numKeys] = parent.keys[childIndex];
+            node.children[node.numKeys + 1] = sibling.children[0];
+            System.arraycopy(sibling.children, 1, sibling.children, 0, count);
+            sibling.children[count] = null;
+            parent.keys[childIndex] = sibling.keys[0];
+        }
+
+        System.arraycopy(sibling.keys, 1, sibling.keys, 0, count - 1);
+        sibling.keys[count - 1] = null;
+        node.numKeys++;
+        sibling.numKeys--;
+    }
+
+    // appends child childIndex + 1 to child childIndex and removes it from parent
+    private void merge(BPNode<K, V> parent, int childIndex) {
+        BPNode<K, V> node = parent.children[childIndex];
+        BPNode<K, V> sibling = parent.children[childIndex + 1];
+
+        if (node.isLeaf()) {
+            // the separator is only a copy of the first key of sibling, it is dropped
+            System.arraycopy(sibling.keys, 0, node.keys, node.numKeys, sibling.numKeys);
+            System.arraycopy(sibling.values, 0, node.values, node.numKeys, sibling.numKeys);
+            node.numKeys += sibling.numKeys;
+
+            node.next = sibling.next;
+
+            if (sibling.next != null) {
+                sibling.next.previous = node;
+            }
+        } else {
+            node.keys[node.numKeys] = parent.keys[childIndex];
+            System.arraycopy(sibling.keys, 0, node.keys, node.numKeys + 1, sibling.numKeys);
+            System.arraycopy(sibling.children, 0, node.children, node.numKeys + 1, sibling.numKeys + 1);
+            node.numKeys += sibling.numKeys + 1;
+        }
+
+        System.arraycopy(parent.keys, childIndex + 1, parent.keys, childIndex, parent.numKeys - childIndex - 1);
+        System.arraycopy(parent.children, childIndex + 2, parent.children, childIndex + 1, parent.numKeys - childIndex - 1);
+        parent.keys[parent.numKeys - 1] = null;
+        parent.children[parent.numKeys] = null;
+        parent.numKeys--;
+    }
+}
@@ -0,0 +1,81 @@
+package trees.bplustree;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Node of a B+tree.
+ * - inner nodes only hold separator keys and children: child i covers the keys in
+ * [keys[i - 1], keys[i]), so there are no value references competing for node space
+ * - leaves hold all entries, keys and values in parallel arrays, and are chained to their
+ * neighbours so scans never go back up the tree
+ * Both kinds hold at most 2 * minDegree - 1 keys.
+ */
+public class BPNode<K extends Comparable, V> {
+    public final int minDegree;
+    public int numKeys;
+    public final Comparable[] keys;
+    public final Object[] values; // null for inner nodes
+    public final BPNode<K, V>[] children; // null for leaves
+
+    // leaf chain, in key order
+    public BPNode<K, V> next;
+    public BPNode<K, V> previous;
+
+    public BPNode(int minDegree, boolean leaf) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        this.minDegree = minDegree;
+        this.keys = new Comparable[2 * minDegree - 1];
+        this.values = leaf ? new Object[2 * minDegree - 1] : null;
+        this.children = leaf ? null : new BPNode[2 * minDegree];
+    }
+
+    @SuppressWarnings("unchecked")
+    public K key(int index) {
+        return (K) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V value(int index) {
+        return (V) values[index];
+    }
+
+    public boolean isLeaf() {
+        return children == null;
+    }
+
+    public boolean isFull() {
+        return numKeys == 2 * minDegree - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    private void appendTo(StringBuilder sb) {
+        sb.append("Leaf: ").append(isLeaf()).append(", ");
+
+        for (int i = 0; i < numKeys; i++) {
+            sb.append(keys[i]);
+
+            if (isLeaf()) {
+                sb.append(" - ").append(values[i]);
+            }
+
+            sb.append(", ");
+        }
+
+        sb.append("\n");
+
+        if (!isLeaf()) {
+            for (int i = 0; i <= numKeys; i++) {
+                children[i].appendTo(sb);
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package trees.bplustree;
+
+import trees.btree.BTNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Write-optimized B+tree (a B-epsilon tree): puts and deletes are appended as messages to the
+ * buffer of the root and move down in batches, instead of each descending to its leaf.
+ * - when a buffer fills, the messages for the child with the most of them are moved into that
+ * child's buffer, or applied to it if the child is a leaf; one descent so serves a batch of keys
+ * - a message overwrites an older one for the same key in the buffer it lands in, so the message
+ * for a key closest to the root is the newest one
+ * - get() checks the buffers on the way down and answers from the first message it meets
+ * - deletes are blind (nothing tells whether the key existed) and leaves are not merged, a
+ * leaf emptied by deletes stays in the tree like in the lazy BTDeletionManager mode
+ * - scans see pending messages only after flushAll(), cursor() calls it first
+ * Keys are unique, putting an existing key replaces its value.
+ */
+public class BufferedBPTree<K extends Comparable, V> {
+    public static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+    // value of a delete message
+    static final Object TOMBSTONE = new Object();
+
+    private final int innerDegree;
+    private final int bufferCapacity;
+
+    // scratch space for mergeIntoBuffer()
+    private final Comparable[] mergeKeys;
+    private final Object[] mergeValues;
+
+    private BufferedNode<K, V> root;
+    private long flushes;
+
+    public BufferedBPTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE, BTNode.DEFAULT_MIN_DEGREE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * @param innerDegree    min degree of inner nodes
+     * @param leafDegree     min degree of leaves
+     * @param bufferCapacity messages an inner node holds before it is flushed
+     */
+    public BufferedBPTree(int innerDegree, int leafDegree, int bufferCapacity) {
+        if (innerDegree < 2 || leafDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + innerDegree + ", " + leafDegree);
+        }
+
+        if (bufferCapacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + bufferCapacity);
+        }
+
+        this.innerDegree = innerDegree;
+        this.bufferCapacity = bufferCapacity;
+        this.mergeKeys = new Comparable[bufferCapacity];
+        this.mergeValues = new Object[bufferCapacity];
+        this.root = new BufferedNode<>(leafDegree, true, 0);
+    }
+
+    /**
+     * Puts key with value, or replaces the value of key.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(K key, V value) {
+        message(key, value);
+    }
+
+    /**
+     * Deletes the entry with key if there is one.
+     *
+     * @param key
+     */
+    public void delete(K key) {
+        message(key, TOMBSTONE);
+    }
+
+    /**
+     * @param key
+     * @return value of key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        BufferedNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            int index = node.bufferLowerBound(key);
+
+            if (index < node.bufferCount && key.compareTo(node.bufferKeys[index]) == 0) {
+                Object value = node.bufferValues[index];
+                return value == TOMBSTONE ? null : (V) value;
+            }
+
+            node = child(node, BPManager.upperBound(node, key));
+        }
+
+        int index = BPManager.lowerBound(node, key);
+
+        return index < node.numKeys && key.compareTo(node.keys[index]) == 0 ? node.value(index) : null;
+    }
+
+    /**
+     * Applies every pending message to the leaves.
+     */
+    public void flushAll() {
+        List<K> keys = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+
+        // deeper buffers hold older messages, so they are applied first
+        List<List<BufferedNode<K, V>>> levels = innerLevels();
+
+        for (int level = levels.size() - 1; level >= 0; level--) {
+            for (BufferedNode<K, V> node : levels.get(level)) {
+                for (int i = 0; i < node.bufferCount; i++) {
+                    keys.add(node.bufferKey(i));
+                    values.add(node.bufferValues[i]);
+                }
+
+                Arrays.fill(node.bufferKeys, 0, node.bufferCount, null);
+                Arrays.fill(node.bufferValues, 0, node.bufferCount, null);
+                node.bufferCount = 0;
+            }
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            applyDirect(keys.get(i), values.get(i));
+        }
+    }
+
+    /**
+     * Cursor over the entries with from <= key < to after flushing all pending messages,
+     * a null bound leaves that side open
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public BPCursor<K, V> cursor(K from, K to) {
+        flushAll();
+        return new BPCursor<>(root, from, to);
+    }
+
+    public BPNode<K, V> getRoot() {
+        return root;
+    }
+
+    /**
+     * Number of buffer flushes so far
+     *
+     * @return
+     */
+    public long flushes() {
+        return flushes;
+    }
+
+    /**
+     * Messages waiting in buffers
+     *
+     * @return
+     */
+    public long pendingMessages() {
+        long pending = 0;
+
+        for (List<BufferedNode<K, V>> level : innerLevels()) {
+            for (BufferedNode<K, V> node : level) {
+                pending += node.bufferCount;
+            }
+        }
+
+        return pending;
+    }
+
+    private void message(K key, Object value) {
+        if (root.isLeaf()) {
+            applyDirect(key, value);
+            return;
+        }
+
+        addToBuffer(root, key, value);
+
+        while (root.bufferCount == bufferCapacity) {
+            // flushing can split children of the node it flushes, which needs room for a key
+            if (root.isFull()) {
+                root = splitRoot(root);
+            } else {
+                flush(root);
+            }
+        }
+    }
+
+    /**
+     * Moves the messages for the child with most of them down one level. Makes progress
+     * on every call: moves or applies at least one message, or splits a node below.
+     *
+     * @param node inner node, not full, with a non-empty buffer
+     */
+    @SuppressWarnings("unchecked")
+    private void flush(BufferedNode<K, V> node) {
+        flushes++;
+
+        // messages for one child are contiguous in the sorted buffer, child i's end where separator i starts
+        int childIndex = 0;
+        int from = 0;
+        int count = 0;
+
+        for (int i = 0, start = 0; i <= node.numKeys && start < node.bufferCount; i++) {
+            int end = i == node.numKeys ? node.bufferCount : node.bufferLowerBound(node.keys[i]);
+
+            if (end - start > count) {
+                childIndex = i;
+                from = start;
+                count = end - start;
+            }
+
+            start = end;
+        }
+
+        BufferedNode<K, V> child = child(node, childIndex);
+
+        if (child.isLeaf()) {
+            int leafIndex = childIndex;
+            int applied = 0;
+
+            for (; applied < count; applied++) {
+                K key = node.bufferKey(from + applied);
+                Object value = node.bufferValues[from + applied];
+
+                // messages are sorted, splits only move the leaf for the next one to the right
+                while (leafIndex < node.numKeys && key.compareTo(node.keys[leafIndex]) >= 0) {
+                    leafIndex++;
+                }
+
+                BufferedNode<K, V> leaf = child(node, leafIndex);
+
+                if (value != TOMBSTONE && leaf.isFull() && !containsKey(leaf, key)) {
+                    // the rest waits for the parent to split node
+                    if (node.isFull()) {
+                        break;
+                    }
+
+                    splitChild(node, leafIndex);
+
+                    if (key.compareTo(node.keys[leafIndex]) >= 0) {
+                        leafIndex++;
+                    }
+
+                    leaf = child(node, leafIndex);
+                }
+
+                applyToLeaf(leaf, key, value);
+            }
+
+            removeFromBuffer(node, from, applied);
+        } else if (child.isFull()) {
+            splitChild(node, childIndex);
+        } else if (child.bufferCount + count > bufferCapacity) {
+            flush(child);
+        } else {
+            mergeIntoBuffer(child, node, from, count);
+            removeFromBuffer(node, from, count);
+        }
+    }
+
+    // merges count messages of source from index from into the buffer of node, which has room for all of them
+    @SuppressWarnings("unchecked")
+    private void mergeIntoBuffer(BufferedNode<K, V> node, BufferedNode<K, V> source, int from, int count) {
+        int i = 0;
+        int j = from;
+        int end = from + count;
+        int merged = 0;
+
+        while (i < node.bufferCount || j < end) {
+            int compared = i == node.bufferCount ? 1 : j == end ? -1 : node.bufferKeys[i].compareTo(source.bufferKeys[j]);
+
+            // on equal keys the message from source is newer and replaces the other
+            if (compared < 0) {
+                mergeKeys[merged] = node.bufferKeys[i];
+                mergeValues[merged++] = node.bufferValues[i++];
+            } else {
+                mergeKeys[merged] = source.bufferKeys[j];
+                mergeValues[merged++] = source.bufferValues[j++];
+
+                if (compared == 0) {
+                    i++;
+                }
+            }
+        }
+
+        System.arraycopy(mergeKeys, 0, node.bufferKeys, 0, merged);
+        System.arraycopy(mergeValues, 0, node.bufferValues, 0, merged);
+        Arrays.fill(mergeKeys, 0, merged, null);
+        Arrays.fill(mergeValues, 0, merged, null);
+        node.bufferCount = merged;
+    }
+
+    // inserts or overwrites the message for key, a new key needs room in the buffer
+    @SuppressWarnings("unchecked")
+    private void addToBuffer(BufferedNode<K, V> node, K key, Object value) {
+        int index = node.bufferLowerBound(key);
+
+        if (index < node.bufferCount && key.compareTo(node.bufferKeys[index]) == 0) {
+            node.bufferValues[index] = value;
+            return;
+        }
+
+        System.arraycopy(node.bufferKeys, index, node.bufferKeys, index + 1, node.bufferCount - index);
+        System.arraycopy(node.bufferValues, index, node.bufferValues, index + 1, node.bufferCount - index);
+        node.bufferKeys[index] = key;
+        node.bufferValues[index] = value;
+        node.bufferCount++;
+    }
+
+    private void removeFromBuffer(BufferedNode<K, V> node, int from, int count) {
+        int end = from + count;
+        System.arraycopy(node.bufferKeys, end, node.bufferKeys, from, node.bufferCount - end);
+        System.arraycopy(node.bufferValues, end, node.bufferValues, from, node.bufferCount - end);
+        node.bufferCount -= count;
+        Arrays.fill(node.bufferKeys, node.bufferCount, node.bufferCount + count, null);
+        Arrays.fill(node.bufferValues, node.bufferCount, node.bufferCount + count, null);
+    }
+
+    // applies one message with a root to leaf descent, like BPManager.insert(); buffers on the way must be empty
+    @SuppressWarnings("unchecked")
+    private void applyDirect(K key, Object value) {
+        if (value != TOMBSTONE && root.isFull()) {
+            root = splitRoot(root);
+        }
+
+        BufferedNode<K, V> node = root;
+
+        while (!node.isLeaf()) {
+            int childIndex = BPManager.upperBound(node, key);
+
+            if (value != TOMBSTONE && node.children[childIndex].isFull()) {
+                splitChild(node, childIndex);
+
+                if (key.compareTo(node.keys[childIndex]) >= 0) {
+                    childIndex++;
+                }
+            }
+
+            node = child(node, childIndex);
+        }
+
+        applyToLeaf(node, key, value);
+    }
+
+    // a put of a new key needs room in the leaf
+    @SuppressWarnings("unchecked")
+    private void applyToLeaf(BufferedNode<K, V> leaf, K key, Object value) {
+        int index = BPManager.lowerBound(leaf, key);
+        boolean found = index < leaf.numKeys && key.compareTo(leaf.keys[index]) == 0;
+
+        if (value == TOMBSTONE) {
+            if (found) {
+                System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.numKeys - index - 1);
+                System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.numKeys - index - 1);
+                leaf.numKeys--;
+                leaf.keys[leaf.numKeys] = null;
+                leaf.values[leaf.numKeys] = null;
+            }
+        } else if (found) {
+            leaf.values[index] = value;
+        } else {
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.numKeys - index);
+            System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.numKeys - index);
+            leaf.keys[index] = key;
+            leaf.values[index] = value;
+            leaf.numKeys++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean containsKey(BufferedNode<K, V> leaf, K key) {
+        int index = BPManager.lowerBound(leaf, key);
+        return index < leaf.numKeys && key.compareTo(leaf.keys[index]) == 0;
+    }
+
+    private BufferedNode<K, V> splitRoot(BufferedNode<K, V> oldRoot) {
+        BufferedNode<K, V> newRoot = new BufferedNode<>(innerDegree, false, bufferCapacity);
+        newRoot.children[0] = oldRoot;
+        splitChild(newRoot, 0);
+
+        return newRoot;
+    }
+
+    // BPManager's split, an inner child also hands the messages from the separator on to its sibling
+    private void splitChild(BufferedNode<K, V> parent, int childIndex) {
+        BufferedNode<K, V> child = child(parent, childIndex);
+        int half = child.minDegree;
+        BufferedNode<K, V> sibling = new BufferedNode<>(half, child.isLeaf(), bufferCapacity);
+        Comparable separator;
+
+        if (child.isLeaf()) {
+            System.arraycopy(child.keys, half - 1, sibling.keys, 0, half);
+            System.arraycopy(child.values, half - 1, sibling.values, 0, half);
+            Arrays.fill(child.keys, half - 1, 2 * half - 1, null);
+            Arrays.fill(child.values, half - 1, 2 * half - 1, null);
+            sibling.numKeys = half;
+            separator = sibling.keys[0];
+
+            sibling.next = child.next;
+            sibling.previous = child;
+
+            if (child.next != null) {
+                child.next.previous = sibling;
+            }
+
+            child.next = sibling;
+        } else {
+            separator = child.keys[half - 1];
+            System.arraycopy(child.keys, half, sibling.keys, 0, half - 1);
+            System.arraycopy(child.children, half, sibling.children, 0, half);
+            Arrays.fill(child.keys, half - 1, 2 * half - 1, null);
+            Arrays.fill(child.children, half, 2 * half, null);
+            sibling.numKeys = half - 1;
+
+            int moved = child.bufferLowerBound(separator);
+            sibling.bufferCount = child.bufferCount - moved;
+            System.arraycopy(child.bufferKeys, moved, sibling.bufferKeys, 0, sibling.bufferCount);
+            System.arraycopy(child.bufferValues, moved, sibling.bufferValues, 0, sibling.bufferCount);
+            Arrays.fill(child.bufferKeys, moved, child.bufferCount, null);
+            Arrays.fill(child.bufferValues, moved, child.bufferCount, null);
+            child.bufferCount = moved;
+        }
+
+        child.numKeys = half - 1;
+
+        System.arraycopy(parent.keys, childIndex, parent.keys, childIndex + 1, parent.numKeys - childIndex);
+        System.arraycopy(parent.children, childIndex + 1, parent.children, childIndex + 2, parent.numKeys - childIndex);
+        parent.keys[childIndex] = separator;
+        parent.children[childIndex + 1] = sibling;
+        parent.numKeys++;
+    }
+
+    // inner nodes by level, root level first
+    private List<List<BufferedNode<K, V>>> innerLevels() {
+        List<List<BufferedNode<K, V>>> levels = new ArrayList<>();
+        ArrayDeque<BufferedNode<K, V>> queue = new ArrayDeque<>();
+
+        if (!root.isLeaf()) {
+            queue.add(root);
+        }
+
+        while (!queue.isEmpty()) {
+            List<BufferedNode<K, V>> level = new ArrayList<>(queue);
+            queue.clear();
+            levels.add(level);
+
+            for (BufferedNode<K, V> node : level) {
+                for (int i = 0; i <= node.numKeys; i++) {
+                    BufferedNode<K, V> child = child(node, i);
+
+                    if (!child.isLeaf()) {
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+
+        return levels;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable, V> BufferedNode<K, V> child(BPNode<K, V> node, int index) {
+        return (BufferedNode<K, V>) node.children[index];
+    }
+}
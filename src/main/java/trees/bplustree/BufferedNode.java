@@ -0,0 +1,53 @@
+package trees.bplustree;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * BPNode of a BufferedBPTree. Inner nodes carry a buffer of pending messages for their
+ * subtree, sorted by key with at most one message per key: the value to put, or
+ * BufferedBPTree.TOMBSTONE for a delete.
+ */
+public class BufferedNode<K extends Comparable, V> extends BPNode<K, V> {
+    final Comparable[] bufferKeys; // null for leaves
+    final Object[] bufferValues;
+    int bufferCount;
+
+    public BufferedNode(int minDegree, boolean leaf, int bufferCapacity) {
+        super(minDegree, leaf);
+        this.bufferKeys = leaf ? null : new Comparable[bufferCapacity];
+        this.bufferValues = leaf ? null : new Object[bufferCapacity];
+    }
+
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    public K bufferKey(int index) {
+        return (K) bufferKeys[index];
+    }
+
+    /**
+     * Index of the first message with a key greater than or equal to key
+     *
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    int bufferLowerBound(Comparable key) {
+        int low = 0;
+        int high = bufferCount;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (bufferKeys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
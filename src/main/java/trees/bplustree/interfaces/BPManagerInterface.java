@@ -0,0 +1,19 @@
+package trees.bplustree.interfaces;
+
+import trees.bplustree.BPNode;
+import trees.btree.KVPair;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * BTManagerInterface for B+trees. The root is owned by the caller, who replaces it
+ * with splitRoot() before inserting into a full root and with shrinkRoot() after deletes.
+ */
+public interface BPManagerInterface<K extends Comparable, V> {
+    BPNode<K, V> initTree();
+    BPNode<K, V> insert(BPNode<K, V> root, KVPair<K, V> kvpair);
+    boolean delete(BPNode<K, V> root, K key);
+    BPNode<K, V> splitRoot(BPNode<K, V> root);
+    BPNode<K, V> shrinkRoot(BPNode<K, V> root);
+    BPNode<K, V> find(BPNode<K, V> root, K key);
+}
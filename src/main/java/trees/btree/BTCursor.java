@@ -0,0 +1,163 @@
+package trees.btree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Lazy in-order cursor over a BTNode tree.
+ * Only keeps the path from the start node to the current entry (O(height) state):
+ * for every node on the path the position of the next key to hand out and the
+ * position where the traversal of that node ends.
+ * The tree must not be modified while a cursor is open.
+ */
+public class BTCursor<K extends Comparable, V> implements Iterator<KVPair<K, V>> {
+    private final BTNode<K, V>[] nodes;
+    private final int[] positions;
+    private final int[] limits;
+    private int depth;
+
+    // exclusive upper bound, null when unbounded
+    private final K to;
+    private KVPair<K, V> next;
+
+    /**
+     * Cursor over the entries of the tree with from <= key < to.
+     * A null bound leaves that side open.
+     *
+     * @param root
+     * @param from
+     * @param to
+     */
+    @SuppressWarnings("unchecked")
+    public BTCursor(BTNode<K, V> root, K from, K to) {
+        int height = BTNavigation.height(root);
+        this.nodes = new BTNode[height + 1];
+        this.positions = new int[height + 1];
+        this.limits = new int[height + 1];
+        this.to = to;
+
+        if (from == null) {
+            descendLeft(root, 0, root.numKeys);
+        } else {
+            seek(root, from);
+        }
+
+        this.next = advance();
+    }
+
+    /**
+     * Cursor over a segment of node: keys [from, to) of a leaf, or children from..to
+     * with the keys between them of an inner node. first, if not null, is handed out
+     * before the segment.
+     *
+     * @param node
+     * @param from
+     * @param to
+     * @param first
+     */
+    @SuppressWarnings("unchecked")
+    BTCursor(BTNode<K, V> node, int from, int to, KVPair<K, V> first) {
+        int height = BTNavigation.height(node);
+        this.nodes = new BTNode[height + 1];
+        this.positions = new int[height + 1];
+        this.limits = new int[height + 1];
+        this.to = null;
+
+        descendLeft(node, from, to);
+        this.next = first != null ? first : advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public KVPair<K, V> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+
+        KVPair<K, V> current = next;
+        next = advance();
+        return current;
+    }
+
+    /**
+     * Next entry without moving the cursor, null at the end
+     *
+     * @return
+     */
+    public KVPair<K, V> peek() {
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KVPair<K, V> advance() {
+        while (depth > 0) {
+            int top = depth - 1;
+            BTNode<K, V> node = nodes[top];
+            int position = positions[top];
+
+            if (position >= limits[top]) {
+                // node exhausted, go back to its parent
+                depth--;
+                continue;
+            }
+
+            positions[top] = position + 1;
+            KVPair<K, V> entry = node.kvpairs[position];
+
+            // an inner node hands out a key once the child left of it is done,
+            // then continues with the leftmost entry of the child right of it
+            if (!node.isLeaf()) {
+                BTNode<K, V> child = node.children[position + 1];
+                descendLeft(child, 0, child.numKeys);
+            }
+
+            if (to != null && entry.key.compareTo(to) >= 0) {
+                depth = 0;
+                return null;
+            }
+
+            return entry;
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void descendLeft(BTNode<K, V> node, int from, int limit) {
+        push(node, from, limit);
+
+        while (!node.isLeaf()) {
+            node = node.children[from];
+            from = 0;
+            push(node, 0, node.numKeys);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seek(BTNode<K, V> node, K from) {
+        while (true) {
+            // the child left of the first key >= from holds the remaining candidates
+            int position = BTNavigation.lowerBound(node, from);
+            push(node, position, node.numKeys);
+
+            if (node.isLeaf()) {
+                return;
+            }
+
+            node = node.children[position];
+        }
+    }
+
+    private void push(BTNode<K, V> node, int position, int limit) {
+        nodes[depth] = node;
+        positions[depth] = position;
+        limits[depth] = limit;
+        depth++;
+    }
+}
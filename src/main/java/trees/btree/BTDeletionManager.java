@@ -0,0 +1,566 @@
+package trees.btree;
+
+import trees.btree.interfaces.BTDeletionManagerInterface;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.metrics.TreeListener;
+import trees.btree.search.AdaptiveSearch;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Single pass top-down delete (CLRS): every child the descent enters is first given at least
+ * minDegree keys, by borrowing from a sibling or merging with it, so the key can be removed
+ * from a leaf without walking back up. A root left without keys takes over the contents of its
+ * only child, so the root node stays the same object.
+ * <p>
+ * Lazy mode only removes the entry: the emptied position of an inner node is refilled from the
+ * predecessor leaf and nothing is merged, so underfull and even empty nodes stay behind.
+ * Lookups, cursors and navigation work on such a tree; compact() merges the underfull nodes
+ * later in one pass, e.g. when the tree is idle.
+ * <p>
+ * Counted mode keeps BTNode.size up to date: a delete first checks that the key is present,
+ * then every node it enters loses one entry, and borrows and merges recount the nodes they
+ * rearrange.
+ */
+public class BTDeletionManager<K extends Comparable, V> implements BTDeletionManagerInterface<K, V> {
+    private final NodeSearchStrategy<K> searchStrategy;
+    private final boolean lazy;
+    private final TreeListener listener; // null when not instrumented
+    private final boolean counted;
+
+    public BTDeletionManager() {
+        this(false);
+    }
+
+    public BTDeletionManager(boolean lazy) {
+        this(new AdaptiveSearch<>(), lazy);
+    }
+
+    public BTDeletionManager(NodeSearchStrategy<K> searchStrategy, boolean lazy) {
+        this(searchStrategy, lazy, null);
+    }
+
+    /**
+     * @param searchStrategy
+     * @param lazy
+     * @param listener       told about every merge, null for none
+     */
+    public BTDeletionManager(NodeSearchStrategy<K> searchStrategy, boolean lazy, TreeListener listener) {
+        this(searchStrategy, lazy, listener, false);
+    }
+
+    /**
+     * @param searchStrategy
+     * @param lazy
+     * @param listener       told about every merge, null for none
+     * @param counted        keep BTNode.size up to date, see BTOrderStatistics
+     */
+    public BTDeletionManager(NodeSearchStrategy<K> searchStrategy, boolean lazy, TreeListener listener, boolean counted) {
+        this.searchStrategy = searchStrategy;
+        this.lazy = lazy;
+        this.listener = listener;
+        this.counted = counted;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Deletes one entry with key.
+     *
+     * @param root
+     * @param key
+     * @return true if an entry was deleted
+     */
+    @Override
+    public boolean delete(BTNode<K, V> root, K key) {
+        if (counted && !contains(root, key)) {
+            return false;
+        }
+
+        return lazy ? deleteLazily(root, key) : delete(root, key, false);
+    }
+
+    /**
+     * Copy-on-write delete: root and the nodes it shares with other versions are left untouched,
+     * the nodes on the path and the siblings they borrow from are copied.
+     *
+     * @param root
+     * @param key
+     * @return root of the new version, root itself if key is absent
+     */
+    public BTNode<K, V> deleteCopying(BTNode<K, V> root, K key) {
+        if (counted && !contains(root, key)) {
+            return root;
+        }
+
+        BTNode<K, V> newRoot = new BTNode<>(root);
+        return delete(newRoot, key, true) ? newRoot : root;
+    }
+
+    /**
+     * Merges the underfull nodes left behind by lazy deletes, bottom up, and collapses a root
+     * without keys. Afterwards every node except the root holds at least minDegree - 1 keys.
+     *
+     * @param root
+     */
+    public void compact(BTNode<K, V> root) {
+        compactSubtree(root);
+
+        while (root.numKeys == 0 && !root.isLeaf()) {
+            collapseRoot(root);
+            fixChildren(root);
+        }
+    }
+
+    /**
+     * Merges child childIndex + 1 and the key between them into child childIndex.
+     * Both children must hold fewer than minDegree keys.
+     *
+     * @param node
+     * @param childIndex
+     * @return node
+     */
+    @Override
+    public BTNode mergeChildren(BTNode<K, V> node, int childIndex) {
+        merge(node, childIndex, false);
+        return node;
+    }
+
+    /**
+     * Removes key from a leaf without rebalancing, the sizes of its ancestors are left as they are
+     *
+     * @param node
+     * @param key
+     * @return false if node does not hold key
+     */
+    @Override
+    public boolean deleteLeafKey(BTNode<K, V> node, K key) {
+        if (!node.isLeaf()) {
+            throw new IllegalArgumentException("Not a leaf");
+        }
+
+        int keyIndex = searchStrategy.search(node, key);
+
+        if (keyIndex < 0) {
+            return false;
+        }
+
+        removeEntry(node, keyIndex);
+        return true;
+    }
+
+    /**
+     * Deletes key held by an inner node from the subtree of node.
+     * node must be a root or hold at least minDegree keys, the sizes of its ancestors are left as they are.
+     *
+     * @param node
+     * @param key
+     * @return false if node does not hold key
+     */
+    @Override
+    public boolean deleteInnerNodeKey(BTNode<K, V> node, K key) {
+        if (node.isLeaf()) {
+            throw new IllegalArgumentException("Not an inner node");
+        }
+
+        return searchStrategy.search(node, key) >= 0 && delete(node, key, false);
+    }
+
+    private boolean delete(BTNode<K, V> root, K key, boolean copy) {
+        BTNode<K, V> node = root;
+        int minDegree = root.minDegree;
+        enter(node);
+
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            if (keyIndex >= 0) {
+                if (node.isLeaf()) {
+                    removeEntry(node, keyIndex);
+                    return true;
+                }
+
+                // replace the key by its predecessor or successor if that side can spare one
+                if (node.children[keyIndex].numKeys >= minDegree) {
+                    node.kvpairs[keyIndex] = removeLast(child(node, keyIndex, copy), copy);
+                    return true;
+                }
+
+                if (node.children[keyIndex + 1].numKeys >= minDegree) {
+                    node.kvpairs[keyIndex] = removeFirst(child(node, keyIndex + 1, copy), copy);
+                    return true;
+                }
+
+                // otherwise push the key down into the merge of both sides and delete it there
+                node = merge(node, keyIndex, copy);
+                enter(node);
+            } else {
+                if (node.isLeaf()) {
+                    return false;
+                }
+
+                int childIndex = -keyIndex - 1;
+
+                if (node.children[childIndex].numKeys < minDegree) {
+                    childIndex = fill(node, childIndex, copy);
+                    node = node.children[childIndex];
+                } else {
+                    node = child(node, childIndex, copy);
+                }
+
+                enter(node);
+            }
+
+            // a merge may have taken the last key of the root
+            if (root.numKeys == 0 && !root.isLeaf()) {
+                collapseRoot(root);
+                node = root;
+            }
+        }
+    }
+
+    private KVPair<K, V> removeLast(BTNode<K, V> node, boolean copy) {
+        enter(node);
+
+        while (!node.isLeaf()) {
+            int childIndex = node.numKeys;
+
+            if (node.children[childIndex].numKeys < node.minDegree) {
+                childIndex = fill(node, childIndex, copy);
+                node = node.children[childIndex];
+            } else {
+                node = child(node, childIndex, copy);
+            }
+
+            enter(node);
+        }
+
+        KVPair<K, V> last = node.kvpairs[node.numKeys - 1];
+        removeEntry(node, node.numKeys - 1);
+        return last;
+    }
+
+    private KVPair<K, V> removeFirst(BTNode<K, V> node, boolean copy) {
+        enter(node);
+
+        while (!node.isLeaf()) {
+            if (node.children[0].numKeys < node.minDegree) {
+                fill(node, 0, copy);
+                node = node.children[0];
+            } else {
+                node = child(node, 0, copy);
+            }
+
+            enter(node);
+        }
+
+        KVPair<K, V> first = node.kvpairs[0];
+        removeEntry(node, 0);
+        return first;
+    }
+
+    /**
+     * Gives child childIndex of parent at least minDegree keys.
+     *
+     * @param parent
+     * @param childIndex
+     * @param copy
+     * @return index of the child covering the same keys afterwards
+     */
+    private int fill(BTNode<K, V> parent, int childIndex, boolean copy) {
+        int minDegree = parent.minDegree;
+
+        if (childIndex > 0 && parent.children[childIndex - 1].numKeys >= minDegree) {
+            borrowFromPrevious(parent, childIndex, copy);
+            return childIndex;
+        }
+
+        if (childIndex < parent.numKeys && parent.children[childIndex + 1].numKeys >= minDegree) {
+            borrowFromNext(parent, childIndex, copy);
+            return childIndex;
+        }
+
+        if (childIndex < parent.numKeys) {
+            merge(parent, childIndex, copy);
+            return childIndex;
+        }
+
+        merge(parent, childIndex - 1, copy);
+        return childIndex - 1;
+    }
+
+    // rotates the last entry of the left sibling through the parent into the child
+    private void borrowFromPrevious(BTNode<K, V> parent, int childIndex, boolean copy) {
+        BTNode<K, V> node = child(parent, childIndex, copy);
+        BTNode<K, V> sibling = child(parent, childIndex - 1, copy);
+        boolean leaf = node.isLeaf();
+
+        System.arraycopy(node.kvpairs, 0, node.kvpairs, 1, node.numKeys);
+        node.kvpairs[0] = parent.kvpairs[childIndex - 1];
+
+        if (!leaf) {
+            System.arraycopy(node.children, 0, node.children, 1, node.numKeys + 1);
+            node.children[0] = sibling.children[sibling.numKeys];
+            sibling.children[sibling.numKeys] = null;
+        }
+
+        parent.kvpairs[childIndex - 1] = sibling.kvpairs[sibling.numKeys - 1];
+        sibling.kvpairs[sibling.numKeys - 1] = null;
+
+        node.numKeys++;
+        sibling.numKeys--;
+        recount(node, sibling);
+    }
+
+    // rotates the first entry of the right sibling through the parent into the child
+    private void borrowFromNext(BTNode<K, V> parent, int childIndex, boolean copy) {
+        BTNode<K, V> node = child(parent, childIndex, copy);
+        BTNode<K, V> sibling = child(parent, childIndex + 1, copy);
+
+        node.kvpairs[node.numKeys] = parent.kvpairs[childIndex];
+        parent.kvpairs[childIndex] = sibling.kvpairs[0];
+        System.arraycopy(sibling.kvpairs, 1, sibling.kvpairs, 0, sibling.numKeys - 1);
+        sibling.kvpairs[sibling.numKeys - 1] = null;
+
+        if (!sibling.isLeaf()) {
+            node.children[node.numKeys + 1] = sibling.children[0];
+            System.arraycopy(sibling.children, 1, sibling.children, 0, sibling.numKeys);
+            sibling.children[sibling.numKeys] = null;
+        }
+
+        node.numKeys++;
+        sibling.numKeys--;
+        recount(node, sibling);
+    }
+
+    /**
+     * Appends the separator key and child childIndex + 1 to child childIndex and removes both
+     * from parent. The right child is only read, so it may be shared.
+     *
+     * @param parent
+     * @param childIndex
+     * @param copy
+     * @return merged child
+     */
+    private BTNode<K, V> merge(BTNode<K, V> parent, int childIndex, boolean copy) {
+        BTNode<K, V> node = child(parent, childIndex, copy);
+        BTNode<K, V> sibling = parent.children[childIndex + 1];
+
+        node.kvpairs[node.numKeys] = parent.kvpairs[childIndex];
+        System.arraycopy(sibling.kvpairs, 0, node.kvpairs, node.numKeys + 1, sibling.numKeys);
+
+        if (!sibling.isLeaf()) {
+            System.arraycopy(sibling.children, 0, node.children, node.numKeys + 1, sibling.numKeys + 1);
+        }
+
+        node.numKeys += sibling.numKeys + 1;
+
+        // close the gap in the parent
+        System.arraycopy(parent.kvpairs, childIndex + 1, parent.kvpairs, childIndex, parent.numKeys - childIndex - 1);
+        System.arraycopy(parent.children, childIndex + 2, parent.children, childIndex + 1, parent.numKeys - childIndex - 1);
+        parent.kvpairs[parent.numKeys - 1] = null;
+        parent.children[parent.numKeys] = null;
+        parent.numKeys--;
+
+        if (counted) {
+            BTOrderStatistics.recount(node);
+        }
+
+        if (listener != null) {
+            listener.onMerge();
+        }
+
+        return node;
+    }
+
+    // moves the contents of the only child of a root without keys into the root
+    private void collapseRoot(BTNode<K, V> root) {
+        BTNode<K, V> child = root.children[0];
+
+        System.arraycopy(child.kvpairs, 0, root.kvpairs, 0, child.kvpairs.length);
+        System.arraycopy(child.children, 0, root.children, 0, child.children.length);
+        root.numKeys = child.numKeys;
+        root.size = child.size;
+    }
+
+    // child childIndex of parent, replaced by a private copy when copying
+    private BTNode<K, V> child(BTNode<K, V> parent, int childIndex, boolean copy) {
+        BTNode<K, V> node = parent.children[childIndex];
+
+        if (copy) {
+            node = new BTNode<>(node);
+            parent.children[childIndex] = node;
+        }
+
+        return node;
+    }
+
+    // node is on the path of a delete of a present key, so its subtree loses one entry
+    private void enter(BTNode<K, V> node) {
+        if (counted) {
+            node.size--;
+        }
+    }
+
+    private void recount(BTNode<K, V> node, BTNode<K, V> sibling) {
+        if (counted) {
+            BTOrderStatistics.recount(node);
+            BTOrderStatistics.recount(sibling);
+        }
+    }
+
+    private boolean contains(BTNode<K, V> node, K key) {
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            if (keyIndex >= 0) {
+                return true;
+            }
+
+            if (node.isLeaf()) {
+                return false;
+            }
+
+            node = node.children[-keyIndex - 1];
+        }
+    }
+
+    private void removeEntry(BTNode<K, V> node, int index) {
+        System.arraycopy(node.kvpairs, index + 1, node.kvpairs, index, node.numKeys - index - 1);
+        node.kvpairs[node.numKeys - 1] = null;
+        node.numKeys--;
+    }
+
+    private boolean deleteLazily(BTNode<K, V> root, K key) {
+        BTNode<K, V> node = root;
+
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            // counted mode has checked that the key is present
+            enter(node);
+
+            if (keyIndex >= 0) {
+                if (node.isLeaf()) {
+                    removeEntry(node, keyIndex);
+                } else {
+                    replaceByPredecessor(node, keyIndex);
+                }
+
+                return true;
+            }
+
+            if (node.isLeaf()) {
+                return false;
+            }
+
+            node = node.children[-keyIndex - 1];
+        }
+    }
+
+    // fills the position of a deleted inner key with the greatest entry left of it
+    private void replaceByPredecessor(BTNode<K, V> node, int keyIndex) {
+        // the predecessor is the last key of the deepest node holding keys on the rightmost path,
+        // everything below that node on the path holds no keys
+        BTNode<K, V> holder = null;
+
+        for (BTNode<K, V> next = node.children[keyIndex]; ; next = next.children[next.numKeys]) {
+            if (next.numKeys > 0) {
+                holder = next;
+            }
+
+            if (next.isLeaf()) {
+                break;
+            }
+        }
+
+        // a node without keys has a single child, so the whole left subtree is empty: drop it
+        if (holder == null) {
+            System.arraycopy(node.kvpairs, keyIndex + 1, node.kvpairs, keyIndex, node.numKeys - keyIndex - 1);
+            System.arraycopy(node.children, keyIndex + 1, node.children, keyIndex, node.numKeys - keyIndex);
+            node.kvpairs[node.numKeys - 1] = null;
+            node.children[node.numKeys] = null;
+            node.numKeys--;
+            return;
+        }
+
+        // the predecessor leaves every subtree between node and holder
+        for (BTNode<K, V> next = node.children[keyIndex]; next != holder; next = next.children[next.numKeys]) {
+            enter(next);
+        }
+
+        enter(holder);
+
+        int last = holder.numKeys - 1;
+        node.kvpairs[keyIndex] = holder.kvpairs[last];
+        holder.kvpairs[last] = null;
+
+        // the child right of the predecessor is empty for the same reason
+        if (!holder.isLeaf()) {
+            holder.children[last + 1] = null;
+        }
+
+        holder.numKeys--;
+    }
+
+    private void compactSubtree(BTNode<K, V> node) {
+        if (node.isLeaf()) {
+            return;
+        }
+
+        for (int i = 0; i <= node.numKeys; i++) {
+            compactSubtree(node.children[i]);
+        }
+
+        fixChildren(node);
+    }
+
+    /**
+     * Merges or refills the children of node holding fewer than minDegree - 1 keys.
+     * The subtrees below the children must be compact already, apart from the children
+     * of nodes without keys, which get fixed once merged into a sibling.
+     *
+     * @param node
+     */
+    private void fixChildren(BTNode<K, V> node) {
+        int minKeys = node.minDegree - 1;
+        int maxKeys = 2 * node.minDegree - 1;
+        int childIndex = 0;
+
+        while (childIndex <= node.numKeys && node.numKeys > 0) {
+            BTNode<K, V> child = node.children[childIndex];
+
+            if (child.numKeys >= minKeys) {
+                childIndex++;
+                continue;
+            }
+
+            if (childIndex < node.numKeys) {
+                if (child.numKeys + node.children[childIndex + 1].numKeys < maxKeys) {
+                    child = merge(node, childIndex, false);
+                } else {
+                    while (child.numKeys < minKeys) {
+                        borrowFromNext(node, childIndex, false);
+                    }
+                }
+            } else {
+                if (child.numKeys + node.children[childIndex - 1].numKeys < maxKeys) {
+                    childIndex--;
+                    child = merge(node, childIndex, false);
+                } else {
+                    while (child.numKeys < minKeys) {
+                        borrowFromPrevious(node, childIndex, false);
+                    }
+                }
+            }
+
+            // children moved over from a node without keys may be underfull themselves,
+            // fixing them can take keys from child, so child is checked again
+            if (!child.isLeaf()) {
+                fixChildren(child);
+            }
+        }
+    }
+}
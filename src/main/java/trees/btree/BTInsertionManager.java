@@ -1,100 +1,313 @@
 package trees.btree;
 
 import trees.btree.interfaces.BTInsertionManagerInterface;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.metrics.TreeListener;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Created on 4/3/2018.
  */
-public class BTInsertionManager implements BTInsertionManagerInterface<Integer, String> {
+public class BTInsertionManager<K extends Comparable, V> implements BTInsertionManagerInterface<K, V> {
+    private final NodeSearchStrategy<K> searchStrategy;
+    private final TreeListener listener; // null when not instrumented
+    private final boolean counted;
+
+    public BTInsertionManager() {
+        this(new AdaptiveSearch<>());
+    }
+
+    public BTInsertionManager(NodeSearchStrategy<K> searchStrategy) {
+        this(searchStrategy, null);
+    }
+
+    /**
+     * @param searchStrategy
+     * @param listener       told about every split, null for none
+     */
+    public BTInsertionManager(NodeSearchStrategy<K> searchStrategy, TreeListener listener) {
+        this(searchStrategy, listener, false);
+    }
+
+    /**
+     * @param searchStrategy
+     * @param listener       told about every split, null for none
+     * @param counted        keep BTNode.size up to date, see BTOrderStatistics
+     */
+    public BTInsertionManager(NodeSearchStrategy<K> searchStrategy, TreeListener listener, boolean counted) {
+        this.searchStrategy = searchStrategy;
+        this.listener = listener;
+        this.counted = counted;
+    }
+
+    public boolean isCounted() {
+        return counted;
+    }
+
     @Override
-    public BTNode insert(BTNode<Integer, String> node, KVPair<Integer, String> kvpair) {
-        // if this is a leaf node insert the key
-        if (node.isLeaf()) {
-            if (!node.isFull()) {
-                addNewEntry(node, kvpair);
-                return node;
+    public BTNode insert(BTNode<K, V> node, KVPair<K, V> kvpair) {
+        // descend to the leaf, full children are split on the way down
+        // so there is always room for a key promoted from below
+        while (!node.isLeaf()) {
+            // the entry ends up below every node on the way
+            if (counted) {
+                node.size++;
             }
+
+            // find next search branch
+            // keys equal to an existing key go to its right
+            int keyIndex = searchStrategy.search(node, kvpair.key);
+            int nextChildIndex = keyIndex >= 0 ? keyIndex + 1 : -keyIndex - 1;
+
+            // check if child needs to be split
+            if (node.children[nextChildIndex].isFull()) {
+                // split then proceed with the insert
+                splitChild(node, nextChildIndex);
+                // get the value that has been promoted to the current node from the split child
+                KVPair<K, V> splitValue = node.kvpairs[nextChildIndex];
+
+                if (kvpair.compareTo(splitValue) >= 0) {
+                    nextChildIndex++; // keys equal to or greater than the promoted key go to the new node
+                }
+            }
+
+            node = node.children[nextChildIndex];
+        }
+
+        // only a root can be a full leaf here, roots are split by the caller
+        if (node.isFull()) {
+            throw new IllegalStateException("Full root must be split before inserting");
         }
 
-        // find next search branch
-        int nextChildIndex = node.numKeys - 1;
-        while (kvpair.compareTo(node.kvpairs[nextChildIndex]) < 0) {
-            nextChildIndex--;
+        if (counted) {
+            node.size++;
         }
 
-        // check if child needs to be split
-        if (node.children[nextChildIndex + 1].isFull()) {
-            // split then proceed with the insert
-            splitChild(node, nextChildIndex + 1);
-            // get the value that has been promoted to the current node from the split child
-            KVPair<Integer, String> splitValue = node.kvpairs[nextChildIndex + 1];
+        addNewEntry(node, kvpair);
+        return node;
+    }
+
+    /**
+     * Inserts entries sorted by key, keeping a finger on the path of the last insert.
+     * The next entry only climbs up to the deepest node on the finger whose key range holds it
+     * and which has room for a key promoted from below, then descends from there as insert() does.
+     * Full roots are split here, so the root may change. Equal keys are allowed, entries out of
+     * order are rejected.
+     *
+     * @param root
+     * @param entries sorted by key
+     * @return root of the tree
+     */
+    @SuppressWarnings("unchecked")
+    public BTNode<K, V> insertAll(BTNode<K, V> root, List<KVPair<K, V>> entries) {
+        int height = BTNavigation.height(root);
+        BTNode<K, V>[] path = new BTNode[height + 2];
+        // exclusive upper bound of the keys under path[i], null when unbounded
+        Comparable[] upper = new Comparable[height + 2];
+        int depth = 0;
+        path[0] = root;
+        K previous = null;
+
+        for (KVPair<K, V> kvpair : entries) {
+            K key = kvpair.key;
+
+            if (previous != null && key.compareTo(previous) < 0) {
+                throw new IllegalArgumentException("Entries must be sorted by key: " + key + " after " + previous);
+            }
+
+            previous = key;
+
+            // every node on the finger holds previous, so key is never below their ranges
+            while (depth > 0 && (path[depth].isFull() || upper[depth] != null && key.compareTo(upper[depth]) >= 0)) {
+                depth--;
+            }
+
+            if (depth == 0 && root.isFull()) {
+                root = splitRoot(root);
+                path[0] = root;
+
+                if (++height + 2 > path.length) {
+                    path = Arrays.copyOf(path, height + 2);
+                    upper = Arrays.copyOf(upper, height + 2);
+                }
+            }
 
-            if (kvpair.compareTo(splitValue) > 0) {
-                nextChildIndex += 2; // increment 1 over the initial 1 increment
+            // the nodes above the restart point are not visited again
+            if (counted) {
+                for (int i = 0; i < depth; i++) {
+                    path[i].size++;
+                }
             }
 
-            return insert(node.children[nextChildIndex], kvpair);
+            BTNode<K, V> node = path[depth];
+
+            while (!node.isLeaf()) {
+                if (counted) {
+                    node.size++;
+                }
+
+                int keyIndex = searchStrategy.search(node, key);
+                int nextChildIndex = keyIndex >= 0 ? keyIndex + 1 : -keyIndex - 1;
+
+                if (node.children[nextChildIndex].isFull()) {
+                    splitChild(node, nextChildIndex);
+
+                    if (kvpair.compareTo(node.kvpairs[nextChildIndex]) >= 0) {
+                        nextChildIndex++;
+                    }
+                }
+
+                Comparable bound = nextChildIndex < node.numKeys ? node.kvpairs[nextChildIndex].key : upper[depth];
+                node = node.children[nextChildIndex];
+                path[++depth] = node;
+                upper[depth] = bound;
+            }
+
+            if (counted) {
+                node.size++;
+            }
+
+            addNewEntry(node, kvpair);
         }
 
-        return insert(node.children[nextChildIndex + 1], kvpair);
+        return root;
+    }
+
+    /**
+     * Copy-on-write insert: root and the nodes it shares with other versions are left untouched.
+     * Every node on the path to the leaf is copied (and split into new nodes where full),
+     * all other subtrees are shared with root.
+     *
+     * @param root
+     * @param kvpair
+     * @return root of the new version
+     */
+    @SuppressWarnings("unchecked")
+    public BTNode<K, V> insertCopying(BTNode<K, V> root, KVPair<K, V> kvpair) {
+        BTNode<K, V> newRoot;
+
+        if (root.isFull()) {
+            newRoot = new BTNode<>(root.minDegree);
+            newRoot.children[0] = new BTNode<>(root);
+            newRoot.size = root.size;
+            splitChild(newRoot, 0);
+        } else {
+            newRoot = new BTNode<>(root);
+        }
+
+        BTNode<K, V> node = newRoot;
+
+        // node is always a private copy, so the top-down splits only touch copies
+        while (!node.isLeaf()) {
+            if (counted) {
+                node.size++;
+            }
+
+            int keyIndex = searchStrategy.search(node, kvpair.key);
+            int nextChildIndex = keyIndex >= 0 ? keyIndex + 1 : -keyIndex - 1;
+            BTNode<K, V> child = node.children[nextChildIndex];
+
+            if (child.isFull()) {
+                node.children[nextChildIndex] = new BTNode<>(child);
+                splitChild(node, nextChildIndex);
+
+                if (kvpair.compareTo(node.kvpairs[nextChildIndex]) >= 0) {
+                    nextChildIndex++;
+                }
+
+                // both halves are new nodes
+                child = node.children[nextChildIndex];
+            } else {
+                child = new BTNode<>(child);
+                node.children[nextChildIndex] = child;
+            }
+
+            node = child;
+        }
+
+        if (counted) {
+            node.size++;
+        }
+
+        addNewEntry(node, kvpair);
+        return newRoot;
     }
 
     @Override
-    public BTNode splitChild(BTNode<Integer, String> parent, int childIndex) {
+    public BTNode splitChild(BTNode<K, V> parent, int childIndex) {
 
-        BTNode<Integer, String> toSplit = parent.children[childIndex];
+        BTNode<K, V> toSplit = parent.children[childIndex];
 
-        // current number of keys is 2 * MAX_DEGREE - 1
-        int splitIndex = BTNode.MIN_DEGREE;
+        // current number of keys is 2 * minDegree - 1
+        int splitIndex = toSplit.minDegree;
 
         // create new node with the right half of the keys
-        BTNode<Integer, String> newNode = new BTNode<>(BTNode.MIN_DEGREE);
+        BTNode<K, V> newNode = new BTNode<>(toSplit.minDegree);
 
         // copy over keys
-        for (int i = 0; i < splitIndex - 1; i++) {
-            newNode.kvpairs[i] = toSplit.kvpairs[i + splitIndex];
-            newNode.numKeys++;
-        }
+        System.arraycopy(toSplit.kvpairs, splitIndex, newNode.kvpairs, 0, splitIndex - 1);
+        newNode.numKeys = splitIndex - 1;
 
         // copy over children if any
         if (!toSplit.isLeaf()) {
-            for (int i = 0; i < splitIndex - 1; i++) {
-                newNode.children[i] = toSplit.children[i + splitIndex];
-            }
+            System.arraycopy(toSplit.children, splitIndex, newNode.children, 0, splitIndex);
+            Arrays.fill(toSplit.children, splitIndex, 2 * splitIndex, null);
         }
 
         // reset split child number of keys
-        toSplit.numKeys = BTNode.MIN_DEGREE - 1;
+        KVPair<K, V> middle = toSplit.kvpairs[splitIndex - 1];
+        Arrays.fill(toSplit.kvpairs, splitIndex - 1, 2 * splitIndex - 1, null);
+        toSplit.numKeys = splitIndex - 1;
 
         // link new child to the correct index position
-        // shift all tailing children in the array to make room
-        for (int i = parent.numKeys; i >= childIndex + 1; i--) {
-            parent.children[i + 1] = parent.children[i];
-        }
+        // shift all tailing keys and children in the arrays to make room
+        System.arraycopy(parent.kvpairs, childIndex, parent.kvpairs, childIndex + 1, parent.numKeys - childIndex);
+        System.arraycopy(parent.children, childIndex + 1, parent.children, childIndex + 2, parent.numKeys - childIndex);
 
         parent.children[childIndex + 1] = newNode;
 
-        // copy middle key into parent
-        addNewEntry(parent, toSplit.kvpairs[BTNode.MIN_DEGREE - 1]);
+        // move middle key into parent, right before the new child
+        parent.kvpairs[childIndex] = middle;
+        parent.numKeys++;
+
+        // the parent keeps its entries, they are only spread differently
+        if (counted) {
+            BTOrderStatistics.recount(toSplit);
+            BTOrderStatistics.recount(newNode);
+        }
+
+        if (listener != null) {
+            listener.onSplit();
+        }
 
         // return updated parent node
         return parent;
     }
 
-    private boolean addNewEntry(BTNode<Integer, String> node, KVPair<Integer, String> entry) {
-        if (node.numKeys == 0) {
-            node.kvpairs[0] = entry;
-        } else {
-            int index = node.numKeys - 1;
-
-            while (node.kvpairs[index].compareTo(entry) > 0) {
-                node.kvpairs[index + 1] = node.kvpairs[index];
-                index--;
-            }
+    private BTNode<K, V> splitRoot(BTNode<K, V> root) {
+        BTNode<K, V> newRoot = new BTNode<>(root.minDegree);
+        newRoot.children[0] = root;
+        newRoot.size = root.size;
+        splitChild(newRoot, 0);
 
-            node.kvpairs[index + 1] = entry;
+        if (listener != null) {
+            listener.onRootSplit();
         }
 
+        return newRoot;
+    }
+
+    private boolean addNewEntry(BTNode<K, V> node, KVPair<K, V> entry) {
+        int keyIndex = searchStrategy.search(node, entry.key);
+        int index = keyIndex >= 0 ? keyIndex + 1 : -keyIndex - 1;
+
+        // shift greater keys one position to the right
+        System.arraycopy(node.kvpairs, index, node.kvpairs, index + 1, node.numKeys - index);
+        node.kvpairs[index] = entry;
+
         // increment number of children
         node.numKeys++;
 
@@ -1,49 +1,256 @@
 package trees.btree;
 
 import trees.btree.interfaces.BTManagerInterface;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.metrics.TreeListener;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created on 4/3/2018.
+ * <p>
+ * Built with a TreeListener, finds, inserts and deletes are timed and reported to it, and the
+ * listener should also be given to the insertion and deletion managers for splits and merges.
+ * Without one the operations run uninstrumented.
  */
 public class BTManager implements BTManagerInterface<Integer, String>{
-    private final BTInsertionManager insertionManager;
+    private final BTInsertionManager<Integer, String> insertionManager;
+    private final BTDeletionManager<Integer, String> deletionManager;
+    private final NodeSearchStrategy<Integer> searchStrategy;
+    private final int minDegree;
+    private final TreeListener listener; // null when not instrumented
+
+    public BTManager(BTInsertionManager<Integer, String> insertionManager) {
+        this(insertionManager, BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public BTManager(BTInsertionManager<Integer, String> insertionManager, int minDegree) {
+        this(insertionManager, minDegree, new AdaptiveSearch<>());
+    }
+
+    public BTManager(BTInsertionManager<Integer, String> insertionManager, int minDegree, NodeSearchStrategy<Integer> searchStrategy) {
+        this(insertionManager, new BTDeletionManager<>(searchStrategy, false), minDegree, searchStrategy);
+    }
+
+    public BTManager(BTInsertionManager<Integer, String> insertionManager, BTDeletionManager<Integer, String> deletionManager,
+                     int minDegree, NodeSearchStrategy<Integer> searchStrategy) {
+        this(insertionManager, deletionManager, minDegree, searchStrategy, null);
+    }
+
+    /**
+     * Instrumented manager, eager deletes and the default search strategy
+     *
+     * @param minDegree
+     * @param listener  told about every operation, split and merge
+     */
+    public BTManager(int minDegree, TreeListener listener) {
+        this(minDegree, listener, false);
+    }
+
+    /**
+     * Manager with eager deletes and the default search strategy
+     *
+     * @param minDegree
+     * @param listener  told about every operation, split and merge, null for none
+     * @param counted   keep subtree sizes for BTOrderStatistics
+     */
+    public BTManager(int minDegree, TreeListener listener, boolean counted) {
+        this(new BTInsertionManager<>(new AdaptiveSearch<>(), listener, counted),
+                new BTDeletionManager<>(new AdaptiveSearch<>(), false, listener, counted), minDegree, new AdaptiveSearch<>(), listener);
+    }
+
+    public BTManager(BTInsertionManager<Integer, String> insertionManager, BTDeletionManager<Integer, String> deletionManager,
+                     int minDegree, NodeSearchStrategy<Integer> searchStrategy, TreeListener listener) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
 
-    public BTManager(BTInsertionManager insertionManager) {
         this.insertionManager = insertionManager;
+        this.deletionManager = deletionManager;
+        this.minDegree = minDegree;
+        this.searchStrategy = searchStrategy;
+        this.listener = listener;
+    }
+
+    @Override
+    public BTNode<Integer, String> initTree() {
+        return new BTNode<>(minDegree);
     }
 
     @Override
     public BTNode insert(BTNode<Integer, String> node, KVPair value) {
-        return insertionManager.insert(node, value);
+        if (listener == null) {
+            return insertionManager.insert(node, value);
+        }
+
+        long start = System.nanoTime();
+        BTNode leaf = insertionManager.insert(node, value);
+        listener.onInsert(System.nanoTime() - start);
+
+        return leaf;
+    }
+
+    /**
+     * Inserts entries sorted by key, each descent starting from the path of the previous one,
+     * see BTInsertionManager.insertAll. Splits the root as needed.
+     *
+     * @param root
+     * @param entries sorted by key
+     * @return root of the tree
+     */
+    public BTNode<Integer, String> insertAll(BTNode<Integer, String> root, List<KVPair<Integer, String>> entries) {
+        if (listener == null || entries.isEmpty()) {
+            return insertionManager.insertAll(root, entries);
+        }
+
+        long start = System.nanoTime();
+        BTNode<Integer, String> newRoot = insertionManager.insertAll(root, entries);
+        listener.onInsertBatch(entries.size(), System.nanoTime() - start);
+
+        return newRoot;
     }
 
     @Override
     public boolean delete(BTNode<Integer, String> node, int key) {
-        return false;
+        if (listener == null) {
+            return deletionManager.delete(node, key);
+        }
+
+        long start = System.nanoTime();
+        boolean deleted = deletionManager.delete(node, key);
+        listener.onDelete(System.nanoTime() - start, deleted);
+
+        return deleted;
+    }
+
+    /**
+     * Merges the nodes left underfull by lazy deletes, see BTDeletionManager
+     *
+     * @param root
+     */
+    public void compact(BTNode<Integer, String> root) {
+        deletionManager.compact(root);
     }
 
     @Override
     public BTNode splitRoot(BTNode<Integer, String> root) {
-        BTNode<Integer, String> newRoot = new BTNode<>(BTNode.MIN_DEGREE);
+        BTNode<Integer, String> newRoot = new BTNode<>(root.minDegree);
         newRoot.children[0] = root;
+        newRoot.size = root.size;
 
         insertionManager.splitChild(newRoot, 0);
 
+        if (listener != null) {
+            listener.onRootSplit();
+        }
+
         return newRoot;
     }
 
     @Override
     public BTNode find(BTNode<Integer, String> node, Integer key) {
-        if (node.isLeaf() && node.hasKey(key)) {
-            return node;
+        if (listener != null) {
+            return findInstrumented(node, key);
+        }
+
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            if (keyIndex >= 0) {
+                return node;
+            }
+
+            // reached leaf without finding key
+            if (node.isLeaf()) {
+                return null;
+            }
+
+            // search in the branch where the key would be inserted
+            node = node.children[-keyIndex - 1];
+        }
+    }
+
+    /**
+     * Looks up keys sorted in ascending order, keeping a finger on the path of the last lookup:
+     * the next key only climbs up to the deepest node on the path whose key range holds it.
+     * Equal keys are allowed, keys out of order are rejected.
+     *
+     * @param root
+     * @param keys sorted in ascending order
+     * @return for every key an entry with that key, or null if it is absent
+     */
+    @SuppressWarnings("unchecked")
+    public List<KVPair<Integer, String>> findAll(BTNode<Integer, String> root, List<Integer> keys) {
+        long start = listener != null ? System.nanoTime() : 0;
+        int height = BTNavigation.height(root);
+        BTNode<Integer, String>[] path = new BTNode[height + 1];
+        // exclusive upper bound of the keys under path[i], null when unbounded
+        Integer[] upper = new Integer[height + 1];
+        int depth = 0;
+        path[0] = root;
+        List<KVPair<Integer, String>> entries = new ArrayList<>(keys.size());
+        Integer previous = null;
+        long visited = 0;
+
+        for (Integer key : keys) {
+            if (previous != null && key < previous) {
+                throw new IllegalArgumentException("Keys must be sorted: " + key + " after " + previous);
+            }
+
+            previous = key;
+
+            while (depth > 0 && upper[depth] != null && key >= upper[depth]) {
+                depth--;
+            }
+
+            BTNode<Integer, String> node = path[depth];
+
+            while (true) {
+                int keyIndex = searchStrategy.search(node, key);
+                visited++;
+
+                if (keyIndex >= 0) {
+                    entries.add(node.kvpairs[keyIndex]);
+                    break;
+                }
+
+                if (node.isLeaf()) {
+                    entries.add(null);
+                    break;
+                }
+
+                int childIndex = -keyIndex - 1;
+                Integer bound = childIndex < node.numKeys ? node.kvpairs[childIndex].key : upper[depth];
+                node = node.children[childIndex];
+                path[++depth] = node;
+                upper[depth] = bound;
+            }
         }
 
-        // identify branch to search in
-        int searchChildIndex = 0;
-        while (key < node.kvpairs[searchChildIndex].key) {
-            searchChildIndex++;
+        if (listener != null && !keys.isEmpty()) {
+            listener.onFindBatch(keys.size(), System.nanoTime() - start, visited);
         }
 
-        return find(node.children[searchChildIndex], key);
+        return entries;
+    }
+
+    // find() that counts the nodes it searches, kept apart so the plain loop stays as it is
+    private BTNode findInstrumented(BTNode<Integer, String> node, Integer key) {
+        long start = System.nanoTime();
+        int visited = 1;
+
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            if (keyIndex >= 0 || node.isLeaf()) {
+                listener.onFind(System.nanoTime() - start, visited);
+                return keyIndex >= 0 ? node : null;
+            }
+
+            node = node.children[-keyIndex - 1];
+            visited++;
+        }
     }
 }
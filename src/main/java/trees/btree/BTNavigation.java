@@ -0,0 +1,176 @@
+package trees.btree;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Ordered lookups over a BTNode tree, each one a single root to leaf descent.
+ */
+public class BTNavigation {
+    private BTNavigation() {
+    }
+
+    /**
+     * Entry with the greatest key lower than or equal to key, null if there is none
+     *
+     * @param root
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable, V> KVPair<K, V> floor(BTNode<K, V> root, K key) {
+        KVPair<K, V> candidate = null;
+        BTNode<K, V> node = root;
+
+        while (true) {
+            int index = upperBound(node, key);
+
+            // keys left of the upper bound are lower than or equal to key
+            if (index > 0) {
+                candidate = node.kvpairs[index - 1];
+
+                if (candidate.key.compareTo(key) == 0) {
+                    return candidate;
+                }
+            }
+
+            if (node.isLeaf()) {
+                return candidate;
+            }
+
+            node = node.children[index];
+        }
+    }
+
+    /**
+     * Entry with the lowest key greater than or equal to key, null if there is none
+     *
+     * @param root
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable, V> KVPair<K, V> ceiling(BTNode<K, V> root, K key) {
+        KVPair<K, V> candidate = null;
+        BTNode<K, V> node = root;
+
+        while (true) {
+            int index = lowerBound(node, key);
+
+            if (index < node.numKeys) {
+                candidate = node.kvpairs[index];
+
+                if (candidate.key.compareTo(key) == 0) {
+                    return candidate;
+                }
+            }
+
+            if (node.isLeaf()) {
+                return candidate;
+            }
+
+            node = node.children[index];
+        }
+    }
+
+    // the deepest key on the leftmost (rightmost) path wins, lazy deletes can leave nodes empty
+    public static <K extends Comparable, V> KVPair<K, V> first(BTNode<K, V> root) {
+        KVPair<K, V> candidate = null;
+        BTNode<K, V> node = root;
+
+        while (true) {
+            if (node.numKeys > 0) {
+                candidate = node.kvpairs[0];
+            }
+
+            if (node.isLeaf()) {
+                return candidate;
+            }
+
+            node = node.children[0];
+        }
+    }
+
+    public static <K extends Comparable, V> KVPair<K, V> last(BTNode<K, V> root) {
+        KVPair<K, V> candidate = null;
+        BTNode<K, V> node = root;
+
+        while (true) {
+            if (node.numKeys > 0) {
+                candidate = node.kvpairs[node.numKeys - 1];
+            }
+
+            if (node.isLeaf()) {
+                return candidate;
+            }
+
+            node = node.children[node.numKeys];
+        }
+    }
+
+    /**
+     * Number of levels below node, 0 for a leaf
+     *
+     * @param node
+     * @return
+     */
+    public static int height(BTNode<?, ?> node) {
+        int height = 0;
+
+        while (!node.isLeaf()) {
+            node = node.children[0];
+            height++;
+        }
+
+        return height;
+    }
+
+    /**
+     * Index of the first key greater than or equal to key
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable> int lowerBound(BTNode<K, ?> node, K key) {
+        int low = 0;
+        int high = node.numKeys;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (node.kvpairs[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Index of the first key greater than key
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable> int upperBound(BTNode<K, ?> node, K key) {
+        int low = 0;
+        int high = node.numKeys;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (node.kvpairs[mid].key.compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
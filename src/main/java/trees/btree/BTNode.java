@@ -1,25 +1,49 @@
 package trees.btree;
 
-import java.util.Arrays;
-import java.util.Objects;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.search.AdaptiveSearch;
 
 /**
  * Created on 18/2/2018.
  */
 public class BTNode<K extends Comparable, V> {
-    public static int MIN_DEGREE = 3; // min number of children
+    public static final int DEFAULT_MIN_DEGREE = 3;
+
+    private static final NodeSearchStrategy DEFAULT_SEARCH = new AdaptiveSearch();
 
 //    public final boolean leaf;
 //    public final boolean root;
+    public final int minDegree; // min number of children
     public int numKeys;
     public final KVPair<K, V>[] kvpairs;
     public final BTNode[] children;
 
+    // entries in the subtree, only kept up to date by managers in counted mode
+    public long size;
+
     public BTNode(int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        this.minDegree = minDegree;
         kvpairs = new KVPair[2 * minDegree - 1];
         children = new BTNode[2 * minDegree];
     }
 
+    /**
+     * Shallow copy of node: same entries and children, own arrays
+     *
+     * @param node
+     */
+    public BTNode(BTNode<K, V> node) {
+        this.minDegree = node.minDegree;
+        this.numKeys = node.numKeys;
+        this.size = node.size;
+        this.kvpairs = node.kvpairs.clone();
+        this.children = node.children.clone();
+    }
+
     public boolean hasKey(K key) {
         return getKeyIndex(key) != -1;
     }
@@ -30,51 +54,41 @@ public class BTNode<K extends Comparable, V> {
      * @param key
      * @return
      */
+    @SuppressWarnings("unchecked")
     public int getKeyIndex(K key) {
-        for (int i = 0; i < numKeys; i++) {
-            if (kvpairs[i].key == key) {
-                return i;
-            }
-        }
-
-        return -1;
+        int index = DEFAULT_SEARCH.search(this, key);
+        return index >= 0 ? index : -1;
     }
 
     public boolean isFull() {
-        return numKeys == 2 * MIN_DEGREE - 1;
+        return numKeys == 2 * minDegree - 1;
     }
 
     public boolean isLeaf() {
-        return !hasChildren();
-    }
-
-    private boolean hasChildren() {
-        return Arrays.stream(children)
-                .filter(Objects::nonNull)
-                .findAny()
-                .isPresent();
+        // inner nodes always have a first child
+        return children[0] == null;
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder("Leaf: " + isLeaf() + ", ");
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    private void appendTo(StringBuilder sb) {
+        sb.append("Leaf: ").append(isLeaf()).append(", ");
 
         for (int i = 0; i < numKeys; i++) {
-            sb.append(kvpairs[i] + ", ");
+            sb.append(kvpairs[i]).append(", ");
         }
 
         sb.append("\n");
 
         if (!isLeaf()) {
-            for (int i = 0; i < numKeys; i++) {
-                sb.append(children[i].toString());
-            }
-
-            if (children[numKeys] != null) {
-                sb.append(children[numKeys].toString());
+            for (int i = 0; i <= numKeys; i++) {
+                children[i].appendTo(sb);
             }
         }
-
-        return sb.toString();
     }
 }
@@ -0,0 +1,145 @@
+package trees.btree;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Rank and select over a BTNode tree whose nodes carry subtree sizes (BTNode.size), each one
+ * a single root to leaf descent summing the sizes of the children it passes.
+ * Sizes are kept by managers in counted mode, see BTManager(int, TreeListener, boolean);
+ * a tree built otherwise (e.g. bulk loaded) gets them from recountAll().
+ */
+public class BTOrderStatistics {
+    private BTOrderStatistics() {
+    }
+
+    /**
+     * Number of entries with a key lower than key
+     *
+     * @param root
+     * @param key
+     * @return
+     */
+    public static <K extends Comparable, V> long rank(BTNode<K, V> root, K key) {
+        return countBelow(root, key, false);
+    }
+
+    /**
+     * Entry at position index in key order, 0 being the lowest key
+     *
+     * @param root
+     * @param index
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable, V> KVPair<K, V> select(BTNode<K, V> root, long index) {
+        if (index < 0 || index >= root.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of [0, " + root.size + ")");
+        }
+
+        BTNode<K, V> node = root;
+
+        while (true) {
+            for (int i = 0; ; i++) {
+                if (!node.isLeaf()) {
+                    BTNode<K, V> child = node.children[i];
+
+                    if (index < child.size) {
+                        node = child;
+                        break;
+                    }
+
+                    index -= child.size;
+                }
+
+                if (index == 0) {
+                    return node.kvpairs[i];
+                }
+
+                index--;
+            }
+        }
+    }
+
+    /**
+     * Number of entries with from <= key < to, a null bound leaves that side open
+     *
+     * @param root
+     * @param from
+     * @param to
+     * @return
+     */
+    public static <K extends Comparable, V> long count(BTNode<K, V> root, K from, K to) {
+        long below = to == null ? root.size : countBelow(root, to, false);
+        return Math.max(0, below - (from == null ? 0 : countBelow(root, from, false)));
+    }
+
+    /**
+     * Number of entries with from <= key <= to
+     *
+     * @param root
+     * @param from
+     * @param to
+     * @return
+     */
+    public static <K extends Comparable, V> long countClosed(BTNode<K, V> root, K from, K to) {
+        return Math.max(0, countBelow(root, to, true) - countBelow(root, from, false));
+    }
+
+    /**
+     * Sets the size of every node of the tree from scratch
+     *
+     * @param root
+     * @return number of entries
+     */
+    public static long recountAll(BTNode<?, ?> root) {
+        if (!root.isLeaf()) {
+            for (int i = 0; i <= root.numKeys; i++) {
+                recountAll(root.children[i]);
+            }
+        }
+
+        return recount(root);
+    }
+
+    /**
+     * Sets the size of node from its keys and the sizes of its children
+     *
+     * @param node
+     * @return
+     */
+    static long recount(BTNode<?, ?> node) {
+        long size = node.numKeys;
+
+        if (!node.isLeaf()) {
+            for (int i = 0; i <= node.numKeys; i++) {
+                size += node.children[i].size;
+            }
+        }
+
+        node.size = size;
+        return size;
+    }
+
+    // entries with a key lower than key, or lower than or equal to it when inclusive
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable, V> long countBelow(BTNode<K, V> root, K key, boolean inclusive) {
+        long count = 0;
+        BTNode<K, V> node = root;
+
+        while (true) {
+            // children left of index only hold keys lower than (or equal to) key
+            int index = inclusive ? BTNavigation.upperBound(node, key) : BTNavigation.lowerBound(node, key);
+            count += index;
+
+            if (node.isLeaf()) {
+                return count;
+            }
+
+            for (int i = 0; i < index; i++) {
+                count += node.children[i].size;
+            }
+
+            node = node.children[index];
+        }
+    }
+}
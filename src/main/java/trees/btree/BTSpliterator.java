@@ -0,0 +1,115 @@
+package trees.btree;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Spliterator over a BTNode tree that splits at subtree boundaries:
+ * - an inner node segment is split between its children, the separator key
+ * going to the right half
+ * - a segment reduced to a single child descends into that child
+ * - leaf segments are split by key position
+ * Traversal is delegated to a BTCursor, so a spliterator only holds O(height) state.
+ * The tree must not be modified while it is traversed.
+ */
+public class BTSpliterator<K extends Comparable, V> implements Spliterator<KVPair<K, V>> {
+    private BTNode<K, V> node;
+
+    // keys [from, to) of a leaf, or children from..to of an inner node
+    private int from;
+    private int to;
+
+    // entry preceding the segment, handed out first
+    private KVPair<K, V> pending;
+    private long estimate;
+    private BTCursor<K, V> cursor;
+
+    public BTSpliterator(BTNode<K, V> root) {
+        this(root, 0, root.numKeys, null, estimateSize(root));
+    }
+
+    private BTSpliterator(BTNode<K, V> node, int from, int to, KVPair<K, V> pending, long estimate) {
+        this.node = node;
+        this.from = from;
+        this.to = to;
+        this.pending = pending;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super KVPair<K, V>> action) {
+        if (cursor == null) {
+            cursor = new BTCursor<>(node, from, to, pending);
+            pending = null;
+        }
+
+        if (!cursor.hasNext()) {
+            return false;
+        }
+
+        action.accept(cursor.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<KVPair<K, V>> trySplit() {
+        // traversal already started
+        if (cursor != null) {
+            return null;
+        }
+
+        while (!node.isLeaf() && from == to) {
+            node = node.children[from];
+            from = 0;
+            to = node.numKeys;
+        }
+
+        if (node.isLeaf() && to - from < 2) {
+            return null;
+        }
+
+        int mid = (from + to) >>> 1;
+        long prefixEstimate = estimate / 2;
+        BTSpliterator<K, V> prefix = new BTSpliterator<>(node, from, mid, pending, prefixEstimate);
+
+        if (node.isLeaf()) {
+            from = mid;
+            pending = null;
+        } else {
+            // the prefix takes children from..mid, the key right of child mid opens this segment
+            pending = node.kvpairs[mid];
+            from = mid + 1;
+        }
+
+        estimate -= prefixEstimate;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | NONNULL;
+    }
+
+    @Override
+    public Comparator<? super KVPair<K, V>> getComparator() {
+        // KVPair is ordered by key
+        return null;
+    }
+
+    // extrapolates the tree size from the leftmost path
+    private static long estimateSize(BTNode<?, ?> root) {
+        if (root.isLeaf()) {
+            return root.numKeys;
+        }
+
+        return root.numKeys + (root.numKeys + 1L) * estimateSize(root.children[0]);
+    }
+}
@@ -0,0 +1,246 @@
+package trees.btree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Builds a B-tree bottom-up from entries sorted by key, without going through BTInsertionManager:
+ * - the tree height and the number of children of every node are derived from the entry count
+ * and the fill factor, so every entry is visited exactly once
+ * - nodes are filled up to fillFactor * (2 * minDegree - 1) keys, never below minDegree - 1
+ * - entries are consumed in order, so a known count needs no buffering
+ * Equal keys are allowed, keys out of order are rejected.
+ */
+public class BTreeBulkLoader<K extends Comparable, V> {
+    public static final double DEFAULT_FILL_FACTOR = 1.0;
+
+    private final int minDegree;
+    private final double fillFactor;
+    private final long targetKeys;
+
+    public BTreeBulkLoader(int minDegree) {
+        this(minDegree, DEFAULT_FILL_FACTOR);
+    }
+
+    public BTreeBulkLoader(int minDegree, double fillFactor) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        if (!(fillFactor > 0 && fillFactor <= 1)) {
+            throw new IllegalArgumentException("Fill factor must be in (0, 1]: " + fillFactor);
+        }
+
+        this.minDegree = minDegree;
+        this.fillFactor = fillFactor;
+        this.targetKeys = Math.max(minDegree - 1, Math.round(fillFactor * (2 * minDegree - 1)));
+    }
+
+    public BTNode<K, V> load(Stream<KVPair<K, V>> entries) {
+        return load(entries.iterator());
+    }
+
+    /**
+     * Loads entries of unknown count. The entry references are buffered to count them first.
+     *
+     * @param entries
+     * @return root of the new tree
+     */
+    public BTNode<K, V> load(Iterator<KVPair<K, V>> entries) {
+        List<KVPair<K, V>> buffer = new ArrayList<>();
+
+        while (entries.hasNext()) {
+            buffer.add(entries.next());
+        }
+
+        return load(buffer);
+    }
+
+    public BTNode<K, V> load(List<KVPair<K, V>> entries) {
+        return load(entries.iterator(), entries.size());
+    }
+
+    /**
+     * Loads exactly count entries in a single pass over the iterator.
+     *
+     * @param entries
+     * @param count
+     * @return root of the new tree
+     */
+    public BTNode<K, V> load(Iterator<KVPair<K, V>> entries, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Entry count must not be negative: " + count);
+        }
+
+        SortedSource<K, V> source = new SortedSource<>(entries);
+        BTNode<K, V> root = build(source, count, height(count), true);
+
+        if (entries.hasNext()) {
+            throw new IllegalArgumentException("More than " + count + " entries supplied");
+        }
+
+        return root;
+    }
+
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    public double getFillFactor() {
+        return fillFactor;
+    }
+
+    /**
+     * Height (0 for a single leaf) of the tree built for count entries:
+     * the lowest height able to hold count entries at the target fill,
+     * lowered by one when the root would not get two children of the minimum size.
+     *
+     * @param count
+     * @return
+     */
+    int height(long count) {
+        int height = 0;
+
+        while (targetEntries(height) < count) {
+            height++;
+        }
+
+        if (height > 0 && count < 2 * minEntries(height - 1) + 1) {
+            height--;
+        }
+
+        return height;
+    }
+
+    /**
+     * Number of children of an inner node at the given height holding count entries in its subtree.
+     * Children get as close as possible to the target fill while staying within the
+     * min/max subtree sizes, so the entries can be split evenly between them.
+     *
+     * @param count
+     * @param height
+     * @param root
+     * @return
+     */
+    int childCount(long count, int height, boolean root) {
+        long childTarget = targetEntries(height - 1);
+        long childMin = minEntries(height - 1);
+        long childMax = maxEntries(height - 1);
+
+        long children = ceilDiv(count + 1, childTarget + 1);
+        children = Math.max(children, ceilDiv(count + 1, childMax + 1));
+        children = Math.max(children, root ? 2 : minDegree);
+        children = Math.min(children, (count + 1) / (childMin + 1));
+        children = Math.min(children, 2 * minDegree);
+
+        return (int) children;
+    }
+
+    /**
+     * Entries in the subtree of child childIndex when childCount children share count entries
+     *
+     * @param count
+     * @param childCount
+     * @param childIndex
+     * @return
+     */
+    static long childEntries(long count, int childCount, int childIndex) {
+        long entries = count - (childCount - 1);
+        return entries / childCount + (childIndex < entries % childCount ? 1 : 0);
+    }
+
+    BTNode<K, V> build(SortedSource<K, V> source, long count, int height, boolean root) {
+        BTNode<K, V> node = new BTNode<>(minDegree);
+
+        if (height == 0) {
+            for (int i = 0; i < count; i++) {
+                node.kvpairs[i] = source.next();
+            }
+
+            node.numKeys = (int) count;
+            return node;
+        }
+
+        int children = childCount(count, height, root);
+
+        for (int i = 0; i < children; i++) {
+            node.children[i] = build(source, childEntries(count, children, i), height - 1, false);
+
+            if (i < children - 1) {
+                node.kvpairs[i] = source.next();
+            }
+        }
+
+        node.numKeys = children - 1;
+        return node;
+    }
+
+    // max entries of a subtree of the given height with nodes at the target fill
+    private long targetEntries(int height) {
+        return subtreeEntries(height, targetKeys);
+    }
+
+    // min entries of a non-root subtree of the given height
+    private long minEntries(int height) {
+        return subtreeEntries(height, minDegree - 1);
+    }
+
+    private long maxEntries(int height) {
+        return subtreeEntries(height, 2 * minDegree - 1);
+    }
+
+    private static long subtreeEntries(int height, long keysPerNode) {
+        long entries = keysPerNode;
+
+        for (int i = 0; i < height; i++) {
+            // saturate instead of overflowing, no tree gets that big
+            if (entries > (Long.MAX_VALUE - keysPerNode) / (keysPerNode + 1)) {
+                return Long.MAX_VALUE;
+            }
+
+            entries = keysPerNode + (keysPerNode + 1) * entries;
+        }
+
+        return entries;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * Hands out entries in order, rejecting keys lower than the previous one
+     */
+    static class SortedSource<K extends Comparable, V> {
+        private final Iterator<KVPair<K, V>> entries;
+        private KVPair<K, V> previous;
+
+        SortedSource(Iterator<KVPair<K, V>> entries) {
+            this.entries = entries;
+        }
+
+        @SuppressWarnings("unchecked")
+        KVPair<K, V> next() {
+            if (!entries.hasNext()) {
+                throw new IllegalArgumentException("Fewer entries supplied than announced");
+            }
+
+            KVPair<K, V> entry = entries.next();
+
+            if (entry == null) {
+                throw new IllegalArgumentException("Null entry");
+            }
+
+            if (previous != null && previous.key.compareTo(entry.key) > 0) {
+                throw new IllegalArgumentException("Entries are not sorted: " + entry.key + " after " + previous.key);
+            }
+
+            previous = entry;
+            return entry;
+        }
+    }
+}
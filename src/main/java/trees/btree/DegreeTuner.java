@@ -0,0 +1,82 @@
+package trees.btree;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Picks a node min degree (fan-out) from the key/value width:
+ * - cache line mode: the key array of a node spans the given number of cache lines,
+ * so an in-node search touches a bounded number of lines
+ * - page mode: a whole node (keys, values and child references) fits into one page
+ * Never returns less than 2, the smallest valid B-tree degree.
+ */
+public class DegreeTuner {
+    public static final int CACHE_LINE_BYTES = 64;
+    public static final int PAGE_BYTES = 4096;
+
+    // assumes compressed oops, the default for heaps below 32GB
+    public static final int REFERENCE_BYTES = 4;
+
+    private static final int MIN_DEGREE = 2;
+
+    private DegreeTuner() {
+    }
+
+    public static int forCacheLine(int keyBytes) {
+        return forCacheLines(1, keyBytes);
+    }
+
+    /**
+     * Largest degree for which the 2 * degree - 1 keys of a node fit in the given cache lines
+     *
+     * @param cacheLines
+     * @param keyBytes
+     * @return
+     */
+    public static int forCacheLines(int cacheLines, int keyBytes) {
+        checkWidth(keyBytes);
+
+        int maxKeys = cacheLines * CACHE_LINE_BYTES / keyBytes;
+        return Math.max(MIN_DEGREE, (maxKeys + 1) / 2);
+    }
+
+    public static int forPage(int keyBytes, int valueBytes) {
+        return forPage(PAGE_BYTES, keyBytes, valueBytes);
+    }
+
+    /**
+     * Largest degree for which a full node fits in pageBytes:
+     * (2 * degree - 1) * (keyBytes + valueBytes) + 2 * degree * REFERENCE_BYTES <= pageBytes
+     *
+     * @param pageBytes
+     * @param keyBytes
+     * @param valueBytes
+     * @return
+     */
+    public static int forPage(int pageBytes, int keyBytes, int valueBytes) {
+        checkWidth(keyBytes);
+
+        if (valueBytes < 0) {
+            throw new IllegalArgumentException("Value width must not be negative: " + valueBytes);
+        }
+
+        int entryBytes = keyBytes + valueBytes;
+        int degree = (pageBytes + entryBytes) / (2 * (entryBytes + REFERENCE_BYTES));
+
+        return Math.max(MIN_DEGREE, degree);
+    }
+
+    /**
+     * BTNode keeps references to KVPair objects, so its key array is an array of references.
+     *
+     * @return
+     */
+    public static int forBTNodeCacheLine() {
+        return forCacheLine(REFERENCE_BYTES);
+    }
+
+    private static void checkWidth(int keyBytes) {
+        if (keyBytes <= 0) {
+            throw new IllegalArgumentException("Key width must be positive: " + keyBytes);
+        }
+    }
+}
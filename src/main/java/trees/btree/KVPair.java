@@ -14,7 +14,7 @@ public class KVPair<K extends Comparable, V> implements Comparable<KVPair<K, V>>
 
     @Override
     public String toString() {
-        return String.format("%d - %s", key, value);
+        return key + " - " + value;
     }
 
     @Override
@@ -0,0 +1,174 @@
+package trees.btree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Builds a B-tree from large unsorted inputs using all cores of a ForkJoinPool:
+ * - entries are sorted by a merge sort forked into the pool (stable, equal keys keep their input
+ * order); Arrays.parallelSort sizes its parallelism from the common pool, not the pool it runs in
+ * - the tree shape is the one computed by BTreeBulkLoader, so the key range of every subtree
+ * is known up front and subtrees are built concurrently
+ * - inner levels only link the finished subtrees and copy the separator entries
+ */
+public class ParallelBTreeBuilder<K extends Comparable, V> {
+    // subtrees and sort ranges with fewer entries are handled by the current task
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private final BTreeBulkLoader<K, V> loader;
+    private final ForkJoinPool pool;
+
+    public ParallelBTreeBuilder(int minDegree) {
+        this(minDegree, BTreeBulkLoader.DEFAULT_FILL_FACTOR, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBTreeBuilder(int minDegree, double fillFactor, ForkJoinPool pool) {
+        this.loader = new BTreeBulkLoader<>(minDegree, fillFactor);
+        this.pool = pool;
+    }
+
+    @SuppressWarnings("unchecked")
+    public BTNode<K, V> build(Collection<KVPair<K, V>> entries) {
+        return buildSorted(sort(entries.toArray(new KVPair[0])));
+    }
+
+    /**
+     * Sorts entries in place, then builds the tree
+     *
+     * @param entries
+     * @return root of the new tree
+     */
+    public BTNode<K, V> build(KVPair<K, V>[] entries) {
+        return buildSorted(sort(entries));
+    }
+
+    @SuppressWarnings("unchecked")
+    private KVPair<K, V>[] sort(KVPair<K, V>[] entries) {
+        if (entries.length > SEQUENTIAL_THRESHOLD) {
+            pool.invoke(new SortTask(entries, new KVPair[entries.length], 0, entries.length));
+        } else {
+            Arrays.sort(entries, byKey());
+        }
+
+        return entries;
+    }
+
+    private Comparator<KVPair<K, V>> byKey() {
+        return KVPair::compareTo;
+    }
+
+    private BTNode<K, V> buildSorted(KVPair<K, V>[] entries) {
+        List<KVPair<K, V>> sorted = Arrays.asList(entries);
+        return pool.invoke(new SubtreeTask(sorted, 0, entries.length, loader.height(entries.length), true));
+    }
+
+    // stable merge sort of entries[from, to), buffer is scratch space of the same length
+    private class SortTask extends RecursiveAction {
+        private final KVPair<K, V>[] entries;
+        private final KVPair<K, V>[] buffer;
+        private final int from;
+        private final int to;
+
+        SortTask(KVPair<K, V>[] entries, KVPair<K, V>[] buffer, int from, int to) {
+            this.entries = entries;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            Comparator<KVPair<K, V>> byKey = byKey();
+
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Arrays.sort(entries, from, to, byKey);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(entries, buffer, from, middle), new SortTask(entries, buffer, middle, to));
+
+            // already in order, e.g. for sorted input
+            if (byKey.compare(entries[middle - 1], entries[middle]) <= 0) {
+                return;
+            }
+
+            int left = from;
+            int right = middle;
+            int out = from;
+
+            // ties go to the left half, which keeps equal keys in input order
+            while (left < middle && right < to) {
+                buffer[out++] = byKey.compare(entries[left], entries[right]) <= 0 ? entries[left++] : entries[right++];
+            }
+
+            System.arraycopy(entries, left, buffer, out, middle - left);
+            System.arraycopy(entries, right, buffer, out + middle - left, to - right);
+            System.arraycopy(buffer, from, entries, from, to - from);
+        }
+    }
+
+    private class SubtreeTask extends RecursiveTask<BTNode<K, V>> {
+        private final List<KVPair<K, V>> entries;
+        private final int offset;
+        private final int count;
+        private final int height;
+        private final boolean root;
+
+        SubtreeTask(List<KVPair<K, V>> entries, int offset, int count, int height, boolean root) {
+            this.entries = entries;
+            this.offset = offset;
+            this.count = count;
+            this.height = height;
+            this.root = root;
+        }
+
+        @Override
+        protected BTNode<K, V> compute() {
+            if (height == 0 || count < SEQUENTIAL_THRESHOLD) {
+                BTreeBulkLoader.SortedSource<K, V> source =
+                        new BTreeBulkLoader.SortedSource<>(entries.subList(offset, offset + count).iterator());
+                return loader.build(source, count, height, root);
+            }
+
+            BTNode<K, V> node = new BTNode<>(loader.getMinDegree());
+            int children = loader.childCount(count, height, root);
+
+            List<SubtreeTask> tasks = new ArrayList<>(children);
+
+            // fork every child subtree, separators sit between their key ranges
+            int childOffset = offset;
+
+            for (int i = 0; i < children; i++) {
+                int childCount = (int) BTreeBulkLoader.childEntries(count, children, i);
+                SubtreeTask task = new SubtreeTask(entries, childOffset, childCount, height - 1, false);
+                tasks.add(task);
+
+                if (i < children - 1) {
+                    task.fork();
+                    node.kvpairs[i] = entries.get(childOffset + childCount);
+                }
+
+                childOffset += childCount + 1;
+            }
+
+            // compute the last child in this thread then collect the forked ones
+            node.children[children - 1] = tasks.get(children - 1).compute();
+
+            for (int i = children - 2; i >= 0; i--) {
+                node.children[i] = tasks.get(i).join();
+            }
+
+            node.numKeys = children - 1;
+            return node;
+        }
+    }
+}
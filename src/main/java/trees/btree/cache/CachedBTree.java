@@ -0,0 +1,144 @@
+package trees.btree.cache;
+
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * BTManager tree with a read-through ClockCache in front of find(), for skewed lookups where
+ * a few hot keys would otherwise descend the whole tree every time.
+ * - a cache hit takes no lock; a miss searches the tree and caches the result, absent keys
+ * included, under the read lock
+ * - inserts and deletes change the tree and invalidate the key under the write lock, so a miss
+ * never caches a value a writer is replacing
+ * Safe for concurrent readers and writers.
+ */
+public class CachedBTree {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // cached for keys not in the tree, and for entries with a null value
+    private static final Object ABSENT = new Object();
+    private static final Object NULL_VALUE = new Object();
+
+    private final BTManager manager;
+    private final ClockCache<Integer, Object> cache;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private BTNode<Integer, String> root;
+
+    public CachedBTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param minDegree
+     * @param capacity  max number of cached keys
+     */
+    public CachedBTree(int minDegree, int capacity) {
+        this(new BTManager(new BTInsertionManager<>(), minDegree), capacity);
+    }
+
+    public CachedBTree(BTManager manager, int capacity) {
+        this.manager = manager;
+        this.cache = new ClockCache<>(capacity);
+        this.root = manager.initTree();
+    }
+
+    /**
+     * Value of an entry with key
+     *
+     * @param key
+     * @return value or null if key is absent
+     */
+    public String find(int key) {
+        Object cached = lookup(key);
+        return cached == ABSENT || cached == NULL_VALUE ? null : (String) cached;
+    }
+
+    public boolean contains(int key) {
+        return lookup(key) != ABSENT;
+    }
+
+    public void insert(int key, String value) {
+        lock.writeLock().lock();
+
+        try {
+            if (root.isFull()) {
+                root = manager.splitRoot(root);
+            }
+
+            manager.insert(root, new KVPair<>(key, value));
+            // with duplicates, find() may now come across another entry
+            cache.invalidate(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes one entry with key.
+     *
+     * @param key
+     * @return true if an entry was deleted
+     */
+    public boolean delete(int key) {
+        lock.writeLock().lock();
+
+        try {
+            boolean deleted = manager.delete(root, key);
+
+            if (deleted) {
+                cache.invalidate(key);
+            }
+
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cache of this tree, for its hit rate and counters
+     *
+     * @return
+     */
+    public ClockCache<Integer, Object> getCache() {
+        return cache;
+    }
+
+    // cached result for key, a miss is searched and cached
+    private Object lookup(int key) {
+        Object cached = cache.get(key);
+
+        if (cached == null) {
+            lock.readLock().lock();
+
+            try {
+                cached = search(key);
+                cache.put(key, cached);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        return cached;
+    }
+
+    // caller holds a lock
+    @SuppressWarnings("unchecked")
+    private Object search(int key) {
+        BTNode<Integer, String> node = manager.find(root, key);
+
+        if (node == null) {
+            return ABSENT;
+        }
+
+        String value = node.kvpairs[node.getKeyIndex(key)].value;
+        return value == null ? NULL_VALUE : value;
+    }
+}
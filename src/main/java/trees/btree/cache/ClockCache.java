@@ -0,0 +1,176 @@
+package trees.btree.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Bounded map evicting by CLOCK (second chance), the policy BufferPoolStorage uses for pages:
+ * - get() is lock free: a ConcurrentHashMap lookup that sets the reference bit of the entry
+ * - put() and invalidate() serialize on the cache, put() sweeps the clock hand over the slots,
+ * clearing reference bits, and replaces the first entry not referenced since the last sweep
+ * - entries are immutable and never reused, so a reader racing with an eviction still gets the
+ * value that was cached for its key
+ * Hits, misses, evictions and invalidations are counted in LongAdders.
+ * Values must not be null.
+ */
+public class ClockCache<K, V> {
+    private final ConcurrentHashMap<K, Slot<K, V>> index;
+    private final Slot<K, V>[] slots;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        this.index = new ConcurrentHashMap<>(2 * capacity);
+        this.slots = new Slot[capacity];
+    }
+
+    /**
+     * @param key
+     * @return cached value or null
+     */
+    public V get(K key) {
+        Slot<K, V> slot = index.get(key);
+
+        if (slot == null) {
+            misses.increment();
+            return null;
+        }
+
+        // skip the write when set, so hot entries do not bounce their cache line between readers
+        if (!slot.referenced) {
+            slot.referenced = true;
+        }
+
+        hits.increment();
+        return slot.value;
+    }
+
+    /**
+     * Caches value for key, replacing a cached value for key or evicting another entry.
+     *
+     * @param key
+     * @param value
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null value for " + key);
+        }
+
+        Slot<K, V> old = index.get(key);
+        int position = old != null ? old.position : victim();
+        Slot<K, V> slot = new Slot<>(key, value, position);
+
+        slots[position] = slot;
+        index.put(key, slot);
+    }
+
+    public synchronized void invalidate(K key) {
+        Slot<K, V> slot = index.remove(key);
+
+        if (slot != null) {
+            slots[slot.position] = null;
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void clear() {
+        index.clear();
+
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = null;
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Share of get() calls answered from the cache so far
+     *
+     * @return 0 before the first get()
+     */
+    public double hitRate() {
+        long hits = hits();
+        long lookups = hits + misses();
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        invalidations.reset();
+    }
+
+    // position of a free slot, evicting its entry if needed; readers setting reference bits
+    // meanwhile cannot keep the hand going for more than two sweeps
+    private int victim() {
+        for (int step = 0; ; step++) {
+            int position = hand;
+            hand = (hand + 1) % slots.length;
+            Slot<K, V> slot = slots[position];
+
+            if (slot == null) {
+                return position;
+            }
+
+            if (slot.referenced && step < 2 * slots.length) {
+                slot.referenced = false;
+                continue;
+            }
+
+            index.remove(slot.key, slot);
+            slots[position] = null;
+            evictions.increment();
+            return position;
+        }
+    }
+
+    private static class Slot<K, V> {
+        final K key;
+        final V value;
+        final int position;
+
+        // set by readers without locking, a lost update only costs the entry its second chance
+        volatile boolean referenced;
+
+        Slot(K key, V value, int position) {
+            this.key = key;
+            this.value = value;
+            this.position = position;
+        }
+    }
+}
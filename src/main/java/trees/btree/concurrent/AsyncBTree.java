@@ -0,0 +1,296 @@
+package trees.btree.concurrent;
+
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Asynchronous front-end of a BTManager tree. Requests are queued and applied in batches by a single
+ * drain task running on an executor, which is the only code ever touching the tree:
+ * - submitting takes no lock and never blocks, callers may join the returned futures from any number
+ * of (virtual) threads
+ * - a batch is sorted by key, requests on the same key keep their submission order
+ * - lookups of keys no insert or delete of the batch touches are answered first with one
+ * BTManager.findAll; the other requests follow in key order, runs of inserts going through
+ * BTManager.insertAll
+ * Dependent stages attached without an executor run on the drain task, use the *Async variants
+ * for anything slow. If the executor rejects the drain task, the queued requests fail with its exception.
+ */
+public class AsyncBTree {
+    public static final int DEFAULT_MAX_BATCH = 1024;
+
+    private static final Comparator<Request> BY_KEY = (first, second) -> Integer.compare(first.key, second.key);
+
+    private final BTManager manager;
+    private final Executor executor;
+    private final int maxBatch;
+
+    private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<>();
+    // set while a drain task is scheduled or running
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    // only accessed by the drain task
+    private BTNode<Integer, String> root;
+    private Request[] batch;
+    private Request[] updates;
+
+    public AsyncBTree() {
+        this(new BTManager(new BTInsertionManager<>(), BTNode.DEFAULT_MIN_DEGREE), ForkJoinPool.commonPool(),
+                DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param manager
+     * @param executor runs the drain task, at most one at a time
+     * @param maxBatch max number of requests applied in one batch
+     */
+    public AsyncBTree(BTManager manager, Executor executor, int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatch);
+        }
+
+        this.manager = manager;
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+        this.root = manager.initTree();
+        this.batch = new Request[Math.min(maxBatch, 64)];
+        this.updates = new Request[batch.length];
+    }
+
+    /**
+     * @param key
+     * @return value of an entry with key, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<String> find(int key) {
+        return (CompletableFuture<String>) (CompletableFuture<?>) submit(new Request(Request.FIND, key, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> insert(int key, String value) {
+        return (CompletableFuture<Void>) (CompletableFuture<?>) submit(new Request(Request.INSERT, key, value));
+    }
+
+    /**
+     * Deletes one entry with key
+     *
+     * @param key
+     * @return true if an entry was deleted
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Boolean> delete(int key) {
+        return (CompletableFuture<Boolean>) (CompletableFuture<?>) submit(new Request(Request.DELETE, key, null));
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public double averageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) requests.sum() / count;
+    }
+
+    private CompletableFuture<Object> submit(Request request) {
+        queue.add(request);
+
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(drain);
+            } catch (RuntimeException e) {
+                // e.g. RejectedExecutionException, nobody would drain the queue
+                draining.set(false);
+                failQueued(e);
+            }
+        }
+
+        return request;
+    }
+
+    // completes every queued request with e, requests queued meanwhile may be failed too
+    private void failQueued(RuntimeException e) {
+        Request request;
+
+        while ((request = queue.poll()) != null) {
+            request.completeExceptionally(e);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            int count = poll();
+
+            if (count > 0) {
+                apply(count);
+                continue;
+            }
+
+            draining.set(false);
+
+            // a request queued after the last poll found draining still set
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private int poll() {
+        int count = 0;
+        Request request;
+
+        while (count < maxBatch && (request = queue.poll()) != null) {
+            if (count == batch.length) {
+                batch = Arrays.copyOf(batch, Math.min(maxBatch, 2 * count));
+                updates = new Request[batch.length];
+            }
+
+            batch[count++] = request;
+        }
+
+        return count;
+    }
+
+    private void apply(int count) {
+        // stable, equal keys keep their submission order
+        Arrays.sort(batch, 0, count, BY_KEY);
+
+        // lookups of keys nobody writes in this batch move to the front of batch,
+        // everything else to updates, both staying in key order
+        int lookups = 0;
+        int updateCount = 0;
+
+        for (int start = 0; start < count; ) {
+            int end = start;
+            boolean written = false;
+
+            while (end < count && batch[end].key == batch[start].key) {
+                written |= batch[end].type != Request.FIND;
+                end++;
+            }
+
+            for (int i = start; i < end; i++) {
+                if (written) {
+                    updates[updateCount++] = batch[i];
+                } else {
+                    batch[lookups++] = batch[i];
+                }
+            }
+
+            start = end;
+        }
+
+        try {
+            findAll(lookups);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < lookups; i++) {
+                batch[i].completeExceptionally(e);
+            }
+        }
+
+        for (int start = 0; start < updateCount; ) {
+            int end = start + 1;
+
+            // consecutive inserts are sorted, they go in as one batch
+            if (updates[start].type == Request.INSERT) {
+                while (end < updateCount && updates[end].type == Request.INSERT) {
+                    end++;
+                }
+            }
+
+            try {
+                applyUpdates(start, end);
+            } catch (RuntimeException e) {
+                for (int i = start; i < end; i++) {
+                    updates[i].completeExceptionally(e);
+                }
+            }
+
+            start = end;
+        }
+
+        Arrays.fill(batch, 0, count, null);
+        Arrays.fill(updates, 0, updateCount, null);
+        batches.increment();
+        requests.add(count);
+    }
+
+    // answers the lookups batch[0, count), sorted by key, with one finger search
+    private void findAll(int count) {
+        List<Integer> keys = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            keys.add(batch[i].key);
+        }
+
+        List<KVPair<Integer, String>> entries = manager.findAll(root, keys);
+
+        for (int i = 0; i < count; i++) {
+            KVPair<Integer, String> entry = entries.get(i);
+            batch[i].complete(entry == null ? null : entry.value);
+        }
+    }
+
+    // updates[start, end) is a single find or delete, or a run of inserts
+    private void applyUpdates(int start, int end) {
+        Request request = updates[start];
+
+        switch (request.type) {
+            case Request.FIND:
+                BTNode node = manager.find(root, request.key);
+                request.complete(node == null ? null : node.kvpairs[node.getKeyIndex(request.key)].value);
+                break;
+            case Request.INSERT:
+                List<KVPair<Integer, String>> entries = new ArrayList<>(end - start);
+
+                for (int i = start; i < end; i++) {
+                    entries.add(new KVPair<>(updates[i].key, updates[i].value));
+                }
+
+                root = manager.insertAll(root, entries);
+
+                for (int i = start; i < end; i++) {
+                    updates[i].complete(null);
+                }
+                break;
+            default:
+                request.complete(manager.delete(root, request.key));
+        }
+    }
+
+    private static class Request extends CompletableFuture<Object> {
+        static final int FIND = 0;
+        static final int INSERT = 1;
+        static final int DELETE = 2;
+
+        final int type;
+        final int key;
+        final String value;
+
+        Request(int type, int key, String value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
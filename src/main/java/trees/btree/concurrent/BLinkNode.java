@@ -0,0 +1,51 @@
+package trees.btree.concurrent;
+
+import trees.btree.BTNode;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * BTNode of a B-link tree (Lehman & Yao).
+ * Entries only live in leaves (level 0), inner nodes hold separator keys: child i covers
+ * the keys in [kvpairs[i - 1].key, kvpairs[i].key).
+ * Every node links to its right sibling and knows the exclusive upper bound of its keys,
+ * so a search that reaches a node after it split can still find its key by moving right.
+ */
+public class BLinkNode<K extends Comparable, V> extends BTNode<K, V> {
+    public final int level;
+
+    // written under the write lock, read through optimistic stamps
+    volatile BLinkNode<K, V> right;
+    volatile K highKey; // null on the rightmost node of a level
+
+    final StampedLock lock = new StampedLock();
+    private long writeStamp;
+
+    BLinkNode(int minDegree, int level) {
+        super(minDegree);
+        this.level = level;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return level == 0;
+    }
+
+    public BLinkNode<K, V> getRight() {
+        return right;
+    }
+
+    public K getHighKey() {
+        return highKey;
+    }
+
+    void lockWrite() {
+        writeStamp = lock.writeLock();
+    }
+
+    void unlockWrite() {
+        lock.unlockWrite(writeStamp);
+    }
+}
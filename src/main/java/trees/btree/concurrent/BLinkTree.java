@@ -0,0 +1,469 @@
+package trees.btree.concurrent;
+
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Concurrent B-link tree (Lehman & Yao) over BLinkNodes, safe for any number of readers and writers:
+ * - readers take no locks: every node is read under an optimistic StampedLock stamp and re-read
+ * if a writer got in, falling back to a read lock only after repeated failed validations
+ * - a search that lands on a node which split meanwhile follows the right links
+ * - writers descend like readers, then write lock the leaf; a split is posted to the parent
+ * while the split node is still locked, and locks are only ever taken bottom-up and left to right
+ * - removal does not rebalance, nodes may become underfull or empty (as in the original paper)
+ * Inserting an existing key replaces its value. Null keys are not allowed.
+ */
+public class BLinkTree<K extends Comparable, V> {
+    // validation failures on one node before a reader takes its read lock
+    private static final int OPTIMISTIC_ATTEMPTS = 8;
+
+    // results of visit besides the child or value found
+    private static final Object MOVE_RIGHT = new Object();
+    private static final Object TORN = new Object();
+
+    private final int minDegree;
+    private final Object rootLock = new Object();
+    private final LongAdder size = new LongAdder();
+    private volatile BLinkNode<K, V> root;
+
+    public BLinkTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public BLinkTree(int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        this.minDegree = minDegree;
+        this.root = new BLinkNode<>(minDegree, 0);
+    }
+
+    /**
+     * @param key
+     * @return value of key or null if the key is not in the tree
+     */
+    @SuppressWarnings("unchecked")
+    public V find(K key) {
+        requireKey(key);
+        BLinkNode<K, V> node = root;
+
+        while (true) {
+            Object result = visit(node, key);
+
+            if (result == MOVE_RIGHT) {
+                node = node.right;
+            } else if (node.level > 0) {
+                node = (BLinkNode<K, V>) result;
+            } else {
+                return (V) result;
+            }
+        }
+    }
+
+    public boolean contains(K key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Inserts key into the tree, splitting full nodes on the way up.
+     *
+     * @param key
+     * @param value
+     * @return previous value of the key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V insert(K key, V value) {
+        requireKey(key);
+
+        // rightmost node visited on each inner level, where splits are posted
+        BLinkNode<K, V> node = root;
+        BLinkNode<K, V>[] path = new BLinkNode[node.level + 1];
+
+        while (node.level > 0) {
+            Object next = visit(node, key);
+
+            if (next == MOVE_RIGHT) {
+                node = node.right;
+            } else {
+                path[node.level] = node;
+                node = (BLinkNode<K, V>) next;
+            }
+        }
+
+        node = lockCovering(node, key);
+        int index = indexOf(node, key);
+
+        if (index >= 0) {
+            V previous = node.kvpairs[index].value;
+            node.kvpairs[index] = new KVPair<>(key, value);
+            node.unlockWrite();
+            return previous;
+        }
+
+        size.increment();
+
+        KVPair<K, V> entry = new KVPair<>(key, value);
+        BLinkNode<K, V> rightChild = null;
+        int position = -index - 1;
+
+        while (true) {
+            if (!node.isFull()) {
+                insertAt(node, position, entry, rightChild);
+                node.unlockWrite();
+                return null;
+            }
+
+            BLinkNode<K, V> sibling = splitInsert(node, position, entry, rightChild);
+            K separator = node.highKey;
+
+            // lock coupling: the parent is locked before the split node is released
+            BLinkNode<K, V> parent = lockParent(node, sibling, separator, path);
+            node.unlockWrite();
+
+            if (parent == null) {
+                return null;
+            }
+
+            node = parent;
+            entry = new KVPair<>(separator, null);
+            rightChild = sibling;
+            position = -indexOf(node, separator) - 1;
+        }
+    }
+
+    /**
+     * Removes key from its leaf, without merging or redistributing nodes.
+     *
+     * @param key
+     * @return removed value or null if the key was not in the tree
+     */
+    public V remove(K key) {
+        requireKey(key);
+        BLinkNode<K, V> node = lockCovering(descend(key, 0), key);
+        int index = indexOf(node, key);
+
+        if (index < 0) {
+            node.unlockWrite();
+            return null;
+        }
+
+        V previous = node.kvpairs[index].value;
+        System.arraycopy(node.kvpairs, index + 1, node.kvpairs, index, node.numKeys - index - 1);
+        node.kvpairs[--node.numKeys] = null;
+        node.unlockWrite();
+
+        size.decrement();
+        return previous;
+    }
+
+    /**
+     * Number of entries, exact only while no writer is running
+     *
+     * @return
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    public int height() {
+        return root.level + 1;
+    }
+
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    public BLinkNode<K, V> getRoot() {
+        return root;
+    }
+
+    /**
+     * Reads node without locking it:
+     * - MOVE_RIGHT if key is beyond the node's high key
+     * - the child covering key for inner nodes
+     * - the value of key (or null) for leaves
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    private Object visit(BLinkNode<K, V> node, K key) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            // 0 while a writer holds the node
+            long stamp = node.lock.tryOptimisticRead();
+
+            if (stamp != 0) {
+                Object result = visitUnchecked(node, key);
+
+                if (node.lock.validate(stamp) && result != TORN) {
+                    return result;
+                }
+            }
+        }
+
+        long stamp = node.lock.readLock();
+
+        try {
+            return visitUnchecked(node, key);
+        } finally {
+            node.lock.unlockRead(stamp);
+        }
+    }
+
+    // may see a node halfway through a write, anything inconsistent is reported as TORN
+    @SuppressWarnings("unchecked")
+    private Object visitUnchecked(BLinkNode<K, V> node, K key) {
+        K highKey = node.highKey;
+
+        if (highKey != null && key.compareTo(highKey) >= 0) {
+            return MOVE_RIGHT;
+        }
+
+        KVPair<K, V>[] kvpairs = node.kvpairs;
+        int numKeys = Math.min(Math.max(node.numKeys, 0), kvpairs.length);
+        int low = 0;
+        int high = numKeys;
+
+        // index of the first key greater than key
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            KVPair<K, V> pair = kvpairs[mid];
+
+            if (pair == null || pair.key == null) {
+                return TORN;
+            }
+
+            int cmp = pair.key.compareTo(key);
+
+            if (node.level == 0 && cmp == 0) {
+                return pair.value;
+            }
+
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (node.level == 0) {
+            return null;
+        }
+
+        Object child = node.children[low];
+        return child != null ? child : TORN;
+    }
+
+    /**
+     * Write locks the node covering key on node's level, moving right past splits.
+     *
+     * @param node
+     * @param key
+     * @return
+     */
+    private BLinkNode<K, V> lockCovering(BLinkNode<K, V> node, K key) {
+        node.lockWrite();
+
+        while (true) {
+            K highKey = node.highKey;
+
+            if (highKey == null || key.compareTo(highKey) < 0) {
+                return node;
+            }
+
+            BLinkNode<K, V> right = node.right;
+            right.lockWrite();
+            node.unlockWrite();
+            node = right;
+        }
+    }
+
+    /**
+     * Write locks the parent the split of node has to be posted to.
+     * If node was the root a new root is installed instead and null is returned.
+     *
+     * @param node      split node, write locked
+     * @param sibling   new right sibling of node
+     * @param separator high key of node
+     * @param path      nodes visited on the way down
+     * @return
+     */
+    private BLinkNode<K, V> lockParent(BLinkNode<K, V> node, BLinkNode<K, V> sibling, K separator, BLinkNode<K, V>[] path) {
+        int level = node.level + 1;
+        BLinkNode<K, V> parent = level < path.length ? path[level] : null;
+
+        if (parent == null) {
+            if (growRoot(node, sibling, separator)) {
+                return null;
+            }
+
+            // the tree grew since the descent
+            parent = descend(separator, level);
+        }
+
+        return lockCovering(parent, separator);
+    }
+
+    /**
+     * Installs a new root above node and sibling if node is the root.
+     *
+     * @param node
+     * @param sibling
+     * @param separator
+     * @return true if node was the root
+     */
+    private boolean growRoot(BLinkNode<K, V> node, BLinkNode<K, V> sibling, K separator) {
+        boolean interrupted = false;
+
+        synchronized (rootLock) {
+            try {
+                while (root.level == node.level) {
+                    if (root == node) {
+                        BLinkNode<K, V> newRoot = new BLinkNode<>(minDegree, node.level + 1);
+                        newRoot.kvpairs[0] = new KVPair<>(separator, null);
+                        newRoot.children[0] = node;
+                        newRoot.children[1] = sibling;
+                        newRoot.numKeys = 1;
+
+                        root = newRoot;
+                        rootLock.notifyAll();
+                        return true;
+                    }
+
+                    // node is right of a root which split but whose writer has not grown the tree yet
+                    try {
+                        rootLock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+
+                return false;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lock free descent to the node on the given level whose range held key when visited
+     *
+     * @param key
+     * @param level
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private BLinkNode<K, V> descend(K key, int level) {
+        BLinkNode<K, V> node = root;
+
+        while (node.level > level) {
+            Object next = visit(node, key);
+            node = next == MOVE_RIGHT ? node.right : (BLinkNode<K, V>) next;
+        }
+
+        return node;
+    }
+
+    /**
+     * Splits the full, write locked node and inserts entry (and the child right of it for
+     * inner nodes) into the half it belongs to before the new sibling is linked in.
+     * Afterwards the high key of node is the separator to post to the parent.
+     *
+     * @param node
+     * @param position   insertion point of entry in node
+     * @param entry
+     * @param rightChild
+     * @return new right sibling
+     */
+    private BLinkNode<K, V> splitInsert(BLinkNode<K, V> node, int position, KVPair<K, V> entry, BLinkNode<K, V> rightChild) {
+        int t = minDegree;
+        BLinkNode<K, V> sibling = new BLinkNode<>(t, node.level);
+        K separator;
+
+        if (node.level == 0) {
+            // node keeps t entries, the sibling takes the other t - 1
+            System.arraycopy(node.kvpairs, t, sibling.kvpairs, 0, t - 1);
+            Arrays.fill(node.kvpairs, t, 2 * t - 1, null);
+            node.numKeys = t;
+            sibling.numKeys = t - 1;
+
+            if (position < t) {
+                insertAt(node, position, entry, null);
+            } else {
+                insertAt(sibling, position - t, entry, null);
+            }
+
+            separator = sibling.kvpairs[0].key;
+        } else {
+            // the middle separator moves up, each half keeps t - 1 keys and t children
+            separator = node.kvpairs[t - 1].key;
+            System.arraycopy(node.kvpairs, t, sibling.kvpairs, 0, t - 1);
+            System.arraycopy(node.children, t, sibling.children, 0, t);
+            Arrays.fill(node.kvpairs, t - 1, 2 * t - 1, null);
+            Arrays.fill(node.children, t, 2 * t, null);
+            node.numKeys = t - 1;
+            sibling.numKeys = t - 1;
+
+            if (position < t) {
+                insertAt(node, position, entry, rightChild);
+            } else {
+                insertAt(sibling, position - t, entry, rightChild);
+            }
+        }
+
+        sibling.right = node.right;
+        sibling.highKey = node.highKey;
+        node.right = sibling;
+        node.highKey = separator;
+
+        return sibling;
+    }
+
+    private void insertAt(BLinkNode<K, V> node, int position, KVPair<K, V> entry, BLinkNode<K, V> rightChild) {
+        System.arraycopy(node.kvpairs, position, node.kvpairs, position + 1, node.numKeys - position);
+        node.kvpairs[position] = entry;
+
+        if (rightChild != null) {
+            System.arraycopy(node.children, position + 1, node.children, position + 2, node.numKeys - position);
+            node.children[position + 1] = rightChild;
+        }
+
+        node.numKeys++;
+    }
+
+    // binary search on a locked node, same contract as Arrays.binarySearch
+    @SuppressWarnings("unchecked")
+    private int indexOf(BLinkNode<K, V> node, K key) {
+        int low = 0;
+        int high = node.numKeys - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = node.kvpairs[mid].key.compareTo(key);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    private static void requireKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package trees.btree.concurrent;
+
+import trees.btree.BTDeletionManager;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.interfaces.SearchableTree;
+import trees.btree.search.AdaptiveSearch;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Persistent BTNode tree: every write builds a new version by path copying and publishes
+ * its root, nodes are never modified once published.
+ * - snapshot() is O(1), it just returns the current root
+ * - readers run lock free on the snapshot they hold, range scans and streams included
+ * (see SearchableTree), and never see later writes
+ * - writers are serialized with each other, they never wait for readers
+ * - unchanged subtrees are shared between versions; a version is reclaimed by the garbage
+ * collector once no reader holds its root
+ */
+public class CopyOnWriteBTree<K extends Comparable, V> implements SearchableTree<K, V> {
+    private final BTInsertionManager<K, V> insertionManager;
+    private final BTDeletionManager<K, V> deletionManager;
+    private final NodeSearchStrategy<K> searchStrategy;
+    private volatile BTNode<K, V> root;
+    private volatile long size;
+
+    public CopyOnWriteBTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public CopyOnWriteBTree(int minDegree) {
+        this(minDegree, new AdaptiveSearch<>());
+    }
+
+    public CopyOnWriteBTree(int minDegree, NodeSearchStrategy<K> searchStrategy) {
+        this(new BTNode<>(minDegree), 0, searchStrategy);
+    }
+
+    /**
+     * Tree starting from an existing version, e.g. one built by BTreeBulkLoader.
+     * root must not be modified afterwards.
+     *
+     * @param root
+     * @param size number of entries under root
+     * @param searchStrategy
+     */
+    public CopyOnWriteBTree(BTNode<K, V> root, long size, NodeSearchStrategy<K> searchStrategy) {
+        this.insertionManager = new BTInsertionManager<>(searchStrategy);
+        this.deletionManager = new BTDeletionManager<>(searchStrategy, false);
+        this.searchStrategy = searchStrategy;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Root of the current version, never modified afterwards
+     *
+     * @return
+     */
+    public BTNode<K, V> snapshot() {
+        return root;
+    }
+
+    /**
+     * Inserts kvpair into a new version and publishes it.
+     *
+     * @param kvpair
+     * @return root of the new version
+     */
+    public synchronized BTNode<K, V> insert(KVPair<K, V> kvpair) {
+        BTNode<K, V> newRoot = insertionManager.insertCopying(root, kvpair);
+        size++;
+        root = newRoot;
+        return newRoot;
+    }
+
+    /**
+     * Deletes one entry with key in a new version and publishes it.
+     *
+     * @param key
+     * @return true if an entry was deleted, no new version is published otherwise
+     */
+    public synchronized boolean delete(K key) {
+        BTNode<K, V> newRoot = deletionManager.deleteCopying(root, key);
+
+        if (newRoot == root) {
+            return false;
+        }
+
+        size--;
+        root = newRoot;
+        return true;
+    }
+
+    /**
+     * Replaces the entry find() returns for kvpair.key by kvpair, in a new version published
+     * in one step. Only the path down to that entry is copied, the shape of the tree stays as it is.
+     *
+     * @param kvpair
+     * @return true if an entry was replaced, no new version is published otherwise
+     */
+    public synchronized boolean replace(KVPair<K, V> kvpair) {
+        BTNode<K, V> newRoot = new BTNode<>(root);
+        BTNode<K, V> node = newRoot;
+
+        while (true) {
+            int keyIndex = searchStrategy.search(node, kvpair.key);
+
+            if (keyIndex >= 0) {
+                node.kvpairs[keyIndex] = kvpair;
+                root = newRoot;
+                return true;
+            }
+
+            if (node.isLeaf()) {
+                return false;
+            }
+
+            int childIndex = -keyIndex - 1;
+            BTNode<K, V> child = new BTNode<>(node.children[childIndex]);
+            node.children[childIndex] = child;
+            node = child;
+        }
+    }
+
+    /**
+     * Looks key up in the current version
+     *
+     * @param key
+     * @return node holding key or null
+     */
+    public BTNode find(K key) {
+        return find(root, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BTNode find(BTNode<K, V> node, K key) {
+        while (true) {
+            int keyIndex = searchStrategy.search(node, key);
+
+            if (keyIndex >= 0) {
+                return node;
+            }
+
+            if (node.isLeaf()) {
+                return null;
+            }
+
+            node = node.children[-keyIndex - 1];
+        }
+    }
+
+    /**
+     * Number of entries in the current version
+     *
+     * @return
+     */
+    public long size() {
+        return size;
+    }
+}
@@ -0,0 +1,560 @@
+package trees.btree.concurrent;
+
+import trees.btree.BTCursor;
+import trees.btree.BTNode;
+import trees.btree.BTSpliterator;
+import trees.btree.BTreeBulkLoader;
+import trees.btree.KVPair;
+import trees.btree.interfaces.NodeSearchStrategy;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Forest of CopyOnWriteBTrees partitioning the key space into ranges, shard i holding the keys in
+ * [bounds[i - 1], bounds[i]):
+ * - the shards and their bounds are an immutable routing table behind a volatile reference, so a
+ * point operation finds its shard with one binary search and no global lock
+ * - every shard has a single writer at a time (its monitor), writes to different shards run in
+ * parallel on the calling threads; reads run lock free on the shard snapshots
+ * - a shard growing beyond maxShardSize is split at its median key by the insert that filled it;
+ * rebalance() also splits shards taking an outsized share of the writes and merges small cold
+ * neighbours
+ * - range scans and streams walk the shards in key order, each one on the snapshot it had
+ * when the scan started
+ * A split or merge rebuilds the affected shards with BTreeBulkLoader while holding their monitors,
+ * writes to them wait meanwhile. Equal keys always end up in the same shard.
+ */
+public class ShardedBTree<K extends Comparable, V> {
+    public static final long DEFAULT_MAX_SHARD_SIZE = 1 << 18;
+
+    // a shard taking more than HOT_FACTOR times its fair share of the writes is split by rebalance()
+    public static final double HOT_FACTOR = 2.0;
+
+    // shards rebuilt by a split or merge keep room for inserts, full nodes would all split right away
+    public static final double REBUILD_FILL_FACTOR = 0.75;
+
+    private final long maxShardSize;
+    private final int maxShards;
+    private final int parallelism;
+    private final NodeSearchStrategy<K> searchStrategy;
+    private final BTreeBulkLoader<K, V> loader;
+
+    // serializes routing table updates; always taken after the shard monitors
+    private final Object routingLock = new Object();
+    // serializes rebalance() calls; always taken before the shard monitors
+    private final Object rebalanceLock = new Object();
+    private volatile Routing<K, V> routing;
+    private volatile long splits;
+    private volatile long merges;
+
+    public ShardedBTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE, DEFAULT_MAX_SHARD_SIZE, Runtime.getRuntime().availableProcessors(),
+                Collections.emptyList());
+    }
+
+    /**
+     * @param minDegree    min degree of the shard trees
+     * @param maxShardSize entries above which a shard is split
+     * @param parallelism  number of writer threads expected, the forest grows up to 4 * parallelism shards
+     * @param bounds       initial shard bounds in ascending order, may be empty
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedBTree(int minDegree, long maxShardSize, int parallelism, List<K> bounds) {
+        if (maxShardSize < 2) {
+            throw new IllegalArgumentException("Max shard size must be at least 2: " + maxShardSize);
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        for (int i = 1; i < bounds.size(); i++) {
+            if (bounds.get(i - 1).compareTo(bounds.get(i)) >= 0) {
+                throw new IllegalArgumentException("Shard bounds must be strictly ascending: " + bounds);
+            }
+        }
+
+        this.maxShardSize = maxShardSize;
+        this.parallelism = parallelism;
+        this.maxShards = Math.max(4 * parallelism, bounds.size() + 1);
+        this.searchStrategy = new AdaptiveSearch<>();
+        this.loader = new BTreeBulkLoader<>(minDegree, REBUILD_FILL_FACTOR);
+
+        Shard<K, V>[] shards = new Shard[bounds.size() + 1];
+
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard<>(new CopyOnWriteBTree<>(minDegree, searchStrategy), maxShardSize);
+        }
+
+        this.routing = new Routing<>(bounds.toArray(new Comparable[0]), shards);
+    }
+
+    /**
+     * Inserts kvpair into its shard, splitting the shard if it grew beyond maxShardSize
+     *
+     * @param kvpair
+     */
+    public void insert(KVPair<K, V> kvpair) {
+        while (true) {
+            Shard<K, V> shard = routing.shardFor(kvpair.key);
+
+            synchronized (shard) {
+                // split or merged away since the routing table was read
+                if (shard.retired) {
+                    continue;
+                }
+
+                shard.tree.insert(kvpair);
+                shard.writes++;
+
+                // a shard which cannot be split now is retried once it doubled
+                if (shard.tree.size() > shard.splitSize && !split(shard)) {
+                    shard.splitSize *= 2;
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes one entry with key from its shard
+     *
+     * @param key
+     * @return true if an entry was deleted
+     */
+    public boolean delete(K key) {
+        while (true) {
+            Shard<K, V> shard = routing.shardFor(key);
+
+            synchronized (shard) {
+                if (shard.retired) {
+                    continue;
+                }
+
+                shard.writes++;
+                return shard.tree.delete(key);
+            }
+        }
+    }
+
+    /**
+     * Replaces an entry with kvpair.key by kvpair in one write to its shard, see CopyOnWriteBTree.replace
+     *
+     * @param kvpair
+     * @return true if an entry was replaced
+     */
+    public boolean replace(KVPair<K, V> kvpair) {
+        while (true) {
+            Shard<K, V> shard = routing.shardFor(kvpair.key);
+
+            synchronized (shard) {
+                if (shard.retired) {
+                    continue;
+                }
+
+                shard.writes++;
+                return shard.tree.replace(kvpair);
+            }
+        }
+    }
+
+    /**
+     * Looks key up in the current snapshot of its shard
+     *
+     * @param key
+     * @return node holding key or null
+     */
+    public BTNode find(K key) {
+        return routing.shardFor(key).tree.find(key);
+    }
+
+    public boolean contains(K key) {
+        return find(key) != null;
+    }
+
+    /**
+     * In-order cursor over the entries with from <= key < to, a null bound leaves that side open.
+     * Only the shards overlapping the range are visited.
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public Iterator<KVPair<K, V>> range(K from, K to) {
+        Routing<K, V> current = routing;
+        int first = from == null ? 0 : current.indexOf(from);
+        int last = to == null ? current.shards.length - 1 : current.indexOf(to);
+
+        // from > to: no shard, like an empty range of a single tree
+        last = Math.max(last, first - 1);
+        return new ShardCursor<>(current.snapshots(first, last + 1), from, to);
+    }
+
+    public Iterator<KVPair<K, V>> cursor() {
+        return range(null, null);
+    }
+
+    /**
+     * Ordered stream over all entries. A parallel stream hands out whole shards to its workers.
+     *
+     * @param parallel
+     * @return
+     */
+    public Stream<KVPair<K, V>> stream(boolean parallel) {
+        Routing<K, V> current = routing;
+        Stream<BTNode<K, V>> roots = Arrays.stream(current.snapshots(0, current.shards.length));
+        return (parallel ? roots.parallel() : roots)
+                .flatMap(root -> StreamSupport.stream(new BTSpliterator<>(root), false));
+    }
+
+    /**
+     * Splits the shards which took more than HOT_FACTOR times their fair share of the writes since
+     * the last call, and merges neighbours which both took less than half of theirs and fit
+     * in a quarter of maxShardSize together.
+     *
+     * @return number of splits and merges done
+     */
+    public int rebalance() {
+        synchronized (rebalanceLock) {
+            Routing<K, V> current = routing;
+            int count = current.shards.length;
+            long[] recent = new long[count];
+            long total = 0;
+
+            for (int i = 0; i < count; i++) {
+                Shard<K, V> shard = current.shards[i];
+                long writes = shard.writes;
+                recent[i] = writes - shard.writesAtRebalance;
+                shard.writesAtRebalance = writes;
+                total += recent[i];
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            // no point in more hot shards than writer threads
+            double hotWrites = HOT_FACTOR * total / Math.min(count, parallelism);
+            double coldWrites = 0.5 * total / count;
+            long minSplitSize = Math.max(2, maxShardSize / 64);
+            int changes = 0;
+
+            for (int i = 0; i < count; i++) {
+                Shard<K, V> shard = current.shards[i];
+
+                if (recent[i] > hotWrites && shard.tree.size() >= minSplitSize) {
+                    synchronized (shard) {
+                        if (!shard.retired && split(shard)) {
+                            changes++;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i + 1 < count; i++) {
+                Shard<K, V> left = current.shards[i];
+                Shard<K, V> right = current.shards[i + 1];
+
+                if (recent[i] < coldWrites && recent[i + 1] < coldWrites
+                        && left.tree.size() + right.tree.size() < maxShardSize / 4 && merge(left, right)) {
+                    changes++;
+                    // right is gone, a merge never chains into the next pair
+                    i++;
+                }
+            }
+
+            return changes;
+        }
+    }
+
+    /**
+     * Number of entries over all shards, not atomic with respect to concurrent writes
+     *
+     * @return
+     */
+    public long size() {
+        long size = 0;
+
+        for (Shard<K, V> shard : routing.shards) {
+            size += shard.tree.size();
+        }
+
+        return size;
+    }
+
+    public int shardCount() {
+        return routing.shards.length;
+    }
+
+    /**
+     * Current shard bounds, shard i holds the keys in [bounds[i - 1], bounds[i])
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> bounds() {
+        List<K> bounds = new ArrayList<>();
+
+        for (Comparable bound : routing.bounds) {
+            bounds.add((K) bound);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Entry count of every shard, in key order
+     *
+     * @return
+     */
+    public long[] shardSizes() {
+        Shard<K, V>[] shards = routing.shards;
+        long[] sizes = new long[shards.length];
+
+        for (int i = 0; i < shards.length; i++) {
+            sizes[i] = shards[i].tree.size();
+        }
+
+        return sizes;
+    }
+
+    public long splits() {
+        return splits;
+    }
+
+    public long merges() {
+        return merges;
+    }
+
+    /**
+     * Replaces shard by two shards split at the first distinct key from its median on.
+     * The caller holds the monitor of shard.
+     *
+     * @param shard
+     * @return false if the forest is at maxShards or all entries of shard have the same key
+     */
+    @SuppressWarnings("unchecked")
+    private boolean split(Shard<K, V> shard) {
+        if (routing.shards.length >= maxShards) {
+            return false;
+        }
+
+        BTNode<K, V> root = shard.tree.snapshot();
+        long size = shard.tree.size();
+        BTCursor<K, V> cursor = new BTCursor<>(root, null, null);
+        K splitKey = null;
+        K previous = null;
+        long leftCount = 0;
+
+        // equal keys must not straddle the bound
+        for (long index = 0; cursor.hasNext(); index++) {
+            K key = cursor.next().key;
+
+            if (previous != null && key.compareTo(previous) != 0 && index >= size / 2) {
+                splitKey = key;
+                leftCount = index;
+                break;
+            }
+
+            previous = key;
+        }
+
+        if (splitKey == null) {
+            return false;
+        }
+
+        Shard<K, V> left = load(new BTCursor<>(root, null, splitKey), leftCount);
+        Shard<K, V> right = load(new BTCursor<>(root, splitKey, null), size - leftCount);
+
+        synchronized (routingLock) {
+            Routing<K, V> current = routing;
+            int index = current.indexOf(shard);
+            Shard<K, V>[] shards = new Shard[current.shards.length + 1];
+            Comparable[] bounds = new Comparable[current.bounds.length + 1];
+
+            System.arraycopy(current.shards, 0, shards, 0, index);
+            shards[index] = left;
+            shards[index + 1] = right;
+            System.arraycopy(current.shards, index + 1, shards, index + 2, current.shards.length - index - 1);
+
+            System.arraycopy(current.bounds, 0, bounds, 0, index);
+            bounds[index] = splitKey;
+            System.arraycopy(current.bounds, index, bounds, index + 1, current.bounds.length - index);
+
+            routing = new Routing<>(bounds, shards);
+            shard.retired = true;
+            splits++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces the neighbours left and right by one shard, locking them in key order
+     *
+     * @param left
+     * @param right
+     * @return false if either was split or merged meanwhile
+     */
+    @SuppressWarnings("unchecked")
+    private boolean merge(Shard<K, V> left, Shard<K, V> right) {
+        synchronized (left) {
+            synchronized (right) {
+                if (left.retired || right.retired) {
+                    return false;
+                }
+
+                long leftSize = left.tree.size();
+                long rightSize = right.tree.size();
+                Iterator<KVPair<K, V>> entries = new ShardCursor<>(
+                        new BTNode[]{left.tree.snapshot(), right.tree.snapshot()}, null, null);
+                Shard<K, V> merged = load(entries, leftSize + rightSize);
+
+                synchronized (routingLock) {
+                    Routing<K, V> current = routing;
+                    int index = current.indexOf(left);
+                    Shard<K, V>[] shards = new Shard[current.shards.length - 1];
+                    Comparable[] bounds = new Comparable[current.bounds.length - 1];
+
+                    System.arraycopy(current.shards, 0, shards, 0, index);
+                    shards[index] = merged;
+                    System.arraycopy(current.shards, index + 2, shards, index + 1, current.shards.length - index - 2);
+
+                    // the bound between left and right goes away
+                    System.arraycopy(current.bounds, 0, bounds, 0, index);
+                    System.arraycopy(current.bounds, index + 1, bounds, index, current.bounds.length - index - 1);
+
+                    routing = new Routing<>(bounds, shards);
+                    left.retired = true;
+                    right.retired = true;
+                    merges++;
+                }
+
+                return true;
+            }
+        }
+    }
+
+    private Shard<K, V> load(Iterator<KVPair<K, V>> entries, long count) {
+        return new Shard<>(new CopyOnWriteBTree<>(loader.load(entries, count), count, searchStrategy), maxShardSize);
+    }
+
+    private static class Shard<K extends Comparable, V> {
+        final CopyOnWriteBTree<K, V> tree;
+
+        // guarded by the shard monitor
+        boolean retired;
+        long splitSize;
+
+        // written under the shard monitor, read by rebalance()
+        volatile long writes;
+        long writesAtRebalance;
+
+        Shard(CopyOnWriteBTree<K, V> tree, long splitSize) {
+            this.tree = tree;
+            this.splitSize = splitSize;
+        }
+    }
+
+    private static class Routing<K extends Comparable, V> {
+        final Comparable[] bounds;
+        final Shard<K, V>[] shards;
+
+        Routing(Comparable[] bounds, Shard<K, V>[] shards) {
+            this.bounds = bounds;
+            this.shards = shards;
+        }
+
+        Shard<K, V> shardFor(K key) {
+            return shards[indexOf(key)];
+        }
+
+        // number of bounds <= key
+        @SuppressWarnings("unchecked")
+        int indexOf(K key) {
+            int low = 0;
+            int high = bounds.length;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (key.compareTo(bounds[middle]) >= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        int indexOf(Shard<K, V> shard) {
+            for (int i = 0; i < shards.length; i++) {
+                if (shards[i] == shard) {
+                    return i;
+                }
+            }
+
+            throw new IllegalStateException("Shard is not in the routing table");
+        }
+
+        @SuppressWarnings("unchecked")
+        BTNode<K, V>[] snapshots(int from, int to) {
+            BTNode<K, V>[] roots = new BTNode[to - from];
+
+            for (int i = from; i < to; i++) {
+                roots[i - from] = shards[i].tree.snapshot();
+            }
+
+            return roots;
+        }
+    }
+
+    // chains range cursors over shard snapshots given in key order
+    private static class ShardCursor<K extends Comparable, V> implements Iterator<KVPair<K, V>> {
+        private final BTNode<K, V>[] roots;
+        private final K from;
+        private final K to;
+        private int next;
+        private BTCursor<K, V> cursor;
+
+        ShardCursor(BTNode<K, V>[] roots, K from, K to) {
+            this.roots = roots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (cursor == null || !cursor.hasNext()) {
+                if (next == roots.length) {
+                    return false;
+                }
+
+                cursor = new BTCursor<>(roots[next++], from, to);
+            }
+
+            return true;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return cursor.next();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package trees.btree.durable;
+
+import trees.btree.BTCursor;
+import trees.btree.BTNode;
+import trees.btree.snapshot.EntryCodec;
+import trees.btree.snapshot.Snapshot;
+import trees.btree.snapshot.SnapshotLoader;
+import trees.btree.snapshot.SnapshotWriter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Full dump of a tree together with the sequence number of the last log record it contains.
+ * Format: magic, sequence number, CRC32 of both, then the tree as a snapshot (see SnapshotWriter).
+ * Written to a temporary file and moved into place, so a crash leaves either the old or the
+ * new checkpoint. Loaded bottom-up by SnapshotLoader.
+ */
+class Checkpoint {
+    private static final long MAGIC = 0x4254434b50543032L; // BTCKPT02
+
+    final long sequence;
+    final long size;
+    final BTNode<Integer, String> root;
+
+    private Checkpoint(long sequence, long size, BTNode<Integer, String> root) {
+        this.sequence = sequence;
+        this.size = size;
+        this.root = root;
+    }
+
+    static void write(Path file, long sequence, long size, BTNode<Integer, String> root) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeLong(MAGIC);
+            header.writeLong(sequence);
+            header.writeInt(headerCrc(sequence));
+
+            new SnapshotWriter<>(EntryCodec.ints(), EntryCodec.strings())
+                    .write(out, root.minDegree, new BTCursor<>(root, null, null), size);
+            out.getFD().sync();
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param file
+     * @param minDegree
+     * @return checkpoint or null if there is none
+     * @throws IOException
+     */
+    static Checkpoint read(Path file, int minDegree) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (InputStream in = Files.newInputStream(file)) {
+            DataInputStream header = new DataInputStream(in);
+
+            if (header.readLong() != MAGIC) {
+                throw new IllegalStateException("Not a checkpoint: " + file);
+            }
+
+            long sequence = header.readLong();
+
+            if (header.readInt() != headerCrc(sequence)) {
+                throw new IllegalStateException("Corrupt checkpoint: " + file);
+            }
+
+            Snapshot<Integer, String> snapshot;
+
+            try {
+                snapshot = new SnapshotLoader<>(EntryCodec.ints(), EntryCodec.strings()).load(in, minDegree);
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("Corrupt checkpoint: " + file, e);
+            }
+
+            return new Checkpoint(sequence, snapshot.count, snapshot.root);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Truncated checkpoint: " + file, e);
+        }
+    }
+
+    private static int headerCrc(long sequence) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(16).putLong(MAGIC).putLong(sequence).array());
+
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,281 @@
+package trees.btree.durable;
+
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * BTManager tree whose inserts and deletes survive a crash.
+ * - every write is appended to a WriteAheadLog under the write lock and committed outside it,
+ * so concurrent writers share log fsyncs; only then is it applied to the in-memory tree, in
+ * log order, so readers never see a write a crash could lose
+ * - a write is durable, and visible after a restart, once insert()/delete() returns; a write
+ * whose commit fails is not applied, and the tree takes no further writes
+ * - once the log grows past checkpointBytes the tree is dumped to a checkpoint file and the
+ * log is emptied; writers wait while the dump is written, readers do not
+ * - opening a directory loads the checkpoint and replays the log records after it
+ * Files: btree.checkpoint and btree.wal in the given directory.
+ */
+public class DurableBTree implements Closeable {
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+
+    static final String LOG_FILE = "btree.wal";
+    static final String CHECKPOINT_FILE = "btree.checkpoint";
+
+    private final BTManager manager;
+    private final WriteAheadLog log;
+    private final Path checkpointFile;
+    private final long checkpointBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean checkpointing = new AtomicBoolean();
+
+    // appended but not yet applied, in sequence order, guarded by the write lock
+    private final ArrayDeque<Write> unapplied = new ArrayDeque<>();
+
+    private BTNode<Integer, String> root;
+    private long size;
+
+    private static class Write {
+        final long sequence;
+        final byte type;
+        final int key;
+        final String value;
+        boolean changed;
+
+        Write(long sequence, byte type, int key, String value) {
+            this.sequence = sequence;
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    public DurableBTree(Path directory) throws IOException {
+        this(directory, BTNode.DEFAULT_MIN_DEGREE, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * Opens the tree stored in directory, creating it if the directory holds none.
+     *
+     * @param directory
+     * @param minDegree
+     * @param checkpointBytes log size that triggers a checkpoint
+     * @throws IOException
+     */
+    public DurableBTree(Path directory, int minDegree, long checkpointBytes) throws IOException {
+        if (checkpointBytes <= 0) {
+            throw new IllegalArgumentException("Checkpoint threshold must be positive: " + checkpointBytes);
+        }
+
+        this.manager = new BTManager(new BTInsertionManager<>(), minDegree);
+        this.checkpointBytes = checkpointBytes;
+
+        Files.createDirectories(directory);
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+
+        Checkpoint checkpoint = Checkpoint.read(checkpointFile, minDegree);
+        long checkpointSequence = 0;
+
+        if (checkpoint == null) {
+            root = manager.initTree();
+        } else {
+            root = checkpoint.root;
+            size = checkpoint.size;
+            checkpointSequence = checkpoint.sequence;
+        }
+
+        this.log = new WriteAheadLog(directory.resolve(LOG_FILE));
+
+        try {
+            log.replay(checkpointSequence, this::apply);
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts key with value, returning once the insert is on disk.
+     *
+     * @param key
+     * @param value
+     * @throws IOException
+     */
+    public void insert(int key, String value) throws IOException {
+        write(WriteAheadLog.INSERT, key, value);
+    }
+
+    /**
+     * Deletes one entry with key, returning once the delete is on disk.
+     *
+     * @param key
+     * @return true if an entry was deleted
+     * @throws IOException
+     */
+    public boolean delete(int key) throws IOException {
+        return write(WriteAheadLog.DELETE, key, null);
+    }
+
+    /**
+     * Value of an entry with key
+     *
+     * @param key
+     * @return value or null if key is absent
+     */
+    public String find(int key) {
+        lock.readLock().lock();
+
+        try {
+            BTNode<Integer, String> node = manager.find(root, key);
+            return node == null ? null : node.kvpairs[node.getKeyIndex(key)].value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(int key) {
+        lock.readLock().lock();
+
+        try {
+            return manager.find(root, key) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Log fsyncs so far, see WriteAheadLog.syncs()
+     *
+     * @return
+     */
+    public long syncs() {
+        return log.syncs();
+    }
+
+    public long logBytes() {
+        return log.size();
+    }
+
+    /**
+     * Writes the whole tree to the checkpoint file and empties the log.
+     * Does nothing if another thread is already checkpointing.
+     *
+     * @throws IOException
+     */
+    public void checkpoint() throws IOException {
+        if (!checkpointing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // the tree is brought up to the end of the log under the write lock, then the read lock
+        // keeps writers out, so the dump and the log end at the same record
+        lock.writeLock().lock();
+
+        try {
+            log.commitAll();
+            applyUpTo(log.lastSequence());
+            lock.readLock().lock();
+        } catch (IOException | RuntimeException e) {
+            checkpointing.set(false);
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Checkpoint.write(checkpointFile, log.lastSequence(), size, root);
+            log.truncate();
+        } finally {
+            lock.readLock().unlock();
+            checkpointing.set(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private boolean write(byte type, int key, String value) throws IOException {
+        Write write;
+
+        lock.writeLock().lock();
+
+        try {
+            write = new Write(log.append(type, key, value), type, key, value);
+            unapplied.add(write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // a failed commit leaves the log unusable, so this and later records are never applied
+        log.commit(write.sequence);
+
+        lock.writeLock().lock();
+
+        try {
+            applyUpTo(write.sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (log.size() >= checkpointBytes) {
+            checkpoint();
+        }
+
+        return write.changed;
+    }
+
+    // applies the committed records up to sequence in log order, some may be other writers'
+    private void applyUpTo(long sequence) {
+        while (!unapplied.isEmpty() && unapplied.peek().sequence <= sequence) {
+            Write write = unapplied.poll();
+            write.changed = apply(write.sequence, write.type, write.key, write.value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean apply(long sequence, byte type, int key, String value) {
+        switch (type) {
+            case WriteAheadLog.INSERT:
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                manager.insert(root, new KVPair<>(key, value));
+                size++;
+                return true;
+            case WriteAheadLog.DELETE:
+                if (manager.delete(root, key)) {
+                    size--;
+                    return true;
+                }
+
+                return false;
+            default:
+                throw new IllegalStateException("Unknown log record type " + type + " at " + sequence);
+        }
+    }
+}
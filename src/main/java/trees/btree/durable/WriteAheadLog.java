@@ -0,0 +1,315 @@
+package trees.btree.durable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Append-only log of logical tree operations with group commit.
+ * Record: payload length, CRC32 of the payload, payload (sequence number, type, key, value).
+ * - append() only buffers the record and hands out its sequence number
+ * - commit(sequence) returns once the record is on disk; the first committer that finds no
+ * write in progress becomes the leader and writes and fsyncs everything buffered so far,
+ * the others wait for it, so concurrent writers share one fsync
+ * - replay() hands the valid records to a handler and cuts a torn or corrupt tail off
+ * Sequence numbers keep growing across truncate(), so a checkpoint can tell which records
+ * it already contains.
+ */
+public class WriteAheadLog implements Closeable {
+    public static final byte INSERT = 1;
+    public static final byte DELETE = 2;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16;
+
+    public interface RecordHandler {
+        void apply(long sequence, byte type, int key, String value);
+    }
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+
+    // records appended since the last write, and the buffer being written by the leader
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    private long nextSequence = 1;
+    private long durableSequence;
+    private boolean flushing;
+    private IOException failure;
+
+    private long fileBytes;
+    private long syncs;
+
+    public WriteAheadLog(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.fileBytes = channel.size();
+        channel.position(fileBytes);
+    }
+
+    /**
+     * Reads the log from the start, passing the records after afterSequence to handler.
+     * Stops at the first incomplete or corrupt record and truncates the log there.
+     * Must be called before the first append.
+     *
+     * @param afterSequence last sequence number already applied elsewhere (a checkpoint)
+     * @param handler
+     * @return number of records passed to handler
+     * @throws IOException
+     */
+    public synchronized long replay(long afterSequence, RecordHandler handler) throws IOException {
+        long valid = 0;
+        long replayed = 0;
+        long lastSequence = afterSequence;
+
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        CRC32 check = new CRC32();
+
+        while (true) {
+            byte[] payload;
+            int expectedCrc;
+
+            try {
+                int length = in.readInt();
+                expectedCrc = in.readInt();
+
+                if (length < 0 || valid + HEADER_BYTES + length > fileBytes) {
+                    break;
+                }
+
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+
+            check.reset();
+            check.update(payload, 0, payload.length);
+
+            if ((int) check.getValue() != expectedCrc) {
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            long sequence = record.getLong();
+            byte type = record.get();
+            int key = record.getInt();
+            int valueLength = record.getInt();
+            String value = valueLength < 0 ? null : new String(payload, record.position(), valueLength, StandardCharsets.UTF_8);
+
+            if (sequence > afterSequence) {
+                handler.apply(sequence, type, key, value);
+                replayed++;
+            }
+
+            lastSequence = Math.max(lastSequence, sequence);
+            valid += HEADER_BYTES + payload.length;
+        }
+
+        // drop the torn tail so new records follow the last valid one
+        channel.truncate(valid);
+        channel.position(valid);
+        fileBytes = valid;
+
+        nextSequence = lastSequence + 1;
+        durableSequence = lastSequence;
+        return replayed;
+    }
+
+    /**
+     * Buffers a record, it is not durable before commit() returns for its sequence number.
+     *
+     * @param type
+     * @param key
+     * @param value
+     * @return sequence number of the record
+     */
+    public synchronized long append(byte type, int key, String value) {
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 1 + 4 + 4 + (bytes == null ? 0 : bytes.length);
+
+        if (pending.remaining() < HEADER_BYTES + length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * pending.capacity(), pending.position() + HEADER_BYTES + length));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+
+        long sequence = nextSequence++;
+        int start = pending.position();
+
+        pending.putInt(length);
+        pending.putInt(0);
+        pending.putLong(sequence);
+        pending.put(type);
+        pending.putInt(key);
+        pending.putInt(bytes == null ? -1 : bytes.length);
+
+        if (bytes != null) {
+            pending.put(bytes);
+        }
+
+        ByteBuffer payload = pending.duplicate();
+        payload.limit(pending.position()).position(start + HEADER_BYTES);
+        crc.reset();
+        crc.update(payload);
+        pending.putInt(start + 4, (int) crc.getValue());
+
+        return sequence;
+    }
+
+    /**
+     * Waits until the record with the given sequence number is on disk, writing and syncing
+     * all buffered records if no other thread is doing it.
+     *
+     * @param sequence
+     * @throws IOException if the log could not be written, the log is unusable afterwards
+     */
+    public void commit(long sequence) throws IOException {
+        ByteBuffer batch;
+        long batchEnd;
+        boolean interrupted = false;
+
+        synchronized (this) {
+            try {
+                while (true) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+
+                    if (durableSequence >= sequence) {
+                        return;
+                    }
+
+                    if (!flushing) {
+                        break;
+                    }
+
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            // become the leader, appends go on into the spare buffer meanwhile
+            flushing = true;
+            batch = pending;
+            pending = spare;
+            batchEnd = nextSequence - 1;
+        }
+
+        try {
+            batch.flip();
+
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+
+            channel.force(false);
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                flushing = false;
+                notifyAll();
+            }
+
+            throw e;
+        }
+
+        synchronized (this) {
+            fileBytes += batch.limit();
+            batch.clear();
+            spare = batch;
+            durableSequence = batchEnd;
+            syncs++;
+            flushing = false;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Commits everything appended so far
+     *
+     * @throws IOException
+     */
+    public void commitAll() throws IOException {
+        long last;
+
+        synchronized (this) {
+            last = nextSequence - 1;
+        }
+
+        commit(last);
+    }
+
+    /**
+     * Empties the log, keeping the sequence numbers going.
+     * Only call when all appended records are committed and no thread appends.
+     *
+     * @throws IOException
+     */
+    public synchronized void truncate() throws IOException {
+        if (flushing || pending.position() > 0) {
+            throw new IllegalStateException("Log has uncommitted records");
+        }
+
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        fileBytes = 0;
+    }
+
+    /**
+     * Sequence number of the last appended record
+     *
+     * @return
+     */
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Bytes written to the log file since it was last truncated
+     *
+     * @return
+     */
+    public synchronized long size() {
+        return fileBytes;
+    }
+
+    /**
+     * Number of fsyncs, lower than the number of commits when writers were grouped
+     *
+     * @return
+     */
+    public synchronized long syncs() {
+        return syncs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commitAll();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -5,8 +5,9 @@ import trees.btree.BTNode;
 /**
  * Created on 18/2/2018.
  */
-public interface BTDeletionManagerInterface {
-    BTNode mergeChildren(BTNode node, int childIndex);
-    boolean deleteLeafKey(BTNode node, int key);
-    boolean deleteInnerNodeKey(BTNode node, int key);
+public interface BTDeletionManagerInterface<K extends Comparable, V> {
+    boolean delete(BTNode<K, V> root, K key);
+    BTNode mergeChildren(BTNode<K, V> node, int childIndex);
+    boolean deleteLeafKey(BTNode<K, V> node, K key);
+    boolean deleteInnerNodeKey(BTNode<K, V> node, K key);
 }
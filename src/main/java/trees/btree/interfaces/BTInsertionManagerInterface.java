@@ -8,5 +8,5 @@ import trees.btree.KVPair;
  */
 public interface BTInsertionManagerInterface<K extends Comparable, V> {
     BTNode insert(BTNode<K, V> node, KVPair<K, V> kvpair);
-    BTNode splitChild(BTNode<Integer, String> parent, int childIndex);
+    BTNode splitChild(BTNode<K, V> parent, int childIndex);
 }
@@ -7,6 +7,7 @@ import trees.btree.KVPair;
  * Created on 18/2/2018.
  */
 public interface BTManagerInterface<K extends Comparable, V> extends SearchableTree<K, V> {
+    BTNode<K, V> initTree();
     BTNode insert(BTNode<K, V> node, KVPair value);
     boolean delete(BTNode<K, V> node, int key);
     BTNode splitRoot(BTNode<K, V> root);
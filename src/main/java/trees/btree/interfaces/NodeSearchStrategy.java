@@ -0,0 +1,14 @@
+package trees.btree.interfaces;
+
+import trees.btree.BTNode;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Locates a key inside a single node.
+ * Follows the java.util.Arrays.binarySearch contract: returns the key index if found,
+ * otherwise (-(insertion point) - 1).
+ */
+public interface NodeSearchStrategy<K extends Comparable> {
+    int search(BTNode<K, ?> node, K key);
+}
@@ -1,10 +1,58 @@
 package trees.btree.interfaces;
 
+import trees.btree.BTCursor;
+import trees.btree.BTNavigation;
 import trees.btree.BTNode;
+import trees.btree.BTSpliterator;
+import trees.btree.KVPair;
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created on 4/3/2018.
  */
 public interface SearchableTree<K extends Comparable, V> {
     BTNode find(BTNode<K, V> node, K key);
+
+    default KVPair<K, V> floor(BTNode<K, V> root, K key) {
+        return BTNavigation.floor(root, key);
+    }
+
+    default KVPair<K, V> ceiling(BTNode<K, V> root, K key) {
+        return BTNavigation.ceiling(root, key);
+    }
+
+    default KVPair<K, V> first(BTNode<K, V> root) {
+        return BTNavigation.first(root);
+    }
+
+    default KVPair<K, V> last(BTNode<K, V> root) {
+        return BTNavigation.last(root);
+    }
+
+    /**
+     * In-order cursor over the entries with from <= key < to, a null bound leaves that side open
+     *
+     * @param root
+     * @param from
+     * @param to
+     * @return
+     */
+    default BTCursor<K, V> range(BTNode<K, V> root, K from, K to) {
+        return new BTCursor<>(root, from, to);
+    }
+
+    default BTCursor<K, V> cursor(BTNode<K, V> root) {
+        return new BTCursor<>(root, null, null);
+    }
+
+    default Spliterator<KVPair<K, V>> spliterator(BTNode<K, V> root) {
+        return new BTSpliterator<>(root);
+    }
+
+    default Stream<KVPair<K, V>> stream(BTNode<K, V> root, boolean parallel) {
+        return StreamSupport.stream(spliterator(root), parallel);
+    }
 }
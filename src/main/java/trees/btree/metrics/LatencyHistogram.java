@@ -0,0 +1,84 @@
+package trees.btree.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Concurrent histogram of durations in power of two buckets: bucket i counts the values in
+ * [2^(i - 1), 2^i), bucket 0 the value 0. Percentiles are therefore reported as the upper
+ * bound of their bucket, at most twice the real value.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+    }
+
+    public long count() {
+        long count = 0;
+
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, 0 if nothing was recorded
+     *
+     * @param percentile in [0, 100]
+     * @return
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+
+        long[] counts = counts();
+        long total = 0;
+
+        for (long count : counts) {
+            total += count;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * total);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+
+        return 0;
+    }
+
+    public long[] counts() {
+        long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+
+        return counts;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
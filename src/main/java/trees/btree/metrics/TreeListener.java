@@ -0,0 +1,58 @@
+package trees.btree.metrics;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Callbacks from an instrumented BTManager, BTInsertionManager and BTDeletionManager.
+ * Managers built without a listener skip the callbacks and the timing altogether.
+ * Callbacks run on the thread doing the operation, so they must be cheap and thread-safe.
+ */
+public interface TreeListener {
+    /**
+     * @param nanos        duration of the lookup
+     * @param nodesVisited nodes searched, 1 for a hit in the root
+     */
+    default void onFind(long nanos, int nodesVisited) {
+    }
+
+    default void onInsert(long nanos) {
+    }
+
+    /**
+     * A sorted batch inserted by BTManager.insertAll, reported once instead of through onInsert()
+     *
+     * @param count entries inserted
+     * @param nanos duration of the whole batch
+     */
+    default void onInsertBatch(int count, long nanos) {
+    }
+
+    /**
+     * A sorted batch looked up by BTManager.findAll, reported once instead of through onFind()
+     *
+     * @param count        keys looked up
+     * @param nanos        duration of the whole batch
+     * @param nodesVisited nodes searched for all the keys together
+     */
+    default void onFindBatch(int count, long nanos, long nodesVisited) {
+    }
+
+    /**
+     * @param nanos
+     * @param deleted false if the key was absent
+     */
+    default void onDelete(long nanos, boolean deleted) {
+    }
+
+    // a full node was split in two, root splits included
+    default void onSplit() {
+    }
+
+    // the root was split and the tree grew by one level, also reported by onSplit()
+    default void onRootSplit() {
+    }
+
+    // two siblings and the key between them were merged into one node
+    default void onMerge() {
+    }
+}
@@ -0,0 +1,291 @@
+package trees.btree.metrics;
+
+import trees.btree.BTNavigation;
+import trees.btree.BTNode;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * TreeListener that aggregates operation counts, nodes visited per lookup, splits, merges and
+ * latency histograms in LongAdders, so concurrent readers do not contend on one counter.
+ * Operations slower than slowThresholdNanos are counted separately. Keys found or inserted in
+ * sorted batches are counted apart and stay out of the histograms, whose latencies are per operation.
+ * Height and fill factors are computed from the watched root when read, by walking the tree.
+ * register() exports the metrics as an MBean.
+ */
+public class TreeMetrics implements TreeListener, TreeMetricsMBean {
+    public static final long DEFAULT_SLOW_THRESHOLD_NANOS = 1_000_000;
+
+    // fill factor buckets of 10% each
+    private static final int FILL_BUCKETS = 10;
+
+    private final long slowThresholdNanos;
+
+    private final LongAdder nodesVisited = new LongAdder();
+    private final LongAdder deletes = new LongAdder();
+    private final LongAdder splits = new LongAdder();
+    private final LongAdder rootSplits = new LongAdder();
+    private final LongAdder merges = new LongAdder();
+    private final LongAdder slowOperations = new LongAdder();
+    private final LongAdder batchFinds = new LongAdder();
+    private final LongAdder batchNodesVisited = new LongAdder();
+    private final LongAdder batchInserts = new LongAdder();
+
+    private final LatencyHistogram findLatency = new LatencyHistogram();
+    private final LatencyHistogram insertLatency = new LatencyHistogram();
+    private final LatencyHistogram deleteLatency = new LatencyHistogram();
+
+    private volatile Supplier<? extends BTNode<?, ?>> root;
+
+    public TreeMetrics() {
+        this(DEFAULT_SLOW_THRESHOLD_NANOS);
+    }
+
+    public TreeMetrics(long slowThresholdNanos) {
+        if (slowThresholdNanos <= 0) {
+            throw new IllegalArgumentException("Slow threshold must be positive: " + slowThresholdNanos);
+        }
+
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * Sets the tree whose height and fill factors are reported. The tree is walked without
+     * locking, a tree modified meanwhile gives approximate figures.
+     *
+     * @param root current root of the tree
+     */
+    public void watch(Supplier<? extends BTNode<?, ?>> root) {
+        this.root = root;
+    }
+
+    /**
+     * Registers this as MBean trees.btree:type=TreeMetrics,name=name with the platform MBean server
+     *
+     * @param name
+     * @return the registered name
+     * @throws JMException
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("trees.btree:type=TreeMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+        return objectName;
+    }
+
+    @Override
+    public void onFind(long nanos, int visited) {
+        nodesVisited.add(visited);
+        record(findLatency, nanos);
+    }
+
+    @Override
+    public void onInsert(long nanos) {
+        record(insertLatency, nanos);
+    }
+
+    @Override
+    public void onInsertBatch(int count, long nanos) {
+        batchInserts.add(count);
+    }
+
+    @Override
+    public void onFindBatch(int count, long nanos, long visited) {
+        batchFinds.add(count);
+        batchNodesVisited.add(visited);
+    }
+
+    @Override
+    public void onDelete(long nanos, boolean deleted) {
+        if (deleted) {
+            deletes.increment();
+        }
+
+        record(deleteLatency, nanos);
+    }
+
+    @Override
+    public void onSplit() {
+        splits.increment();
+    }
+
+    @Override
+    public void onRootSplit() {
+        rootSplits.increment();
+    }
+
+    @Override
+    public void onMerge() {
+        merges.increment();
+    }
+
+    private void record(LatencyHistogram histogram, long nanos) {
+        histogram.record(nanos);
+
+        if (nanos >= slowThresholdNanos) {
+            slowOperations.increment();
+        }
+    }
+
+    @Override
+    public long getFinds() {
+        return findLatency.count();
+    }
+
+    @Override
+    public long getInserts() {
+        return insertLatency.count();
+    }
+
+    // deletes of absent keys are only counted in the latency histogram
+    @Override
+    public long getDeletes() {
+        return deletes.sum();
+    }
+
+    @Override
+    public long getBatchFinds() {
+        return batchFinds.sum();
+    }
+
+    @Override
+    public long getBatchInserts() {
+        return batchInserts.sum();
+    }
+
+    @Override
+    public long getSplits() {
+        return splits.sum();
+    }
+
+    @Override
+    public long getRootSplits() {
+        return rootSplits.sum();
+    }
+
+    @Override
+    public long getMerges() {
+        return merges.sum();
+    }
+
+    @Override
+    public long getSlowOperations() {
+        return slowOperations.sum();
+    }
+
+    @Override
+    public double getNodesVisitedPerFind() {
+        long finds = getFinds();
+        return finds == 0 ? 0 : (double) nodesVisited.sum() / finds;
+    }
+
+    @Override
+    public double getNodesVisitedPerBatchFind() {
+        long finds = getBatchFinds();
+        return finds == 0 ? 0 : (double) batchNodesVisited.sum() / finds;
+    }
+
+    @Override
+    public long getFindP50Nanos() {
+        return findLatency.percentile(50);
+    }
+
+    @Override
+    public long getFindP99Nanos() {
+        return findLatency.percentile(99);
+    }
+
+    @Override
+    public long getInsertP50Nanos() {
+        return insertLatency.percentile(50);
+    }
+
+    @Override
+    public long getInsertP99Nanos() {
+        return insertLatency.percentile(99);
+    }
+
+    @Override
+    public long getDeleteP50Nanos() {
+        return deleteLatency.percentile(50);
+    }
+
+    @Override
+    public long getDeleteP99Nanos() {
+        return deleteLatency.percentile(99);
+    }
+
+    public LatencyHistogram getFindLatency() {
+        return findLatency;
+    }
+
+    public LatencyHistogram getInsertLatency() {
+        return insertLatency;
+    }
+
+    public LatencyHistogram getDeleteLatency() {
+        return deleteLatency;
+    }
+
+    /**
+     * @return height of the watched tree, -1 if none is watched
+     */
+    @Override
+    public int getHeight() {
+        Supplier<? extends BTNode<?, ?>> supplier = root;
+        return supplier == null ? -1 : BTNavigation.height(supplier.get());
+    }
+
+    /**
+     * Nodes of the watched tree by fill factor: bucket i counts the nodes holding
+     * [10 * i, 10 * (i + 1))% of their maximum keys, the last bucket includes full nodes
+     *
+     * @return empty if no tree is watched
+     */
+    @Override
+    public long[] getFillFactorHistogram() {
+        Supplier<? extends BTNode<?, ?>> supplier = root;
+
+        if (supplier == null) {
+            return new long[0];
+        }
+
+        long[] histogram = new long[FILL_BUCKETS];
+        addFillFactors(supplier.get(), histogram);
+
+        return histogram;
+    }
+
+    private static void addFillFactors(BTNode<?, ?> node, long[] histogram) {
+        int maxKeys = 2 * node.minDegree - 1;
+        histogram[Math.min(FILL_BUCKETS - 1, node.numKeys * FILL_BUCKETS / maxKeys)]++;
+
+        if (!node.isLeaf()) {
+            for (int i = 0; i <= node.numKeys; i++) {
+                addFillFactors(node.children[i], histogram);
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        nodesVisited.reset();
+        deletes.reset();
+        splits.reset();
+        rootSplits.reset();
+        merges.reset();
+        slowOperations.reset();
+        batchFinds.reset();
+        batchNodesVisited.reset();
+        batchInserts.reset();
+        findLatency.reset();
+        insertLatency.reset();
+        deleteLatency.reset();
+    }
+}
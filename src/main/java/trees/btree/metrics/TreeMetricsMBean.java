@@ -0,0 +1,48 @@
+package trees.btree.metrics;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * JMX view of a TreeMetrics, latencies in nanoseconds.
+ */
+public interface TreeMetricsMBean {
+    long getFinds();
+
+    long getInserts();
+
+    long getDeletes();
+
+    long getBatchFinds();
+
+    long getBatchInserts();
+
+    long getSplits();
+
+    long getRootSplits();
+
+    long getMerges();
+
+    long getSlowOperations();
+
+    double getNodesVisitedPerFind();
+
+    double getNodesVisitedPerBatchFind();
+
+    long getFindP50Nanos();
+
+    long getFindP99Nanos();
+
+    long getInsertP50Nanos();
+
+    long getInsertP99Nanos();
+
+    long getDeleteP50Nanos();
+
+    long getDeleteP99Nanos();
+
+    int getHeight();
+
+    long[] getFillFactorHistogram();
+
+    void reset();
+}
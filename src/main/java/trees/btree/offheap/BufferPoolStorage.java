@@ -0,0 +1,475 @@
+package trees.btree.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * NodeStorage over a page file (same format as MappedPageStorage) read and written through
+ * a fixed number of in-memory frames:
+ * - buffer(id) pins the page, loading it into a frame on a miss; release(id, dirty) unpins it
+ * and records whether it was modified
+ * - a miss with no free frame evicts an unpinned page chosen by CLOCK (second chance)
+ * - evicting a dirty page writes it back together with up to writeBatch other unpinned dirty
+ * pages, in page order
+ * - flush() writes all dirty pages and the superblock and forces the file
+ * Memory use is bounded by frames * page size whatever the size of the file.
+ * Hit, miss, eviction and write counters help sizing the pool.
+ * Not thread safe.
+ */
+public class BufferPoolStorage implements NodeStorage {
+    public static final int DEFAULT_WRITE_BATCH = 32;
+
+    // pages pinned at once by the tree operations, with room to spare
+    public static final int MIN_FRAMES = 8;
+
+    private static final int NO_FRAME = -1;
+
+    private final FileChannel channel;
+    private final NodeLayout layout;
+    private final int pageBytes;
+    private final int writeBatch;
+
+    // frame memory and one view per frame for the file I/O
+    private final ByteBuffer frames;
+    private final ByteBuffer[] frameViews;
+
+    // per frame state
+    private final int[] framePage;
+    private final int[] pinCount;
+    private final boolean[] referenced;
+    private final boolean[] dirty;
+
+    // frame of each page, NO_FRAME if not resident
+    private int[] pageFrame;
+    private int clockHand;
+
+    // batch write-back, (page << 32 | frame) sorted by page
+    private final long[] batch;
+
+    private final ByteBuffer superblockPage;
+    private final Superblock superblock;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long pageWrites;
+    private long writeBatches;
+
+    /**
+     * Opens an existing page file.
+     *
+     * @param file
+     * @param frameCount pool size in pages
+     * @throws IOException
+     */
+    public BufferPoolStorage(Path file, int frameCount) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE), file, null, 0, frameCount, DEFAULT_WRITE_BATCH);
+    }
+
+    /**
+     * Creates a page file, replacing any file at that path.
+     *
+     * @param file
+     * @param pageBytes
+     * @param valueBytes max UTF-8 bytes per value, the node degree is the largest that fits a page
+     * @param frameCount pool size in pages
+     * @throws IOException
+     */
+    public BufferPoolStorage(Path file, int pageBytes, int valueBytes, int frameCount) throws IOException {
+        this(file, pageBytes, NodeLayout.forPage(pageBytes, valueBytes), frameCount, DEFAULT_WRITE_BATCH);
+    }
+
+    /**
+     * Creates a page file, replacing any file at that path.
+     *
+     * @param file
+     * @param pageBytes
+     * @param layout     nodes must fit a page
+     * @param frameCount pool size in pages
+     * @param writeBatch max pages written back per eviction
+     * @throws IOException
+     */
+    public BufferPoolStorage(Path file, int pageBytes, NodeLayout layout, int frameCount, int writeBatch) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), file, layout, pageBytes, frameCount, writeBatch);
+    }
+
+    // opens the file if layout is null, formats it otherwise
+    private BufferPoolStorage(FileChannel channel, Path file, NodeLayout layout, int pageBytes, int frameCount, int writeBatch) throws IOException {
+        this.channel = channel;
+
+        try {
+            if (frameCount < MIN_FRAMES) {
+                throw new IllegalArgumentException("Pool needs at least " + MIN_FRAMES + " frames: " + frameCount);
+            }
+
+            if (writeBatch < 1) {
+                throw new IllegalArgumentException("Write batch must be positive: " + writeBatch);
+            }
+
+            if (layout == null) {
+                Superblock header = MappedPageStorage.readSuperblock(channel, file);
+                pageBytes = header.pageBytes();
+                layout = header.layout();
+            } else if (pageBytes < Superblock.BYTES || layout.nodeBytes > pageBytes) {
+                throw new IllegalArgumentException("Page of " + pageBytes + " bytes cannot hold a " + layout.nodeBytes + " byte node");
+            }
+
+            this.layout = layout;
+            this.pageBytes = pageBytes;
+            this.writeBatch = writeBatch;
+
+            this.superblockPage = ByteBuffer.allocate(pageBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.superblock = new Superblock(superblockPage);
+
+            if (channel.size() == 0) {
+                superblock.format(pageBytes, layout);
+            } else {
+                read(superblockPage, 0);
+            }
+
+            this.frames = ByteBuffer.allocateDirect(frameCount * pageBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.frameViews = new ByteBuffer[frameCount];
+
+            for (int i = 0; i < frameCount; i++) {
+                frames.limit((i + 1) * pageBytes).position(i * pageBytes);
+                frameViews[i] = frames.slice();
+            }
+
+            frames.clear();
+
+            this.framePage = new int[frameCount];
+            this.pinCount = new int[frameCount];
+            this.referenced = new boolean[frameCount];
+            this.dirty = new boolean[frameCount];
+            this.batch = new long[writeBatch];
+            Arrays.fill(framePage, NodeLayout.NO_NODE);
+
+            this.pageFrame = new int[Math.max(16, superblock.pageCount())];
+            Arrays.fill(pageFrame, NO_FRAME);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public NodeLayout layout() {
+        return layout;
+    }
+
+    @Override
+    public int allocate() {
+        int freeHead = superblock.freeHead();
+
+        if (freeHead != NodeLayout.NO_NODE) {
+            int frame = pin(freeHead, true);
+            superblock.setFreeHead(frames.getInt(frame * pageBytes));
+            unpin(frame, false);
+            return freeHead;
+        }
+
+        int id = superblock.pageCount();
+        superblock.setPageCount(id + 1);
+
+        if (id >= pageFrame.length) {
+            int oldLength = pageFrame.length;
+            pageFrame = Arrays.copyOf(pageFrame, Math.max(id + 1, 2 * oldLength));
+            Arrays.fill(pageFrame, oldLength, pageFrame.length, NO_FRAME);
+        }
+
+        // a new page is beyond the end of the file, give it a frame without reading
+        int frame = pin(id, false);
+        unpin(frame, true);
+        return id;
+    }
+
+    @Override
+    public void free(int id) {
+        int frame = pin(id, true);
+        frames.putInt(frame * pageBytes, superblock.freeHead());
+        unpin(frame, true);
+        superblock.setFreeHead(id);
+    }
+
+    @Override
+    public ByteBuffer buffer(int id) {
+        pin(id, true);
+        return frames;
+    }
+
+    @Override
+    public int base(int id) {
+        int frame = pageFrame[id];
+
+        if (frame == NO_FRAME || pinCount[frame] == 0) {
+            throw new IllegalStateException("Page " + id + " is not pinned");
+        }
+
+        return frame * pageBytes;
+    }
+
+    @Override
+    public void release(int id, boolean dirty) {
+        int frame = pageFrame[id];
+
+        if (frame == NO_FRAME || pinCount[frame] == 0) {
+            throw new IllegalStateException("Page " + id + " is not pinned");
+        }
+
+        unpin(frame, dirty);
+    }
+
+    @Override
+    public int getRoot() {
+        return superblock.root();
+    }
+
+    @Override
+    public void setRoot(int id) {
+        superblock.setRoot(id);
+    }
+
+    @Override
+    public long getSize() {
+        return superblock.size();
+    }
+
+    @Override
+    public void setSize(long size) {
+        superblock.setSize(size);
+    }
+
+    public int frameCount() {
+        return framePage.length;
+    }
+
+    public int pageCount() {
+        return superblock.pageCount();
+    }
+
+    /**
+     * Lookups served from a frame
+     *
+     * @return
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Lookups that had to load the page
+     *
+     * @return
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Pages dropped from the pool to make room
+     *
+     * @return
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    public long pageWrites() {
+        return pageWrites;
+    }
+
+    public long writeBatches() {
+        return writeBatches;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        pageWrites = 0;
+        writeBatches = 0;
+    }
+
+    /**
+     * Writes back all dirty pages and the superblock and forces the file to disk.
+     *
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        int count = 0;
+
+        for (int frame = 0; frame < framePage.length; frame++) {
+            if (dirty[frame]) {
+                if (count == batch.length) {
+                    writeBack(count);
+                    count = 0;
+                }
+
+                batch[count++] = (long) framePage[frame] << 32 | frame;
+            }
+        }
+
+        writeBack(count);
+
+        superblockPage.clear();
+        write(superblockPage, 0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Pins page id into a frame.
+     *
+     * @param id
+     * @param load false for pages that do not exist in the file yet
+     * @return frame
+     */
+    private int pin(int id, boolean load) {
+        int frame = pageFrame[id];
+
+        if (frame != NO_FRAME) {
+            hits++;
+        } else {
+            misses++;
+            frame = victim();
+            framePage[frame] = id;
+            pageFrame[id] = frame;
+
+            if (load) {
+                read(frameViews[frame], (long) id * pageBytes);
+            }
+        }
+
+        pinCount[frame]++;
+        referenced[frame] = true;
+        return frame;
+    }
+
+    private void unpin(int frame, boolean modified) {
+        pinCount[frame]--;
+
+        if (modified) {
+            dirty[frame] = true;
+        }
+    }
+
+    /**
+     * CLOCK: sweeps the frames, clearing reference bits, until an unpinned frame
+     * which has not been referenced since the last sweep comes up.
+     *
+     * @return free frame
+     */
+    private int victim() {
+        for (int step = 0; step < 2 * framePage.length + 1; step++) {
+            int frame = clockHand;
+            clockHand = (clockHand + 1) % framePage.length;
+
+            if (framePage[frame] == NodeLayout.NO_NODE) {
+                return frame;
+            }
+
+            if (pinCount[frame] > 0) {
+                continue;
+            }
+
+            if (referenced[frame]) {
+                referenced[frame] = false;
+                continue;
+            }
+
+            if (dirty[frame]) {
+                writeBackFrom(frame);
+            }
+
+            pageFrame[framePage[frame]] = NO_FRAME;
+            framePage[frame] = NodeLayout.NO_NODE;
+            evictions++;
+            return frame;
+        }
+
+        throw new IllegalStateException("All " + framePage.length + " frames are pinned");
+    }
+
+    // writes the victim and the next unpinned dirty frames in clock order
+    private void writeBackFrom(int victim) {
+        int count = 0;
+        batch[count++] = (long) framePage[victim] << 32 | victim;
+
+        for (int i = 1; i < framePage.length && count < batch.length; i++) {
+            int frame = (victim + i) % framePage.length;
+
+            if (dirty[frame] && pinCount[frame] == 0) {
+                batch[count++] = (long) framePage[frame] << 32 | frame;
+            }
+        }
+
+        try {
+            writeBack(count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // writes the first count batch entries in page order, so the writes sweep the file once
+    private void writeBack(int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        Arrays.sort(batch, 0, count);
+
+        for (int i = 0; i < count; i++) {
+            int page = (int) (batch[i] >>> 32);
+            int frame = (int) batch[i];
+
+            frameViews[frame].clear();
+            write(frameViews[frame], (long) page * pageBytes);
+            dirty[frame] = false;
+        }
+
+        pageWrites += count;
+        writeBatches++;
+    }
+
+    private void read(ByteBuffer target, long position) {
+        target.clear();
+
+        try {
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position + target.position());
+
+                // pages never written back end the file early
+                if (read < 0) {
+                    while (target.hasRemaining()) {
+                        target.put((byte) 0);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package trees.btree.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * NodeStorage in a memory-mapped page file, one node per fixed-size page:
+ * - page 0 is the superblock: format, page size and node layout, root page, entry count,
+ * number of pages and head of the free-page list
+ * - pages 1.. hold nodes, page id = node id, the node header carries the leaf flag, key count
+ * and right sibling
+ * - freed pages are chained into the free-page list through their first int and reused first
+ * - the file is mapped in chunks of whole pages, new chunks extend the file
+ * Opening maps the file without reading it, lookups only fault in the pages on their path
+ * and are served from the OS page cache.
+ * Writes go to the mapping; flush() forces them to disk, close() flushes.
+ * The mappings are released when the buffers are collected (no portable unmap on Java 8).
+ */
+public class MappedPageStorage implements NodeStorage {
+    public static final int DEFAULT_PAGE_BYTES = 4096;
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 26;
+
+    private final FileChannel channel;
+    private final NodeLayout layout;
+    private final int pageBytes;
+    private final int pagesPerChunk;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private final Superblock superblock;
+
+    /**
+     * Opens an existing page file with the layout recorded in its superblock.
+     *
+     * @param file
+     * @throws IOException
+     */
+    public MappedPageStorage(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            Superblock header = readSuperblock(channel, file);
+
+            this.pageBytes = header.pageBytes();
+            this.layout = header.layout();
+            this.pagesPerChunk = chunkPages(DEFAULT_CHUNK_BYTES, pageBytes);
+
+            mapChunks(header.pageCount());
+            this.superblock = new Superblock(chunks.get(0));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a page file, replacing any file at that path.
+     *
+     * @param file
+     * @param pageBytes
+     * @param valueBytes max UTF-8 bytes per value, the node degree is the largest that fits a page
+     * @throws IOException
+     */
+    public MappedPageStorage(Path file, int pageBytes, int valueBytes) throws IOException {
+        this(file, pageBytes, NodeLayout.forPage(pageBytes, valueBytes), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates a page file, replacing any file at that path.
+     *
+     * @param file
+     * @param pageBytes
+     * @param layout     nodes must fit a page
+     * @param chunkBytes size of the mapped regions, rounded down to whole pages
+     * @throws IOException
+     */
+    public MappedPageStorage(Path file, int pageBytes, NodeLayout layout, int chunkBytes) throws IOException {
+        if (pageBytes < Superblock.BYTES || layout.nodeBytes > pageBytes) {
+            throw new IllegalArgumentException("Page of " + pageBytes + " bytes cannot hold a " + layout.nodeBytes + " byte node");
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.pageBytes = pageBytes;
+        this.layout = layout;
+        this.pagesPerChunk = chunkPages(chunkBytes, pageBytes);
+
+        try {
+            mapChunks(1);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.superblock = new Superblock(chunks.get(0));
+        superblock.format(pageBytes, layout);
+    }
+
+    @Override
+    public NodeLayout layout() {
+        return layout;
+    }
+
+    @Override
+    public int allocate() {
+        int freeHead = superblock.freeHead();
+
+        if (freeHead != NodeLayout.NO_NODE) {
+            superblock.setFreeHead(buffer(freeHead).getInt(base(freeHead)));
+            return freeHead;
+        }
+
+        int id = superblock.pageCount();
+
+        try {
+            mapChunks(id + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        superblock.setPageCount(id + 1);
+        return id;
+    }
+
+    @Override
+    public void free(int id) {
+        buffer(id).putInt(base(id), superblock.freeHead());
+        superblock.setFreeHead(id);
+    }
+
+    @Override
+    public ByteBuffer buffer(int id) {
+        return chunks.get(id / pagesPerChunk);
+    }
+
+    @Override
+    public int base(int id) {
+        return (id % pagesPerChunk) * pageBytes;
+    }
+
+    @Override
+    public int getRoot() {
+        return superblock.root();
+    }
+
+    @Override
+    public void setRoot(int id) {
+        superblock.setRoot(id);
+    }
+
+    @Override
+    public long getSize() {
+        return superblock.size();
+    }
+
+    @Override
+    public void setSize(long size) {
+        superblock.setSize(size);
+    }
+
+    public int getPageBytes() {
+        return pageBytes;
+    }
+
+    /**
+     * Pages in the file, superblock and free pages included
+     *
+     * @return
+     */
+    public int pageCount() {
+        return superblock.pageCount();
+    }
+
+    /**
+     * Forces all mapped pages to disk.
+     */
+    public void flush() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            chunks.clear();
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads and checks the superblock of an existing page file
+     *
+     * @param channel
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    static Superblock readSuperblock(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Superblock.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // read the whole superblock
+        }
+
+        Superblock superblock = new Superblock(buffer);
+
+        if (buffer.hasRemaining() || !superblock.isValid()) {
+            throw new IllegalArgumentException("Not a page file: " + file);
+        }
+
+        return superblock;
+    }
+
+    private static int chunkPages(int chunkBytes, int pageBytes) {
+        int pages = chunkBytes / pageBytes;
+
+        if (pages < 1) {
+            throw new IllegalArgumentException("Chunk of " + chunkBytes + " bytes cannot hold a " + pageBytes + " byte page");
+        }
+
+        return pages;
+    }
+
+    // maps chunks until the given number of pages is covered, growing the file as needed
+    private void mapChunks(int pages) throws IOException {
+        long chunkBytes = (long) pagesPerChunk * pageBytes;
+
+        while ((long) chunks.size() * pagesPerChunk < pages) {
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * chunkBytes, chunkBytes);
+            chunk.order(ByteOrder.LITTLE_ENDIAN);
+            chunks.add(chunk);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package trees.btree.offheap;
+
+import trees.btree.DegreeTuner;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Layout of a serialized B-tree node in a fixed-size slot:
+ * - header: key count, flags (leaf), right sibling id and a spare int
+ * - keys: 2 * minDegree - 1 ints
+ * - values: 2 * minDegree - 1 fixed-width slots, a short length (-1 for null) followed by
+ * up to valueBytes bytes of UTF-8
+ * - children: 2 * minDegree node ids
+ * All accessors take the buffer holding the node and the node's base offset in it.
+ */
+public final class NodeLayout {
+    public static final int NO_NODE = -1;
+
+    private static final int NUM_KEYS = 0;
+    private static final int FLAGS = 4;
+    private static final int RIGHT = 8;
+    public static final int HEADER_BYTES = 16;
+
+    private static final int LEAF_FLAG = 1;
+    private static final int KEY_BYTES = 4;
+    private static final int VALUE_LENGTH_BYTES = 2;
+    private static final int CHILD_BYTES = 4;
+
+    public final int minDegree;
+    public final int maxKeys;
+    public final int valueBytes;
+    public final int nodeBytes;
+
+    private final int valueSlotBytes;
+    private final int keysOffset;
+    private final int valuesOffset;
+    private final int childrenOffset;
+
+    public NodeLayout(int minDegree, int valueBytes) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        if (valueBytes < 0 || valueBytes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value width out of range: " + valueBytes);
+        }
+
+        this.minDegree = minDegree;
+        this.maxKeys = 2 * minDegree - 1;
+        this.valueBytes = valueBytes;
+        this.valueSlotBytes = VALUE_LENGTH_BYTES + valueBytes;
+
+        this.keysOffset = HEADER_BYTES;
+        this.valuesOffset = keysOffset + maxKeys * KEY_BYTES;
+        this.childrenOffset = valuesOffset + maxKeys * valueSlotBytes;
+
+        // keep slots 8 byte aligned
+        this.nodeBytes = (childrenOffset + 2 * minDegree * CHILD_BYTES + 7) & ~7;
+    }
+
+    /**
+     * Layout with the largest degree whose nodes fit in pageBytes
+     *
+     * @param pageBytes
+     * @param valueBytes
+     * @return
+     */
+    public static NodeLayout forPage(int pageBytes, int valueBytes) {
+        int minDegree = DegreeTuner.forPage(pageBytes - HEADER_BYTES - 8, KEY_BYTES, VALUE_LENGTH_BYTES + valueBytes);
+        NodeLayout layout = new NodeLayout(minDegree, valueBytes);
+
+        if (layout.nodeBytes > pageBytes) {
+            throw new IllegalArgumentException("Page of " + pageBytes + " bytes too small for " + valueBytes + " byte values");
+        }
+
+        return layout;
+    }
+
+    public void init(ByteBuffer buffer, int base, boolean leaf) {
+        buffer.putInt(base + NUM_KEYS, 0);
+        buffer.putInt(base + FLAGS, leaf ? LEAF_FLAG : 0);
+        buffer.putInt(base + RIGHT, NO_NODE);
+    }
+
+    public int numKeys(ByteBuffer buffer, int base) {
+        return buffer.getInt(base + NUM_KEYS);
+    }
+
+    public void setNumKeys(ByteBuffer buffer, int base, int numKeys) {
+        buffer.putInt(base + NUM_KEYS, numKeys);
+    }
+
+    public boolean isLeaf(ByteBuffer buffer, int base) {
+        return (buffer.getInt(base + FLAGS) & LEAF_FLAG) != 0;
+    }
+
+    public boolean isFull(ByteBuffer buffer, int base) {
+        return numKeys(buffer, base) == maxKeys;
+    }
+
+    public int right(ByteBuffer buffer, int base) {
+        return buffer.getInt(base + RIGHT);
+    }
+
+    public void setRight(ByteBuffer buffer, int base, int right) {
+        buffer.putInt(base + RIGHT, right);
+    }
+
+    public int key(ByteBuffer buffer, int base, int index) {
+        return buffer.getInt(base + keysOffset + index * KEY_BYTES);
+    }
+
+    public void setKey(ByteBuffer buffer, int base, int index, int key) {
+        buffer.putInt(base + keysOffset + index * KEY_BYTES, key);
+    }
+
+    public int child(ByteBuffer buffer, int base, int index) {
+        return buffer.getInt(base + childrenOffset + index * CHILD_BYTES);
+    }
+
+    public void setChild(ByteBuffer buffer, int base, int index, int child) {
+        buffer.putInt(base + childrenOffset + index * CHILD_BYTES, child);
+    }
+
+    public String value(ByteBuffer buffer, int base, int index) {
+        int offset = base + valuesOffset + index * valueSlotBytes;
+        int length = buffer.getShort(offset);
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + VALUE_LENGTH_BYTES + i);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param buffer
+     * @param base
+     * @param index
+     * @param value  encoded with encode
+     */
+    public void setValue(ByteBuffer buffer, int base, int index, byte[] value) {
+        int offset = base + valuesOffset + index * valueSlotBytes;
+
+        if (value == null) {
+            buffer.putShort(offset, (short) -1);
+            return;
+        }
+
+        buffer.putShort(offset, (short) value.length);
+
+        for (int i = 0; i < value.length; i++) {
+            buffer.put(offset + VALUE_LENGTH_BYTES + i, value[i]);
+        }
+    }
+
+    /**
+     * UTF-8 bytes of value, checked against the value width
+     *
+     * @param value
+     * @return
+     */
+    public byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length > valueBytes) {
+            throw new IllegalArgumentException("Value of " + bytes.length + " bytes exceeds the " + valueBytes + " byte slot");
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Copies count entries (keys and values) between nodes or within one node,
+     * the ranges may overlap.
+     *
+     * @param scratch at least nodeBytes long
+     */
+    public void copyEntries(ByteBuffer src, int srcBase, int srcIndex, ByteBuffer dst, int dstBase, int dstIndex, int count, byte[] scratch) {
+        copy(src, srcBase + keysOffset + srcIndex * KEY_BYTES, dst, dstBase + keysOffset + dstIndex * KEY_BYTES, count * KEY_BYTES, scratch);
+        copy(src, srcBase + valuesOffset + srcIndex * valueSlotBytes, dst, dstBase + valuesOffset + dstIndex * valueSlotBytes, count * valueSlotBytes, scratch);
+    }
+
+    /**
+     * Copies count child ids between nodes or within one node, the ranges may overlap.
+     *
+     * @param scratch at least nodeBytes long
+     */
+    public void copyChildren(ByteBuffer src, int srcBase, int srcIndex, ByteBuffer dst, int dstBase, int dstIndex, int count, byte[] scratch) {
+        copy(src, srcBase + childrenOffset + srcIndex * CHILD_BYTES, dst, dstBase + childrenOffset + dstIndex * CHILD_BYTES, count * CHILD_BYTES, scratch);
+    }
+
+    // goes through scratch so overlapping ranges in the same buffer are safe
+    private static void copy(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset, int length, byte[] scratch) {
+        if (length <= 0) {
+            return;
+        }
+
+        src.position(srcOffset);
+        src.get(scratch, 0, length);
+        dst.position(dstOffset);
+        dst.put(scratch, 0, length);
+    }
+}
@@ -0,0 +1,66 @@
+package trees.btree.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Fixed-size node slots addressed by int ids, laid out as described by layout().
+ * A node is accessed through the buffer holding it and its base offset in that buffer;
+ * the tree reads and writes the slot in place.
+ * Also keeps the tree's metadata: root node id and number of entries.
+ */
+public interface NodeStorage extends Closeable {
+    NodeLayout layout();
+
+    /**
+     * New slot, contents undefined until initialized by the caller
+     *
+     * @return node id
+     */
+    int allocate();
+
+    void free(int id);
+
+    /**
+     * Buffer holding the node. Every call is matched by a release(id, dirty) once the
+     * caller is done with the node, storages that cache nodes keep it in memory until then.
+     *
+     * @param id
+     * @return
+     */
+    ByteBuffer buffer(int id);
+
+    /**
+     * Offset of the node in its buffer, valid until the node is released
+     *
+     * @param id
+     * @return
+     */
+    int base(int id);
+
+    /**
+     * Ends an access started with buffer(id).
+     *
+     * @param id
+     * @param dirty true if the node was modified
+     */
+    default void release(int id, boolean dirty) {
+    }
+
+    /**
+     * @return root id or NodeLayout.NO_NODE for an empty storage
+     */
+    int getRoot();
+
+    void setRoot(int id);
+
+    long getSize();
+
+    void setSize(long size);
+
+    @Override
+    void close() throws IOException;
+}
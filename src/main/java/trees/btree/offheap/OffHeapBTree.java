@@ -0,0 +1,532 @@
+package trees.btree.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * B-tree with int keys and String values whose nodes are serialized into NodeStorage slots.
+ * Same semantics as BTManager / BTInsertionManager:
+ * - full nodes are split on the way down, the root is split into a new root
+ * - duplicate keys are kept, a key equal to an existing one goes to its right
+ * Deletion is top-down as well (CLRS): a child is topped up to minDegree keys by borrowing
+ * from a sibling or merging with it before the descent enters it; merged nodes and a
+ * collapsed root go back to the storage.
+ * Every node access is bracketed by storage.buffer(id) and storage.release(id, dirty), so a
+ * caching storage only has to keep the few nodes of the current step in memory.
+ * Not thread safe.
+ */
+public class OffHeapBTree {
+    private final NodeStorage storage;
+    private final NodeLayout layout;
+    private final int minDegree;
+
+    // bounce buffer for in-place moves
+    private final byte[] scratch;
+
+    /**
+     * Opens the tree kept in storage, creating an empty one if storage has no root.
+     *
+     * @param storage
+     */
+    public OffHeapBTree(NodeStorage storage) {
+        this.storage = storage;
+        this.layout = storage.layout();
+        this.minDegree = layout.minDegree;
+        this.scratch = new byte[layout.nodeBytes];
+
+        if (storage.getRoot() == NodeLayout.NO_NODE) {
+            storage.setRoot(newNode(true));
+        }
+    }
+
+    /**
+     * @param key
+     * @return value of key, null if the key is not in the tree
+     */
+    public String find(int key) {
+        long location = locate(key);
+
+        if (location < 0) {
+            return null;
+        }
+
+        int id = (int) (location >>> 32);
+        ByteBuffer buffer = storage.buffer(id);
+
+        try {
+            return layout.value(buffer, storage.base(id), (int) location);
+        } finally {
+            storage.release(id, false);
+        }
+    }
+
+    public boolean contains(int key) {
+        return locate(key) >= 0;
+    }
+
+    /**
+     * Inserts key, splitting full nodes on the way down.
+     *
+     * @param key
+     * @param value at most layout().valueBytes bytes of UTF-8
+     */
+    public void insert(int key, String value) {
+        byte[] encoded = layout.encode(value);
+        int id = storage.getRoot();
+
+        if (isFull(id)) {
+            int newRoot = newNode(false);
+            ByteBuffer buffer = storage.buffer(newRoot);
+            layout.setChild(buffer, storage.base(newRoot), 0, id);
+            storage.release(newRoot, true);
+
+            splitChild(newRoot, 0);
+            storage.setRoot(newRoot);
+            id = newRoot;
+        }
+
+        while (true) {
+            ByteBuffer buffer = storage.buffer(id);
+            int base = storage.base(id);
+            int index = search(buffer, base, key);
+            int position = index >= 0 ? index + 1 : -index - 1;
+
+            if (layout.isLeaf(buffer, base)) {
+                int numKeys = layout.numKeys(buffer, base);
+                layout.copyEntries(buffer, base, position, buffer, base, position + 1, numKeys - position, scratch);
+                layout.setKey(buffer, base, position, key);
+                layout.setValue(buffer, base, position, encoded);
+                layout.setNumKeys(buffer, base, numKeys + 1);
+                storage.release(id, true);
+                break;
+            }
+
+            int child = layout.child(buffer, base, position);
+            boolean split = isFull(child);
+
+            if (split) {
+                splitChild(id, position);
+
+                // keys equal to or greater than the promoted key go to the new node
+                if (key >= layout.key(buffer, base, position)) {
+                    position++;
+                }
+
+                child = layout.child(buffer, base, position);
+            }
+
+            storage.release(id, split);
+            id = child;
+        }
+
+        storage.setSize(storage.getSize() + 1);
+    }
+
+    /**
+     * Deletes one occurrence of key.
+     *
+     * @param key
+     * @return false if the key is not in the tree
+     */
+    public boolean delete(int key) {
+        int id = storage.getRoot();
+        boolean deleted = false;
+
+        while (true) {
+            ByteBuffer buffer = storage.buffer(id);
+            int base = storage.base(id);
+            int index = search(buffer, base, key);
+            boolean leaf = layout.isLeaf(buffer, base);
+            int left = leaf || index < 0 ? NodeLayout.NO_NODE : layout.child(buffer, base, index);
+            int right = leaf || index < 0 ? NodeLayout.NO_NODE : layout.child(buffer, base, index + 1);
+            storage.release(id, false);
+
+            if (index >= 0) {
+                deleted = true;
+
+                if (leaf) {
+                    removeEntry(id, index);
+                    break;
+                }
+
+                // replace the key with its predecessor or successor if that side can spare one
+                if (numKeys(left) >= minDegree) {
+                    moveMax(left, id, index);
+                    break;
+                }
+
+                if (numKeys(right) >= minDegree) {
+                    moveMin(right, id, index);
+                    break;
+                }
+
+                // otherwise pull the key down into the merged children and delete it there
+                merge(id, index);
+                id = left;
+                continue;
+            }
+
+            if (leaf) {
+                break;
+            }
+
+            id = fillChild(id, -index - 1);
+        }
+
+        collapseRoot();
+
+        if (deleted) {
+            storage.setSize(storage.getSize() - 1);
+        }
+
+        return deleted;
+    }
+
+    public long size() {
+        return storage.getSize();
+    }
+
+    public int height() {
+        int id = storage.getRoot();
+        int height = 1;
+
+        while (!isLeaf(id)) {
+            id = child(id, 0);
+            height++;
+        }
+
+        return height;
+    }
+
+    public NodeStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * @param key
+     * @return node id in the upper and key index in the lower half, -1 if not found
+     */
+    private long locate(int key) {
+        int id = storage.getRoot();
+
+        while (true) {
+            ByteBuffer buffer = storage.buffer(id);
+            int base = storage.base(id);
+            int index = search(buffer, base, key);
+            int next = index >= 0 || layout.isLeaf(buffer, base) ? NodeLayout.NO_NODE : layout.child(buffer, base, -index - 1);
+            storage.release(id, false);
+
+            if (index >= 0) {
+                return (long) id << 32 | index;
+            }
+
+            if (next == NodeLayout.NO_NODE) {
+                return -1;
+            }
+
+            id = next;
+        }
+    }
+
+    // binary search over the node's keys, same contract as Arrays.binarySearch
+    private int search(ByteBuffer buffer, int base, int key) {
+        int low = 0;
+        int high = layout.numKeys(buffer, base) - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midKey = layout.key(buffer, base, mid);
+
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    private int newNode(boolean leaf) {
+        int id = storage.allocate();
+        layout.init(storage.buffer(id), storage.base(id), leaf);
+        storage.release(id, true);
+        return id;
+    }
+
+    private int numKeys(int id) {
+        ByteBuffer buffer = storage.buffer(id);
+
+        try {
+            return layout.numKeys(buffer, storage.base(id));
+        } finally {
+            storage.release(id, false);
+        }
+    }
+
+    private boolean isFull(int id) {
+        return numKeys(id) == layout.maxKeys;
+    }
+
+    private boolean isLeaf(int id) {
+        ByteBuffer buffer = storage.buffer(id);
+
+        try {
+            return layout.isLeaf(buffer, storage.base(id));
+        } finally {
+            storage.release(id, false);
+        }
+    }
+
+    private int child(int id, int index) {
+        ByteBuffer buffer = storage.buffer(id);
+
+        try {
+            return layout.child(buffer, storage.base(id), index);
+        } finally {
+            storage.release(id, false);
+        }
+    }
+
+    /**
+     * Splits the full child at childIndex, moving its upper half into a new right sibling
+     * and its middle entry into the parent.
+     *
+     * @param parent
+     * @param childIndex
+     */
+    private void splitChild(int parent, int childIndex) {
+        int t = minDegree;
+        int child = child(parent, childIndex);
+        boolean leaf = isLeaf(child);
+        int sibling = newNode(leaf);
+
+        ByteBuffer parentBuffer = storage.buffer(parent);
+        int parentBase = storage.base(parent);
+        ByteBuffer childBuffer = storage.buffer(child);
+        int childBase = storage.base(child);
+        ByteBuffer siblingBuffer = storage.buffer(sibling);
+        int siblingBase = storage.base(sibling);
+
+        layout.copyEntries(childBuffer, childBase, t, siblingBuffer, siblingBase, 0, t - 1, scratch);
+
+        if (!leaf) {
+            layout.copyChildren(childBuffer, childBase, t, siblingBuffer, siblingBase, 0, t, scratch);
+        }
+
+        layout.setNumKeys(siblingBuffer, siblingBase, t - 1);
+        layout.setRight(siblingBuffer, siblingBase, layout.right(childBuffer, childBase));
+        layout.setRight(childBuffer, childBase, sibling);
+
+        // make room in the parent and move the middle entry up
+        int parentKeys = layout.numKeys(parentBuffer, parentBase);
+        layout.copyEntries(parentBuffer, parentBase, childIndex, parentBuffer, parentBase, childIndex + 1, parentKeys - childIndex, scratch);
+        layout.copyChildren(parentBuffer, parentBase, childIndex + 1, parentBuffer, parentBase, childIndex + 2, parentKeys - childIndex, scratch);
+        layout.copyEntries(childBuffer, childBase, t - 1, parentBuffer, parentBase, childIndex, 1, scratch);
+        layout.setChild(parentBuffer, parentBase, childIndex + 1, sibling);
+        layout.setNumKeys(parentBuffer, parentBase, parentKeys + 1);
+
+        layout.setNumKeys(childBuffer, childBase, t - 1);
+
+        storage.release(sibling, true);
+        storage.release(child, true);
+        storage.release(parent, true);
+    }
+
+    /**
+     * Makes sure the child at childIndex has at least minDegree keys before the descent enters it,
+     * borrowing from a sibling that can spare a key or merging with one.
+     *
+     * @param parent
+     * @param childIndex
+     * @return node to continue the descent with
+     */
+    private int fillChild(int parent, int childIndex) {
+        int parentKeys = numKeys(parent);
+        int child = child(parent, childIndex);
+
+        if (numKeys(child) >= minDegree) {
+            return child;
+        }
+
+        if (childIndex > 0 && numKeys(child(parent, childIndex - 1)) >= minDegree) {
+            borrowFromLeft(parent, childIndex);
+            return child;
+        }
+
+        if (childIndex < parentKeys && numKeys(child(parent, childIndex + 1)) >= minDegree) {
+            borrowFromRight(parent, childIndex);
+            return child;
+        }
+
+        if (childIndex < parentKeys) {
+            merge(parent, childIndex);
+            return child;
+        }
+
+        merge(parent, childIndex - 1);
+        return child(parent, childIndex - 1);
+    }
+
+    // rotates the left sibling's last entry through the parent into the child
+    private void borrowFromLeft(int parent, int childIndex) {
+        int child = child(parent, childIndex);
+        int left = child(parent, childIndex - 1);
+
+        ByteBuffer parentBuffer = storage.buffer(parent);
+        int parentBase = storage.base(parent);
+        ByteBuffer childBuffer = storage.buffer(child);
+        int childBase = storage.base(child);
+        ByteBuffer leftBuffer = storage.buffer(left);
+        int leftBase = storage.base(left);
+
+        int childKeys = layout.numKeys(childBuffer, childBase);
+        int leftKeys = layout.numKeys(leftBuffer, leftBase);
+
+        layout.copyEntries(childBuffer, childBase, 0, childBuffer, childBase, 1, childKeys, scratch);
+        layout.copyEntries(parentBuffer, parentBase, childIndex - 1, childBuffer, childBase, 0, 1, scratch);
+        layout.copyEntries(leftBuffer, leftBase, leftKeys - 1, parentBuffer, parentBase, childIndex - 1, 1, scratch);
+
+        if (!layout.isLeaf(childBuffer, childBase)) {
+            layout.copyChildren(childBuffer, childBase, 0, childBuffer, childBase, 1, childKeys + 1, scratch);
+            layout.copyChildren(leftBuffer, leftBase, leftKeys, childBuffer, childBase, 0, 1, scratch);
+        }
+
+        layout.setNumKeys(childBuffer, childBase, childKeys + 1);
+        layout.setNumKeys(leftBuffer, leftBase, leftKeys - 1);
+
+        storage.release(left, true);
+        storage.release(child, true);
+        storage.release(parent, true);
+    }
+
+    // rotates the right sibling's first entry through the parent into the child
+    private void borrowFromRight(int parent, int childIndex) {
+        int child = child(parent, childIndex);
+        int right = child(parent, childIndex + 1);
+
+        ByteBuffer parentBuffer = storage.buffer(parent);
+        int parentBase = storage.base(parent);
+        ByteBuffer childBuffer = storage.buffer(child);
+        int childBase = storage.base(child);
+        ByteBuffer rightBuffer = storage.buffer(right);
+        int rightBase = storage.base(right);
+
+        int childKeys = layout.numKeys(childBuffer, childBase);
+        int rightKeys = layout.numKeys(rightBuffer, rightBase);
+
+        layout.copyEntries(parentBuffer, parentBase, childIndex, childBuffer, childBase, childKeys, 1, scratch);
+        layout.copyEntries(rightBuffer, rightBase, 0, parentBuffer, parentBase, childIndex, 1, scratch);
+        layout.copyEntries(rightBuffer, rightBase, 1, rightBuffer, rightBase, 0, rightKeys - 1, scratch);
+
+        if (!layout.isLeaf(childBuffer, childBase)) {
+            layout.copyChildren(rightBuffer, rightBase, 0, childBuffer, childBase, childKeys + 1, 1, scratch);
+            layout.copyChildren(rightBuffer, rightBase, 1, rightBuffer, rightBase, 0, rightKeys, scratch);
+        }
+
+        layout.setNumKeys(childBuffer, childBase, childKeys + 1);
+        layout.setNumKeys(rightBuffer, rightBase, rightKeys - 1);
+
+        storage.release(right, true);
+        storage.release(child, true);
+        storage.release(parent, true);
+    }
+
+    /**
+     * Merges the child right of the parent's entry at index into the child left of it,
+     * pulling the entry down between them, and frees the right child's slot.
+     *
+     * @param parent
+     * @param index
+     */
+    private void merge(int parent, int index) {
+        int left = child(parent, index);
+        int right = child(parent, index + 1);
+
+        ByteBuffer parentBuffer = storage.buffer(parent);
+        int parentBase = storage.base(parent);
+        ByteBuffer leftBuffer = storage.buffer(left);
+        int leftBase = storage.base(left);
+        ByteBuffer rightBuffer = storage.buffer(right);
+        int rightBase = storage.base(right);
+
+        int leftKeys = layout.numKeys(leftBuffer, leftBase);
+        int rightKeys = layout.numKeys(rightBuffer, rightBase);
+
+        layout.copyEntries(parentBuffer, parentBase, index, leftBuffer, leftBase, leftKeys, 1, scratch);
+        layout.copyEntries(rightBuffer, rightBase, 0, leftBuffer, leftBase, leftKeys + 1, rightKeys, scratch);
+
+        if (!layout.isLeaf(leftBuffer, leftBase)) {
+            layout.copyChildren(rightBuffer, rightBase, 0, leftBuffer, leftBase, leftKeys + 1, rightKeys + 1, scratch);
+        }
+
+        layout.setNumKeys(leftBuffer, leftBase, leftKeys + 1 + rightKeys);
+        layout.setRight(leftBuffer, leftBase, layout.right(rightBuffer, rightBase));
+
+        int parentKeys = layout.numKeys(parentBuffer, parentBase);
+        layout.copyEntries(parentBuffer, parentBase, index + 1, parentBuffer, parentBase, index, parentKeys - index - 1, scratch);
+        layout.copyChildren(parentBuffer, parentBase, index + 2, parentBuffer, parentBase, index + 1, parentKeys - index - 1, scratch);
+        layout.setNumKeys(parentBuffer, parentBase, parentKeys - 1);
+
+        storage.release(right, false);
+        storage.release(left, true);
+        storage.release(parent, true);
+        storage.free(right);
+    }
+
+    // replaces the target entry with the greatest entry of the subtree, removing it there
+    private void moveMax(int id, int target, int targetIndex) {
+        while (!isLeaf(id)) {
+            id = fillChild(id, numKeys(id));
+        }
+
+        ByteBuffer buffer = storage.buffer(id);
+        int base = storage.base(id);
+        ByteBuffer targetBuffer = storage.buffer(target);
+        int last = layout.numKeys(buffer, base) - 1;
+
+        layout.copyEntries(buffer, base, last, targetBuffer, storage.base(target), targetIndex, 1, scratch);
+        layout.setNumKeys(buffer, base, last);
+
+        storage.release(target, true);
+        storage.release(id, true);
+    }
+
+    // replaces the target entry with the lowest entry of the subtree, removing it there
+    private void moveMin(int id, int target, int targetIndex) {
+        while (!isLeaf(id)) {
+            id = fillChild(id, 0);
+        }
+
+        ByteBuffer buffer = storage.buffer(id);
+        ByteBuffer targetBuffer = storage.buffer(target);
+        layout.copyEntries(buffer, storage.base(id), 0, targetBuffer, storage.base(target), targetIndex, 1, scratch);
+        storage.release(target, true);
+        storage.release(id, false);
+
+        removeEntry(id, 0);
+    }
+
+    private void removeEntry(int id, int index) {
+        ByteBuffer buffer = storage.buffer(id);
+        int base = storage.base(id);
+        int numKeys = layout.numKeys(buffer, base);
+
+        layout.copyEntries(buffer, base, index + 1, buffer, base, index, numKeys - index - 1, scratch);
+        layout.setNumKeys(buffer, base, numKeys - 1);
+        storage.release(id, true);
+    }
+
+    // an inner root left without keys by a merge hands over to its only child
+    private void collapseRoot() {
+        int root = storage.getRoot();
+
+        if (numKeys(root) == 0 && !isLeaf(root)) {
+            storage.setRoot(child(root, 0));
+            storage.free(root);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package trees.btree.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * NodeStorage in direct ByteBuffer slabs, outside the Java heap:
+ * - node ids are slot numbers, slot id lives in slab id / slotsPerSlab
+ * - slabs are allocated on demand and kept until the storage is closed
+ * - freed slots are chained into a free list through their first int and reused first
+ * The garbage collector only sees one ByteBuffer per slab, whatever the size of the tree.
+ */
+public class SlabNodeStorage implements NodeStorage {
+    public static final int DEFAULT_SLAB_BYTES = 1 << 20;
+
+    private final NodeLayout layout;
+    private final int slotsPerSlab;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+
+    private int nextSlot;
+    private int freeHead = NodeLayout.NO_NODE;
+    private int freeSlots;
+    private int root = NodeLayout.NO_NODE;
+    private long size;
+
+    public SlabNodeStorage(NodeLayout layout) {
+        this(layout, DEFAULT_SLAB_BYTES);
+    }
+
+    public SlabNodeStorage(NodeLayout layout, int slabBytes) {
+        if (slabBytes < layout.nodeBytes) {
+            throw new IllegalArgumentException("Slab of " + slabBytes + " bytes cannot hold a " + layout.nodeBytes + " byte node");
+        }
+
+        this.layout = layout;
+        this.slotsPerSlab = slabBytes / layout.nodeBytes;
+    }
+
+    @Override
+    public NodeLayout layout() {
+        return layout;
+    }
+
+    @Override
+    public int allocate() {
+        if (freeHead != NodeLayout.NO_NODE) {
+            int id = freeHead;
+            freeHead = buffer(id).getInt(base(id));
+            freeSlots--;
+            return id;
+        }
+
+        if (nextSlot == slabs.size() * slotsPerSlab) {
+            slabs.add(ByteBuffer.allocateDirect(slotsPerSlab * layout.nodeBytes).order(ByteOrder.nativeOrder()));
+        }
+
+        return nextSlot++;
+    }
+
+    @Override
+    public void free(int id) {
+        buffer(id).putInt(base(id), freeHead);
+        freeHead = id;
+        freeSlots++;
+    }
+
+    @Override
+    public ByteBuffer buffer(int id) {
+        return slabs.get(id / slotsPerSlab);
+    }
+
+    @Override
+    public int base(int id) {
+        return (id % slotsPerSlab) * layout.nodeBytes;
+    }
+
+    @Override
+    public int getRoot() {
+        return root;
+    }
+
+    @Override
+    public void setRoot(int id) {
+        root = id;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Slots holding nodes
+     *
+     * @return
+     */
+    public int liveNodes() {
+        return nextSlot - freeSlots;
+    }
+
+    public int freeNodes() {
+        return freeSlots;
+    }
+
+    /**
+     * Off-heap bytes reserved by the slabs
+     *
+     * @return
+     */
+    public long reservedBytes() {
+        return (long) slabs.size() * slotsPerSlab * layout.nodeBytes;
+    }
+
+    /**
+     * Drops the slabs, their memory is released when the buffers are collected.
+     */
+    @Override
+    public void close() {
+        slabs.clear();
+        nextSlot = 0;
+        freeHead = NodeLayout.NO_NODE;
+        freeSlots = 0;
+        root = NodeLayout.NO_NODE;
+        size = 0;
+    }
+}
@@ -0,0 +1,95 @@
+package trees.btree.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Page 0 of a page file: format, page size and node layout, root page, entry count,
+ * number of pages and head of the free-page list.
+ * Shared by the page file storages, so a file written by one can be opened by the other.
+ */
+final class Superblock {
+    static final int BYTES = 48;
+
+    private static final long MAGIC = 0x4254524545504753L; // BTREEPGS
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int PAGE_BYTES_OFFSET = 12;
+    private static final int MIN_DEGREE_OFFSET = 16;
+    private static final int VALUE_BYTES_OFFSET = 20;
+    private static final int ROOT_OFFSET = 24;
+    private static final int FREE_HEAD_OFFSET = 28;
+    private static final int PAGE_COUNT_OFFSET = 32;
+    private static final int SIZE_OFFSET = 40;
+
+    private final ByteBuffer buffer;
+
+    Superblock(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Writes the superblock of an empty file
+     *
+     * @param pageBytes
+     * @param layout
+     */
+    void format(int pageBytes, NodeLayout layout) {
+        buffer.putLong(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, FORMAT_VERSION);
+        buffer.putInt(PAGE_BYTES_OFFSET, pageBytes);
+        buffer.putInt(MIN_DEGREE_OFFSET, layout.minDegree);
+        buffer.putInt(VALUE_BYTES_OFFSET, layout.valueBytes);
+        buffer.putInt(ROOT_OFFSET, NodeLayout.NO_NODE);
+        buffer.putInt(FREE_HEAD_OFFSET, NodeLayout.NO_NODE);
+        buffer.putInt(PAGE_COUNT_OFFSET, 1);
+        buffer.putLong(SIZE_OFFSET, 0);
+    }
+
+    boolean isValid() {
+        return buffer.getLong(MAGIC_OFFSET) == MAGIC && buffer.getInt(VERSION_OFFSET) == FORMAT_VERSION;
+    }
+
+    int pageBytes() {
+        return buffer.getInt(PAGE_BYTES_OFFSET);
+    }
+
+    NodeLayout layout() {
+        return new NodeLayout(buffer.getInt(MIN_DEGREE_OFFSET), buffer.getInt(VALUE_BYTES_OFFSET));
+    }
+
+    int root() {
+        return buffer.getInt(ROOT_OFFSET);
+    }
+
+    void setRoot(int root) {
+        buffer.putInt(ROOT_OFFSET, root);
+    }
+
+    int freeHead() {
+        return buffer.getInt(FREE_HEAD_OFFSET);
+    }
+
+    void setFreeHead(int freeHead) {
+        buffer.putInt(FREE_HEAD_OFFSET, freeHead);
+    }
+
+    int pageCount() {
+        return buffer.getInt(PAGE_COUNT_OFFSET);
+    }
+
+    void setPageCount(int pageCount) {
+        buffer.putInt(PAGE_COUNT_OFFSET, pageCount);
+    }
+
+    long size() {
+        return buffer.getLong(SIZE_OFFSET);
+    }
+
+    void setSize(long size) {
+        buffer.putLong(SIZE_OFFSET, size);
+    }
+}
@@ -0,0 +1,93 @@
+package trees.btree.primitive;
+
+import trees.btree.BTNode;
+import trees.btree.search.IntNodeSearch;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * B-tree specialized for int keys, see PrimitiveBTree:
+ * - keys are kept in a contiguous int[] per node, values in a parallel array
+ * - no KVPair or Integer per entry
+ * In-node search is pluggable, see IntNodeSearch.
+ */
+public class IntBTree<V> extends PrimitiveBTree<IntBTree.Node, V> {
+    private final IntNodeSearch search;
+
+    public static class Node extends PrimitiveBTree.Node<Node> {
+        public final int[] keys;
+
+        public Node(int minDegree, boolean leaf) {
+            super(minDegree, leaf ? null : new Node[2 * minDegree]);
+            keys = new int[2 * minDegree - 1];
+        }
+
+        @Override
+        Object keyArray() {
+            return keys;
+        }
+    }
+
+    public IntBTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public IntBTree(int minDegree) {
+        this(minDegree, IntNodeSearch.ADAPTIVE);
+    }
+
+    public IntBTree(int minDegree, IntNodeSearch search) {
+        super(minDegree);
+        this.search = search;
+    }
+
+    /**
+     * Inserts key into the tree, splitting full nodes on the way down.
+     *
+     * @param key
+     * @param value
+     * @return previous value of the key or null
+     */
+    public V insert(int key, V value) {
+        return put(key, value);
+    }
+
+    public V find(int key) {
+        return get(key);
+    }
+
+    public boolean contains(int key) {
+        return containsKey(key);
+    }
+
+    /**
+     * Removes key from the tree, rebalancing on the way down.
+     *
+     * @param key
+     * @return true if key was in the tree
+     */
+    public boolean delete(int key) {
+        return remove(key);
+    }
+
+    @Override
+    Node newNode(boolean leaf) {
+        return new Node(getMinDegree(), leaf);
+    }
+
+    // keys reaching here came in as ints
+    @Override
+    int search(Node node, long key) {
+        return search.search(node.keys, node.numKeys, (int) key);
+    }
+
+    @Override
+    long key(Node node, int index) {
+        return node.keys[index];
+    }
+
+    @Override
+    void setKey(Node node, int index, long key) {
+        node.keys[index] = (int) key;
+    }
+}
@@ -0,0 +1,92 @@
+package trees.btree.primitive;
+
+import trees.btree.BTNode;
+import trees.btree.search.LongNodeSearch;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * B-tree specialized for long keys, see PrimitiveBTree:
+ * - keys are kept in a contiguous long[] per node, values in a parallel array
+ * - no KVPair or Long per entry
+ * In-node search is pluggable, see LongNodeSearch.
+ */
+public class LongBTree<V> extends PrimitiveBTree<LongBTree.Node, V> {
+    private final LongNodeSearch search;
+
+    public static class Node extends PrimitiveBTree.Node<Node> {
+        public final long[] keys;
+
+        public Node(int minDegree, boolean leaf) {
+            super(minDegree, leaf ? null : new Node[2 * minDegree]);
+            keys = new long[2 * minDegree - 1];
+        }
+
+        @Override
+        Object keyArray() {
+            return keys;
+        }
+    }
+
+    public LongBTree() {
+        this(BTNode.DEFAULT_MIN_DEGREE);
+    }
+
+    public LongBTree(int minDegree) {
+        this(minDegree, LongNodeSearch.ADAPTIVE);
+    }
+
+    public LongBTree(int minDegree, LongNodeSearch search) {
+        super(minDegree);
+        this.search = search;
+    }
+
+    /**
+     * Inserts key into the tree, splitting full nodes on the way down.
+     *
+     * @param key
+     * @param value
+     * @return previous value of the key or null
+     */
+    public V insert(long key, V value) {
+        return put(key, value);
+    }
+
+    public V find(long key) {
+        return get(key);
+    }
+
+    public boolean contains(long key) {
+        return containsKey(key);
+    }
+
+    /**
+     * Removes key from the tree, rebalancing on the way down.
+     *
+     * @param key
+     * @return true if key was in the tree
+     */
+    public boolean delete(long key) {
+        return remove(key);
+    }
+
+    @Override
+    Node newNode(boolean leaf) {
+        return new Node(getMinDegree(), leaf);
+    }
+
+    @Override
+    int search(Node node, long key) {
+        return search.search(node.keys, node.numKeys, key);
+    }
+
+    @Override
+    long key(Node node, int index) {
+        return node.keys[index];
+    }
+
+    @Override
+    void setKey(Node node, int index, long key) {
+        node.keys[index] = key;
+    }
+}
@@ -0,0 +1,391 @@
+package trees.btree.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * B-tree over primitive keys, shared by IntBTree and LongBTree which only supply the node
+ * key arrays and the in-node search:
+ * - keys are compared as longs, int keys widen without loss
+ * - keys move between nodes with System.arraycopy, whatever the type of the key arrays
+ * - values are kept in a parallel array, leaves do not allocate a children array
+ * Inserts split full nodes on the way down. Deletes are top-down as well (CLRS): a child is
+ * topped up to minDegree keys by borrowing from a sibling or merging with it before the
+ * descent enters it.
+ * Inserting an existing key replaces its value.
+ */
+public abstract class PrimitiveBTree<N extends PrimitiveBTree.Node<N>, V> {
+    private final int minDegree;
+    private N root;
+    private int size;
+
+    public abstract static class Node<N extends Node<N>> {
+        public int numKeys;
+        public final Object[] values;
+        public final N[] children;
+
+        /**
+         * @param minDegree
+         * @param children  2 * minDegree slots, null for a leaf
+         */
+        protected Node(int minDegree, N[] children) {
+            this.values = new Object[2 * minDegree - 1];
+            this.children = children;
+        }
+
+        public boolean isLeaf() {
+            return children == null;
+        }
+
+        // int[] or long[] of 2 * minDegree - 1 keys
+        abstract Object keyArray();
+    }
+
+    PrimitiveBTree(int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Min degree must be at least 2: " + minDegree);
+        }
+
+        this.minDegree = minDegree;
+        this.root = newNode(true);
+    }
+
+    // called from the constructor, must not depend on the state of the subclass
+    abstract N newNode(boolean leaf);
+
+    // same contract as Arrays.binarySearch over the keys of node
+    abstract int search(N node, long key);
+
+    abstract long key(N node, int index);
+
+    abstract void setKey(N node, int index, long key);
+
+    public int size() {
+        return size;
+    }
+
+    public int height() {
+        int height = 1;
+
+        for (N node = root; !node.isLeaf(); node = node.children[0]) {
+            height++;
+        }
+
+        return height;
+    }
+
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    public N getRoot() {
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        N node = root;
+
+        while (true) {
+            int index = search(node, key);
+
+            if (index >= 0) {
+                return (V) node.values[index];
+            }
+
+            if (node.isLeaf()) {
+                return null;
+            }
+
+            node = node.children[-index - 1];
+        }
+    }
+
+    boolean containsKey(long key) {
+        N node = root;
+
+        while (true) {
+            int index = search(node, key);
+
+            if (index >= 0) {
+                return true;
+            }
+
+            if (node.isLeaf()) {
+                return false;
+            }
+
+            node = node.children[-index - 1];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (isFull(root)) {
+            N newRoot = newNode(false);
+            newRoot.children[0] = root;
+            splitChild(newRoot, 0);
+            root = newRoot;
+        }
+
+        N node = root;
+
+        while (true) {
+            int index = search(node, key);
+
+            if (index >= 0) {
+                V previous = (V) node.values[index];
+                node.values[index] = value;
+                return previous;
+            }
+
+            int position = -index - 1;
+
+            if (node.isLeaf()) {
+                int shifted = node.numKeys - position;
+                System.arraycopy(node.keyArray(), position, node.keyArray(), position + 1, shifted);
+                System.arraycopy(node.values, position, node.values, position + 1, shifted);
+
+                setKey(node, position, key);
+                node.values[position] = value;
+                node.numKeys++;
+                size++;
+                return null;
+            }
+
+            if (isFull(node.children[position])) {
+                splitChild(node, position);
+                long promoted = key(node, position);
+
+                // the promoted key now sits at position
+                if (key == promoted) {
+                    V previous = (V) node.values[position];
+                    node.values[position] = value;
+                    return previous;
+                }
+
+                if (key > promoted) {
+                    position++;
+                }
+            }
+
+            node = node.children[position];
+        }
+    }
+
+    boolean remove(long key) {
+        N node = root;
+        boolean removed = false;
+
+        while (true) {
+            int index = search(node, key);
+
+            if (index < 0) {
+                if (node.isLeaf()) {
+                    break;
+                }
+
+                int position = -index - 1;
+
+                if (node.children[position].numKeys < minDegree) {
+                    position = fill(node, position);
+                }
+
+                node = node.children[position];
+            } else if (node.isLeaf()) {
+                removeEntry(node, index);
+                removed = true;
+                break;
+            } else if (node.children[index].numKeys >= minDegree) {
+                takeLast(node.children[index], node, index);
+                removed = true;
+                break;
+            } else if (node.children[index + 1].numKeys >= minDegree) {
+                takeFirst(node.children[index + 1], node, index);
+                removed = true;
+                break;
+            } else {
+                // the key moves down into the merged child
+                merge(node, index);
+                node = node.children[index];
+            }
+        }
+
+        // a merge may have emptied the root
+        if (root.numKeys == 0 && !root.isLeaf()) {
+            root = root.children[0];
+        }
+
+        if (removed) {
+            size--;
+        }
+
+        return removed;
+    }
+
+    private boolean isFull(N node) {
+        return node.numKeys == 2 * minDegree - 1;
+    }
+
+    private void splitChild(N parent, int childIndex) {
+        N toSplit = parent.children[childIndex];
+        N newNode = newNode(toSplit.isLeaf());
+
+        // move upper half of the keys into the new node
+        System.arraycopy(toSplit.keyArray(), minDegree, newNode.keyArray(), 0, minDegree - 1);
+        System.arraycopy(toSplit.values, minDegree, newNode.values, 0, minDegree - 1);
+
+        if (!toSplit.isLeaf()) {
+            System.arraycopy(toSplit.children, minDegree, newNode.children, 0, minDegree);
+            Arrays.fill(toSplit.children, minDegree, 2 * minDegree, null);
+        }
+
+        newNode.numKeys = minDegree - 1;
+
+        // shift parent keys and children to make room for the promoted key
+        int shifted = parent.numKeys - childIndex;
+        System.arraycopy(parent.keyArray(), childIndex, parent.keyArray(), childIndex + 1, shifted);
+        System.arraycopy(parent.values, childIndex, parent.values, childIndex + 1, shifted);
+        System.arraycopy(parent.children, childIndex + 1, parent.children, childIndex + 2, shifted);
+
+        copyEntry(toSplit, minDegree - 1, parent, childIndex);
+        parent.children[childIndex + 1] = newNode;
+        parent.numKeys++;
+
+        // release value references held by the split node
+        Arrays.fill(toSplit.values, minDegree - 1, 2 * minDegree - 1, null);
+        toSplit.numKeys = minDegree - 1;
+    }
+
+    /**
+     * Tops up child childIndex of parent, which has minDegree - 1 keys, by borrowing a key
+     * from a sibling or merging with one.
+     *
+     * @param parent
+     * @param childIndex
+     * @return index of the child now covering the keys of the topped up child
+     */
+    private int fill(N parent, int childIndex) {
+        if (childIndex > 0 && parent.children[childIndex - 1].numKeys >= minDegree) {
+            borrowFromPrevious(parent, childIndex);
+        } else if (childIndex < parent.numKeys && parent.children[childIndex + 1].numKeys >= minDegree) {
+            borrowFromNext(parent, childIndex);
+        } else if (childIndex < parent.numKeys) {
+            merge(parent, childIndex);
+        } else {
+            merge(parent, --childIndex);
+        }
+
+        return childIndex;
+    }
+
+    // the separator left of child moves down into it, the last key of its left sibling moves up
+    private void borrowFromPrevious(N parent, int childIndex) {
+        N child = parent.children[childIndex];
+        N sibling = parent.children[childIndex - 1];
+
+        System.arraycopy(child.keyArray(), 0, child.keyArray(), 1, child.numKeys);
+        System.arraycopy(child.values, 0, child.values, 1, child.numKeys);
+        copyEntry(parent, childIndex - 1, child, 0);
+
+        if (!child.isLeaf()) {
+            System.arraycopy(child.children, 0, child.children, 1, child.numKeys + 1);
+            child.children[0] = sibling.children[sibling.numKeys];
+            sibling.children[sibling.numKeys] = null;
+        }
+
+        copyEntry(sibling, sibling.numKeys - 1, parent, childIndex - 1);
+        sibling.values[sibling.numKeys - 1] = null;
+        sibling.numKeys--;
+        child.numKeys++;
+    }
+
+    // the separator right of child moves down into it, the first key of its right sibling moves up
+    private void borrowFromNext(N parent, int childIndex) {
+        N child = parent.children[childIndex];
+        N sibling = parent.children[childIndex + 1];
+
+        copyEntry(parent, childIndex, child, child.numKeys);
+        copyEntry(sibling, 0, parent, childIndex);
+
+        System.arraycopy(sibling.keyArray(), 1, sibling.keyArray(), 0, sibling.numKeys - 1);
+        System.arraycopy(sibling.values, 1, sibling.values, 0, sibling.numKeys - 1);
+        sibling.values[sibling.numKeys - 1] = null;
+
+        if (!child.isLeaf()) {
+            child.children[child.numKeys + 1] = sibling.children[0];
+            System.arraycopy(sibling.children, 1, sibling.children, 0, sibling.numKeys);
+            sibling.children[sibling.numKeys] = null;
+        }
+
+        sibling.numKeys--;
+        child.numKeys++;
+    }
+
+    // child childIndex, the separator after it and its right sibling become one node of 2 * minDegree - 1 keys
+    private void merge(N parent, int childIndex) {
+        N child = parent.children[childIndex];
+        N sibling = parent.children[childIndex + 1];
+
+        copyEntry(parent, childIndex, child, child.numKeys);
+        System.arraycopy(sibling.keyArray(), 0, child.keyArray(), child.numKeys + 1, sibling.numKeys);
+        System.arraycopy(sibling.values, 0, child.values, child.numKeys + 1, sibling.numKeys);
+
+        if (!child.isLeaf()) {
+            System.arraycopy(sibling.children, 0, child.children, child.numKeys + 1, sibling.numKeys + 1);
+        }
+
+        child.numKeys += sibling.numKeys + 1;
+
+        int shifted = parent.numKeys - childIndex - 1;
+        System.arraycopy(parent.keyArray(), childIndex + 1, parent.keyArray(), childIndex, shifted);
+        System.arraycopy(parent.values, childIndex + 1, parent.values, childIndex, shifted);
+        System.arraycopy(parent.children, childIndex + 2, parent.children, childIndex + 1, shifted);
+        parent.values[parent.numKeys - 1] = null;
+        parent.children[parent.numKeys] = null;
+        parent.numKeys--;
+    }
+
+    // moves the greatest entry under node, a child of target with minDegree keys or more, to index of target
+    private void takeLast(N node, N target, int index) {
+        while (!node.isLeaf()) {
+            int position = node.numKeys;
+
+            if (node.children[position].numKeys < minDegree) {
+                position = fill(node, position);
+            }
+
+            node = node.children[position];
+        }
+
+        copyEntry(node, node.numKeys - 1, target, index);
+        removeEntry(node, node.numKeys - 1);
+    }
+
+    // moves the least entry under node, a child of target with minDegree keys or more, to index of target
+    private void takeFirst(N node, N target, int index) {
+        while (!node.isLeaf()) {
+            if (node.children[0].numKeys < minDegree) {
+                fill(node, 0);
+            }
+
+            node = node.children[0];
+        }
+
+        copyEntry(node, 0, target, index);
+        removeEntry(node, 0);
+    }
+
+    private void removeEntry(N node, int index) {
+        int shifted = node.numKeys - index - 1;
+        System.arraycopy(node.keyArray(), index + 1, node.keyArray(), index, shifted);
+        System.arraycopy(node.values, index + 1, node.values, index, shifted);
+        node.values[--node.numKeys] = null;
+    }
+
+    private void copyEntry(N from, int fromIndex, N to, int toIndex) {
+        System.arraycopy(from.keyArray(), fromIndex, to.keyArray(), toIndex, 1);
+        to.values[toIndex] = from.values[fromIndex];
+    }
+}
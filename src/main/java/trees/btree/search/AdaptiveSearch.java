@@ -0,0 +1,35 @@
+package trees.btree.search;
+
+import trees.btree.BTNode;
+import trees.btree.interfaces.NodeSearchStrategy;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Picks linear search for nodes with at most linearThreshold keys and binary search
+ * for larger ones. See NodeSearchBenchmark for the crossover point.
+ */
+public class AdaptiveSearch<K extends Comparable> implements NodeSearchStrategy<K> {
+    public static final int DEFAULT_LINEAR_THRESHOLD = 8;
+
+    private final int linearThreshold;
+    private final LinearSearch<K> linearSearch = new LinearSearch<>();
+    private final BinarySearch<K> binarySearch = new BinarySearch<>();
+
+    public AdaptiveSearch() {
+        this(DEFAULT_LINEAR_THRESHOLD);
+    }
+
+    public AdaptiveSearch(int linearThreshold) {
+        this.linearThreshold = linearThreshold;
+    }
+
+    @Override
+    public int search(BTNode<K, ?> node, K key) {
+        if (node.numKeys <= linearThreshold) {
+            return linearSearch.search(node, key);
+        }
+
+        return binarySearch.search(node, key);
+    }
+}
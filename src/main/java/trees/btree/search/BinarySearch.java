@@ -0,0 +1,33 @@
+package trees.btree.search;
+
+import trees.btree.BTNode;
+import trees.btree.interfaces.NodeSearchStrategy;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Classic binary search over the node keys, O(log numKeys) comparisons.
+ */
+public class BinarySearch<K extends Comparable> implements NodeSearchStrategy<K> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public int search(BTNode<K, ?> node, K key) {
+        int low = 0;
+        int high = node.numKeys - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = node.kvpairs[mid].key.compareTo(key);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -low - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package trees.btree.search;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * In-node search strategies over a sorted int[] key array.
+ * All of them follow the java.util.Arrays.binarySearch contract: the key index if found,
+ * otherwise (-(insertion point) - 1).
+ */
+public enum IntNodeSearch {
+    LINEAR {
+        @Override
+        public int search(int[] keys, int numKeys, int key) {
+            for (int i = 0; i < numKeys; i++) {
+                if (keys[i] >= key) {
+                    return keys[i] == key ? i : -i - 1;
+                }
+            }
+
+            return -numKeys - 1;
+        }
+    },
+    BINARY {
+        @Override
+        public int search(int[] keys, int numKeys, int key) {
+            int low = 0;
+            int high = numKeys - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else if (keys[mid] > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -low - 1;
+        }
+    },
+    /**
+     * Lower bound search with a fixed number of iterations for a given node size.
+     * The loop body only selects between two bases so the JIT can emit a conditional move
+     * instead of a hard to predict branch.
+     */
+    BRANCHLESS {
+        @Override
+        public int search(int[] keys, int numKeys, int key) {
+            if (numKeys == 0) {
+                return -1;
+            }
+
+            int base = 0;
+            int length = numKeys;
+
+            while (length > 1) {
+                int half = length >>> 1;
+                base = keys[base + half] < key ? base + half : base;
+                length -= half;
+            }
+
+            int index = keys[base] < key ? base + 1 : base;
+
+            return index < numKeys && keys[index] == key ? index : -index - 1;
+        }
+    },
+    /**
+     * Linear scan for small nodes, branchless lower bound for large ones.
+     */
+    ADAPTIVE {
+        @Override
+        public int search(int[] keys, int numKeys, int key) {
+            if (numKeys <= LINEAR_THRESHOLD) {
+                return LINEAR.search(keys, numKeys, key);
+            }
+
+            return BRANCHLESS.search(keys, numKeys, key);
+        }
+    };
+
+    // crossover point measured with NodeSearchBenchmark
+    public static final int LINEAR_THRESHOLD = 64;
+
+    public abstract int search(int[] keys, int numKeys, int key);
+}
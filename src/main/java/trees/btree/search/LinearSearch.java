@@ -0,0 +1,30 @@
+package trees.btree.search;
+
+import trees.btree.BTNode;
+import trees.btree.interfaces.NodeSearchStrategy;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Scans the keys left to right. Cheapest for small nodes where the whole key array
+ * fits in a couple of cache lines.
+ */
+public class LinearSearch<K extends Comparable> implements NodeSearchStrategy<K> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public int search(BTNode<K, ?> node, K key) {
+        for (int i = 0; i < node.numKeys; i++) {
+            int cmp = node.kvpairs[i].key.compareTo(key);
+
+            if (cmp == 0) {
+                return i;
+            }
+
+            if (cmp > 0) {
+                return -i - 1;
+            }
+        }
+
+        return -node.numKeys - 1;
+    }
+}
@@ -0,0 +1,97 @@
+package trees.btree.snapshot;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Reads the body of a snapshot written by BlockOutputStream. A block is checked against its
+ * CRC32 before any of its bytes is handed out, so the entry codecs never see damaged data, and
+ * a damaged block length is rejected before anything is allocated for it.
+ */
+class BlockInputStream extends InputStream {
+    private final DataInputStream in;
+    private final byte[] buffer;
+    private final CRC32 crc = new CRC32();
+
+    private int position;
+    private int limit;
+    private boolean ended;
+
+    BlockInputStream(InputStream in, int maxBlockBytes) {
+        this.in = new DataInputStream(in);
+        this.buffer = new byte[maxBlockBytes];
+    }
+
+    /**
+     * True if all blocks have been read up to the end marker, false if bytes are left
+     *
+     * @return
+     * @throws IOException
+     */
+    boolean atEnd() throws IOException {
+        return position == limit && !fill();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (position == limit && !fill()) {
+            return -1;
+        }
+
+        int read = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, bytes, offset, read);
+        position += read;
+
+        return read;
+    }
+
+    // false at the end marker
+    private boolean fill() throws IOException {
+        if (ended) {
+            return false;
+        }
+
+        int length = in.readInt();
+        int expected = in.readInt();
+
+        if (length < 0 || length > buffer.length) {
+            throw new IllegalStateException("Corrupt snapshot block length " + length);
+        }
+
+        in.readFully(buffer, 0, length);
+        crc.reset();
+        crc.update(buffer, 0, length);
+
+        // the end marker is checked as well, the CRC32 of no bytes is 0
+        if ((int) crc.getValue() != expected) {
+            throw new IllegalStateException("Corrupt snapshot block");
+        }
+
+        if (length == 0) {
+            ended = true;
+            return false;
+        }
+
+        position = 0;
+        limit = length;
+
+        return true;
+    }
+}
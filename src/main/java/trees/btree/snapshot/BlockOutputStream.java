@@ -0,0 +1,75 @@
+package trees.btree.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Cuts the body of a snapshot into blocks of at most blockBytes, each written as its length,
+ * the CRC32 of its bytes and the bytes. finish() writes the last block and the end marker,
+ * an empty block.
+ */
+class BlockOutputStream extends OutputStream {
+    private final DataOutputStream out;
+    private final byte[] buffer;
+    private final CRC32 crc = new CRC32();
+
+    private int position;
+
+    BlockOutputStream(OutputStream out, int blockBytes) {
+        this.out = new DataOutputStream(out);
+        this.buffer = new byte[blockBytes];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == buffer.length) {
+            writeBlock();
+        }
+
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == buffer.length) {
+                writeBlock();
+            }
+
+            int written = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, written);
+            position += written;
+            offset += written;
+            length -= written;
+        }
+    }
+
+    /**
+     * Writes the pending bytes and the end marker and flushes, the underlying stream stays open
+     *
+     * @throws IOException
+     */
+    void finish() throws IOException {
+        if (position > 0) {
+            writeBlock();
+        }
+
+        out.writeInt(0);
+        out.writeInt(0);
+        out.flush();
+    }
+
+    private void writeBlock() throws IOException {
+        crc.reset();
+        crc.update(buffer, 0, position);
+
+        out.writeInt(position);
+        out.writeInt((int) crc.getValue());
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
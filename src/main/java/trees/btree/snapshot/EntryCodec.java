@@ -0,0 +1,82 @@
+package trees.btree.snapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Binary form of the keys or values of a snapshot.
+ * Codecs may keep scratch buffers, so an instance must not be shared between threads.
+ */
+public interface EntryCodec<T> {
+    void write(DataOutput out, T value) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    // 4 bytes, big-endian; null is not supported
+    static EntryCodec<Integer> ints() {
+        return new EntryCodec<Integer>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    static EntryCodec<Long> longs() {
+        return new EntryCodec<Long>() {
+            @Override
+            public void write(DataOutput out, Long value) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+
+    // byte length (-1 for null) and UTF-8 bytes, decoded through a reused buffer
+    static EntryCodec<String> strings() {
+        return new EntryCodec<String>() {
+            private byte[] buffer = new byte[64];
+
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                if (value == null) {
+                    out.writeInt(-1);
+                    return;
+                }
+
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                int length = in.readInt();
+
+                if (length < 0) {
+                    return null;
+                }
+
+                if (length > buffer.length) {
+                    buffer = new byte[Math.max(length, 2 * buffer.length)];
+                }
+
+                in.readFully(buffer, 0, length);
+                return new String(buffer, 0, length, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package trees.btree.snapshot;
+
+import trees.btree.BTNode;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Tree loaded by SnapshotLoader together with its header.
+ */
+public class Snapshot<K extends Comparable, V> {
+    public final BTNode<K, V> root;
+    public final long count;
+
+    // degree the tree was written with, root may have been rebuilt with another one
+    public final int minDegree;
+
+    Snapshot(BTNode<K, V> root, long count, int minDegree) {
+        this.root = root;
+        this.count = count;
+        this.minDegree = minDegree;
+    }
+}
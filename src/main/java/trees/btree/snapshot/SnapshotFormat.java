@@ -0,0 +1,25 @@
+package trees.btree.snapshot;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Snapshot layout, all numbers big-endian:
+ * - header: magic, version (int), min degree (int), entry count (long), CRC32 of the header (int)
+ * - body: the entries in key order, key then value as written by their EntryCodecs, cut into
+ * blocks of at most BLOCK_BYTES (see BlockOutputStream), each with its length and CRC32
+ * - end marker: an empty block
+ * The header is checked before anything is built and every block before it is decoded, so a
+ * foreign or damaged file fails fast and a damaged length field never reaches the codecs.
+ */
+final class SnapshotFormat {
+    static final long MAGIC = 0x4254534e41503031L; // BTSNAP01
+    static final int VERSION = 2;
+
+    // magic, version, min degree, count
+    static final int HEADER_BYTES = 8 + 4 + 4 + 8;
+
+    static final int BLOCK_BYTES = 1 << 16;
+
+    private SnapshotFormat() {
+    }
+}
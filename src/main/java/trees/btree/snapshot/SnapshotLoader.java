@@ -0,0 +1,146 @@
+package trees.btree.snapshot;
+
+import trees.btree.BTNode;
+import trees.btree.BTreeBulkLoader;
+import trees.btree.KVPair;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Reads a snapshot written by SnapshotWriter and builds the tree bottom-up with
+ * BTreeBulkLoader while the entries stream in: no inserts, no splits, and apart from the
+ * stream buffer only the nodes and entries of the final tree are allocated.
+ * A damaged or truncated snapshot fails with an IllegalStateException, never by decoding
+ * unchecked bytes.
+ */
+public class SnapshotLoader<K extends Comparable, V> {
+    private final EntryCodec<K> keyCodec;
+    private final EntryCodec<V> valueCodec;
+
+    public SnapshotLoader(EntryCodec<K> keyCodec, EntryCodec<V> valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    public Snapshot<K, V> load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    /**
+     * Loads the tree with the degree recorded in the snapshot
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public Snapshot<K, V> load(InputStream in) throws IOException {
+        return load(in, 0);
+    }
+
+    /**
+     * Loads the tree, rebuilt with the given degree
+     *
+     * @param in        not closed, may be read past the end of the snapshot
+     * @param minDegree degree of the loaded tree, 0 for the one in the snapshot
+     * @return
+     * @throws IOException
+     */
+    public Snapshot<K, V> load(InputStream in, int minDegree) throws IOException {
+        try {
+            return read(in, minDegree);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Truncated snapshot", e);
+        }
+    }
+
+    private Snapshot<K, V> read(InputStream in, int minDegree) throws IOException {
+        DataInputStream headerIn = new DataInputStream(in);
+        byte[] header = new byte[SnapshotFormat.HEADER_BYTES];
+        headerIn.readFully(header);
+
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(header, 0, header.length);
+
+        ByteBuffer fields = ByteBuffer.wrap(header);
+
+        if (fields.getLong() != SnapshotFormat.MAGIC) {
+            throw new IllegalStateException("Not a snapshot");
+        }
+
+        if (headerIn.readInt() != (int) headerCrc.getValue()) {
+            throw new IllegalStateException("Corrupt snapshot header");
+        }
+
+        int version = fields.getInt();
+
+        if (version != SnapshotFormat.VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version);
+        }
+
+        int writtenDegree = fields.getInt();
+        long count = fields.getLong();
+
+        BlockInputStream body = new BlockInputStream(in, SnapshotFormat.BLOCK_BYTES);
+        BTNode<K, V> root;
+
+        try {
+            BTreeBulkLoader<K, V> loader = new BTreeBulkLoader<>(minDegree == 0 ? writtenDegree : minDegree);
+            root = loader.load(new EntryIterator(new DataInputStream(body), count), count);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Corrupt snapshot body", e);
+        }
+
+        if (!body.atEnd()) {
+            throw new IllegalStateException("Corrupt snapshot body: more than " + count + " entries");
+        }
+
+        return new Snapshot<>(root, count, writtenDegree);
+    }
+
+    private class EntryIterator implements Iterator<KVPair<K, V>> {
+        private final DataInputStream in;
+        private long remaining;
+
+        EntryIterator(DataInputStream in, long count) {
+            this.in = in;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            remaining--;
+
+            try {
+                K key = keyCodec.read(in);
+                return new KVPair<>(key, valueCodec.read(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
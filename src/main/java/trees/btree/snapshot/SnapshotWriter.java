@@ -0,0 +1,127 @@
+package trees.btree.snapshot;
+
+import trees.btree.BTCursor;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Streams a tree to a snapshot (see SnapshotFormat) in key order, one entry at a time, so
+ * writing needs no memory beyond the stream buffer.
+ */
+public class SnapshotWriter<K extends Comparable, V> {
+    private final EntryCodec<K> keyCodec;
+    private final EntryCodec<V> valueCodec;
+
+    public SnapshotWriter(EntryCodec<K> keyCodec, EntryCodec<V> valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Writes the tree to file: first to a temporary file, which is synced and then moved over
+     * file, so a crash leaves either the old or the new snapshot.
+     *
+     * @param file
+     * @param root
+     * @return number of entries written
+     * @throws IOException
+     */
+    public long write(Path file, BTNode<K, V> root) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long count;
+
+        try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+            count = write(out, root);
+            out.getFD().sync();
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Writes the tree to out, which is flushed but not closed.
+     *
+     * @param out
+     * @param root
+     * @return number of entries written
+     * @throws IOException
+     */
+    public long write(OutputStream out, BTNode<K, V> root) throws IOException {
+        long count = count(root);
+        write(out, root.minDegree, new BTCursor<>(root, null, null), count);
+
+        return count;
+    }
+
+    /**
+     * Writes count entries sorted by key to out, which is flushed but not closed.
+     *
+     * @param out
+     * @param minDegree degree to record in the header
+     * @param entries
+     * @param count
+     * @throws IOException
+     */
+    public void write(OutputStream out, int minDegree, Iterator<KVPair<K, V>> entries, long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Entry count must not be negative: " + count);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES)
+                .putLong(SnapshotFormat.MAGIC)
+                .putInt(SnapshotFormat.VERSION)
+                .putInt(minDegree)
+                .putLong(count);
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(header.array(), 0, SnapshotFormat.HEADER_BYTES);
+
+        DataOutputStream headerOut = new DataOutputStream(out);
+        headerOut.write(header.array());
+        headerOut.writeInt((int) headerCrc.getValue());
+
+        BlockOutputStream blocks = new BlockOutputStream(out, SnapshotFormat.BLOCK_BYTES);
+        DataOutputStream body = new DataOutputStream(blocks);
+
+        for (long i = 0; i < count; i++) {
+            if (!entries.hasNext()) {
+                throw new IllegalArgumentException("Fewer entries supplied than announced: " + i + " of " + count);
+            }
+
+            KVPair<K, V> entry = entries.next();
+            keyCodec.write(body, entry.key);
+            valueCodec.write(body, entry.value);
+        }
+
+        if (entries.hasNext()) {
+            throw new IllegalArgumentException("More than " + count + " entries supplied");
+        }
+
+        blocks.finish();
+    }
+
+    private static long count(BTNode<?, ?> node) {
+        long count = node.numKeys;
+
+        if (!node.isLeaf()) {
+            for (int i = 0; i <= node.numKeys; i++) {
+                count += count(node.children[i]);
+            }
+        }
+
+        return count;
+    }
+}
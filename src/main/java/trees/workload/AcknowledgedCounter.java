@@ -0,0 +1,76 @@
+package trees.workload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Hands out the keys of new records and tracks the longest prefix of them whose inserts have
+ * completed, like the acknowledged counter of YCSB. Inserts finish out of order when several
+ * clients run, so a count of completed inserts may include keys still being inserted while
+ * missing earlier ones; the prefix never does.
+ * Acknowledgements within WINDOW keys of the prefix are kept in a ring, whichever thread gets
+ * the lock moves the prefix over them.
+ */
+final class AcknowledgedCounter {
+    static final int WINDOW = 1 << 20;
+
+    private static final int MASK = WINDOW - 1;
+
+    private final AtomicInteger next;
+    private final AtomicIntegerArray acknowledged = new AtomicIntegerArray(WINDOW);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // keys below limit are acknowledged
+    private volatile int limit;
+
+    /**
+     * @param start first key handed out, keys below it count as acknowledged
+     */
+    AcknowledgedCounter(int start) {
+        this.next = new AtomicInteger(start);
+        this.limit = start;
+    }
+
+    int next() {
+        return next.getAndIncrement();
+    }
+
+    /**
+     * Marks the insert of key as complete
+     *
+     * @param key
+     */
+    void acknowledge(int key) {
+        if (key - limit >= WINDOW) {
+            throw new IllegalStateException("More than " + WINDOW + " inserts pending before key " + key);
+        }
+
+        acknowledged.set(key & MASK, 1);
+
+        // an acknowledgement made while another thread held the lock is picked up by the retry
+        while (acknowledged.get(limit & MASK) == 1 && lock.tryLock()) {
+            try {
+                int current = limit;
+
+                while (acknowledged.get(current & MASK) == 1) {
+                    acknowledged.set(current & MASK, 0);
+                    current++;
+                }
+
+                limit = current;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return number of keys whose inserts and those of all keys before them have completed
+     */
+    int limit() {
+        return limit;
+    }
+}
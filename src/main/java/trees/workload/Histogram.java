@@ -0,0 +1,137 @@
+package trees.workload;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Log-linear latency histogram in the manner of HdrHistogram:
+ * - values below 2^SIGNIFICANT_BITS get a bucket each
+ * - larger values keep SIGNIFICANT_BITS significant bits, every power of two is split into
+ * 2^(SIGNIFICANT_BITS - 1) equal buckets, so a bucket is never wider than 1/64 of its values
+ * - a percentile is reported as the highest value of its bucket
+ * Covers all non-negative longs in BUCKETS counters. Not thread safe, see Recorder for recording
+ * from a client thread.
+ */
+public class Histogram {
+    public static final int SIGNIFICANT_BITS = 7;
+
+    private static final int LINEAR_BUCKETS = 1 << SIGNIFICANT_BITS;
+    private static final int SUB_BUCKETS = LINEAR_BUCKETS / 2;
+    public static final int BUCKETS = LINEAR_BUCKETS + (63 - SIGNIFICANT_BITS) * SUB_BUCKETS;
+
+    final long[] counts = new long[BUCKETS];
+    long count;
+    long sum;
+
+    public void record(long value) {
+        counts[index(value)]++;
+        count++;
+        sum += value;
+    }
+
+    /**
+     * Adds the values of other to this histogram
+     *
+     * @param other
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+
+        count += other.count;
+        sum += other.sum;
+    }
+
+    /**
+     * Removes the values of other, which must have been added to this histogram before.
+     * Turns a cumulative histogram into the one of an interval.
+     *
+     * @param other
+     */
+    public void subtract(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] -= other.counts[i];
+        }
+
+        count -= other.count;
+        sum -= other.sum;
+    }
+
+    public Histogram copy() {
+        Histogram copy = new Histogram();
+        copy.add(this);
+        return copy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile in [0, 100]
+     * @return highest value of the bucket holding the value at percentile, 0 if empty
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+
+        return max();
+    }
+
+    /**
+     * @return highest value of the highest non-empty bucket, 0 if empty
+     */
+    public long max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return highestValue(i);
+            }
+        }
+
+        return 0;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+
+        // value >>> shift keeps the leading one and the SIGNIFICANT_BITS - 1 bits after it
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SIGNIFICANT_BITS + 1;
+        return LINEAR_BUCKETS + (exponent - SIGNIFICANT_BITS) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long highestValue(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+
+        int octave = (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        long bits = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = octave + 1;
+
+        // the top bucket ends at Long.MAX_VALUE, its shifted bound wraps around
+        return ((bits + 1) << shift) - 1;
+    }
+}
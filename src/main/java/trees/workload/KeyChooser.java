@@ -0,0 +1,14 @@
+package trees.workload;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Picks the key of the next operation of one client thread. Implementations are not thread safe.
+ */
+public interface KeyChooser {
+    /**
+     * @param keyCount number of keys inserted so far, keys are 0..keyCount - 1
+     * @return key in [0, keyCount)
+     */
+    int next(int keyCount);
+}
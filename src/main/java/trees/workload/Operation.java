@@ -0,0 +1,19 @@
+package trees.workload;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Operations of a workload mix, named after their YCSB counterparts.
+ */
+public enum Operation {
+    READ,
+    UPDATE,
+    INSERT,
+    DELETE,
+    SCAN;
+
+    // property holding the share of this operation, e.g. readproportion
+    String property() {
+        return name().toLowerCase() + "proportion";
+    }
+}
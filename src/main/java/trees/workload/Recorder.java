@@ -0,0 +1,48 @@
+package trees.workload;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Cumulative latency histogram written by a single client thread and read by the reporter
+ * while the client runs. Counters only grow, so the difference of two snapshots is the
+ * histogram of the interval between them. A snapshot is not atomic across buckets, a value
+ * recorded meanwhile may show up in the next one only.
+ */
+public class Recorder {
+    private final AtomicLongArray counts = new AtomicLongArray(Histogram.BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Records value, only ever called by the owning thread
+     *
+     * @param value
+     */
+    public void record(long value) {
+        int index = Histogram.index(value);
+
+        // single writer: ordered stores instead of atomic increments
+        counts.lazySet(index, counts.get(index) + 1);
+        sum.lazySet(sum.get() + value);
+    }
+
+    /**
+     * Adds the values recorded so far to histogram
+     *
+     * @param histogram
+     */
+    public void addTo(Histogram histogram) {
+        long total = 0;
+
+        for (int i = 0; i < Histogram.BUCKETS; i++) {
+            long bucket = counts.get(i);
+            histogram.counts[i] += bucket;
+            total += bucket;
+        }
+
+        histogram.count += total;
+        histogram.sum += sum.get();
+    }
+}
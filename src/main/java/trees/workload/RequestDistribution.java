@@ -0,0 +1,61 @@
+package trees.workload;
+
+import java.util.Random;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * How the operations of a workload pick their keys among the keys inserted so far:
+ * - UNIFORM: every key equally likely
+ * - ZIPFIAN: Zipfian ranks scrambled over the key space, a few hot keys anywhere
+ * - LATEST: Zipfian ranks counted back from the last inserted key, recent inserts are hot
+ * - SEQUENTIAL: every client walks the key space in order from a random start
+ */
+public enum RequestDistribution {
+    UNIFORM {
+        @Override
+        public KeyChooser chooser(ZipfianGenerator ranks, Random random) {
+            return random::nextInt;
+        }
+    },
+    ZIPFIAN {
+        @Override
+        public KeyChooser chooser(ZipfianGenerator ranks, Random random) {
+            return keyCount -> ZipfianGenerator.scramble(ranks.next(random), keyCount);
+        }
+    },
+    LATEST {
+        @Override
+        public KeyChooser chooser(ZipfianGenerator ranks, Random random) {
+            return keyCount -> keyCount - 1 - (int) (ranks.next(random) % keyCount);
+        }
+    },
+    SEQUENTIAL {
+        @Override
+        public KeyChooser chooser(ZipfianGenerator ranks, Random random) {
+            long start = random.nextInt(Integer.MAX_VALUE);
+
+            return new KeyChooser() {
+                private long position = start;
+
+                @Override
+                public int next(int keyCount) {
+                    return (int) (position++ % keyCount);
+                }
+            };
+        }
+    };
+
+    /**
+     * Chooser for one client thread
+     *
+     * @param ranks  shared rank generator, only used by the Zipfian distributions
+     * @param random random of the client thread
+     * @return
+     */
+    public abstract KeyChooser chooser(ZipfianGenerator ranks, Random random);
+
+    public boolean isZipfian() {
+        return this == ZIPFIAN || this == LATEST;
+    }
+}
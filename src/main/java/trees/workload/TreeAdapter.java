@@ -0,0 +1,57 @@
+package trees.workload;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Tree under test as seen by the WorkloadDriver: int keys, String values, called from all client
+ * threads at once. Adapters of trees which are not thread safe bring their own locking.
+ * Closing releases the files of disk based trees.
+ */
+public interface TreeAdapter extends Closeable {
+    /**
+     * @param key
+     * @return value of key, null if absent
+     */
+    String read(int key);
+
+    void insert(int key, String value);
+
+    /**
+     * Replaces the value of key
+     *
+     * @param key
+     * @param value
+     * @return false if key is absent
+     */
+    boolean update(int key, String value);
+
+    /**
+     * @param key
+     * @return false if key is absent
+     */
+    boolean delete(int key);
+
+    /**
+     * Visits up to count entries in key order, starting at the first key >= from
+     *
+     * @param from
+     * @param count
+     * @return number of entries visited
+     */
+    int scan(int from, int count);
+
+    default boolean supportsScan() {
+        return true;
+    }
+
+    default boolean supportsDelete() {
+        return true;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,899 @@
+package trees.workload;
+
+import trees.Btree;
+import trees.bplustree.BPCursor;
+import trees.bplustree.BPManager;
+import trees.bplustree.BPNode;
+import trees.bplustree.BufferedBPTree;
+import trees.btree.BTCursor;
+import trees.btree.BTInsertionManager;
+import trees.btree.BTManager;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+import trees.btree.cache.CachedBTree;
+import trees.btree.concurrent.AsyncBTree;
+import trees.btree.concurrent.BLinkTree;
+import trees.btree.concurrent.CopyOnWriteBTree;
+import trees.btree.concurrent.ShardedBTree;
+import trees.btree.durable.DurableBTree;
+import trees.btree.offheap.BufferPoolStorage;
+import trees.btree.offheap.MappedPageStorage;
+import trees.btree.offheap.NodeLayout;
+import trees.btree.offheap.OffHeapBTree;
+import trees.btree.offheap.SlabNodeStorage;
+import trees.btree.primitive.IntBTree;
+import trees.btree.primitive.LongBTree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * TreeAdapters of the trees in this project, by name:
+ * - btree, bplus, buffered, offheap, int, long, legacy: single threaded trees behind a read/write
+ * lock or a monitor; int and long are the primitive trees, legacy is trees.Btree
+ * - cow, sharded, blink: the concurrent trees as they are
+ * - cached, async: the read-through cache and the batching front-end of BTManager
+ * - durable, mapped, bufferpool: DurableBTree and OffHeapBTree over MappedPageStorage or
+ * BufferPoolStorage, in a temporary directory deleted on close
+ * The trees without a cursor (offheap, mapped, bufferpool, int, long, legacy, blink, cached,
+ * async, durable) do not support scans, the primitive trees have no delete either.
+ * Updates are a delete followed by an insert where the tree has nothing better; only the locked
+ * adapters make that atomic.
+ */
+public final class TreeAdapters {
+    public static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList(
+            "btree", "bplus", "buffered", "offheap", "int", "long", "legacy", "cow", "sharded", "blink",
+            "cached", "async", "durable", "mapped", "bufferpool"));
+
+    // value bytes reserved per entry by the off-heap tree
+    private static final int OFF_HEAP_VALUE_BYTES = 32;
+
+    // buffers pay off with a low fanout of the inner nodes, see BufferedInsertBenchmark
+    private static final int BUFFERED_INNER_DEGREE = 8;
+
+    // 4 MiB of 4 KiB pages, well below the default record count, so the pool evicts
+    private static final int BUFFER_POOL_FRAMES = 1024;
+
+    private TreeAdapters() {
+    }
+
+    /**
+     * @param name      one of NAMES
+     * @param minDegree degree of the tree
+     * @return
+     */
+    public static TreeAdapter create(String name, int minDegree) {
+        try {
+            return open(name, minDegree);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TreeAdapter open(String name, int minDegree) throws IOException {
+        Path directory;
+
+        switch (name) {
+            case "btree":
+                return new LockedBTree(new BTManager(new BTInsertionManager<>(), minDegree));
+            case "bplus":
+                return new LockedBPlusTree(new BPManager<>(minDegree));
+            case "buffered":
+                return new Buffered(new BufferedBPTree<>(BUFFERED_INNER_DEGREE, minDegree,
+                        BufferedBPTree.DEFAULT_BUFFER_CAPACITY));
+            case "offheap":
+                return new OffHeap(new OffHeapBTree(new SlabNodeStorage(layout(minDegree))), null);
+            case "int":
+                return new LockedIntBTree(new IntBTree<>(minDegree));
+            case "long":
+                return new LockedLongBTree(new LongBTree<>(minDegree));
+            case "legacy":
+                return new LockedLegacyBTree(Btree.BTreeManager.initTree(minDegree));
+            case "cow":
+                return new CopyOnWrite(new CopyOnWriteBTree<>(minDegree));
+            case "sharded":
+                return new Sharded(new ShardedBTree<>(minDegree, ShardedBTree.DEFAULT_MAX_SHARD_SIZE,
+                        Runtime.getRuntime().availableProcessors(), Collections.emptyList()));
+            case "blink":
+                return new BLink(new BLinkTree<>(minDegree));
+            case "cached":
+                return new Cached(new CachedBTree(minDegree, CachedBTree.DEFAULT_CAPACITY));
+            case "async":
+                return new Async(new AsyncBTree(new BTManager(new BTInsertionManager<>(), minDegree),
+                        ForkJoinPool.commonPool(), AsyncBTree.DEFAULT_MAX_BATCH));
+            case "durable":
+                directory = Files.createTempDirectory("workload");
+                return new Durable(new DurableBTree(directory, minDegree, DurableBTree.DEFAULT_CHECKPOINT_BYTES),
+                        directory);
+            case "mapped":
+                directory = Files.createTempDirectory("workload");
+                return new OffHeap(new OffHeapBTree(new MappedPageStorage(directory.resolve("btree.pages"),
+                        MappedPageStorage.DEFAULT_PAGE_BYTES, layout(minDegree), MappedPageStorage.DEFAULT_CHUNK_BYTES)),
+                        directory);
+            case "bufferpool":
+                directory = Files.createTempDirectory("workload");
+                return new OffHeap(new OffHeapBTree(new BufferPoolStorage(directory.resolve("btree.pages"),
+                        MappedPageStorage.DEFAULT_PAGE_BYTES, layout(minDegree), BUFFER_POOL_FRAMES,
+                        BufferPoolStorage.DEFAULT_WRITE_BATCH)), directory);
+            default:
+                throw new IllegalArgumentException("Unknown tree: " + name + ", expected one of " + NAMES);
+        }
+    }
+
+    private static NodeLayout layout(int minDegree) {
+        return new NodeLayout(minDegree, OFF_HEAP_VALUE_BYTES);
+    }
+
+    private static int visit(Iterator<?> entries, int count) {
+        int visited = 0;
+
+        while (visited < count && entries.hasNext()) {
+            entries.next();
+            visited++;
+        }
+
+        return visited;
+    }
+
+    private static class LockedBTree implements TreeAdapter {
+        private final BTManager manager;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private BTNode<Integer, String> root;
+
+        LockedBTree(BTManager manager) {
+            this.manager = manager;
+            this.root = manager.initTree();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String read(int key) {
+            lock.readLock().lock();
+
+            try {
+                BTNode<Integer, String> node = manager.find(root, key);
+                return node == null ? null : node.kvpairs[node.getKeyIndex(key)].value;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                manager.insert(root, new KVPair<>(key, value));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean update(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                BTNode<Integer, String> node = manager.find(root, key);
+
+                if (node == null) {
+                    return false;
+                }
+
+                node.kvpairs[node.getKeyIndex(key)] = new KVPair<>(key, value);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            lock.writeLock().lock();
+
+            try {
+                return manager.delete(root, key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            lock.readLock().lock();
+
+            try {
+                return visit(new BTCursor<>(root, from, null), count);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    // files first, then the directories holding them
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static class LockedBPlusTree implements TreeAdapter {
+        private final BPManager<Integer, String> manager;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private BPNode<Integer, String> root;
+
+        LockedBPlusTree(BPManager<Integer, String> manager) {
+            this.manager = manager;
+            this.root = manager.initTree();
+        }
+
+        @Override
+        public String read(int key) {
+            lock.readLock().lock();
+
+            try {
+                return manager.get(root, key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                manager.insert(root, new KVPair<>(key, value));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // inserting an existing key replaces its value
+        @Override
+        public boolean update(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (manager.find(root, key) == null) {
+                    return false;
+                }
+
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                manager.insert(root, new KVPair<>(key, value));
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            lock.writeLock().lock();
+
+            try {
+                boolean deleted = manager.delete(root, key);
+                root = manager.shrinkRoot(root);
+                return deleted;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            lock.readLock().lock();
+
+            try {
+                return visit(new BPCursor<>(root, from, null), count);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    // deletes are blind in a buffered tree, a read tells whether the key was there
+    private static class Buffered implements TreeAdapter {
+        private final BufferedBPTree<Integer, String> tree;
+
+        Buffered(BufferedBPTree<Integer, String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public synchronized String read(int key) {
+            return tree.get(key);
+        }
+
+        @Override
+        public synchronized void insert(int key, String value) {
+            tree.put(key, value);
+        }
+
+        @Override
+        public synchronized boolean update(int key, String value) {
+            if (tree.get(key) == null) {
+                return false;
+            }
+
+            tree.put(key, value);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean delete(int key) {
+            if (tree.get(key) == null) {
+                return false;
+            }
+
+            tree.delete(key);
+            return true;
+        }
+
+        // flushes all buffers first
+        @Override
+        public synchronized int scan(int from, int count) {
+            return visit(tree.cursor(from, null), count);
+        }
+    }
+
+    private static class OffHeap implements TreeAdapter {
+        private final OffHeapBTree tree;
+
+        // holding the page file, null for in-memory storage
+        private final Path directory;
+
+        OffHeap(OffHeapBTree tree, Path directory) {
+            this.tree = tree;
+            this.directory = directory;
+        }
+
+        @Override
+        public synchronized String read(int key) {
+            return tree.find(key);
+        }
+
+        @Override
+        public synchronized void insert(int key, String value) {
+            tree.insert(key, value);
+        }
+
+        @Override
+        public synchronized boolean update(int key, String value) {
+            if (!tree.delete(key)) {
+                return false;
+            }
+
+            tree.insert(key, value);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean delete(int key) {
+            return tree.delete(key);
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Off-heap tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            tree.getStorage().close();
+
+            if (directory != null) {
+                deleteRecursively(directory);
+            }
+        }
+    }
+
+    private static class LockedIntBTree implements TreeAdapter {
+        private final IntBTree<String> tree;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        LockedIntBTree(IntBTree<String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public String read(int key) {
+            lock.readLock().lock();
+
+            try {
+                return tree.find(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                tree.insert(key, value);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // inserting an existing key replaces its value
+        @Override
+        public boolean update(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (!tree.contains(key)) {
+                    return false;
+                }
+
+                tree.insert(key, value);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            lock.writeLock().lock();
+
+            try {
+                return tree.delete(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Int tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    private static class LockedLongBTree implements TreeAdapter {
+        private final LongBTree<String> tree;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        LockedLongBTree(LongBTree<String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public String read(int key) {
+            lock.readLock().lock();
+
+            try {
+                return tree.find(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                tree.insert(key, value);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // inserting an existing key replaces its value
+        @Override
+        public boolean update(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (!tree.contains(key)) {
+                    return false;
+                }
+
+                tree.insert(key, value);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            lock.writeLock().lock();
+
+            try {
+                return tree.delete(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Long tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    private static class LockedLegacyBTree implements TreeAdapter {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private Btree.Node root;
+
+        LockedLegacyBTree(Btree.Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public String read(int key) {
+            lock.readLock().lock();
+
+            try {
+                Btree.Node node = root.find(key);
+                return node == null ? null : node.getEntry(key).value;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                if (root.isFull()) {
+                    root = Btree.BTreeManager.splitRoot(root);
+                }
+
+                root.insert(new Btree.Entry(key, value));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            lock.writeLock().lock();
+
+            try {
+                Btree.Node node = root.find(key);
+
+                if (node == null) {
+                    return false;
+                }
+
+                node.getEntry(key).value = value;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            lock.writeLock().lock();
+
+            try {
+                return Btree.BTreeManager.deleteKey(root, key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Legacy tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    private static class CopyOnWrite implements TreeAdapter {
+        private final CopyOnWriteBTree<Integer, String> tree;
+
+        CopyOnWrite(CopyOnWriteBTree<Integer, String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String read(int key) {
+            BTNode<Integer, String> node = tree.find(key);
+            return node == null ? null : node.kvpairs[node.getKeyIndex(key)].value;
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            tree.insert(new KVPair<>(key, value));
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            return tree.replace(new KVPair<>(key, value));
+        }
+
+        @Override
+        public boolean delete(int key) {
+            return tree.delete(key);
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            return visit(tree.range(tree.snapshot(), from, null), count);
+        }
+    }
+
+    private static class Sharded implements TreeAdapter {
+        private final ShardedBTree<Integer, String> tree;
+
+        Sharded(ShardedBTree<Integer, String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String read(int key) {
+            BTNode<Integer, String> node = tree.find(key);
+            return node == null ? null : node.kvpairs[node.getKeyIndex(key)].value;
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            tree.insert(new KVPair<>(key, value));
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            return tree.replace(new KVPair<>(key, value));
+        }
+
+        @Override
+        public boolean delete(int key) {
+            return tree.delete(key);
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            return visit(tree.range(from, null), count);
+        }
+    }
+
+    private static class BLink implements TreeAdapter {
+        private final BLinkTree<Integer, String> tree;
+
+        BLink(BLinkTree<Integer, String> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public String read(int key) {
+            return tree.find(key);
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            tree.insert(key, value);
+        }
+
+        // inserting an existing key replaces its value
+        @Override
+        public boolean update(int key, String value) {
+            if (!tree.contains(key)) {
+                return false;
+            }
+
+            tree.insert(key, value);
+            return true;
+        }
+
+        @Override
+        public boolean delete(int key) {
+            return tree.remove(key) != null;
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("B-link tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    private static class Cached implements TreeAdapter {
+        private final CachedBTree tree;
+
+        Cached(CachedBTree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public String read(int key) {
+            return tree.find(key);
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            tree.insert(key, value);
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            if (!tree.delete(key)) {
+                return false;
+            }
+
+            tree.insert(key, value);
+            return true;
+        }
+
+        @Override
+        public boolean delete(int key) {
+            return tree.delete(key);
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Cached tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    private static class Async implements TreeAdapter {
+        private final AsyncBTree tree;
+
+        Async(AsyncBTree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public String read(int key) {
+            return tree.find(key).join();
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            tree.insert(key, value).join();
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            if (!tree.delete(key).join()) {
+                return false;
+            }
+
+            tree.insert(key, value).join();
+            return true;
+        }
+
+        @Override
+        public boolean delete(int key) {
+            return tree.delete(key).join();
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Async tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+    }
+
+    // every write is synced to the log, see DurableBTree
+    private static class Durable implements TreeAdapter {
+        private final DurableBTree tree;
+        private final Path directory;
+
+        Durable(DurableBTree tree, Path directory) {
+            this.tree = tree;
+            this.directory = directory;
+        }
+
+        @Override
+        public String read(int key) {
+            return tree.find(key);
+        }
+
+        @Override
+        public void insert(int key, String value) {
+            try {
+                tree.insert(key, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean update(int key, String value) {
+            try {
+                if (!tree.delete(key)) {
+                    return false;
+                }
+
+                tree.insert(key, value);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean delete(int key) {
+            try {
+                return tree.delete(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int scan(int from, int count) {
+            throw new UnsupportedOperationException("Durable tree has no cursor");
+        }
+
+        @Override
+        public boolean supportsScan() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            tree.close();
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package trees.workload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Workload description read from YCSB style properties, every property has a default:
+ * - tree, mindegree: adapter from TreeAdapters and the degree of its tree
+ * - recordcount: keys loaded before the run, operationcount: measured operations, 0 to only stop
+ * after duration
+ * - readproportion, updateproportion, insertproportion, deleteproportion, scanproportion: the mix,
+ * scaled to sum up to 1; maxscanlength: scans visit 1..maxscanlength entries
+ * - requestdistribution: uniform, zipfian, latest or sequential; zipfianconstant: its theta
+ * - threads: client threads; target: ops/s over all threads in open-loop mode, 0 for closed loop
+ * - warmup, duration, interval: seconds of unmeasured warmup, of measurement (0 for no limit)
+ * and between progress reports
+ * - seed: seed of the client randoms
+ */
+public class Workload {
+    public final String tree;
+    public final int minDegree;
+    public final int recordCount;
+    public final long operationCount;
+    public final int maxScanLength;
+    public final RequestDistribution distribution;
+    public final double zipfianConstant;
+    public final int threads;
+    public final double target;
+    public final double warmupSeconds;
+    public final double durationSeconds;
+    public final double intervalSeconds;
+    public final long seed;
+
+    // upper bounds of the operations in [0, 1), in Operation order
+    private final double[] cumulative = new double[Operation.values().length];
+    private final Map<Operation, Double> proportions = new EnumMap<>(Operation.class);
+
+    public Workload(Properties properties) {
+        tree = properties.getProperty("tree", "btree");
+        minDegree = (int) number(properties, "mindegree", 16, 2);
+        recordCount = (int) number(properties, "recordcount", 100000, 1);
+        operationCount = (long) number(properties, "operationcount", 0, 0);
+        maxScanLength = (int) number(properties, "maxscanlength", 100, 1);
+        distribution = distribution(properties.getProperty("requestdistribution", "zipfian"));
+        zipfianConstant = number(properties, "zipfianconstant", ZipfianGenerator.DEFAULT_THETA, 0);
+        threads = (int) number(properties, "threads", 1, 1);
+        target = number(properties, "target", 0, 0);
+        warmupSeconds = number(properties, "warmup", 5, 0);
+        durationSeconds = number(properties, "duration", 30, 0);
+        intervalSeconds = number(properties, "interval", 1, 0.001);
+        seed = seed(properties.getProperty("seed", "42"));
+
+        if (operationCount == 0 && durationSeconds == 0) {
+            throw new IllegalArgumentException("Either operationcount or duration must be set");
+        }
+
+        double total = 0;
+
+        for (Operation operation : Operation.values()) {
+            double proportion = number(properties, operation.property(), operation == Operation.READ ? 0.95
+                    : operation == Operation.UPDATE ? 0.05 : 0, 0);
+            proportions.put(operation, proportion);
+            total += proportion;
+        }
+
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one operation proportion must be positive");
+        }
+
+        double bound = 0;
+
+        for (Operation operation : Operation.values()) {
+            double proportion = proportions.get(operation) / total;
+            proportions.put(operation, proportion);
+            bound += proportion;
+
+            // rounding must not leave a gap below 1 for the operations without share
+            cumulative[operation.ordinal()] = proportion > 0 && Math.abs(bound - 1) < 1e-9 ? 1 : bound;
+        }
+    }
+
+    /**
+     * Workload from arguments which are either key=value pairs or properties files, later
+     * arguments overriding earlier ones
+     *
+     * @param args
+     * @return
+     * @throws IOException
+     */
+    public static Workload fromArgs(String[] args) throws IOException {
+        Properties properties = new Properties();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (separator > 0) {
+                properties.setProperty(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+            } else {
+                try (InputStream in = Files.newInputStream(Paths.get(arg))) {
+                    properties.load(in);
+                }
+            }
+        }
+
+        return new Workload(properties);
+    }
+
+    /**
+     * @param operation
+     * @return share of operation in the mix, in [0, 1]
+     */
+    public double proportion(Operation operation) {
+        return proportions.get(operation);
+    }
+
+    /**
+     * @param uniform random value in [0, 1)
+     * @return operation whose share of [0, 1) holds uniform
+     */
+    public Operation choose(double uniform) {
+        Operation[] operations = Operation.values();
+
+        for (int i = 0; i < operations.length - 1; i++) {
+            if (uniform < cumulative[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    private static double number(Properties properties, String name, double defaultValue, double min) {
+        String value = properties.getProperty(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        double number;
+
+        try {
+            number = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + name + " is not a number: " + value);
+        }
+
+        if (number < min) {
+            throw new IllegalArgumentException("Property " + name + " must be at least " + min + ": " + value);
+        }
+
+        return number;
+    }
+
+    private static long seed(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property seed is not a number: " + value);
+        }
+    }
+
+    private static RequestDistribution distribution(String name) {
+        try {
+            return RequestDistribution.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown request distribution: " + name);
+        }
+    }
+}
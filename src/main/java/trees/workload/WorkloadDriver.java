@@ -0,0 +1,373 @@
+package trees.workload;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * YCSB style load generator running a Workload against a TreeAdapter:
+ * - load phase: keys 0..recordcount - 1 are inserted in random order by a single thread
+ * - run phase: every client thread draws operations from the mix and keys from its KeyChooser;
+ * inserts add new keys at the end of the key space, the other operations pick among the
+ * longest prefix of keys whose inserts have completed (see AcknowledgedCounter), so only
+ * reads and updates of deleted keys count as misses
+ * - closed loop by default; with a target rate every client follows its own schedule and latency
+ * is measured from the intended start of an operation, so a stalled tree is not hidden by
+ * clients waiting on it (coordinated omission)
+ * - progress lines with throughput and latency percentiles every interval, a summary per
+ * operation at the end; operations started during warmup are not part of the summary
+ * Latencies are recorded by every client into its own Recorders, the reporter only reads them.
+ */
+public class WorkloadDriver {
+    public static final String VALUE = "value";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Workload workload;
+    private final TreeAdapter tree;
+    private final PrintStream out;
+
+    // [client][operation], for operations started during warmup and after it
+    private final Recorder[][] warmupRecorders;
+    private final Recorder[][] recorders;
+    // of the measured operations
+    private final LongAdder[] misses = new LongAdder[Operation.values().length];
+    private final LongAdder errors = new LongAdder();
+
+    // keys of new records, set up by the load phase
+    private AcknowledgedCounter keys;
+    // measured operations left, when operationcount is set
+    private final AtomicLong remaining = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    public WorkloadDriver(Workload workload, TreeAdapter tree, PrintStream out) {
+        if (workload.proportion(Operation.SCAN) > 0 && !tree.supportsScan()) {
+            throw new IllegalArgumentException("Tree " + workload.tree + " does not support scans");
+        }
+
+        if (workload.proportion(Operation.DELETE) > 0 && !tree.supportsDelete()) {
+            throw new IllegalArgumentException("Tree " + workload.tree + " does not support deletes");
+        }
+
+        this.workload = workload;
+        this.tree = tree;
+        this.out = out;
+        this.warmupRecorders = recorders(workload.threads);
+        this.recorders = recorders(workload.threads);
+
+        for (int i = 0; i < misses.length; i++) {
+            misses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Loads the records, then runs the clients until duration or operationcount is reached
+     *
+     * @return latencies in nanoseconds of the measured operations
+     * @throws InterruptedException
+     */
+    public Map<Operation, Histogram> run() throws InterruptedException {
+        load();
+
+        ZipfianGenerator ranks = workload.distribution.isZipfian()
+                ? new ZipfianGenerator(workload.recordCount, workload.zipfianConstant) : null;
+        CountDownLatch finished = new CountDownLatch(workload.threads);
+        Thread[] clients = new Thread[workload.threads];
+        remaining.set(workload.operationCount);
+
+        for (int i = 0; i < clients.length; i++) {
+            Client client = new Client(i, workload.distribution.chooser(ranks, new Random(workload.seed + i)),
+                    new Random(workload.seed - i - 1));
+            clients[i] = new Thread(() -> {
+                try {
+                    client.run();
+                } finally {
+                    finished.countDown();
+                }
+            }, "workload-client-" + i);
+            clients[i].setDaemon(true);
+        }
+
+        out.printf("Running %s on %s: %d threads, %s, latencies in microseconds%n", workload.distribution,
+                workload.tree, workload.threads,
+                workload.target > 0 ? String.format("target %.0f ops/s", workload.target) : "closed loop");
+
+        long start = System.nanoTime();
+        long warmupEnd = start + nanos(workload.warmupSeconds);
+        long end = workload.durationSeconds > 0 ? warmupEnd + nanos(workload.durationSeconds) : Long.MAX_VALUE;
+        long interval = nanos(workload.intervalSeconds);
+        long nextReport = start + interval;
+        long measureStart = start;
+        Histogram previous = new Histogram();
+        long previousTime = start;
+        measuring = workload.warmupSeconds == 0;
+
+        for (Thread client : clients) {
+            client.start();
+        }
+
+        while (true) {
+            long wakeUp = Math.min(nextReport, measuring ? end : warmupEnd);
+            boolean done = finished.await(Math.max(0, wakeUp - System.nanoTime()), TimeUnit.NANOSECONDS);
+            long now = System.nanoTime();
+
+            if (!measuring && now >= warmupEnd) {
+                measureStart = now;
+                measuring = true;
+            }
+
+            if (now >= nextReport || done || now >= end) {
+                Histogram current = merge(snapshot(warmupRecorders));
+                current.add(merge(snapshot(recorders)));
+                Histogram delta = current.copy();
+                delta.subtract(previous);
+                printInterval(now - start, now - previousTime, delta, now <= warmupEnd);
+                previous = current;
+                previousTime = now;
+                nextReport += interval * Math.max(1, (now - nextReport) / interval + 1);
+            }
+
+            if (done || now >= end) {
+                break;
+            }
+        }
+
+        stopped = true;
+
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        long measured = System.nanoTime() - measureStart;
+        Histogram[] total = snapshot(recorders);
+        Map<Operation, Histogram> results = new EnumMap<>(Operation.class);
+
+        for (Operation operation : Operation.values()) {
+            results.put(operation, total[operation.ordinal()]);
+        }
+
+        printSummary(results, measured, errors.sum());
+        return results;
+    }
+
+    private void load() {
+        int[] keys = new int[workload.recordCount];
+        Random random = new Random(workload.seed);
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+
+        long start = System.nanoTime();
+
+        for (int key : keys) {
+            tree.insert(key, VALUE);
+        }
+
+        long nanos = System.nanoTime() - start;
+        this.keys = new AcknowledgedCounter(keys.length);
+        out.printf("Loaded %d records in %.2f s, %.0f inserts/s%n", keys.length, nanos / 1e9,
+                keys.length / (nanos / 1e9));
+    }
+
+    private class Client {
+        private final Recorder[] warmupRecorders;
+        private final Recorder[] recorders;
+        private final KeyChooser chooser;
+        private final Random random;
+
+        Client(int index, KeyChooser chooser, Random random) {
+            this.warmupRecorders = WorkloadDriver.this.warmupRecorders[index];
+            this.recorders = WorkloadDriver.this.recorders[index];
+            this.chooser = chooser;
+            this.random = random;
+        }
+
+        void run() {
+            long interval = workload.target > 0 ? (long) (1e9 * workload.threads / workload.target) : 0;
+            // clients start at random phases of their schedules
+            long intended = System.nanoTime() - (long) (random.nextDouble() * interval);
+
+            while (!stopped) {
+                long start;
+
+                if (interval > 0) {
+                    intended += interval;
+                    long now;
+
+                    // behind schedule the operation starts right away, the delay counts as latency
+                    while ((now = System.nanoTime()) < intended && !stopped) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+
+                    start = intended;
+                } else {
+                    start = System.nanoTime();
+                }
+
+                // an operation belongs to the phase it starts in, wherever it ends
+                boolean measured = measuring;
+
+                if (measured && workload.operationCount > 0 && remaining.decrementAndGet() < 0) {
+                    return;
+                }
+
+                Operation operation = workload.choose(random.nextDouble());
+                boolean found = true;
+                boolean failed = false;
+
+                try {
+                    found = execute(operation);
+                } catch (RuntimeException e) {
+                    failed = true;
+                }
+
+                long latency = System.nanoTime() - start;
+
+                if (!measured) {
+                    warmupRecorders[operation.ordinal()].record(latency);
+                    continue;
+                }
+
+                recorders[operation.ordinal()].record(latency);
+
+                if (failed) {
+                    errors.increment();
+                } else if (!found) {
+                    misses[operation.ordinal()].increment();
+                }
+            }
+        }
+
+        // false if the key was not found
+        private boolean execute(Operation operation) {
+            switch (operation) {
+                case READ:
+                    return tree.read(chooser.next(keys.limit())) != null;
+                case UPDATE:
+                    return tree.update(chooser.next(keys.limit()), VALUE);
+                case INSERT:
+                    int key = keys.next();
+                    tree.insert(key, VALUE);
+                    keys.acknowledge(key);
+                    return true;
+                case DELETE:
+                    return tree.delete(chooser.next(keys.limit()));
+                default:
+                    return tree.scan(chooser.next(keys.limit()), 1 + random.nextInt(workload.maxScanLength)) > 0;
+            }
+        }
+    }
+
+    private static Recorder[][] recorders(int clients) {
+        Recorder[][] recorders = new Recorder[clients][Operation.values().length];
+
+        for (Recorder[] client : recorders) {
+            for (int i = 0; i < client.length; i++) {
+                client[i] = new Recorder();
+            }
+        }
+
+        return recorders;
+    }
+
+    // cumulative histograms of all clients, by operation
+    private static Histogram[] snapshot(Recorder[][] recorders) {
+        Histogram[] histograms = new Histogram[Operation.values().length];
+
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+
+            for (Recorder[] client : recorders) {
+                client[i].addTo(histograms[i]);
+            }
+        }
+
+        return histograms;
+    }
+
+    private static Histogram merge(Histogram[] histograms) {
+        Histogram merged = new Histogram();
+
+        for (Histogram histogram : histograms) {
+            merged.add(histogram);
+        }
+
+        return merged;
+    }
+
+    private void printInterval(long elapsed, long length, Histogram delta, boolean warmup) {
+        out.printf("%8.1f s %s %10.0f ops/s  p50 %s  p99 %s  p99.9 %s  max %s%n", elapsed / 1e9,
+                warmup ? "[warmup]" : "        ", delta.count() / (length / 1e9), micros(delta.percentile(50)),
+                micros(delta.percentile(99)), micros(delta.percentile(99.9)), micros(delta.max()));
+    }
+
+    private void printSummary(Map<Operation, Histogram> results, long measured, long errorCount) {
+        double seconds = measured / 1e9;
+        out.printf("%nMeasured %.1f s, latencies in microseconds%n", seconds);
+        out.printf("%-7s %10s %10s %9s", "", "ops", "ops/s", "mean");
+
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)));
+        }
+
+        out.printf(" %9s %10s%n", "max", "misses");
+        Histogram all = new Histogram();
+        long allMisses = 0;
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = results.get(operation);
+
+            if (histogram.count() == 0) {
+                continue;
+            }
+
+            long missCount = misses[operation.ordinal()].sum();
+            printRow(operation.name(), histogram, seconds, missCount);
+            all.add(histogram);
+            allMisses += missCount;
+        }
+
+        printRow("TOTAL", all, seconds, allMisses);
+
+        if (errorCount > 0) {
+            out.printf("%d operations failed%n", errorCount);
+        }
+    }
+
+    private void printRow(String name, Histogram histogram, double seconds, long missCount) {
+        out.printf("%-7s %10d %10.0f %9.1f", name, histogram.count(), histogram.count() / seconds,
+                histogram.mean() / 1e3);
+
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", micros(histogram.percentile(percentile)));
+        }
+
+        out.printf(" %9s %10d%n", micros(histogram.max()), missCount);
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1e3);
+    }
+
+    private static long nanos(double seconds) {
+        return (long) (seconds * 1e9);
+    }
+}
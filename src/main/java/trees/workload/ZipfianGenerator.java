@@ -0,0 +1,93 @@
+package trees.workload;
+
+import java.util.Random;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Zipfian rank generator as described by Gray et al. in "Quickly Generating Billion-Record
+ * Synthetic Databases" (the same algorithm used by YCSB).
+ * Ranks are in [0, items), rank 0 being the most popular one.
+ * The constants take O(items) to compute, after that a generator is immutable and can be
+ * shared between threads, each passing its own Random.
+ */
+public class ZipfianGenerator {
+    public static final double DEFAULT_THETA = 0.99;
+
+    private final long items;
+    private final double theta;
+    private final double alpha;
+    private final double zetan;
+    private final double eta;
+
+    public ZipfianGenerator(long items) {
+        this(items, DEFAULT_THETA);
+    }
+
+    public ZipfianGenerator(long items, double theta) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Item count must be positive: " + items);
+        }
+
+        if (!(theta > 0 && theta < 1)) {
+            throw new IllegalArgumentException("Theta must be in (0, 1): " + theta);
+        }
+
+        this.items = items;
+        this.theta = theta;
+
+        double zeta2theta = zeta(2, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zetan = zeta(items, theta);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
+    }
+
+    public long next(Random random) {
+        double u = random.nextDouble();
+        double uz = u * zetan;
+
+        if (uz < 1.0) {
+            return 0;
+        }
+
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+
+        return (long) (items * Math.pow(eta * u - eta + 1, alpha));
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    /**
+     * Maps rank to a key in [0, keyCount) by hashing, so the popular ranks are spread over the
+     * whole key space instead of being neighbours
+     *
+     * @param rank
+     * @param keyCount
+     * @return
+     */
+    public static int scramble(long rank, int keyCount) {
+        // FNV-1a over the rank bytes
+        long hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < 8; i++) {
+            hash ^= (rank >>> (i * 8)) & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+
+        return (int) Math.floorMod(hash, (long) keyCount);
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+
+        return sum;
+    }
+}
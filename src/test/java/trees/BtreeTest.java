@@ -0,0 +1,58 @@
+package trees;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BtreeTest {
+    private static final int KEY_RANGE = 2000;
+
+    @Test
+    public void deleteEveryEntry() {
+        for (int minDegree : new int[]{2, 3, 5}) {
+            Btree.Node root = Btree.BTreeManager.initTree(minDegree);
+            Random random = new Random(minDegree);
+            List<Integer> model = new ArrayList<>();
+
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(KEY_RANGE);
+
+                if (root.isFull()) {
+                    root = Btree.BTreeManager.splitRoot(root);
+                }
+
+                root.insert(new Btree.Entry(key, "value" + key));
+                model.add(key);
+            }
+
+            Collections.shuffle(model, random);
+
+            for (int i = 0; i < model.size(); i++) {
+                assertTrue("delete " + model.get(i), Btree.BTreeManager.deleteKey(root, model.get(i)));
+
+                if (i % 500 == 0) {
+                    Set<Integer> left = new HashSet<>(model.subList(i + 1, model.size()));
+
+                    for (int key = 0; key < KEY_RANGE; key++) {
+                        assertEquals("key " + key, left.contains(key), root.find(key) != null);
+                    }
+                }
+            }
+
+            assertFalse(Btree.BTreeManager.deleteKey(root, 1));
+            assertTrue(root.isLeaf());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package trees.bplustree;
+
+import org.junit.Test;
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BPManagerTest {
+    private static final int KEY_RANGE = 4000;
+
+    @Test
+    public void sameDegrees() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            run(new BPManager<>(minDegree), minDegree);
+        }
+    }
+
+    @Test
+    public void differentInnerAndLeafDegrees() {
+        run(new BPManager<>(8, 3), 1);
+        run(new BPManager<>(2, 9), 2);
+    }
+
+    // random puts and deletes against a TreeMap, then every entry deleted again
+    private static void run(BPManager<Integer, String> manager, long seed) {
+        BPNode<Integer, String> root = manager.initTree();
+        TreeMap<Integer, String> model = new TreeMap<>();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < 60000; i++) {
+            int key = random.nextInt(KEY_RANGE);
+
+            if (random.nextInt(100) < 55) {
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                // inserting an existing key replaces its value
+                manager.insert(root, new KVPair<>(key, "value" + i));
+                model.put(key, "value" + i);
+            } else {
+                assertEquals("delete " + key, model.remove(key) != null, manager.delete(root, key));
+                root = manager.shrinkRoot(root);
+            }
+
+            if (i % 5000 == 0) {
+                BPTreeInvariants.check(root);
+            }
+        }
+
+        BPTreeInvariants.check(root);
+        BPTreeInvariants.assertEntries(model, manager.cursor(root, null, null));
+
+        for (int key = 0; key < KEY_RANGE; key++) {
+            assertEquals("key " + key, model.get(key), manager.get(root, key));
+            assertEquals("key " + key, model.containsKey(key), manager.find(root, key) != null);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(KEY_RANGE + 200);
+            int to = from + random.nextInt(300);
+            List<Integer> scanned = new ArrayList<>();
+
+            assertEquals(model.subMap(from, to).size(), manager.scan(root, from, to, (key, value) -> scanned.add(key)));
+            assertEquals(new ArrayList<>(model.subMap(from, to).keySet()), scanned);
+            BPTreeInvariants.assertEntries(model.subMap(from, to), manager.cursor(root, from, to));
+        }
+
+        for (int key : new ArrayList<>(model.keySet())) {
+            assertTrue(manager.delete(root, key));
+            root = manager.shrinkRoot(root);
+        }
+
+        BPTreeInvariants.check(root);
+        assertTrue(root.isLeaf());
+        assertEquals(0, root.numKeys);
+    }
+}
@@ -0,0 +1,104 @@
+package trees.bplustree;
+
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Structural checks of a BPNode tree shared by the tests.
+ */
+final class BPTreeInvariants {
+    private BPTreeInvariants() {
+    }
+
+    static void check(BPNode<Integer, String> root) {
+        check(root, false);
+    }
+
+    /**
+     * Checks key counts per node, separator bounds, equal leaf depth and the leaf links
+     *
+     * @param root
+     * @param underfullLeaves true if deletes leave leaves below the minimum, as in BufferedBPTree
+     */
+    static void check(BPNode<Integer, String> root, boolean underfullLeaves) {
+        List<BPNode<Integer, String>> leaves = new ArrayList<>();
+        walk(root, 0, null, null, true, underfullLeaves, leaves, new int[]{-1});
+
+        for (int i = 0; i < leaves.size(); i++) {
+            assertSame("next of leaf " + i, i + 1 < leaves.size() ? leaves.get(i + 1) : null, leaves.get(i).next);
+            assertSame("previous of leaf " + i, i > 0 ? leaves.get(i - 1) : null, leaves.get(i).previous);
+        }
+    }
+
+    /**
+     * Checks that entries holds the entries of expected in order
+     *
+     * @param expected
+     * @param entries
+     */
+    static void assertEntries(SortedMap<Integer, String> expected, Iterator<KVPair<Integer, String>> entries) {
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertTrue("missing " + entry.getKey(), entries.hasNext());
+
+            KVPair<Integer, String> actual = entries.next();
+            assertEquals(entry.getKey(), actual.key);
+            assertEquals(entry.getValue(), actual.value);
+        }
+
+        assertFalse(entries.hasNext());
+    }
+
+    private static void walk(BPNode<Integer, String> node, int depth, Integer low, Integer high, boolean root,
+                             boolean underfullLeaves, List<BPNode<Integer, String>> leaves, int[] leafDepth) {
+        int minDegree = node.minDegree;
+
+        if (!root && !(underfullLeaves && node.isLeaf())) {
+            assertTrue("node with " + node.numKeys + " keys", node.numKeys >= minDegree - 1);
+        }
+
+        assertTrue("node with " + node.numKeys + " keys", node.numKeys <= 2 * minDegree - 1);
+
+        for (int i = 0; i < node.numKeys; i++) {
+            int key = node.key(i);
+            assertTrue("key " + key + " below " + low, low == null || key >= low);
+            assertTrue("key " + key + " not below " + high, high == null || key < high);
+            assertTrue("keys out of order", i == 0 || node.key(i - 1) < key);
+        }
+
+        for (int i = node.numKeys; i < node.keys.length; i++) {
+            assertNull("stale key", node.keys[i]);
+        }
+
+        if (node.isLeaf()) {
+            if (leafDepth[0] == -1) {
+                leafDepth[0] = depth;
+            }
+
+            assertEquals("leaf depth", leafDepth[0], depth);
+            leaves.add(node);
+            return;
+        }
+
+        for (int i = 0; i <= node.numKeys; i++) {
+            walk(node.children[i], depth + 1, i == 0 ? low : node.key(i - 1), i == node.numKeys ? high : node.key(i),
+                    false, underfullLeaves, leaves, leafDepth);
+        }
+
+        for (int i = node.numKeys + 1; i < node.children.length; i++) {
+            assertNull("stale child", node.children[i]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package trees.bplustree;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BufferedBPTreeTest {
+    // inner degree, leaf degree, buffer capacity
+    private static final int[][] CONFIGURATIONS = {{2, 2, 1}, {2, 2, 3}, {2, 3, 8}, {3, 2, 5}, {4, 4, 16}, {16, 16, 256}};
+
+    @Test
+    public void matchesTreeMap() {
+        for (int[] configuration : CONFIGURATIONS) {
+            for (int seed = 0; seed < 4; seed++) {
+                // a small key range makes messages for the same key meet in the buffers
+                run(configuration, seed, seed % 2 == 0 ? 500 : 50000);
+            }
+        }
+    }
+
+    @Test
+    public void getSeesBufferedMessages() {
+        BufferedBPTree<Integer, String> tree = new BufferedBPTree<>(2, 2, 64);
+
+        for (int key = 0; key < 1000; key++) {
+            tree.put(key, "first" + key);
+        }
+
+        for (int key = 0; key < 1000; key += 2) {
+            tree.put(key, "second" + key);
+            tree.delete(key + 1);
+        }
+
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key % 2 == 0 ? "second" + key : null, tree.get(key));
+        }
+    }
+
+    private static void run(int[] configuration, long seed, int keyRange) {
+        BufferedBPTree<Integer, String> tree = new BufferedBPTree<>(configuration[0], configuration[1], configuration[2]);
+        TreeMap<Integer, String> model = new TreeMap<>();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < 40000; i++) {
+            int key = random.nextInt(keyRange);
+            int operation = random.nextInt(10);
+
+            if (operation < 6) {
+                tree.put(key, "value" + i);
+                model.put(key, "value" + i);
+            } else if (operation < 8) {
+                tree.delete(key);
+                model.remove(key);
+            } else {
+                assertEquals("key " + key, model.get(key), tree.get(key));
+            }
+
+            // a cursor flushes every buffer first; emptied leaves are not merged
+            if (i % 10000 == 9999) {
+                BPTreeInvariants.assertEntries(model, tree.cursor(null, null));
+                assertEquals(0, tree.pendingMessages());
+                BPTreeInvariants.check(tree.getRoot(), true);
+            }
+        }
+
+        for (int key = 0; key < keyRange; key++) {
+            assertEquals("key " + key, model.get(key), tree.get(key));
+        }
+    }
+}
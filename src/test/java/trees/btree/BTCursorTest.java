@@ -0,0 +1,134 @@
+package trees.btree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BTCursorTest {
+    @Test
+    public void rangesMatchModel() {
+        for (int minDegree : new int[]{2, 3, 8}) {
+            for (int size : new int[]{0, 1, 5, 100, 5000}) {
+                BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+                Random random = new Random(31 * size + minDegree);
+                List<Integer> keys = new ArrayList<>();
+                BTNode<Integer, String> root = build(manager, random, size, 2 * size + 1, keys);
+
+                assertEquals(keys, keys(manager.cursor(root)));
+                assertEquals(keys, keys(manager.range(root, null, null)));
+
+                for (int i = 0; i < 200; i++) {
+                    int from = random.nextInt(2 * size + 3) - 1;
+                    int to = from + random.nextInt(50) - 10;
+
+                    assertEquals(from + ", " + to, between(keys, from, to), keys(manager.range(root, from, to)));
+                    assertEquals(between(keys, from, Integer.MAX_VALUE), keys(manager.range(root, from, null)));
+                    assertEquals(between(keys, Integer.MIN_VALUE, to), keys(manager.range(root, null, to)));
+                }
+            }
+        }
+    }
+
+    // equal bounds and inverted bounds are empty ranges, even on existing keys
+    @Test
+    public void emptyRanges() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        List<Integer> keys = new ArrayList<>();
+        BTNode<Integer, String> root = build(manager, new Random(1), 1000, 500, keys);
+
+        for (int key : new int[]{-1, keys.get(0), keys.get(500), keys.get(999), 1000}) {
+            assertFalse(manager.range(root, key, key).hasNext());
+            assertFalse(manager.range(root, key + 1, key).hasNext());
+            assertFalse(manager.range(root, key + 100, key).hasNext());
+        }
+
+        assertFalse(manager.cursor(manager.initTree()).hasNext());
+    }
+
+    // a run of equal keys across several leaves and the inner nodes between them
+    @Test
+    public void duplicatesSpanningNodes() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (int i = 0; i < 100; i++) {
+            root = insert(manager, root, i);
+        }
+
+        for (int i = 0; i < 40; i++) {
+            root = insert(manager, root, 50);
+        }
+
+        List<Integer> fifties = Collections.nCopies(41, 50);
+        assertTrue(BTNavigation.height(root) > 2);
+        assertEquals(fifties, keys(manager.range(root, 50, 51)));
+        assertEquals(49, keys(manager.range(root, 1, 50)).size());
+        assertEquals(41 + 49, keys(manager.range(root, 50, null)).size());
+        assertEquals(fifties, keys(manager.range(root, 50, null)).subList(0, 41));
+        assertFalse(manager.range(root, 50, 50).hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void nextPastTheEnd() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        BTNode<Integer, String> root = insert(manager, manager.initTree(), 1);
+        Iterator<KVPair<Integer, String>> cursor = manager.range(root, 1, 2);
+
+        assertEquals(Integer.valueOf(1), cursor.next().key);
+        cursor.next();
+    }
+
+    static BTNode<Integer, String> build(BTManager manager, Random random, int size, int keyRange, List<Integer> keys) {
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt(keyRange);
+            root = insert(manager, root, key);
+            keys.add(key);
+        }
+
+        Collections.sort(keys);
+        return root;
+    }
+
+    static List<Integer> keys(Iterator<KVPair<Integer, String>> cursor) {
+        List<Integer> keys = new ArrayList<>();
+        cursor.forEachRemaining(entry -> keys.add(entry.key));
+
+        return keys;
+    }
+
+    // keys with from <= key < to
+    private static List<Integer> between(List<Integer> keys, int from, int to) {
+        List<Integer> range = new ArrayList<>();
+
+        for (int key : keys) {
+            if (key >= from && key < to) {
+                range.add(key);
+            }
+        }
+
+        return range;
+    }
+
+    private static BTNode<Integer, String> insert(BTManager manager, BTNode<Integer, String> root, int key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        manager.insert(root, new KVPair<>(key, "value" + key));
+        return root;
+    }
+}
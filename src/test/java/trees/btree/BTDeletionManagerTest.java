@@ -0,0 +1,118 @@
+package trees.btree;
+
+import org.junit.Test;
+import trees.btree.concurrent.CopyOnWriteBTree;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BTDeletionManagerTest {
+    private static final int KEY_RANGE = 3000;
+
+    @Test
+    public void eagerDeletesKeepTheTreeBalanced() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            run(minDegree, false);
+        }
+    }
+
+    @Test
+    public void lazyDeletesAreBalancedByCompact() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            run(minDegree, true);
+        }
+    }
+
+    @Test
+    public void deleteFromEmptyTree() {
+        BTManager manager = manager(3, false);
+        BTNode<Integer, String> root = manager.initTree();
+
+        assertFalse(manager.delete(root, 1));
+        assertEquals(0, root.numKeys);
+    }
+
+    @Test
+    public void copyingDeleteLeavesSnapshotsAlone() {
+        CopyOnWriteBTree<Integer, String> tree = new CopyOnWriteBTree<>(3);
+
+        for (int key = 0; key < 2000; key++) {
+            tree.insert(new KVPair<>(key, "value" + key));
+        }
+
+        BTNode<Integer, String> snapshot = tree.snapshot();
+
+        for (int key = 0; key < 2000; key += 2) {
+            assertTrue(tree.delete(key));
+        }
+
+        assertFalse(tree.delete(5000));
+        assertEquals(2000, BTreeInvariants.check(snapshot).size());
+        assertEquals(1000, BTreeInvariants.check(tree.snapshot()).size());
+        assertEquals(1000, tree.size());
+    }
+
+    // rounds of random inserts with duplicates, then deletes of half or all of the entries
+    private static void run(int minDegree, boolean lazy) {
+        BTManager manager = manager(minDegree, lazy);
+        BTNode<Integer, String> root = manager.initTree();
+        Random random = new Random(minDegree);
+        List<Integer> model = new ArrayList<>();
+
+        for (int round = 0; round < 6; round++) {
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(KEY_RANGE);
+
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                manager.insert(root, new KVPair<>(key, "value" + key));
+                model.add(key);
+            }
+
+            Collections.shuffle(model, random);
+            int deletes = round % 2 == 0 ? model.size() / 2 : model.size();
+
+            for (int i = 0; i < deletes; i++) {
+                assertTrue("delete " + model.get(i), manager.delete(root, model.get(i)));
+            }
+
+            model = new ArrayList<>(model.subList(deletes, model.size()));
+            assertFalse(manager.delete(root, KEY_RANGE + round));
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                assertEquals("key " + key, model.contains(key), manager.find(root, key) != null);
+            }
+
+            // lazy deletes leave empty leaves behind, navigation skips them
+            KVPair<Integer, String> first = BTNavigation.first(root);
+            KVPair<Integer, String> last = BTNavigation.last(root);
+            assertEquals(model.isEmpty() ? null : Collections.min(model), first == null ? null : first.key);
+            assertEquals(model.isEmpty() ? null : Collections.max(model), last == null ? null : last.key);
+
+            if (lazy) {
+                manager.compact(root);
+            }
+
+            List<Integer> expected = new ArrayList<>(model);
+            Collections.sort(expected);
+            assertEquals(expected, BTreeInvariants.check(root));
+        }
+    }
+
+    private static BTManager manager(int minDegree, boolean lazy) {
+        return new BTManager(new BTInsertionManager<>(), new BTDeletionManager<>(new AdaptiveSearch<>(), lazy),
+                minDegree, new AdaptiveSearch<>());
+    }
+}
@@ -0,0 +1,112 @@
+package trees.btree;
+
+import org.junit.Test;
+import trees.btree.metrics.TreeMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BTManagerTest {
+    @Test
+    public void insertAndFind() {
+        for (int minDegree : new int[]{2, 3, 16}) {
+            BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+            BTNode<Integer, String> root = manager.initTree();
+            TreeSet<Integer> inserted = new TreeSet<>();
+            Random random = new Random(minDegree);
+
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(20000);
+
+                if (inserted.add(key)) {
+                    root = insert(manager, root, key);
+                }
+            }
+
+            assertEquals(new ArrayList<>(inserted), BTreeInvariants.check(root));
+
+            for (int key = 0; key < 20000; key++) {
+                BTNode<Integer, String> node = manager.find(root, key);
+
+                if (inserted.contains(key)) {
+                    assertNotNull("key " + key, node);
+                    assertEquals("value" + key, node.kvpairs[node.getKeyIndex(key)].value);
+                } else {
+                    assertNull("key " + key, node);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void duplicatesAreKept() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (int i = 0; i < 100; i++) {
+            root = insert(manager, root, i % 10);
+        }
+
+        List<Integer> keys = BTreeInvariants.check(root);
+        assertEquals(100, keys.size());
+        assertEquals(10, Collections.frequency(keys, 7));
+    }
+
+    // a batch is one event, its time stays out of the per-operation histograms
+    @Test
+    public void batchesReportedOnce() {
+        TreeMetrics metrics = new TreeMetrics();
+        BTManager manager = new BTManager(3, metrics);
+        List<KVPair<Integer, String>> entries = new ArrayList<>();
+        List<Integer> keys = new ArrayList<>();
+
+        for (int key = 0; key < 1000; key++) {
+            entries.add(new KVPair<>(key, "value" + key));
+            keys.add(key);
+        }
+
+        BTNode<Integer, String> root = manager.insertAll(manager.initTree(), entries);
+        manager.findAll(root, keys);
+
+        assertEquals(1000, metrics.getBatchInserts());
+        assertEquals(1000, metrics.getBatchFinds());
+        assertEquals(0, metrics.getInserts());
+        assertEquals(0, metrics.getFinds());
+        assertEquals(0, metrics.getSlowOperations());
+        assertTrue(metrics.getNodesVisitedPerBatchFind() >= 1);
+
+        manager.find(root, 500);
+        assertEquals(1, metrics.getFinds());
+    }
+
+    // the caller splits a full root, insert does not
+    @Test(expected = IllegalStateException.class)
+    public void insertIntoFullRootLeafFails() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        BTNode<Integer, String> root = manager.initTree();
+
+        for (int key = 0; key < 4; key++) {
+            manager.insert(root, new KVPair<>(key, "value" + key));
+        }
+    }
+
+    private static BTNode<Integer, String> insert(BTManager manager, BTNode<Integer, String> root, int key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        manager.insert(root, new KVPair<>(key, "value" + key));
+        return root;
+    }
+}
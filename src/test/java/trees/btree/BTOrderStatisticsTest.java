@@ -0,0 +1,172 @@
+package trees.btree;
+
+import org.junit.Test;
+import trees.btree.search.AdaptiveSearch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BTOrderStatisticsTest {
+    private static final int KEY_RANGE = 3000;
+
+    @Test
+    public void eagerDeletesKeepSizes() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            run(new BTManager(minDegree, null, true), false, minDegree);
+        }
+    }
+
+    @Test
+    public void lazyDeletesAndCompactKeepSizes() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            BTManager manager = new BTManager(new BTInsertionManager<>(new AdaptiveSearch<>(), null, true),
+                    new BTDeletionManager<>(new AdaptiveSearch<>(), true, null, true), minDegree, new AdaptiveSearch<>());
+            run(manager, true, minDegree);
+        }
+    }
+
+    // a tree built without sizes gets them from recountAll
+    @Test
+    public void recountAllSetsSizes() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 3);
+        BTNode<Integer, String> root = manager.initTree();
+        List<Integer> model = new ArrayList<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(KEY_RANGE);
+            root = insert(manager, root, key);
+            model.add(key);
+        }
+
+        Collections.sort(model);
+        assertEquals(model.size(), BTOrderStatistics.recountAll(root));
+        check(root, model, random);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void selectPastTheEnd() {
+        BTManager manager = new BTManager(3, null, true);
+        BTNode<Integer, String> root = insert(manager, manager.initTree(), 1);
+
+        BTOrderStatistics.select(root, 1);
+    }
+
+    // rounds of single inserts, sorted batches and deletes, duplicates included
+    private static void run(BTManager manager, boolean lazy, long seed) {
+        BTNode<Integer, String> root = manager.initTree();
+        Random random = new Random(seed);
+        List<Integer> model = new ArrayList<>();
+
+        for (int round = 0; round < 12; round++) {
+            for (int i = 0; i < 2000; i++) {
+                int key = random.nextInt(KEY_RANGE);
+                root = insert(manager, root, key);
+                model.add(key);
+            }
+
+            List<KVPair<Integer, String>> batch = new ArrayList<>();
+
+            for (int i = 0; i < 1000; i++) {
+                int key = random.nextInt(KEY_RANGE);
+                batch.add(new KVPair<>(key, "value" + key));
+                model.add(key);
+            }
+
+            Collections.sort(batch);
+            root = manager.insertAll(root, batch);
+
+            // deletes of present and absent keys, merging and borrowing on the way down
+            int deletes = round % 3 == 2 ? model.size() : model.size() / 2;
+
+            for (int i = 0; i < deletes; i++) {
+                int key = random.nextInt(KEY_RANGE + 100);
+                assertEquals("delete " + key, model.remove(Integer.valueOf(key)), manager.delete(root, key));
+            }
+
+            Collections.sort(model);
+            check(root, model, random);
+
+            if (lazy) {
+                manager.compact(root);
+                assertEquals(model, BTreeInvariants.check(root));
+                check(root, model, random);
+            }
+        }
+    }
+
+    // sizes of every node, then rank, select and counts against the sorted model
+    private static void check(BTNode<Integer, String> root, List<Integer> model, Random random) {
+        assertEquals(model.size(), checkSizes(root));
+
+        for (int i = 0; i < 300; i++) {
+            int key = random.nextInt(KEY_RANGE + 200) - 100;
+            int to = key + random.nextInt(300) - 50;
+            long below = lowerBound(model, key);
+
+            assertEquals("rank " + key, below, BTOrderStatistics.rank(root, key));
+            assertEquals("count " + key + ", " + to, Math.max(0, lowerBound(model, to) - below), BTOrderStatistics.count(root, key, to));
+            assertEquals("countClosed " + key + ", " + to, Math.max(0, lowerBound(model, to + 1) - below), BTOrderStatistics.countClosed(root, key, to));
+            assertEquals(model.size() - below, BTOrderStatistics.count(root, key, null));
+            assertEquals(lowerBound(model, to), BTOrderStatistics.count(root, null, to));
+        }
+
+        for (int index = 0; index < model.size(); index += 1 + random.nextInt(20)) {
+            assertEquals("select " + index, model.get(index), BTOrderStatistics.select(root, index).key);
+        }
+
+        if (!model.isEmpty()) {
+            assertEquals(model.get(model.size() - 1), BTOrderStatistics.select(root, model.size() - 1).key);
+        }
+
+        // recounting from scratch agrees with the sizes kept on the way
+        assertEquals(model.size(), BTOrderStatistics.recountAll(root));
+    }
+
+    private static long checkSizes(BTNode<Integer, String> node) {
+        long size = node.numKeys;
+
+        if (!node.isLeaf()) {
+            for (int i = 0; i <= node.numKeys; i++) {
+                size += checkSizes(node.children[i]);
+            }
+        }
+
+        assertEquals("size of a node with " + node.numKeys + " keys", size, node.size);
+        return size;
+    }
+
+    // index of the first key not lower than key
+    private static int lowerBound(List<Integer> keys, int key) {
+        int low = 0;
+        int high = keys.size();
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (keys.get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static BTNode<Integer, String> insert(BTManager manager, BTNode<Integer, String> root, int key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        manager.insert(root, new KVPair<>(key, "value" + key));
+        return root;
+    }
+}
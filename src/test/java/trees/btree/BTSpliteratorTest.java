@@ -0,0 +1,91 @@
+package trees.btree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BTSpliteratorTest {
+    // the parts of a split, traversed in order, hand out every entry exactly once
+    @Test
+    public void splitsCoverTheTreeWithoutOverlap() {
+        for (int minDegree : new int[]{2, 3, 8}) {
+            for (int size : new int[]{0, 1, 5, 100, 5000}) {
+                BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+                List<Integer> keys = new ArrayList<>();
+                BTNode<Integer, String> root = BTCursorTest.build(manager, new Random(size + minDegree), size, 2 * size + 1, keys);
+
+                for (int depth = 0; depth <= 8; depth++) {
+                    List<Spliterator<KVPair<Integer, String>>> parts = new ArrayList<>();
+                    split(manager.spliterator(root), depth, parts);
+
+                    List<Integer> seen = new ArrayList<>();
+
+                    for (Spliterator<KVPair<Integer, String>> part : parts) {
+                        part.forEachRemaining(entry -> seen.add(entry.key));
+                    }
+
+                    assertEquals("minDegree " + minDegree + ", size " + size + ", depth " + depth, keys, seen);
+                }
+
+                assertEquals(keys, manager.stream(root, true).map(entry -> entry.key).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    // a split hands half of the estimate to the prefix, the total stays the same
+    @Test
+    public void estimateSize() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 3);
+        List<Integer> keys = new ArrayList<>();
+
+        BTNode<Integer, String> leaf = BTCursorTest.build(manager, new Random(1), 4, 100, keys);
+        assertTrue(leaf.isLeaf());
+        assertEquals(4, manager.spliterator(leaf).estimateSize());
+        assertEquals(0, manager.spliterator(manager.initTree()).estimateSize());
+
+        BTNode<Integer, String> root = BTCursorTest.build(manager, new Random(1), 10000, 20000, keys);
+        Spliterator<KVPair<Integer, String>> spliterator = manager.spliterator(root);
+        long estimate = spliterator.estimateSize();
+
+        // extrapolated from the leftmost path, off by less than the fill factor spread per level
+        long spread = 1L << BTNavigation.height(root);
+        assertTrue("estimate " + estimate, estimate * spread >= 10000 && estimate <= 10000 * spread);
+
+        Spliterator<KVPair<Integer, String>> prefix = spliterator.trySplit();
+        assertEquals(estimate, prefix.estimateSize() + spliterator.estimateSize());
+    }
+
+    @Test
+    public void noSplitOnceStarted() {
+        BTManager manager = new BTManager(new BTInsertionManager<>(), 2);
+        BTNode<Integer, String> root = BTCursorTest.build(manager, new Random(1), 1000, 1000, new ArrayList<>());
+        Spliterator<KVPair<Integer, String>> spliterator = manager.spliterator(root);
+
+        assertTrue(spliterator.tryAdvance(entry -> {
+        }));
+        assertNull(spliterator.trySplit());
+    }
+
+    private static <T> void split(Spliterator<T> spliterator, int depth, List<Spliterator<T>> parts) {
+        Spliterator<T> prefix = depth == 0 ? null : spliterator.trySplit();
+
+        if (prefix == null) {
+            parts.add(spliterator);
+            return;
+        }
+
+        split(prefix, depth - 1, parts);
+        split(spliterator, depth - 1, parts);
+    }
+}
@@ -0,0 +1,69 @@
+package trees.btree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Structural checks of a BTNode tree shared by the tests.
+ */
+final class BTreeInvariants {
+    private BTreeInvariants() {
+    }
+
+    /**
+     * Checks key counts per node, equal leaf depth, and that keys ascend in order
+     *
+     * @param root
+     * @return keys in order
+     */
+    static List<Integer> check(BTNode<Integer, String> root) {
+        List<Integer> keys = new ArrayList<>();
+        int[] leafDepth = {-1};
+        walk(root, 0, true, keys, leafDepth);
+
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue("keys out of order at " + i, keys.get(i - 1) <= keys.get(i));
+        }
+
+        return keys;
+    }
+
+    private static void walk(BTNode<Integer, String> node, int depth, boolean root, List<Integer> keys, int[] leafDepth) {
+        int minDegree = node.minDegree;
+
+        if (!root) {
+            assertTrue("node with " + node.numKeys + " keys", node.numKeys >= minDegree - 1);
+        }
+
+        assertTrue("node with " + node.numKeys + " keys", node.numKeys <= 2 * minDegree - 1);
+
+        if (node.isLeaf()) {
+            if (leafDepth[0] == -1) {
+                leafDepth[0] = depth;
+            }
+
+            assertEquals("leaf depth", leafDepth[0], depth);
+
+            for (int i = 0; i < node.numKeys; i++) {
+                keys.add(node.kvpairs[i].key);
+            }
+
+            return;
+        }
+
+        for (int i = 0; i <= node.numKeys; i++) {
+            assertNotNull("child " + i + " of a node with " + node.numKeys + " keys", node.children[i]);
+            walk(node.children[i], depth + 1, false, keys, leafDepth);
+
+            if (i < node.numKeys) {
+                keys.add(node.kvpairs[i].key);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package trees.btree;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class FindAllocationTest {
+    private static final int KEY_COUNT = 100_000;
+    private static final int WARMUP_LOOKUPS = 2_000_000;
+    private static final int MEASURED_LOOKUPS = 1_000_000;
+
+    // slack for one-off allocations (e.g. a late JIT deoptimization), far below one object per lookup
+    private static final long TOLERATED_BYTES = 64 * 1024;
+
+    // keeps the lookups from being optimized away
+    private static int found;
+
+    @Test
+    public void findDoesNotAllocate() {
+        java.lang.management.ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        assumeTrue("thread allocation counters not available", mxBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mxBean;
+        assumeTrue("thread allocation counters not supported", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(42);
+
+        for (int minDegree : new int[]{2, 3, 16, 64}) {
+            BTManager manager = new BTManager(new BTInsertionManager<>(), minDegree);
+            BTNode<Integer, String> root = manager.initTree();
+
+            for (int i = 0; i < KEY_COUNT; i++) {
+                if (root.isFull()) {
+                    root = manager.splitRoot(root);
+                }
+
+                int key = random.nextInt(2 * KEY_COUNT);
+                manager.insert(root, new KVPair<>(key, "value"));
+            }
+
+            // pre-box the keys, boxing at the call site is the caller's allocation
+            Integer[] keys = new Integer[1 << 16];
+
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(2 * KEY_COUNT);
+            }
+
+            found += lookup(manager, root, keys, WARMUP_LOOKUPS);
+
+            long threadId = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            found += lookup(manager, root, keys, MEASURED_LOOKUPS);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            assertTrue("minDegree " + minDegree + ": " + allocated + " bytes allocated by " + MEASURED_LOOKUPS + " lookups",
+                    allocated <= TOLERATED_BYTES);
+        }
+    }
+
+    private static int lookup(BTManager manager, BTNode<Integer, String> root, Integer[] keys, int count) {
+        int hits = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (manager.find(root, keys[i & (keys.length - 1)]) != null) {
+                hits++;
+            }
+        }
+
+        return hits;
+    }
+}
@@ -0,0 +1,248 @@
+package trees.btree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class FingerSearchTest {
+    // sorted batches mixed with single inserts and deletes, against a multiset of keys
+    @Test
+    public void batchesMatchModel() {
+        for (int minDegree : new int[]{2, 3, 16}) {
+            Random random = new Random(minDegree);
+            BTManager manager = new BTManager(minDegree, null);
+            BTNode<Integer, String> root = manager.initTree();
+            TreeMap<Integer, Integer> model = new TreeMap<>();
+
+            for (int round = 0; round < 150; round++) {
+                int range = random.nextBoolean() ? 100 : 100000;
+                int size = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(random.nextBoolean() ? 50 : 1000);
+                List<KVPair<Integer, String>> batch = new ArrayList<>();
+
+                for (int i = 0; i < size; i++) {
+                    int key = random.nextInt(range);
+                    batch.add(new KVPair<>(key, "value" + key));
+                    model.merge(key, 1, Integer::sum);
+                }
+
+                Collections.sort(batch);
+                root = manager.insertAll(root, batch);
+
+                for (int i = 0; i < 20; i++) {
+                    int key = random.nextInt(range);
+
+                    if (random.nextBoolean()) {
+                        root = insert(manager, root, key);
+                        model.merge(key, 1, Integer::sum);
+                    } else {
+                        assertEquals("delete " + key, model.containsKey(key), manager.delete(root, key));
+                        model.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+                    }
+                }
+
+                assertEquals(expand(model), BTreeInvariants.check(root));
+
+                List<Integer> keys = new ArrayList<>();
+
+                for (int i = 0; i < 300; i++) {
+                    keys.add(random.nextInt(range + 10) - 5);
+                }
+
+                Collections.sort(keys);
+                assertFindAll(manager, root, keys, model);
+            }
+        }
+    }
+
+    // a sorted batch into an empty tree splits the root many times over
+    @Test
+    public void rootSplitsMidBatch() {
+        BTManager manager = new BTManager(2, null);
+        List<KVPair<Integer, String>> batch = new ArrayList<>();
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+
+        for (int key = 0; key < 5000; key++) {
+            batch.add(new KVPair<>(key, "value" + key));
+            model.put(key, 1);
+        }
+
+        BTNode<Integer, String> root = manager.insertAll(manager.initTree(), batch);
+
+        assertTrue("height " + BTNavigation.height(root), BTNavigation.height(root) >= 6);
+        assertEquals(expand(model), BTreeInvariants.check(root));
+        assertFindAll(manager, root, new ArrayList<>(model.keySet()), model);
+    }
+
+    // runs of one key spread over several nodes, both when inserted and when looked up
+    @Test
+    public void duplicateKeys() {
+        BTManager manager = new BTManager(2, null);
+        BTNode<Integer, String> root = manager.initTree();
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+
+        for (int round = 0; round < 3; round++) {
+            List<KVPair<Integer, String>> batch = new ArrayList<>();
+
+            for (int key = 0; key < 10; key++) {
+                for (int i = 0; i < 15; i++) {
+                    batch.add(new KVPair<>(key * 10, "value" + key * 10));
+                    model.merge(key * 10, 1, Integer::sum);
+                }
+            }
+
+            root = manager.insertAll(root, batch);
+            assertEquals(expand(model), BTreeInvariants.check(root));
+        }
+
+        List<Integer> keys = new ArrayList<>();
+
+        for (int key = -5; key < 100; key++) {
+            keys.add(key);
+            keys.add(key);
+        }
+
+        assertFindAll(manager, root, keys, model);
+    }
+
+    // keys interleaved with the tree's, so every key climbs back over node bounds
+    @Test
+    public void climbsBackOverBounds() {
+        BTManager manager = new BTManager(3, null);
+        BTNode<Integer, String> root = manager.initTree();
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+
+        for (int key = 0; key < 4000; key += 2) {
+            root = insert(manager, root, key);
+            model.put(key, 1);
+        }
+
+        List<KVPair<Integer, String>> batch = new ArrayList<>();
+
+        for (int key = -1; key < 4000; key += 2) {
+            batch.add(new KVPair<>(key, "value" + key));
+            model.put(key, 1);
+        }
+
+        root = manager.insertAll(root, batch);
+        assertEquals(expand(model), BTreeInvariants.check(root));
+
+        // separators of the root and its children, then a jump past the last key
+        List<Integer> keys = new ArrayList<>();
+        collectSeparators(root, 2, keys);
+        keys.add(5000);
+        Collections.sort(keys);
+        assertFindAll(manager, root, keys, model);
+
+        assertEquals(Arrays.asList(null, null), manager.findAll(root, Arrays.asList(-10, Integer.MAX_VALUE)));
+        assertTrue(manager.findAll(root, Collections.<Integer>emptyList()).isEmpty());
+    }
+
+    // insertion manager on its own, with the generic key type
+    @Test
+    public void insertionManagerInsertAll() {
+        BTInsertionManager<String, Integer> insertionManager = new BTInsertionManager<>();
+        BTNode<String, Integer> root = new BTNode<>(2);
+        List<KVPair<String, Integer>> batch = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            batch.add(new KVPair<>(String.format("%04d", i), i));
+        }
+
+        root = insertionManager.insertAll(root, batch);
+        List<KVPair<String, Integer>> entries = new ArrayList<>();
+        new BTCursor<>(root, null, null).forEachRemaining(entries::add);
+
+        assertEquals(500, entries.size());
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(String.format("%04d", i), entries.get(i).key);
+            assertEquals(Integer.valueOf(i), entries.get(i).value);
+        }
+    }
+
+    @Test
+    public void unsortedEntriesRejected() {
+        BTManager manager = new BTManager(3, null);
+
+        try {
+            manager.insertAll(manager.initTree(), Arrays.asList(new KVPair<>(2, "b"), new KVPair<>(1, "a")));
+            fail("unsorted entries accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        try {
+            new BTInsertionManager<Integer, String>().insertAll(new BTNode<>(2), Arrays.asList(new KVPair<>(1, "a"), new KVPair<>(1, "a"), new KVPair<>(0, "z")));
+            fail("unsorted entries accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        try {
+            manager.findAll(manager.initTree(), Arrays.asList(5, 4));
+            fail("unsorted keys accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static void assertFindAll(BTManager manager, BTNode<Integer, String> root, List<Integer> keys, TreeMap<Integer, Integer> model) {
+        List<KVPair<Integer, String>> found = manager.findAll(root, keys);
+        assertEquals(keys.size(), found.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            int key = keys.get(i);
+            KVPair<Integer, String> entry = found.get(i);
+            BTNode<Integer, String> node = manager.find(root, key);
+
+            if (model.containsKey(key)) {
+                assertNotNull("key " + key, entry);
+                assertEquals(Integer.valueOf(key), entry.key);
+                assertEquals("value" + key, entry.value);
+                assertSame("key " + key, node.kvpairs[node.getKeyIndex(key)], entry);
+            } else {
+                assertNull("key " + key, entry);
+                assertNull("key " + key, node);
+            }
+        }
+    }
+
+    private static void collectSeparators(BTNode<Integer, String> node, int levels, List<Integer> keys) {
+        for (int i = 0; i < node.numKeys; i++) {
+            keys.add(node.kvpairs[i].key);
+        }
+
+        if (levels > 1 && !node.isLeaf()) {
+            for (int i = 0; i <= node.numKeys; i++) {
+                collectSeparators(node.children[i], levels - 1, keys);
+            }
+        }
+    }
+
+    private static List<Integer> expand(TreeMap<Integer, Integer> model) {
+        List<Integer> keys = new ArrayList<>();
+        model.forEach((key, count) -> keys.addAll(Collections.nCopies(count, key)));
+        return keys;
+    }
+
+    private static BTNode<Integer, String> insert(BTManager manager, BTNode<Integer, String> root, int key) {
+        if (root.isFull()) {
+            root = manager.splitRoot(root);
+        }
+
+        manager.insert(root, new KVPair<>(key, "value" + key));
+        return root;
+    }
+}
@@ -0,0 +1,77 @@
+package trees.btree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class ParallelBTreeBuilderTest {
+    @Test
+    public void buildsInOwnPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int count : new int[]{0, 1, 100, ParallelBTreeBuilder.SEQUENTIAL_THRESHOLD + 1, 200000}) {
+                check(new ParallelBTreeBuilder<>(4, BTreeBulkLoader.DEFAULT_FILL_FACTOR, pool), count);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void buildsInCommonPool() {
+        check(new ParallelBTreeBuilder<>(16), 100000);
+    }
+
+    @Test
+    public void sortedInputStaysSorted() {
+        KVPair<Integer, String>[] entries = entries(50000, new Random(1));
+        Arrays.sort(entries, KVPair::compareTo);
+        List<KVPair<Integer, String>> expected = new ArrayList<>(Arrays.asList(entries));
+
+        new ParallelBTreeBuilder<Integer, String>(3).build(entries);
+        assertEquals(expected, Arrays.asList(entries));
+    }
+
+    // duplicates must keep their input order, the values number them
+    private static void check(ParallelBTreeBuilder<Integer, String> builder, int count) {
+        KVPair<Integer, String>[] entries = entries(count, new Random(count));
+        BTNode<Integer, String> root = builder.build(entries);
+
+        assertEquals(count, BTreeInvariants.check(root).size());
+
+        BTCursor<Integer, String> cursor = new BTCursor<>(root, null, null);
+        KVPair<Integer, String> previous = null;
+
+        while (cursor.hasNext()) {
+            KVPair<Integer, String> entry = cursor.next();
+
+            if (previous != null && previous.key.equals(entry.key)) {
+                assertTrue("equal keys reordered", Integer.parseInt(previous.value) < Integer.parseInt(entry.value));
+            }
+
+            previous = entry;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KVPair<Integer, String>[] entries(int count, Random random) {
+        KVPair<Integer, String>[] entries = new KVPair[count];
+
+        for (int i = 0; i < count; i++) {
+            entries[i] = new KVPair<>(random.nextInt(Math.max(1, count / 4)), String.valueOf(i));
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,116 @@
+package trees.btree.cache;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class CachedBTreeTest {
+    @Test
+    public void absentKeysAreCached() {
+        CachedBTree tree = new CachedBTree(3, 16);
+        ClockCache<Integer, Object> cache = tree.getCache();
+
+        assertNull(tree.find(5));
+        assertFalse(tree.contains(5));
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+
+        // the insert invalidates the cached absence
+        tree.insert(5, "five");
+        assertEquals(1, cache.invalidations());
+        assertEquals("five", tree.find(5));
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void nullValuesAreCached() {
+        CachedBTree tree = new CachedBTree(3, 16);
+        tree.insert(6, null);
+
+        assertNull(tree.find(6));
+        assertTrue(tree.contains(6));
+        assertTrue(tree.contains(6));
+        assertEquals(1, tree.getCache().misses());
+        assertEquals(2, tree.getCache().hits());
+
+        assertTrue(tree.delete(6));
+        assertFalse(tree.contains(6));
+    }
+
+    // every insert and delete of a duplicate invalidates, find then sees what the tree holds
+    @Test
+    public void duplicatesInvalidate() {
+        CachedBTree tree = new CachedBTree(2, 16);
+        tree.insert(7, "first");
+        assertEquals("first", tree.find(7));
+
+        tree.insert(7, "second");
+        String cached = tree.find(7);
+        assertTrue(cached, cached.equals("first") || cached.equals("second"));
+
+        assertTrue(tree.delete(7));
+        String remaining = tree.find(7);
+        assertTrue(remaining, remaining.equals("first") || remaining.equals("second"));
+
+        assertTrue(tree.delete(7));
+        assertNull(tree.find(7));
+        assertFalse(tree.delete(7));
+        assertFalse(tree.contains(7));
+        assertEquals(3, tree.getCache().invalidations());
+    }
+
+    @Test
+    public void evictsAtCapacity() {
+        CachedBTree tree = new CachedBTree(3, 8);
+
+        for (int key = 0; key < 100; key++) {
+            tree.insert(key, "value" + key);
+        }
+
+        for (int key = 0; key < 100; key++) {
+            assertEquals("value" + key, tree.find(key));
+        }
+
+        ClockCache<Integer, Object> cache = tree.getCache();
+        assertEquals(8, cache.size());
+        assertEquals(92, cache.evictions());
+        assertEquals(100, cache.misses());
+    }
+
+    // a cache much smaller than the key space, against a multiset of keys
+    @Test
+    public void matchesModel() {
+        CachedBTree tree = new CachedBTree(3, 32);
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(200);
+            int operation = random.nextInt(10);
+
+            if (operation < 6) {
+                assertEquals("key " + key, model.containsKey(key) ? "value" + key : null, tree.find(key));
+            } else if (operation < 8) {
+                tree.insert(key, "value" + key);
+                model.merge(key, 1, Integer::sum);
+            } else {
+                assertEquals("delete " + key, model.containsKey(key), tree.delete(key));
+                model.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+            }
+        }
+
+        ClockCache<Integer, Object> cache = tree.getCache();
+        assertTrue(cache.hits() > 0);
+        assertTrue(cache.evictions() > 0);
+        assertTrue(cache.size() <= cache.capacity());
+    }
+}
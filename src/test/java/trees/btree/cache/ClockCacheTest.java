@@ -0,0 +1,108 @@
+package trees.btree.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class ClockCacheTest {
+    @Test
+    public void countsHitsAndMisses() {
+        ClockCache<Integer, String> cache = new ClockCache<>(4);
+
+        assertNull(cache.get(1));
+        cache.put(1, "one");
+        assertEquals("one", cache.get(1));
+        assertEquals("one", cache.get(1));
+
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(2.0 / 3, cache.hitRate(), 1e-9);
+
+        cache.resetCounters();
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+        assertEquals(0, cache.hitRate(), 0);
+    }
+
+    // the hand passes over referenced entries once, clearing their bit
+    @Test
+    public void evictsUnreferencedEntriesFirst() {
+        ClockCache<Integer, String> cache = new ClockCache<>(4);
+
+        for (int key = 1; key <= 4; key++) {
+            cache.put(key, "value" + key);
+        }
+
+        assertEquals(4, cache.size());
+        assertEquals(0, cache.evictions());
+
+        for (int key = 2; key <= 4; key++) {
+            cache.get(key);
+        }
+
+        cache.put(5, "value5");
+        assertNull(cache.get(1));
+        assertEquals(1, cache.evictions());
+
+        // 2, 3 and 4 lost their second chance on the way round, 5 was never read
+        cache.put(6, "value6");
+        assertEquals(2, cache.evictions());
+        assertEquals(4, cache.size());
+        assertNull(cache.get(5));
+
+        for (int key = 2; key <= 4; key++) {
+            assertEquals("value" + key, cache.get(key));
+        }
+
+        assertEquals("value6", cache.get(6));
+    }
+
+    @Test
+    public void putReplacesInPlace() {
+        ClockCache<Integer, String> cache = new ClockCache<>(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(1, "uno");
+
+        assertEquals(0, cache.evictions());
+        assertEquals(2, cache.size());
+        assertEquals("uno", cache.get(1));
+        assertEquals("two", cache.get(2));
+    }
+
+    @Test
+    public void invalidateFreesTheSlot() {
+        ClockCache<Integer, String> cache = new ClockCache<>(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        cache.invalidate(1);
+        cache.invalidate(3);
+        assertEquals(1, cache.invalidations());
+        assertNull(cache.get(1));
+
+        // the freed slot is taken before anything is evicted
+        cache.put(3, "three");
+        assertEquals(0, cache.evictions());
+        assertEquals("two", cache.get(2));
+        assertEquals("three", cache.get(3));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullValuesRejected() {
+        new ClockCache<Integer, String>(2).put(1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePositive() {
+        new ClockCache<Integer, String>(0);
+    }
+}
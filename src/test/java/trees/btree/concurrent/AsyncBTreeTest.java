@@ -0,0 +1,161 @@
+package trees.btree.concurrent;
+
+import org.junit.Test;
+import trees.btree.BTManager;
+import trees.btree.metrics.TreeMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class AsyncBTreeTest {
+    @Test
+    public void requestsQueuedTogetherFormOneBatch() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        AsyncBTree tree = new AsyncBTree(new BTManager(3, null), executor, 10);
+        List<CompletableFuture<Void>> inserts = new ArrayList<>();
+
+        for (int key = 25; key > 0; key--) {
+            inserts.add(tree.insert(key, "value" + key));
+        }
+
+        // one drain task, polling at most 10 requests at a time
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+
+        assertEquals(3, tree.batches());
+        assertEquals(25, tree.requests());
+
+        for (CompletableFuture<Void> insert : inserts) {
+            assertTrue(insert.isDone());
+        }
+
+        for (int key = 0; key <= 26; key++) {
+            CompletableFuture<String> find = tree.find(key);
+            executor.runAll();
+            assertEquals(key >= 1 && key <= 25 ? "value" + key : null, find.get());
+        }
+    }
+
+    // requests on one key are applied in submission order, whatever the order of the other keys
+    @Test
+    public void sameKeyKeepsSubmissionOrder() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        AsyncBTree tree = new AsyncBTree(new BTManager(2, null), executor, 100);
+
+        CompletableFuture<String> before = tree.find(5);
+        tree.insert(9, "nine");
+        tree.insert(5, "five");
+        CompletableFuture<String> after = tree.find(5);
+        tree.insert(1, "one");
+        CompletableFuture<Boolean> delete = tree.delete(5);
+        CompletableFuture<String> deleted = tree.find(5);
+        CompletableFuture<Boolean> deleteAgain = tree.delete(5);
+        executor.runAll();
+
+        assertEquals(1, tree.batches());
+        assertNull(before.get());
+        assertEquals("five", after.get());
+        assertTrue(delete.get());
+        assertNull(deleted.get());
+        assertFalse(deleteAgain.get());
+    }
+
+    // lookups of keys the batch does not write share one findAll, the others are single finds
+    @Test
+    public void untouchedKeysGoThroughFindAll() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        TreeMetrics metrics = new TreeMetrics();
+        AsyncBTree tree = new AsyncBTree(new BTManager(3, metrics), executor, 100);
+
+        for (int key = 0; key < 50; key++) {
+            tree.insert(key, "value" + key);
+        }
+
+        executor.runAll();
+        assertEquals(50, metrics.getBatchInserts());
+
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+
+        for (int key = 0; key < 20; key++) {
+            lookups.add(tree.find(key));
+        }
+
+        tree.insert(3, "three");
+        tree.delete(7);
+        executor.runAll();
+
+        // keys 3 and 7 are written in the batch
+        assertEquals(18, metrics.getBatchFinds());
+        assertEquals(2, metrics.getFinds());
+        assertEquals(1, metrics.getDeletes());
+        assertEquals(51, metrics.getBatchInserts());
+
+        for (int key = 0; key < 20; key++) {
+            assertEquals("value" + key, lookups.get(key).get());
+        }
+    }
+
+    @Test
+    public void rejectedDrainFailsQueuedRequests() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        AsyncBTree tree = new AsyncBTree(new BTManager(3, null), executor, 100);
+
+        executor.reject = true;
+        CompletableFuture<Void> rejected = tree.insert(1, "one");
+
+        try {
+            rejected.get();
+            fail("insert completed although its drain was rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        // the next request schedules a drain again
+        executor.reject = false;
+        tree.insert(2, "two");
+        CompletableFuture<String> find = tree.find(2);
+        CompletableFuture<String> neverInserted = tree.find(1);
+        executor.runAll();
+
+        assertEquals("two", find.get());
+        assertNull(neverInserted.get());
+    }
+
+    // runs submitted tasks only when asked to, on the calling thread
+    private static class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        boolean reject;
+
+        @Override
+        public void execute(Runnable task) {
+            if (reject) {
+                throw new RejectedExecutionException("rejected for the test");
+            }
+
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package trees.btree.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BLinkTreeTest {
+    private static final int THREADS = 4;
+    private static final int KEY_RANGE = 1 << 14;
+
+    @Test
+    public void matchesModel() {
+        for (int minDegree : new int[]{2, 3, 16}) {
+            BLinkTree<Integer, Long> tree = new BLinkTree<>(minDegree);
+            TreeMap<Integer, Long> model = new TreeMap<>();
+            Random random = new Random(minDegree);
+
+            for (int i = 0; i < 50000; i++) {
+                int key = random.nextInt(KEY_RANGE);
+
+                if (random.nextInt(4) == 0) {
+                    assertEquals(model.remove(key), tree.remove(key));
+                } else {
+                    assertEquals(model.put(key, (long) i), tree.insert(key, (long) i));
+                }
+            }
+
+            assertContents(tree, model);
+        }
+    }
+
+    // every thread owns the keys equal to it modulo THREADS, so the final contents do not depend on the interleaving
+    @Test
+    public void concurrentWritersOfDisjointKeys() throws Exception {
+        for (int minDegree : new int[]{2, 16}) {
+            BLinkTree<Integer, Long> tree = new BLinkTree<>(minDegree);
+            List<Map<Integer, Long>> owned = run(thread -> {
+                Random random = new Random(thread);
+                Map<Integer, Long> expected = new HashMap<>();
+
+                for (int i = 0; i < 50000; i++) {
+                    int key = random.nextInt(KEY_RANGE / THREADS) * THREADS + thread;
+                    int operation = random.nextInt(10);
+
+                    if (operation < 4) {
+                        int read = random.nextInt(KEY_RANGE);
+                        Long value = tree.find(read);
+
+                        // values carry their key in the upper half
+                        assertTrue("value " + value + " for key " + read, value == null || (int) (value >>> 32) == read);
+                    } else if (operation < 8) {
+                        long value = ((long) key << 32) | i;
+                        assertEquals("key " + key, expected.put(key, value), tree.insert(key, value));
+                    } else {
+                        assertEquals("key " + key, expected.remove(key), tree.remove(key));
+                    }
+                }
+
+                return expected;
+            });
+
+            TreeMap<Integer, Long> model = new TreeMap<>();
+            owned.forEach(model::putAll);
+            assertContents(tree, model);
+        }
+    }
+
+    // all threads insert the same ascending keys, splitting the same rightmost nodes
+    @Test
+    public void concurrentWritersOfSameKeys() throws Exception {
+        BLinkTree<Integer, Long> tree = new BLinkTree<>(2);
+        run(thread -> {
+            for (int key = 0; key < KEY_RANGE; key++) {
+                tree.insert(key, (long) key << 32);
+                assertNotNull("key " + key, tree.find(key));
+            }
+
+            return null;
+        });
+
+        TreeMap<Integer, Long> model = new TreeMap<>();
+
+        for (int key = 0; key < KEY_RANGE; key++) {
+            model.put(key, (long) key << 32);
+        }
+
+        assertContents(tree, model);
+        assertNull(tree.find(KEY_RANGE));
+    }
+
+    /**
+     * Checks contents, size and, once no writer runs, that:
+     * - every level, walked through the right links, is the children of the level above in order
+     * - a child's high key is the separator right of it in its parent, or the parent's high key
+     * - only the rightmost node of a level lacks a high key
+     * - keys ascend within a level and stay below their node's high key
+     */
+    @SuppressWarnings("unchecked")
+    private static void assertContents(BLinkTree<Integer, Long> tree, TreeMap<Integer, Long> model) {
+        assertEquals(model.size(), tree.size());
+
+        for (Map.Entry<Integer, Long> entry : model.entrySet()) {
+            assertEquals("key " + entry.getKey(), entry.getValue(), tree.find(entry.getKey()));
+        }
+
+        BLinkNode<Integer, Long> root = tree.getRoot();
+        assertNull(root.getRight());
+        assertNull(root.getHighKey());
+
+        List<BLinkNode<Integer, Long>> level = new ArrayList<>();
+        level.add(root);
+
+        while (true) {
+            Integer previous = null;
+
+            for (int n = 0; n < level.size(); n++) {
+                BLinkNode<Integer, Long> node = level.get(n);
+                assertSame("right link on level " + node.level, n + 1 < level.size() ? level.get(n + 1) : null, node.getRight());
+                assertEquals("high key on level " + node.level, node.getRight() == null, node.getHighKey() == null);
+
+                for (int i = 0; i < node.numKeys; i++) {
+                    Integer key = node.kvpairs[i].key;
+                    assertTrue("keys out of order: " + previous + ", " + key, previous == null || previous < key);
+                    assertTrue("key " + key + " above high key " + node.getHighKey(), node.getHighKey() == null || key < node.getHighKey());
+                    previous = key;
+                }
+            }
+
+            if (level.get(0).level == 0) {
+                break;
+            }
+
+            List<BLinkNode<Integer, Long>> children = new ArrayList<>();
+
+            for (BLinkNode<Integer, Long> node : level) {
+                for (int i = 0; i <= node.numKeys; i++) {
+                    BLinkNode<Integer, Long> child = (BLinkNode<Integer, Long>) node.children[i];
+                    assertEquals(node.level - 1, child.level);
+                    assertEquals("high key of child " + i, i < node.numKeys ? node.kvpairs[i].key : node.getHighKey(), child.getHighKey());
+                    children.add(child);
+                }
+            }
+
+            level = children;
+        }
+
+        List<Integer> keys = new ArrayList<>();
+
+        for (BLinkNode<Integer, Long> leaf : level) {
+            for (int i = 0; i < leaf.numKeys; i++) {
+                keys.add(leaf.kvpairs[i].key);
+                assertEquals(model.get(leaf.kvpairs[i].key), leaf.kvpairs[i].value);
+            }
+        }
+
+        assertEquals(new ArrayList<>(model.keySet()), keys);
+    }
+
+    private interface Worker<T> {
+        T run(int thread) throws Exception;
+    }
+
+    // runs worker on THREADS threads released together, rethrowing the first failure
+    private static <T> List<T> run(Worker<T> worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                Callable<T> task = () -> {
+                    start.await();
+                    return worker.run(id);
+                };
+                futures.add(executor.submit(task));
+            }
+
+            start.countDown();
+            List<T> results = new ArrayList<>();
+
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package trees.btree.concurrent;
+
+import org.junit.Test;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class CopyOnWriteBTreeTest {
+    @Test
+    public void replacePublishesOneVersion() {
+        CopyOnWriteBTree<Integer, String> tree = new CopyOnWriteBTree<>(2);
+
+        for (int key = 0; key < 1000; key++) {
+            tree.insert(new KVPair<>(key, "value" + key));
+        }
+
+        for (int key = 0; key < 1000; key += 3) {
+            BTNode<Integer, String> before = tree.snapshot();
+            assertTrue(tree.replace(new KVPair<>(key, "new" + key)));
+
+            // the old version still has the old value, the new one the new value, both hold every key
+            assertEquals("value" + key, value(tree, before, key));
+            assertEquals("new" + key, value(tree, tree.snapshot(), key));
+        }
+
+        BTNode<Integer, String> current = tree.snapshot();
+        assertFalse(tree.replace(new KVPair<>(1000, "absent")));
+        assertSame(current, tree.snapshot());
+        assertEquals(1000, tree.size());
+
+        for (int key = 0; key < 1000; key++) {
+            assertEquals((key % 3 == 0 ? "new" : "value") + key, value(tree, current, key));
+        }
+
+        assertNull(tree.find(1000));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String value(CopyOnWriteBTree<Integer, String> tree, BTNode<Integer, String> root, int key) {
+        BTNode<Integer, String> node = tree.find(root, key);
+        return node.kvpairs[node.getKeyIndex(key)].value;
+    }
+}
@@ -0,0 +1,74 @@
+package trees.btree.concurrent;
+
+import org.junit.Test;
+import trees.btree.BTNode;
+import trees.btree.KVPair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class ShardedBTreeTest {
+    @Test
+    public void rangeAcrossShards() {
+        ShardedBTree<Integer, String> tree = tree();
+
+        assertEquals(Arrays.asList(5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24),
+                keys(tree.range(5, 25)));
+        assertEquals(Arrays.asList(30, 31, 32), keys(tree.range(30, 33)));
+        assertEquals(40, keys(tree.cursor()).size());
+    }
+
+    @Test
+    public void reversedRangeIsEmpty() {
+        ShardedBTree<Integer, String> tree = tree();
+
+        // bounds of different shards, then of the same shard
+        assertFalse(tree.range(35, 5).hasNext());
+        assertFalse(tree.range(25, 15).hasNext());
+        assertFalse(tree.range(14, 12).hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void replaceInPlace() {
+        ShardedBTree<Integer, String> tree = tree();
+
+        for (int key = 0; key < 40; key += 2) {
+            assertTrue(tree.replace(new KVPair<>(key, "new" + key)));
+        }
+
+        assertFalse(tree.replace(new KVPair<>(40, "absent")));
+        assertEquals(40, tree.size());
+
+        for (int key = 0; key < 40; key++) {
+            BTNode<Integer, String> node = tree.find(key);
+            assertEquals((key % 2 == 0 ? "new" : "value") + key, node.kvpairs[node.getKeyIndex(key)].value);
+        }
+    }
+
+    private static ShardedBTree<Integer, String> tree() {
+        ShardedBTree<Integer, String> tree = new ShardedBTree<>(2, 1000, 1, Arrays.asList(10, 20, 30));
+
+        for (int i = 0; i < 40; i++) {
+            tree.insert(new KVPair<>(i, "value" + i));
+        }
+
+        return tree;
+    }
+
+    private static List<Integer> keys(Iterator<KVPair<Integer, String>> cursor) {
+        List<Integer> keys = new ArrayList<>();
+        cursor.forEachRemaining(entry -> keys.add(entry.key));
+
+        return keys;
+    }
+}
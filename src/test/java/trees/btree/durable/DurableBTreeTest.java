@@ -0,0 +1,199 @@
+package trees.btree.durable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class DurableBTreeTest {
+    private static final int KEYS = 2000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopenReplaysLog() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        String[] expected = new String[KEYS];
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES)) {
+            writeAll(tree, expected, new Random(1));
+        }
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES)) {
+            assertContents(expected, tree);
+        }
+    }
+
+    @Test
+    public void reopenAfterCheckpoints() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        String[] expected = new String[KEYS];
+
+        // a few KiB of log trigger a checkpoint
+        try (DurableBTree tree = new DurableBTree(directory, 3, 4096)) {
+            writeAll(tree, expected, new Random(2));
+            assertTrue(Files.exists(directory.resolve(DurableBTree.CHECKPOINT_FILE)));
+        }
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, 4096)) {
+            assertContents(expected, tree);
+        }
+    }
+
+    @Test
+    public void tornTailIsDropped() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        String[] expected = new String[KEYS];
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES)) {
+            writeAll(tree, expected, new Random(3));
+        }
+
+        // the first bytes of a record that never made it
+        Files.write(directory.resolve(DurableBTree.LOG_FILE), new byte[]{0, 0, 0, 40, 1, 2},
+                StandardOpenOption.APPEND);
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES)) {
+            assertContents(expected, tree);
+
+            // new records follow the last valid one
+            tree.insert(KEYS, "last");
+            expected = Arrays.copyOf(expected, KEYS + 1);
+            expected[KEYS] = "last";
+        }
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES)) {
+            assertContents(expected, tree);
+        }
+    }
+
+    @Test
+    public void concurrentWritersMatchReplay() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        String[] before = new String[KEYS];
+        long size;
+        List<Thread> writers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, 1 << 14)) {
+            for (int t = 0; t < 4; t++) {
+                Random random = new Random(t);
+
+                // writers race on the same keys, the tree must end up as the log replays
+                writers.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 3000; i++) {
+                            int key = random.nextInt(200);
+
+                            if (random.nextBoolean()) {
+                                tree.insert(key, "value" + key);
+                            } else {
+                                tree.delete(key);
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }));
+            }
+
+            for (Thread writer : writers) {
+                writer.start();
+            }
+
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            assertEquals(new ArrayList<Throwable>(), failures);
+
+            for (int key = 0; key < KEYS; key++) {
+                before[key] = tree.find(key);
+            }
+
+            // inserting an existing key adds a duplicate, so size is not the number of keys
+            size = tree.size();
+        }
+
+        try (DurableBTree tree = new DurableBTree(directory, 3, 1 << 14)) {
+            for (int key = 0; key < KEYS; key++) {
+                assertEquals("key " + key, before[key], tree.find(key));
+            }
+
+            assertEquals(size, tree.size());
+        }
+    }
+
+    @Test
+    public void failedCommitIsNotApplied() throws IOException {
+        DurableBTree tree = new DurableBTree(folder.getRoot().toPath(), 3, DurableBTree.DEFAULT_CHECKPOINT_BYTES);
+        tree.insert(1, "one");
+
+        // the log channel is closed, the next commit fails
+        tree.close();
+
+        try {
+            tree.insert(2, "two");
+            fail("Insert into a closed log succeeded");
+        } catch (IOException e) {
+            assertNull(tree.find(2));
+            assertEquals(1, tree.size());
+        }
+    }
+
+    // random inserts and deletes, expected[key] is the value the tree should hold
+    private static void writeAll(DurableBTree tree, String[] expected, Random random) throws IOException {
+        for (int key = 0; key < expected.length; key++) {
+            tree.insert(key, "value" + key);
+            expected[key] = "value" + key;
+        }
+
+        for (int i = 0; i < expected.length / 2; i++) {
+            int key = random.nextInt(expected.length);
+
+            if (expected[key] != null) {
+                assertTrue(tree.delete(key));
+                expected[key] = null;
+            }
+        }
+    }
+
+    private static void assertContents(String[] expected, DurableBTree tree) {
+        for (int key = 0; key < expected.length; key++) {
+            assertEquals("key " + key, expected[key], tree.find(key));
+        }
+
+        assertEquals(count(expected), tree.size());
+    }
+
+    private static long count(String[] values) {
+        long count = 0;
+
+        for (String value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,103 @@
+package trees.btree.offheap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class BufferPoolStorageTest {
+    private static final int KEY_RANGE = 20000;
+    private static final int PAGE_BYTES = 256;
+    private static final int WRITE_BATCH = 4;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // the smallest pool, so nearly every step evicts and writes back
+    @Test
+    public void minimumPoolMatchesModel() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("pool.db");
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        Random random = new Random(1);
+
+        try (BufferPoolStorage storage = new BufferPoolStorage(file, PAGE_BYTES, NodeLayout.forPage(PAGE_BYTES, 12),
+                BufferPoolStorage.MIN_FRAMES, WRITE_BATCH)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            OffHeapInvariants.churn(tree, model, random, 60000, KEY_RANGE);
+
+            assertTrue(storage.pageCount() > 10 * storage.frameCount());
+            assertTrue(storage.evictions() > 0);
+            assertTrue(storage.writeBatches() > 0);
+
+            // write-back takes several dirty pages at a time, never more than a batch
+            assertTrue(storage.pageWrites() > storage.writeBatches());
+            assertTrue(storage.pageWrites() <= WRITE_BATCH * storage.writeBatches());
+
+            storage.resetCounters();
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+            assertTrue(storage.misses() > 0);
+            assertTrue(storage.hits() > 0);
+            assertTrue(storage.evictions() <= storage.misses());
+        }
+
+        // reopened through the pool and through a mapping of the same format
+        try (BufferPoolStorage storage = new BufferPoolStorage(file, BufferPoolStorage.MIN_FRAMES)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+            OffHeapInvariants.churn(tree, model, random, 20000, KEY_RANGE);
+            storage.flush();
+
+            // dirty pages were all written by flush, a second reader sees them
+            try (MappedPageStorage mapped = new MappedPageStorage(file)) {
+                OffHeapInvariants.checkContents(new OffHeapBTree(mapped), model, KEY_RANGE);
+            }
+        }
+
+        try (MappedPageStorage storage = new MappedPageStorage(file)) {
+            OffHeapInvariants.checkContents(new OffHeapBTree(storage), model, KEY_RANGE);
+        }
+    }
+
+    // pages freed by deletes are allocated again before the file grows
+    @Test
+    public void freedPagesAreReused() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("pool.db");
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+
+        try (BufferPoolStorage storage = new BufferPoolStorage(file, PAGE_BYTES, 12, BufferPoolStorage.MIN_FRAMES)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                tree.insert(key, "value" + key);
+            }
+
+            int pages = storage.pageCount();
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                assertTrue(tree.delete(key));
+            }
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                tree.insert(key, "value" + key);
+                model.put(key, 1);
+            }
+
+            assertEquals(pages, storage.pageCount());
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void poolBelowMinimumFrames() throws Exception {
+        new BufferPoolStorage(folder.getRoot().toPath().resolve("pool.db"), PAGE_BYTES, 12, BufferPoolStorage.MIN_FRAMES - 1);
+    }
+}
@@ -0,0 +1,125 @@
+package trees.btree.offheap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class MappedPageStorageTest {
+    private static final int KEY_RANGE = 20000;
+    private static final int PAGE_BYTES = 512;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // chunks of 16 pages, so the file grows chunk by chunk
+    @Test
+    public void reopenedFileMatchesModel() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("pages.db");
+        NodeLayout layout = NodeLayout.forPage(PAGE_BYTES, 12);
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        Random random = new Random(1);
+        int pages;
+
+        try (MappedPageStorage storage = new MappedPageStorage(file, PAGE_BYTES, layout, 16 * PAGE_BYTES)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            OffHeapInvariants.churn(tree, model, random, 60000, KEY_RANGE);
+
+            // superblock and free pages included, over more than one chunk
+            int nodes = OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+            pages = storage.pageCount();
+            assertTrue(pages > 16);
+            assertTrue(pages >= nodes + 1);
+        }
+
+        try (MappedPageStorage storage = new MappedPageStorage(file)) {
+            assertEquals(PAGE_BYTES, storage.getPageBytes());
+            assertEquals(layout.minDegree, storage.layout().minDegree);
+            assertEquals(layout.valueBytes, storage.layout().valueBytes);
+            assertEquals(pages, storage.pageCount());
+
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+
+            OffHeapInvariants.churn(tree, model, random, 20000, KEY_RANGE);
+            storage.flush();
+
+            // a second view of the flushed file
+            try (MappedPageStorage reopened = new MappedPageStorage(file)) {
+                OffHeapInvariants.checkContents(new OffHeapBTree(reopened), model, KEY_RANGE);
+            }
+        }
+
+        try (MappedPageStorage storage = new MappedPageStorage(file)) {
+            OffHeapInvariants.checkContents(new OffHeapBTree(storage), model, KEY_RANGE);
+        }
+    }
+
+    // pages freed by deletes are allocated again before the file grows
+    @Test
+    public void freedPagesAreReused() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("pages.db");
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+
+        try (MappedPageStorage storage = new MappedPageStorage(file, PAGE_BYTES, NodeLayout.forPage(PAGE_BYTES, 12), 16 * PAGE_BYTES)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                tree.insert(key, "value" + key);
+            }
+
+            int pages = storage.pageCount();
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                assertTrue(tree.delete(key));
+            }
+
+            assertEquals(0, tree.size());
+
+            for (int key = 0; key < KEY_RANGE; key++) {
+                tree.insert(key, "value" + key);
+                model.put(key, 1);
+            }
+
+            assertEquals(pages, storage.pageCount());
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+        }
+
+        // the free list survives a reopen
+        try (MappedPageStorage storage = new MappedPageStorage(file)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            int pages = storage.pageCount();
+
+            for (int key = 0; key < KEY_RANGE / 2; key++) {
+                assertTrue(tree.delete(key));
+                model.remove(key);
+            }
+
+            for (int key = 0; key < KEY_RANGE / 2; key++) {
+                tree.insert(key, "value" + key);
+                model.put(key, 1);
+            }
+
+            assertEquals(pages, storage.pageCount());
+            OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void openRejectsOtherFiles() throws Exception {
+        Path file = folder.newFile("other.db").toPath();
+        Files.write(file, new byte[PAGE_BYTES]);
+
+        new MappedPageStorage(file);
+    }
+}
@@ -0,0 +1,171 @@
+package trees.btree.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ * <p>
+ * Structural checks of an OffHeapBTree and a random workload against a multiset of keys,
+ * shared by the storage tests. Values are "value" + key.
+ */
+final class OffHeapInvariants {
+    private OffHeapInvariants() {
+    }
+
+    /**
+     * Random inserts and deletes, duplicates included, mirrored in model
+     *
+     * @param tree
+     * @param model      key to number of entries
+     * @param random
+     * @param operations
+     * @param keyRange
+     */
+    static void churn(OffHeapBTree tree, TreeMap<Integer, Integer> model, Random random, int operations, int keyRange) {
+        for (int i = 0; i < operations; i++) {
+            int key = random.nextInt(keyRange);
+
+            if (random.nextInt(10) < 6) {
+                tree.insert(key, "value" + key);
+                model.merge(key, 1, Integer::sum);
+            } else {
+                assertEquals("delete " + key, model.containsKey(key), tree.delete(key));
+                model.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    /**
+     * Checks the structure, then that tree holds exactly the entries of model
+     *
+     * @param tree
+     * @param model
+     * @param keyRange
+     * @return number of nodes
+     */
+    static int checkContents(OffHeapBTree tree, TreeMap<Integer, Integer> model, int keyRange) {
+        List<Integer> keys = new ArrayList<>();
+        int nodes = check(tree.getStorage(), keys);
+        List<Integer> expected = new ArrayList<>();
+
+        for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            expected.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
+        }
+
+        assertEquals(expected, keys);
+        assertEquals(expected.size(), tree.size());
+
+        for (int key = -1; key <= keyRange; key++) {
+            assertEquals("key " + key, model.containsKey(key) ? "value" + key : null, tree.find(key));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Checks key counts per node, equal leaf depth, ascending keys, values, and that the right
+     * links chain the nodes of every level from left to right
+     *
+     * @param storage
+     * @param keys    filled with the keys in order
+     * @return number of nodes
+     */
+    static int check(NodeStorage storage, List<Integer> keys) {
+        if (storage.getRoot() == NodeLayout.NO_NODE) {
+            return 0;
+        }
+
+        List<List<Integer>> levels = new ArrayList<>();
+        int[] leafDepth = {-1};
+        int nodes = walk(storage, storage.getRoot(), 0, true, keys, levels, leafDepth);
+
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue("keys out of order at " + i, keys.get(i - 1) <= keys.get(i));
+        }
+
+        for (List<Integer> level : levels) {
+            for (int i = 0; i < level.size(); i++) {
+                int id = level.get(i);
+                ByteBuffer buffer = storage.buffer(id);
+                int right = storage.layout().right(buffer, storage.base(id));
+                storage.release(id, false);
+
+                assertEquals("right link of node " + id, i + 1 < level.size() ? level.get(i + 1) : NodeLayout.NO_NODE, right);
+            }
+        }
+
+        return nodes;
+    }
+
+    private static int walk(NodeStorage storage, int id, int depth, boolean root, List<Integer> keys,
+                            List<List<Integer>> levels, int[] leafDepth) {
+        NodeLayout layout = storage.layout();
+        ByteBuffer buffer = storage.buffer(id);
+        int base = storage.base(id);
+        int numKeys = layout.numKeys(buffer, base);
+        boolean leaf = layout.isLeaf(buffer, base);
+        int[] nodeKeys = new int[numKeys];
+        int[] children = new int[numKeys + 1];
+
+        for (int i = 0; i < numKeys; i++) {
+            nodeKeys[i] = layout.key(buffer, base, i);
+            assertEquals("value" + nodeKeys[i], layout.value(buffer, base, i));
+        }
+
+        if (!leaf) {
+            for (int i = 0; i <= numKeys; i++) {
+                children[i] = layout.child(buffer, base, i);
+            }
+        }
+
+        // released before the children are visited, a pool may evict it meanwhile
+        storage.release(id, false);
+
+        if (!root) {
+            assertTrue("node with " + numKeys + " keys", numKeys >= layout.minDegree - 1);
+        }
+
+        assertTrue("node with " + numKeys + " keys", numKeys <= layout.maxKeys);
+
+        if (levels.size() == depth) {
+            levels.add(new ArrayList<>());
+        }
+
+        levels.get(depth).add(id);
+
+        if (leaf) {
+            if (leafDepth[0] == -1) {
+                leafDepth[0] = depth;
+            }
+
+            assertEquals("leaf depth", leafDepth[0], depth);
+
+            for (int key : nodeKeys) {
+                keys.add(key);
+            }
+
+            return 1;
+        }
+
+        int nodes = 1;
+
+        for (int i = 0; i <= numKeys; i++) {
+            nodes += walk(storage, children[i], depth + 1, false, keys, levels, leafDepth);
+
+            if (i < numKeys) {
+                keys.add(nodeKeys[i]);
+            }
+        }
+
+        return nodes;
+    }
+}
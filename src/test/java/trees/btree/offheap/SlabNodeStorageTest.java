@@ -0,0 +1,78 @@
+package trees.btree.offheap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class SlabNodeStorageTest {
+    private static final int KEY_RANGE = 3000;
+
+    @Test
+    public void matchesModel() {
+        for (int minDegree : new int[]{2, 3, 7}) {
+            // small slabs, so the tree spans many of them
+            try (SlabNodeStorage storage = new SlabNodeStorage(new NodeLayout(minDegree, 12), 4096)) {
+                OffHeapBTree tree = new OffHeapBTree(storage);
+                TreeMap<Integer, Integer> model = new TreeMap<>();
+                Random random = new Random(minDegree);
+
+                for (int round = 0; round < 10; round++) {
+                    OffHeapInvariants.churn(tree, model, random, 5000, KEY_RANGE);
+
+                    // merged nodes and collapsed roots went back to the free list
+                    int nodes = OffHeapInvariants.checkContents(tree, model, KEY_RANGE);
+                    assertEquals(nodes, storage.liveNodes());
+                }
+
+                assertTrue(storage.reservedBytes() > 4096);
+            }
+        }
+    }
+
+    @Test
+    public void freedSlotsAreReused() {
+        try (SlabNodeStorage storage = new SlabNodeStorage(new NodeLayout(2, 12), 4096)) {
+            OffHeapBTree tree = new OffHeapBTree(storage);
+            TreeMap<Integer, Integer> model = new TreeMap<>();
+
+            for (int key = 0; key < 2000; key++) {
+                tree.insert(key, "value" + key);
+                model.put(key, 1);
+            }
+
+            long reserved = storage.reservedBytes();
+            int nodes = storage.liveNodes();
+
+            for (Map.Entry<Integer, Integer> entry : new ArrayList<>(model.entrySet())) {
+                assertTrue(tree.delete(entry.getKey()));
+            }
+
+            assertEquals(0, tree.size());
+            assertTrue("free slots " + storage.freeNodes(), storage.freeNodes() >= nodes - 1);
+
+            // the same tree again fits in the slots freed
+            for (int key = 0; key < 2000; key++) {
+                tree.insert(key, "value" + key);
+            }
+
+            assertEquals(reserved, storage.reservedBytes());
+            assertEquals(OffHeapInvariants.checkContents(tree, model, 2000), storage.liveNodes());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueLongerThanItsSlot() {
+        try (SlabNodeStorage storage = new SlabNodeStorage(new NodeLayout(2, 3))) {
+            new OffHeapBTree(storage).insert(1, "too long");
+        }
+    }
+}
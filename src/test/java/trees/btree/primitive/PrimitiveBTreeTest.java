@@ -0,0 +1,190 @@
+package trees.btree.primitive;
+
+import org.junit.Test;
+import trees.btree.search.IntNodeSearch;
+import trees.btree.search.LongNodeSearch;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class PrimitiveBTreeTest {
+    private static final int KEY_RANGE = 5000;
+
+    @Test
+    public void intTreeMatchesModel() {
+        for (int minDegree : new int[]{2, 3, 4, 16}) {
+            for (IntNodeSearch search : IntNodeSearch.values()) {
+                IntBTree<String> tree = new IntBTree<>(minDegree, search);
+                TreeMap<Long, String> model = new TreeMap<>();
+                Random random = new Random(minDegree);
+
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < 4000; i++) {
+                        int key = random.nextInt(KEY_RANGE) - KEY_RANGE / 2;
+
+                        if (random.nextInt(10) < 6) {
+                            assertEquals(model.put((long) key, "value" + i), tree.insert(key, "value" + i));
+                        } else {
+                            assertEquals("delete " + key, model.remove((long) key) != null, tree.delete(key));
+                        }
+                    }
+
+                    check(tree, model);
+
+                    for (int key = -KEY_RANGE / 2 - 1; key <= KEY_RANGE / 2; key++) {
+                        assertEquals(model.get((long) key), tree.find(key));
+                        assertEquals(model.containsKey((long) key), tree.contains(key));
+                    }
+                }
+            }
+        }
+    }
+
+    // keys beyond the int range, so a narrowing anywhere would show
+    @Test
+    public void longTreeMatchesModel() {
+        for (int minDegree : new int[]{2, 3, 16}) {
+            for (LongNodeSearch search : LongNodeSearch.values()) {
+                LongBTree<String> tree = new LongBTree<>(minDegree, search);
+                TreeMap<Long, String> model = new TreeMap<>();
+                Random random = new Random(minDegree);
+
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < 4000; i++) {
+                        long key = ((long) random.nextInt(KEY_RANGE) << 33) + random.nextInt(2);
+
+                        if (random.nextInt(10) < 6) {
+                            assertEquals(model.put(key, "value" + i), tree.insert(key, "value" + i));
+                        } else {
+                            assertEquals("delete " + key, model.remove(key) != null, tree.delete(key));
+                        }
+                    }
+
+                    check(tree, model);
+
+                    for (long key : model.keySet()) {
+                        assertEquals(model.get(key), tree.find(key));
+                        assertFalse(tree.contains(key + 2));
+                    }
+                }
+            }
+        }
+    }
+
+    // deleting everything in key order and then in reverse merges down to an empty root
+    @Test
+    public void deleteEverything() {
+        for (boolean ascending : new boolean[]{true, false}) {
+            IntBTree<String> tree = new IntBTree<>(2);
+            TreeMap<Long, String> model = new TreeMap<>();
+
+            for (int key = 0; key < 1000; key++) {
+                tree.insert(key, "value" + key);
+                model.put((long) key, "value" + key);
+            }
+
+            for (int i = 0; i < 1000; i++) {
+                int key = ascending ? i : 999 - i;
+                assertTrue(tree.delete(key));
+                model.remove((long) key);
+
+                if (i % 100 == 0) {
+                    check(tree, model);
+                }
+            }
+
+            assertEquals(0, tree.size());
+            assertEquals(1, tree.height());
+            assertTrue(tree.getRoot().isLeaf());
+            assertFalse(tree.delete(0));
+            assertNull(tree.find(0));
+        }
+    }
+
+    @Test
+    public void nullValues() {
+        IntBTree<String> tree = new IntBTree<>(2);
+        tree.insert(1, null);
+
+        assertTrue(tree.contains(1));
+        assertNull(tree.find(1));
+        assertTrue(tree.delete(1));
+        assertFalse(tree.contains(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minDegreeBelowTwo() {
+        new LongBTree<String>(1);
+    }
+
+    /**
+     * Checks key counts per node, equal leaf depth, ascending keys and values against model
+     */
+    private static <N extends PrimitiveBTree.Node<N>> void check(PrimitiveBTree<N, String> tree, TreeMap<Long, String> model) {
+        List<Long> keys = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        int[] leafDepth = {-1};
+        walk(tree.getRoot(), tree.getMinDegree(), 0, true, keys, values, leafDepth);
+
+        assertEquals(new ArrayList<>(model.keySet()), keys);
+        assertEquals(new ArrayList<Object>(model.values()), values);
+        assertEquals(model.size(), tree.size());
+        assertEquals(leafDepth[0] + 1, tree.height());
+    }
+
+    private static <N extends PrimitiveBTree.Node<N>> void walk(N node, int minDegree, int depth, boolean root,
+                                                                List<Long> keys, List<Object> values, int[] leafDepth) {
+        if (!root) {
+            assertTrue("node with " + node.numKeys + " keys", node.numKeys >= minDegree - 1);
+        }
+
+        assertTrue("node with " + node.numKeys + " keys", node.numKeys <= 2 * minDegree - 1);
+        Object keyArray = node.keyArray();
+
+        // released slots hold no values
+        for (int i = node.numKeys; i < node.values.length; i++) {
+            assertNull(node.values[i]);
+        }
+
+        if (node.isLeaf()) {
+            if (leafDepth[0] == -1) {
+                leafDepth[0] = depth;
+            }
+
+            assertEquals("leaf depth", leafDepth[0], depth);
+
+            for (int i = 0; i < node.numKeys; i++) {
+                keys.add(Array.getLong(keyArray, i));
+                values.add(node.values[i]);
+            }
+
+            return;
+        }
+
+        for (int i = 0; i <= node.numKeys; i++) {
+            assertNotNull("child " + i + " of a node with " + node.numKeys + " keys", node.children[i]);
+            walk(node.children[i], minDegree, depth + 1, false, keys, values, leafDepth);
+
+            if (i < node.numKeys) {
+                keys.add(Array.getLong(keyArray, i));
+                values.add(node.values[i]);
+            }
+        }
+
+        for (int i = node.numKeys + 1; i < node.children.length; i++) {
+            assertNull(node.children[i]);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package trees.btree.snapshot;
+
+import org.junit.Test;
+import trees.btree.BTCursor;
+import trees.btree.BTNode;
+import trees.btree.BTreeBulkLoader;
+import trees.btree.KVPair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class SnapshotLoaderTest {
+    // header, header CRC, block length and CRC, key
+    private static final int FIRST_VALUE_LENGTH = SnapshotFormat.HEADER_BYTES + 4 + 8 + 4;
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<KVPair<Integer, String>> entries = entries(100000);
+        Snapshot<Integer, String> snapshot = load(write(entries, 16), 0);
+
+        assertEquals(entries.size(), snapshot.count);
+        assertEquals(16, snapshot.minDegree);
+        assertContents(entries, snapshot.root);
+    }
+
+    @Test
+    public void roundTripWithOtherDegree() throws IOException {
+        List<KVPair<Integer, String>> entries = entries(5000);
+        Snapshot<Integer, String> snapshot = load(write(entries, 16), 3);
+
+        assertEquals(3, snapshot.root.minDegree);
+        assertEquals(16, snapshot.minDegree);
+        assertContents(entries, snapshot.root);
+    }
+
+    @Test
+    public void emptyTree() throws IOException {
+        Snapshot<Integer, String> snapshot = load(write(new ArrayList<>(), 4), 0);
+
+        assertEquals(0, snapshot.count);
+        assertEquals(0, snapshot.root.numKeys);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void damagedLengthIsRejectedBeforeAllocating() throws IOException {
+        byte[] bytes = write(entries(1), 4);
+
+        // about 1 GiB if the length were trusted
+        bytes[FIRST_VALUE_LENGTH] ^= 0x40;
+        load(bytes, 0);
+    }
+
+    @Test
+    public void everyFlippedBitFails() throws IOException {
+        byte[] bytes = write(entries(20), 4);
+
+        for (int i = 0; i < bytes.length; i++) {
+            for (int bit = 0; bit < 8; bit++) {
+                byte[] damaged = bytes.clone();
+                damaged[i] ^= 1 << bit;
+                assertFails(damaged, "bit " + bit + " of byte " + i);
+            }
+        }
+    }
+
+    @Test
+    public void everyTruncationFails() throws IOException {
+        byte[] bytes = write(entries(20), 4);
+
+        for (int length = 0; length < bytes.length; length++) {
+            assertFails(Arrays.copyOf(bytes, length), "truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    public void blocksSpanEntries() throws IOException {
+        // values larger than a block are cut across several of them
+        List<KVPair<Integer, String>> entries = new ArrayList<>();
+        char[] large = new char[3 * SnapshotFormat.BLOCK_BYTES / 2];
+        Arrays.fill(large, 'x');
+
+        for (int i = 0; i < 10; i++) {
+            entries.add(new KVPair<>(i, new String(large, 0, large.length - i)));
+        }
+
+        assertContents(entries, load(write(entries, 2), 0).root);
+    }
+
+    private static void assertFails(byte[] bytes, String damage) throws IOException {
+        try {
+            load(bytes, 0);
+            fail("Loaded a snapshot with " + damage);
+        } catch (IllegalStateException e) {
+            assertFalse(e.getMessage().isEmpty());
+        }
+    }
+
+    private static List<KVPair<Integer, String>> entries(int count) {
+        List<KVPair<Integer, String>> entries = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            entries.add(new KVPair<>(2 * i, i % 7 == 0 ? null : "value" + i));
+        }
+
+        return entries;
+    }
+
+    private static byte[] write(List<KVPair<Integer, String>> entries, int minDegree) throws IOException {
+        BTNode<Integer, String> root = new BTreeBulkLoader<Integer, String>(minDegree).load(entries);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SnapshotWriter<>(EntryCodec.ints(), EntryCodec.strings()).write(out, root);
+
+        return out.toByteArray();
+    }
+
+    private static Snapshot<Integer, String> load(byte[] bytes, int minDegree) throws IOException {
+        return new SnapshotLoader<>(EntryCodec.ints(), EntryCodec.strings())
+                .load(new ByteArrayInputStream(bytes), minDegree);
+    }
+
+    // KVPair has no equals
+    private static void assertContents(List<KVPair<Integer, String>> expected, BTNode<Integer, String> root) {
+        BTCursor<Integer, String> cursor = new BTCursor<>(root, null, null);
+
+        for (KVPair<Integer, String> entry : expected) {
+            KVPair<Integer, String> actual = cursor.next();
+            assertEquals(entry.key, actual.key);
+            assertEquals(entry.value, actual.value);
+        }
+
+        assertFalse(cursor.hasNext());
+    }
+}
@@ -0,0 +1,78 @@
+package trees.workload;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created on 18/10/2026.
+ */
+public class AcknowledgedCounterTest {
+    @Test
+    public void limitStopsAtFirstGap() {
+        AcknowledgedCounter counter = new AcknowledgedCounter(10);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(10 + i, counter.next());
+        }
+
+        counter.acknowledge(11);
+        counter.acknowledge(13);
+        assertEquals(10, counter.limit());
+
+        counter.acknowledge(10);
+        assertEquals(12, counter.limit());
+
+        counter.acknowledge(12);
+        assertEquals(14, counter.limit());
+    }
+
+    @Test
+    public void limitWrapsAroundWindow() {
+        AcknowledgedCounter counter = new AcknowledgedCounter(0);
+
+        for (int i = 0; i < 3 * AcknowledgedCounter.WINDOW; i++) {
+            counter.acknowledge(counter.next());
+        }
+
+        assertEquals(3 * AcknowledgedCounter.WINDOW, counter.limit());
+    }
+
+    @Test
+    public void concurrentAcknowledgements() throws InterruptedException {
+        AcknowledgedCounter counter = new AcknowledgedCounter(0);
+        AtomicInteger violations = new AtomicInteger();
+        int perThread = 200000;
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int key = counter.next();
+
+                    // the prefix never passes a key still being inserted
+                    if (counter.limit() > key) {
+                        violations.incrementAndGet();
+                    }
+
+                    counter.acknowledge(key);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, violations.get());
+        assertEquals(4 * perThread, counter.limit());
+    }
+}